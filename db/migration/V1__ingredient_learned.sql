@@ -0,0 +1,12 @@
+-- LLM 분류 학습 테이블 (IngredientClassificationStore)
+CREATE TABLE INGREDIENT_LEARNED (
+  NORMALIZED_KEY      VARCHAR2(200) PRIMARY KEY,
+  INGREDIENT_NAME     VARCHAR2(200) NOT NULL,
+  INGREDIENT_CATEGORY NUMBER(1)     NOT NULL,
+  SOURCE              VARCHAR2(20)  NOT NULL,
+  CONFIDENCE          NUMBER(4,3),
+  MODEL               VARCHAR2(100),
+  SEEN_COUNT          NUMBER        DEFAULT 1,
+  CREATED_AT          TIMESTAMP     DEFAULT SYSTIMESTAMP,
+  UPDATED_AT          TIMESTAMP     DEFAULT SYSTIMESTAMP
+);
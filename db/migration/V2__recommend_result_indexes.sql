@@ -0,0 +1,7 @@
+-- 이웃 스냅샷 캐시 (NeighborSnapshotCache)
+
+-- 버전 확인(MAX(SNAPSHOT_AT))을 인덱스 끝 블록만 읽도록
+CREATE INDEX IX_RECOMMEND_RESULT_SNAP ON RECOMMEND_RESULT (SNAPSHOT_AT);
+
+-- 기준 상품별 최신 스냅샷 이웃 적재 (selectLatestNeighbors / selectNeighbors)
+CREATE INDEX IX_RECOMMEND_RESULT_BASE_SNAP ON RECOMMEND_RESULT (BASE_PRODUCT_ID, SNAPSHOT_AT, RANK_ORDER);
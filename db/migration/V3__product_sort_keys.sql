@@ -0,0 +1,26 @@
+-- 상품 목록 정렬 키 (ProductMapper.xml 의 DiscountedPrice / SALES_COUNT)
+
+-- 할인적용가: 식이 ProductMapper.xml <sql id="DiscountedPrice"> 와 글자 그대로 같아야 인덱스를 탄다
+CREATE INDEX IX_PRODUCT_CAT_DPRICE ON PRODUCT (CATEGORY_ID, TRUNC(PRICE * (1 - NVL(DISCOUNT_RATE, 0)/100), -2), PRODUCT_ID);
+CREATE INDEX IX_PRODUCT_BH_DPRICE  ON PRODUCT (BH_TYPE, TRUNC(PRICE * (1 - NVL(DISCOUNT_RATE, 0)/100), -2), PRODUCT_ID);
+CREATE INDEX IX_PRODUCT_DPRICE     ON PRODUCT (TRUNC(PRICE * (1 - NVL(DISCOUNT_RATE, 0)/100), -2), PRODUCT_ID);
+
+-- 판매량: 결제 승인 시 증가, 취소 시 감소, 매일 ProductSalesReconcileScheduler 가 ORDER_ITEM 기준으로 재계산
+ALTER TABLE PRODUCT ADD (SALES_COUNT NUMBER(12) DEFAULT 0 NOT NULL);
+
+-- 초기값 (reconcileSalesCount 와 같은 기준: 미결제/취소/입금대기 제외, 결제 수량 - 취소 수량)
+MERGE INTO PRODUCT p
+USING (
+  SELECT oi.PRODUCT_ID, SUM(oi.ITEM_COUNT - NVL(oi.CANCELED_COUNT, 0)) AS SALES
+  FROM ORDER_ITEM oi
+  WHERE oi.DELETED_AT IS NULL
+    AND oi.ORDER_STATUS NOT IN (0, 3, 12)
+  GROUP BY oi.PRODUCT_ID
+) s
+ON (p.PRODUCT_ID = s.PRODUCT_ID)
+WHEN MATCHED THEN UPDATE SET p.SALES_COUNT = s.SALES;
+COMMIT;
+
+CREATE INDEX IX_PRODUCT_CAT_SALES ON PRODUCT (CATEGORY_ID, SALES_COUNT, PRODUCT_ID);
+CREATE INDEX IX_PRODUCT_BH_SALES  ON PRODUCT (BH_TYPE, SALES_COUNT, PRODUCT_ID);
+CREATE INDEX IX_PRODUCT_SALES     ON PRODUCT (SALES_COUNT, PRODUCT_ID);
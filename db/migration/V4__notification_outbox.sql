@@ -0,0 +1,20 @@
+-- 푸시 발송 아웃박스 (NotificationOutboxMapper.xml, NotificationDispatcher)
+-- STATUS: 0=대기, 1=완료, 2=포기(재시도 초과)
+-- CLAIM_TOKEN: 선점한 디스패치 묶음 식별자. 결과 반영 UPDATE 는 이 값이 그대로일 때만 적용된다
+--              (선점 기간이 지나 다른 워커가 다시 가져간 행을 이전 워커가 덮어쓰지 않게)
+CREATE SEQUENCE SEQ_NOTIFICATION_OUTBOX;
+
+CREATE TABLE NOTIFICATION_OUTBOX (
+  OUTBOX_ID       NUMBER        PRIMARY KEY,
+  MEMBER_ID       NUMBER        NOT NULL,
+  PAYLOAD         CLOB          NOT NULL,
+  STATUS          NUMBER(1)     DEFAULT 0 NOT NULL,
+  ATTEMPTS        NUMBER(3)     DEFAULT 0 NOT NULL,
+  NEXT_ATTEMPT_AT TIMESTAMP     DEFAULT SYSTIMESTAMP NOT NULL,
+  CLAIM_TOKEN     VARCHAR2(36),
+  RESULT          VARCHAR2(500),
+  CREATED_AT      TIMESTAMP     DEFAULT SYSTIMESTAMP NOT NULL,
+  SENT_AT         TIMESTAMP
+);
+
+CREATE INDEX IX_NOTI_OUTBOX_DUE ON NOTIFICATION_OUTBOX (STATUS, NEXT_ATTEMPT_AT);
@@ -0,0 +1,104 @@
+package com.refit.app.bench;
+
+import com.refit.app.infra.image.ImagePreprocessor;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 라벨 사진 전처리 지연 비교 (기존 Graphics2D/getPixel 경로 vs GrayRaster).
+ * <p>
+ * 입력은 폰 카메라 해상도의 성분표 사진을 흉내 낸 합성 JPEG(조명 그라디언트 + 센서 노이즈 + 작은 글씨).
+ * 실행: ./gradlew jmh -PjmhInclude=ImagePreprocessorBenchmark (동시 요청 상황은 -t 4)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImagePreprocessorBenchmark {
+
+    private static final String[] LINES = {
+            "[전성분] 정제수, 글리세린, 부틸렌글라이콜, 나이아신아마이드, 1,2-헥산다이올,",
+            "판테놀, 소듐하이알루로네이트, 카보머, 트로메타민, 알란토인, 아데노신,",
+            "INGREDIENTS: WATER, GLYCERIN, BUTYLENE GLYCOL, NIACINAMIDE, PANTHENOL,",
+            "다이메티콘, 세틸에틸헥사노에이트, 향료, 리모넨, 리날룰, 디소듐이디티에이",
+    };
+
+    @Param({"4032x3024", "3024x4032", "1600x1200", "900x1200"})
+    public String size;
+
+    private byte[] photo;
+
+    @Setup
+    public void shoot() throws IOException {
+        String[] wh = size.split("x");
+        photo = labelPhoto(Integer.parseInt(wh[0]), Integer.parseInt(wh[1]), 42L);
+    }
+
+    @Benchmark
+    public byte[] legacy() {
+        return LegacyImagePreprocessor.preprocess(photo);
+    }
+
+    @Benchmark
+    public byte[] grayRaster() {
+        return ImagePreprocessor.preprocess(photo);
+    }
+
+    static byte[] labelPhoto(int w, int h, long seed) throws IOException {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(236, 228, 214), w, h, new Color(150, 144, 132)));
+        g.fillRect(0, 0, w, h);
+
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(new Color(40, 38, 36));
+        int fontSize = Math.max(12, Math.min(w, h) / 45);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, fontSize));
+        int y = h / 6;
+        for (int i = 0; y < h * 5 / 6; i++, y += fontSize * 3 / 2) {
+            g.drawString(LINES[i % LINES.length], w / 12, y);
+        }
+        g.dispose();
+
+        // 센서 노이즈: JPEG 압축률/디코딩 비용을 실제 사진에 가깝게
+        Random rnd = new Random(seed);
+        int[] row = new int[w];
+        for (int yy = 0; yy < h; yy++) {
+            img.getRGB(0, yy, w, 1, row, 0, w);
+            for (int x = 0; x < w; x++) {
+                int n = (int) (rnd.nextGaussian() * 6);
+                int rgb = row[x];
+                int r = clamp(((rgb >> 16) & 0xFF) + n);
+                int gg = clamp(((rgb >> 8) & 0xFF) + n);
+                int b = clamp((rgb & 0xFF) + n);
+                row[x] = (r << 16) | (gg << 8) | b;
+            }
+            img.setRGB(0, yy, w, 1, row, 0, w);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static int clamp(int v) {
+        return v < 0 ? 0 : Math.min(255, v);
+    }
+}
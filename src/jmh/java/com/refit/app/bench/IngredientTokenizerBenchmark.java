@@ -0,0 +1,54 @@
+package com.refit.app.bench;
+
+import com.refit.app.domain.analysis.policy.IngredientTokenizer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * OCR 덤프(src/jmh/resources/ocr) 기준 성분 파싱 처리량 비교.
+ * <p>
+ * 실행: ./gradlew jmh -PjmhInclude=IngredientTokenizerBenchmark (할당량은 -prof gc 로 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4) // 동시 스캔 부하
+public class IngredientTokenizerBenchmark {
+
+    @Param({"cosmetic-cream", "cosmetic-sunscreen", "cosmetic-toner-noisy"})
+    public String dump;
+
+    private String ocrText;
+
+    @Setup
+    public void load() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/ocr/" + dump + ".txt")) {
+            if (in == null) {
+                throw new IllegalStateException("OCR dump not found: " + dump);
+            }
+            ocrText = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<String> legacyRegex() {
+        return LegacyIngredientParser.parse(ocrText);
+    }
+
+    @Benchmark
+    public List<String> singlePass() {
+        return IngredientTokenizer.tokenize(ocrText);
+    }
+}
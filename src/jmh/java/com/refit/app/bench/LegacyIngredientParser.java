@@ -0,0 +1,103 @@
+package com.refit.app.bench;
+
+import com.refit.app.domain.analysis.policy.IngredientNormalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 벤치마크 기준선: IngredientTokenizer 도입 전 AnalysisServiceImpl 의 정규식 기반 파싱 경로 그대로.
+ */
+final class LegacyIngredientParser {
+
+    private LegacyIngredientParser() {
+    }
+
+    static List<String> parse(String ocrText) {
+        String compact = collapseHangulSoftBreaks(ocrText);
+        String block = extractIngredientsBlockFromOcr(compact);
+        if (block.isBlank()) {
+            block = compact;
+        }
+        List<String> names = parseIngredientsBlockLocally(block);
+        return names.stream()
+                .map(IngredientNormalizer::normalize)
+                .filter(s -> !s.isBlank())
+                .distinct()
+                .toList();
+    }
+
+    private static String collapseHangulSoftBreaks(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.replaceAll("(?<=[가-힣])\\s*\\n\\s*(?=[가-힣])", "");
+    }
+
+    private static String extractIngredientsBlockFromOcr(String text) {
+        if (text == null) {
+            return "";
+        }
+        String t = text.replaceAll("\\r", "")
+                .replaceAll("\\t", " ")
+                .replaceAll(" +", " ");
+
+        String startRegex =
+                "(?i)(전\\s*성\\s*분|성\\s*분|INGREDIENTS?)\\s*[:：]?\\s*|(?m)^(전성분|성분|Ingredients?)\\b";
+        String endRegex =
+                "(?i)(주의사항|사용법|보관방법|원재료|영양성분|전성분표|제조사|고객센터|사용상\\s*주의|효능|효과)";
+
+        java.util.regex.Matcher mStart =
+                java.util.regex.Pattern.compile(startRegex).matcher(t);
+        if (!mStart.find()) {
+            return "";
+        }
+
+        int from = mStart.end();
+        int to = t.length();
+
+        java.util.regex.Matcher mEnd =
+                java.util.regex.Pattern.compile(endRegex).matcher(t.substring(from));
+        if (mEnd.find()) {
+            to = from + mEnd.start();
+        }
+
+        return t.substring(from, to).trim()
+                .replaceAll("(?<!\\n),\\s*", ", ")
+                .replaceAll("\\n{2,}", "\n")
+                .trim();
+    }
+
+    private static List<String> parseIngredientsBlockLocally(String block) {
+        if (block == null || block.isBlank()) {
+            return List.of();
+        }
+        String norm = block
+                .replace("ㆍ", ",").replace("·", ",").replace("│", ",").replace("|", ",")
+                .replaceAll("\\u00B7|\\u2022", ",");
+        norm = norm.replace('\r', ' ').replace('\n', ' ');
+
+        String[] tokens = norm.split("[,;/\\\\]+");
+        List<String> out = new ArrayList<>();
+        for (String tk : tokens) {
+            String s = tk.trim();
+            if (s.isEmpty()) {
+                continue;
+            }
+
+            s = s.replaceAll("\\([^\\)]*\\)", "")
+                    .replaceAll("\\[[^\\]]*\\]", "")
+                    .replaceAll("\\{[^\\}]*\\}", "");
+
+            s = s.replaceAll("\\s{2,}", " ").trim();
+
+            if (s.length() < 2 || s.length() > 50) {
+                continue;
+            }
+
+            out.add(s);
+        }
+        LinkedHashSet<String> set = new LinkedHashSet<>(out);
+        return new ArrayList<>(set);
+    }
+}
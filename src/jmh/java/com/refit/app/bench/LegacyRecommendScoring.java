@@ -0,0 +1,122 @@
+package com.refit.app.bench;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 벤치마크 기준선: 효과 비트마스크 도입 전 MemberProductServiceImpl 의 외부 제품 점수 계산 (Set&lt;Long&gt; 기반) 그대로.
+ * DB 조회는 빼고 이미 읽어 둔 행으로 점수만 계산한다.
+ */
+final class LegacyRecommendScoring {
+
+    private static final double COMPAT_GOOD = 1.20;
+    private static final double COMPAT_NEUTRAL = 1.00;
+    private static final double CONCERN_BOOST_PER_EFFECT = 0.08;
+    private static final double SAME_CATEGORY_BONUS = 1.10;
+    private static final double SAME_GROUP_BONUS = 1.05;
+
+    private LegacyRecommendScoring() {
+    }
+
+    static Map<Long, Set<Long>> groupEffects(List<Map<String, Object>> effRows) {
+        Map<Long, Set<Long>> res = new HashMap<>();
+        for (Map<String, Object> r : effRows) {
+            Long pid = (Long) r.get("PRODUCT_ID");
+            Long eid = (Long) r.get("EFFECT_ID");
+            if (pid == null || eid == null) continue;
+            res.computeIfAbsent(pid, k -> new HashSet<>()).add(eid);
+        }
+        return res;
+    }
+
+    static Map<Long, Double> scoreExternal(List<Map<String, Object>> prodRows,
+            Map<Long, Set<Long>> productEffects, Map<Long, Integer> compatMap,
+            Integer baseCategoryId, Set<Long> skinEffectIds, Set<Long> hairEffectIds,
+            Set<Long> healthEffectIds) {
+        Set<Long> extEffects = extDesiredEffectsFromConcerns(baseCategoryId, skinEffectIds,
+                hairEffectIds, healthEffectIds);
+
+        Map<Long, Double> baseScores = new HashMap<>();
+        for (Map<String, Object> pd : prodRows) {
+            Long pid = (Long) pd.get("PRODUCT_ID");
+            long stock = (Long) pd.get("STOCK");
+            if (stock <= 0) continue;
+
+            int candCat = (Integer) pd.get("CATEGORY_ID");
+            Set<Long> candEffects = productEffects.getOrDefault(pid, Set.of());
+
+            double sim = cosineOnSets(extEffects, candEffects);
+            if (sim <= 0) continue;
+
+            double compatWeight = 1.0;
+            if (isSkin(candCat)) {
+                Integer cp = compatMap.getOrDefault(pid, 0);
+                if (cp == -1) continue;
+                compatWeight = (cp == 1) ? COMPAT_GOOD : COMPAT_NEUTRAL;
+            }
+
+            long matched = concernMatchCount(candCat, candEffects, skinEffectIds, hairEffectIds,
+                    healthEffectIds);
+            double concernWeight = 1.0 + CONCERN_BOOST_PER_EFFECT * matched;
+
+            double catBonus = 1.0;
+            if (baseCategoryId != null) {
+                if (candCat == baseCategoryId) catBonus = SAME_CATEGORY_BONUS;
+                else if (sameGroup(baseCategoryId, candCat)) catBonus = SAME_GROUP_BONUS;
+            }
+
+            baseScores.put(pid, sim * compatWeight * concernWeight * catBonus);
+        }
+        return baseScores;
+    }
+
+    private static long concernMatchCount(int candCat, Set<Long> candEffects,
+            Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds) {
+        if (isSkin(candCat)) return countMatches(candEffects, skinEffectIds);
+        else if (isHair(candCat)) return countMatches(candEffects, hairEffectIds);
+        else if (isHealth(candCat)) return countMatches(candEffects, healthEffectIds);
+        return 0;
+    }
+
+    private static Set<Long> extDesiredEffectsFromConcerns(Integer baseCategoryId,
+            Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds) {
+        if (baseCategoryId == null) {
+            Set<Long> u = new HashSet<>();
+            u.addAll(skinEffectIds);
+            u.addAll(hairEffectIds);
+            u.addAll(healthEffectIds);
+            return u;
+        }
+        if (isSkin(baseCategoryId)) return skinEffectIds;
+        if (isHair(baseCategoryId)) return hairEffectIds;
+        if (isHealth(baseCategoryId)) return healthEffectIds;
+        return Set.of();
+    }
+
+    private static double cosineOnSets(Set<Long> a, Set<Long> b) {
+        if (a == null || b == null || a.isEmpty() || b.isEmpty()) return 0.0;
+        int inter = 0;
+        for (Long x : a) if (b.contains(x)) inter++;
+        if (inter == 0) return 0.0;
+        double denom = Math.sqrt((double) a.size() * (double) b.size());
+        if (denom <= 0) return 0.0;
+        return inter / denom;
+    }
+
+    private static long countMatches(Set<Long> eids, Set<Long> wanted) {
+        if (wanted == null || wanted.isEmpty() || eids == null || eids.isEmpty()) return 0;
+        long cnt = 0;
+        for (Long x : wanted) if (eids.contains(x)) cnt++;
+        return cnt;
+    }
+
+    private static boolean isSkin(int c) { return c >= 0 && c <= 5; }
+    private static boolean isHair(int c) { return c == 6 || c == 7; }
+    private static boolean isHealth(int c) { return c >= 8 && c <= 11; }
+    private static boolean sameGroup(int a, int b) {
+        return (isSkin(a) && isSkin(b)) || (isHair(a) && isHair(b)) || (isHealth(a) && isHealth(b));
+    }
+}
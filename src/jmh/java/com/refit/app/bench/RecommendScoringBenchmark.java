@@ -0,0 +1,146 @@
+package com.refit.app.bench;
+
+import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
+import com.refit.app.domain.memberProduct.recommend.ConcernMasks;
+import com.refit.app.domain.memberProduct.recommend.EffectMask;
+import com.refit.app.domain.memberProduct.recommend.ProductRecommendIndex;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 전체 카탈로그 대상 외부 제품 추천 점수 계산 처리량 (요청 1건 = 카탈로그 전체 1회 스캔).
+ * <p>
+ * legacySets: Set&lt;Long&gt; 코사인/고민 매칭, bitmaskRows: 같은 행 순회에 효과 비트마스크, index: 열 단위
+ * 상주 카탈로그 + top-K. 실행: ./gradlew jmh -PjmhInclude=RecommendScoringBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RecommendScoringBenchmark {
+
+    // 카테고리 그룹별 효과 ID 범위 (스킨 0~7, 헤어 8~10, 헬스 11~18)
+    private static final int[][] GROUP_EFFECTS = {{0, 8}, {8, 11}, {11, 19}};
+
+    @Param({"2000", "20000"})
+    public int catalogSize;
+
+    private List<Map<String, Object>> products;
+    private Map<Long, Set<Long>> effectSets;
+    private Map<Long, Long> effectMasks;
+    private Map<Long, Integer> compatMap;
+    private ProductRecommendIndex index;
+
+    private final Integer baseCategoryId = 1;
+    private final Set<Long> skinConcerns = Set.of(0L, 1L, 5L);
+    private final Set<Long> hairConcerns = Set.of(8L);
+    private final Set<Long> healthConcerns = Set.of(13L, 17L);
+    private ConcernMasks concerns;
+
+    @Setup
+    public void catalog() {
+        Random rnd = new Random(7L);
+        products = new ArrayList<>(catalogSize);
+        List<Map<String, Object>> effects = new ArrayList<>();
+        List<Map<String, Object>> compat = new ArrayList<>();
+        for (long pid = 1; pid <= catalogSize; pid++) {
+            int cat = rnd.nextInt(12);
+            Map<String, Object> p = new HashMap<>();
+            p.put("PRODUCT_ID", pid);
+            p.put("CATEGORY_ID", cat);
+            p.put("PRODUCT_NAME", "상품" + pid);
+            p.put("BRAND_NAME", "브랜드" + rnd.nextInt(400));
+            p.put("PRICE", 10_000L + rnd.nextInt(50_000));
+            p.put("DISCOUNT_RATE", rnd.nextInt(40));
+            p.put("DISCOUNTED_PRICE", 9_000L);
+            p.put("STOCK", rnd.nextInt(10) == 0 ? 0L : (long) rnd.nextInt(500));
+            products.add(p);
+
+            int[] range = GROUP_EFFECTS[cat <= 5 ? 0 : cat <= 7 ? 1 : 2];
+            int n = 1 + rnd.nextInt(4);
+            for (int k = 0; k < n; k++) {
+                long eid = range[0] + rnd.nextInt(range[1] - range[0]);
+                effects.add(Map.of("PRODUCT_ID", pid, "EFFECT_ID", eid));
+            }
+            if (cat <= 5) {
+                compat.add(Map.of("PRODUCT_ID", pid, "SKIN_TYPE", 1, "COMPAT", rnd.nextInt(3) - 1));
+            }
+        }
+
+        effectSets = LegacyRecommendScoring.groupEffects(effects);
+        effectMasks = new HashMap<>();
+        for (Map<String, Object> r : effects) {
+            effectMasks.merge((Long) r.get("PRODUCT_ID"), EffectMask.bit((Long) r.get("EFFECT_ID")),
+                    (a, b) -> a | b);
+        }
+        compatMap = new HashMap<>();
+        for (Map<String, Object> r : compat) {
+            compatMap.put((Long) r.get("PRODUCT_ID"), (Integer) r.get("COMPAT"));
+        }
+        concerns = new ConcernMasks(EffectMask.of(skinConcerns), EffectMask.of(hairConcerns),
+                EffectMask.of(healthConcerns));
+
+        MemberProductMapper mapper = (MemberProductMapper) Proxy.newProxyInstance(
+                MemberProductMapper.class.getClassLoader(), new Class<?>[]{MemberProductMapper.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "selectRecommendCatalogFingerprint" -> "bench";
+                    case "selectAllProducts" -> products;
+                    case "selectAllProductEffects" -> effects;
+                    case "selectAllSkinCompat" -> compat;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        index = new ProductRecommendIndex(mapper);
+        index.reload();
+    }
+
+    @Benchmark
+    public Map<Long, Double> legacySets() {
+        return LegacyRecommendScoring.scoreExternal(products, effectSets, compatMap, baseCategoryId,
+                skinConcerns, hairConcerns, healthConcerns);
+    }
+
+    /** 서비스의 DB 폴백/내부 추천 경로와 같은 모양: 행 Map 순회 + 비트마스크 */
+    @Benchmark
+    public Map<Long, Double> bitmaskRows() {
+        long ext = concerns.external(baseCategoryId);
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map<String, Object> pd : products) {
+            Long pid = (Long) pd.get("PRODUCT_ID");
+            if ((Long) pd.get("STOCK") <= 0) continue;
+
+            int cat = (Integer) pd.get("CATEGORY_ID");
+            long eff = effectMasks.getOrDefault(pid, 0L);
+            double sim = EffectMask.cosine(ext, eff);
+            if (sim <= 0) continue;
+
+            double compatWeight = 1.0;
+            if (cat <= 5) {
+                int cp = compatMap.getOrDefault(pid, 0);
+                if (cp == -1) continue;
+                compatWeight = cp == 1 ? 1.20 : 1.00;
+            }
+            double concernWeight = 1.0 + 0.08 * EffectMask.matches(eff, concerns.forCategory(cat));
+            double catBonus = cat == baseCategoryId ? 1.10 : cat <= 5 ? 1.05 : 1.0;
+            scores.put(pid, sim * compatWeight * concernWeight * catBonus);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public Map<Long, Double> index() {
+        return index.scoreExternal(concerns, 1, baseCategoryId).scores();
+    }
+}
@@ -0,0 +1,104 @@
+package com.refit.app.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.product.dto.ProductRecommendationItemDto;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import com.refit.app.infra.cache.BinaryRecommendationCodec;
+import com.refit.app.infra.cache.JsonRecommendationCodec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Redis 추천 캐시 값 인코딩/디코딩 비용 (요청 1건 = 응답 1개).
+ * <p>
+ * json: 기존 ObjectMapper 문자열, binary: 스키마 버전 바이너리(압축 없음), binaryDeflate: 512B 이상 Deflate.
+ * 값 크기는 Setup 에서 출력한다. 실행: ./gradlew jmh -PjmhInclude=RecommendationCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecommendationCodecBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int items;
+
+    private ProductRecommendationResponse response;
+    private JsonRecommendationCodec json;
+    private BinaryRecommendationCodec binary;
+    private BinaryRecommendationCodec binaryDeflate;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+    private byte[] deflateBytes;
+
+    @Setup
+    public void payload() throws IOException {
+        Random rnd = new Random(7L);
+        List<ProductRecommendationItemDto> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            long pid = 1 + rnd.nextInt(20_000);
+            long price = 10_000L + rnd.nextInt(50_000);
+            int rate = rnd.nextInt(40);
+            list.add(ProductRecommendationItemDto.builder()
+                    .productId(pid)
+                    .thumbnailUrl("https://refit-bucket.s3.ap-northeast-2.amazonaws.com/products/" + pid
+                            + "/thumbnail.jpg")
+                    .brandName("브랜드" + rnd.nextInt(400))
+                    .productName("상품 " + pid + " 저자극 수분 크림 50ml")
+                    .discountRate(rate)
+                    .price(price)
+                    .discountedPrice(price * (100 - rate) / 100 / 100 * 100)
+                    .build());
+        }
+        response = new ProductRecommendationResponse(list);
+
+        json = new JsonRecommendationCodec(new ObjectMapper());
+        binary = new BinaryRecommendationCodec(0);
+        binaryDeflate = new BinaryRecommendationCodec(512);
+        jsonBytes = json.encode(response);
+        binaryBytes = binary.encode(response);
+        deflateBytes = binaryDeflate.encode(response);
+        System.out.printf("%n[codec] items=%d json=%dB binary=%dB binaryDeflate=%dB%n",
+                items, jsonBytes.length, binaryBytes.length, deflateBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return json.encode(response);
+    }
+
+    @Benchmark
+    public ProductRecommendationResponse jsonDecode() throws IOException {
+        return json.decode(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binary.encode(response);
+    }
+
+    @Benchmark
+    public ProductRecommendationResponse binaryDecode() throws IOException {
+        return binary.decode(binaryBytes);
+    }
+
+    @Benchmark
+    public byte[] binaryDeflateEncode() {
+        return binaryDeflate.encode(response);
+    }
+
+    @Benchmark
+    public ProductRecommendationResponse binaryDeflateDecode() throws IOException {
+        return binaryDeflate.decode(deflateBytes);
+    }
+}
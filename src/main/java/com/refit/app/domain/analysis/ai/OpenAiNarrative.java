@@ -42,6 +42,7 @@ public class OpenAiNarrative {
             - Each *_overview: 1–2 sentences about overall pattern of that group; cite 1–2 examples if available and explain the common rationale (comedogenic, sensitizer, occlusive, humectant, soothing, barrier support, etc.).
             - Use only the provided ingredient names; do NOT invent new ones.
             - If a group is empty, return "해당되는 성분은 없습니다."
+            - If you address the user, copy the nickname exactly as given (it may be a template token).
             - End the summary with: "개인 피부 상태에 따라 차이가 있을 수 있습니다."
             """;
 
@@ -136,7 +137,7 @@ public class OpenAiNarrative {
         } catch (Exception e) {
             log.warn("[Narrative.classifyListFast] parse error: {}", e.toString());
             // 실패 시 모두 caution으로 처리(보수적)
-            return new ClassificationResult(List.of(), names, List.of());
+            return new ClassificationResult(List.of(), names, List.of(), true);
         }
     }
 
@@ -164,7 +165,7 @@ public class OpenAiNarrative {
                     return classifyListFast(b);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    return new ClassificationResult(List.of(), b, List.of());
+                    return new ClassificationResult(List.of(), b, List.of(), true);
                 } finally {
                     gate.release();
                 }
@@ -176,12 +177,15 @@ public class OpenAiNarrative {
         List<String> cautionAll = new ArrayList<>();
         List<String> riskyAll = new ArrayList<>();
 
+        boolean degraded = false;
+
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
         for (CompletableFuture<ClassificationResult> f : futures) {
             ClassificationResult r = f.join();
             safeAll.addAll(r.safe());
             cautionAll.addAll(r.caution());
             riskyAll.addAll(r.risky());
+            degraded |= r.degraded();
         }
 
         // 중복 제거(입력 순서 무관하므로 알파벳순 정렬 선택)
@@ -189,7 +193,7 @@ public class OpenAiNarrative {
         cautionAll = distinctKeepOrder(cautionAll);
         riskyAll = distinctKeepOrder(riskyAll);
 
-        return new ClassificationResult(safeAll, cautionAll, riskyAll);
+        return new ClassificationResult(safeAll, cautionAll, riskyAll, degraded);
     }
 
     private static <T> List<List<T>> partition(List<T> list, int size) {
@@ -293,9 +297,13 @@ public class OpenAiNarrative {
     }
 
     // -------------------- DTOs --------------------
+    // degraded: 모델 응답 실패로 보수적 폴백(전부 caution)한 결과 → 학습 저장 대상 아님
     public record ClassificationResult(List<String> safe, List<String> caution,
-                                       List<String> risky) {
+                                       List<String> risky, boolean degraded) {
 
+        public ClassificationResult(List<String> safe, List<String> caution, List<String> risky) {
+            this(safe, caution, risky, false);
+        }
     }
 
     public record CosmeticNarrative(String summary, String riskyText, String cautionText,
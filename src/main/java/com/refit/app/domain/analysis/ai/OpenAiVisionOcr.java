@@ -3,16 +3,20 @@ package com.refit.app.domain.analysis.ai;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.refit.app.infra.image.ImagePreprocessor;
+import com.refit.app.infra.ocr.OcrEngine;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.model.Media;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
@@ -20,13 +24,31 @@ import org.springframework.util.MimeTypeUtils;
 
 @Slf4j
 @Component
-public class OpenAiVisionOcr {
+public class OpenAiVisionOcr implements OcrEngine {
 
     private final ChatClient chat;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Executor ocrExecutor;
 
-    public OpenAiVisionOcr(ChatClient.Builder builder) {
+    public OpenAiVisionOcr(ChatClient.Builder builder,
+            @Qualifier("ocrExecutor") Executor ocrExecutor) {
         this.chat = builder.build();
+        this.ocrExecutor = ocrExecutor;
+    }
+
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    /**
+     * OcrOrchestrator 용: 이미 전처리된 JPEG 를 그대로 보낸다. ChatClient 가 블로킹이라 ocrExecutor 에서 실행
+     * (cancel 은 결과만 버리고 진행 중인 호출은 끝까지 간다)
+     */
+    @Override
+    public CompletableFuture<String> recognize(byte[] payload, String format, String filename) {
+        Media media = Media.builder().mimeType(MimeTypeUtils.IMAGE_JPEG).data(payload).build();
+        return CompletableFuture.supplyAsync(() -> readAllText(media), ocrExecutor);
     }
 
     private static final Pattern JSON_BLOCK = Pattern.compile("\\{[\\s\\S]*\\}\\s*$");
@@ -137,6 +159,10 @@ public class OpenAiVisionOcr {
      */
     public String ocrAllText(byte[] imageBytes, @Nullable String filename,
             @Nullable String contentType) {
+        return readAllText(toMedia(imageBytes, filename, contentType));
+    }
+
+    private String readAllText(Media media) {
         String system = """
                 You are a strict OCR engine
                 Return JSON ONLY -> {"text":"<full readable text>"}
@@ -146,8 +172,6 @@ public class OpenAiVisionOcr {
                 """;
         String user = "Perform OCR for the full image and return JSON only.";
 
-        Media media = toMedia(imageBytes, filename, contentType);
-
         long t0 = System.nanoTime();
         String rsp = chat.prompt()
                 .system(system)
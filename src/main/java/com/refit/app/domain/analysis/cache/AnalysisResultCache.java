@@ -0,0 +1,190 @@
+package com.refit.app.domain.analysis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.refit.app.domain.analysis.dto.response.AnalysisResponseDto;
+import com.refit.app.domain.analysis.policy.ScoringPolicy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 라벨 분석 2단 캐시
+ * <ul>
+ *   <li>L1: 업로드 바이트 SHA-256 → OCR 텍스트. 근사 일치는 쓰지 않는다 (비슷한 라벨의 다른 제품 텍스트가 나올 수 있음)</li>
+ *   <li>L2: 정규화된 성분 리스트 + 피부 프로필 → 최종 분석 결과</li>
+ * </ul>
+ * L2 결과는 닉네임 자리를 {@link #NAME_PLACEHOLDER} 로 둔 템플릿으로 저장하고, 꺼낼 때 {@link #personalize} 로 채운다.
+ * 둘 다 TTL + 최대 개수 제한, Caffeine 통계로 히트/미스 집계.
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    // 내러티브 생성 시 닉네임 대신 넘기는 자리표시자 (성분명/일반 단어와 겹치지 않는 형태)
+    public static final String NAME_PLACEHOLDER = "{{nickname}}";
+
+    private final Cache<String, String> ocrByImage;
+    private final Cache<String, AnalysisResponseDto> resultByIngredients;
+
+    public AnalysisResultCache(
+            @Value("${analysis.cache.ocr.max-size:2000}") long ocrMaxSize,
+            @Value("${analysis.cache.ocr.ttl-minutes:360}") long ocrTtlMinutes,
+            @Value("${analysis.cache.result.max-size:5000}") long resultMaxSize,
+            @Value("${analysis.cache.result.ttl-minutes:60}") long resultTtlMinutes
+    ) {
+        this.ocrByImage = Caffeine.newBuilder()
+                .maximumSize(ocrMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(ocrTtlMinutes))
+                .recordStats()
+                .build();
+        this.resultByIngredients = Caffeine.newBuilder()
+                .maximumSize(resultMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(resultTtlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /* ========================= L1: 이미지 → OCR ========================= */
+
+    public String getOcrText(String imageKey) {
+        return imageKey == null ? null : ocrByImage.getIfPresent(imageKey);
+    }
+
+    public void putOcrText(String imageKey, String ocrText) {
+        if (imageKey != null && ocrText != null && !ocrText.isBlank()) {
+            ocrByImage.put(imageKey, ocrText);
+        }
+    }
+
+    /**
+     * 업로드 원본 바이트 기준 키 (같은 파일만 히트)
+     */
+    public static String imageKey(byte[] imageBytes) {
+        return imageBytes == null || imageBytes.length == 0 ? null : "img:" + sha256(imageBytes);
+    }
+
+    /* ========================= L2: 성분 + 프로필 → 결과 ========================= */
+
+    /**
+     * 저장된 템플릿을 현재 회원 닉네임으로 채워서 돌려준다
+     */
+    public AnalysisResponseDto getResult(String key, String memberName) {
+        AnalysisResponseDto hit = resultByIngredients.getIfPresent(key);
+        return hit == null ? null : personalize(hit, memberName);
+    }
+
+    /**
+     * @param template 닉네임 자리가 {@link #NAME_PLACEHOLDER} 인 결과 (회원 닉네임이 들어간 결과를 넣으면 안 된다)
+     */
+    public void putResult(String key, AnalysisResponseDto template) {
+        if (template != null) {
+            AnalysisResponseDto copy = copyOf(template);
+            copy.setMemberName(null);
+            resultByIngredients.put(key, copy);
+        }
+    }
+
+    /**
+     * 템플릿의 자리표시자를 닉네임으로 바꾼 복사본
+     */
+    public static AnalysisResponseDto personalize(AnalysisResponseDto template, String memberName) {
+        String name = memberName == null ? "" : memberName;
+        AnalysisResponseDto out = copyOf(template);
+        out.setSummary(fillName(out.getSummary(), name));
+        out.setRiskyText(fillName(out.getRiskyText(), name));
+        out.setCautionText(fillName(out.getCautionText(), name));
+        out.setSafeText(fillName(out.getSafeText(), name));
+        out.setMemberName(memberName);
+        return out;
+    }
+
+    /**
+     * 룰 인덱스 버전을 키에 포함 → 룰이 바뀌면 이전 결과는 자연히 미스
+     */
+    public static String cosmeticKey(List<String> normalizedNames, ScoringPolicy.Profile profile,
+            long ruleVersion) {
+        String profileBits = profile == null ? "-" : String.format("%d%d%d%d%d",
+                bit(profile.sensitiveSkin()), bit(profile.acneProne()), bit(profile.atopic()),
+                bit(profile.innerDryness()), bit(profile.redness()));
+        return "cos:v" + ruleVersion + ":" + profileBits + ":" + sha256(String.join("\n", normalizedNames));
+    }
+
+    public static String supplementKey(String ocrText) {
+        return "sup:" + sha256(ocrText == null ? "" : ocrText.strip());
+    }
+
+    /* ========================= 통계 ========================= */
+
+    public CacheStats ocrStats() {
+        return ocrByImage.stats();
+    }
+
+    public CacheStats resultStats() {
+        return resultByIngredients.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.cache.stats-log-ms:600000}",
+            initialDelayString = "${analysis.cache.stats-log-ms:600000}")
+    public void logStats() {
+        CacheStats o = ocrStats(), r = resultStats();
+        log.info("[AnalysisCache] L1(ocr) size={} hit={} miss={} rate={} | L2(result) size={} hit={} miss={} rate={}",
+                ocrByImage.estimatedSize(), o.hitCount(), o.missCount(),
+                String.format("%.2f", o.hitRate()),
+                resultByIngredients.estimatedSize(), r.hitCount(), r.missCount(),
+                String.format("%.2f", r.hitRate()));
+    }
+
+    // ---- helpers ----
+
+    // 캐시 값은 호출자가 memberName 등을 덮어쓰므로 항상 복사본으로 주고받는다
+    private static AnalysisResponseDto copyOf(AnalysisResponseDto s) {
+        return AnalysisResponseDto.builder()
+                .memberName(s.getMemberName())
+                .matchRate(s.getMatchRate())
+                .risky(s.getRisky() == null ? null : new ArrayList<>(s.getRisky()))
+                .caution(s.getCaution() == null ? null : new ArrayList<>(s.getCaution()))
+                .safe(s.getSafe() == null ? null : new ArrayList<>(s.getSafe()))
+                .riskyText(s.getRiskyText())
+                .cautionText(s.getCautionText())
+                .safeText(s.getSafeText())
+                .summary(s.getSummary())
+                .supplementBenefits(s.getSupplementBenefits() == null ? null
+                        : new ArrayList<>(s.getSupplementBenefits()))
+                .supplementConditionCautions(s.getSupplementConditionCautions() == null ? null
+                        : new ArrayList<>(s.getSupplementConditionCautions()))
+                .status(s.getStatus())
+                .reason(s.getReason())
+                .suggestion(s.getSuggestion())
+                .build();
+    }
+
+    private static String fillName(String text, String name) {
+        return text == null ? null : text.replace(NAME_PLACEHOLDER, name);
+    }
+
+    private static int bit(boolean b) {
+        return b ? 1 : 0;
+    }
+
+    private static String sha256(String s) {
+        return sha256(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.refit.app.domain.analysis.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.analysis.dto.AnalysisStatus;
+import com.refit.app.domain.analysis.dto.response.AnalysisProgressResponse;
 import com.refit.app.domain.analysis.dto.response.AnalysisResponseDto;
+import com.refit.app.domain.analysis.service.AnalysisProgressListener;
 import com.refit.app.domain.analysis.service.AnalysisService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,7 +21,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+@Slf4j
 @RestController
 @RequestMapping("/analysis")
 public class IngredientAnalysisController {
@@ -20,11 +31,16 @@ public class IngredientAnalysisController {
     private final ChatClient chat;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final AnalysisService analysisService;
+    private final TaskExecutor analysisExecutor;
+
+    private static final long STREAM_TIMEOUT_MS = 60_000L;
 
     public IngredientAnalysisController(ChatClient.Builder builder,
-            AnalysisService analysisService) {
+            AnalysisService analysisService,
+            @Qualifier("analysisRequestExecutor") TaskExecutor analysisExecutor) {
         this.chat = builder.build();
         this.analysisService = analysisService;
+        this.analysisExecutor = analysisExecutor;
     }
 
     @PostMapping(
@@ -47,4 +63,119 @@ public class IngredientAnalysisController {
                 image.getContentType()
         );
     }
+
+    /**
+     * SSE 스트리밍 분석: 단계별 중간 결과를 먼저 흘려보낸다.
+     * <ul>
+     *   <li>ingredients: OCR/파싱된 성분 리스트</li>
+     *   <li>classified: safe/caution/risky 버킷 + 매칭률</li>
+     *   <li>result: 최종 AnalysisResponseDto (내러티브 포함, 실패 상태도 여기로)</li>
+     * </ul>
+     * 성공(OK)이면 캐시 히트/영양제 여부와 관계없이 항상 ingredients → classified → result 순서로 한 번씩 보낸다.
+     * 파이프라인이 건너뛴 중간 이벤트는 최종 결과로 채운다 (영양제는 빈 리스트).
+     * 실패면 그때까지 나간 중간 이벤트 뒤에 result 만 보낸다.
+     */
+    @PostMapping(
+            value = "/image/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public SseEmitter analyzeStream(
+            Authentication authentication,
+            @RequestPart("image") MultipartFile image,
+            @RequestParam("productType") String productType
+    ) throws Exception {
+        Long memberId = (Long) authentication.getPrincipal();
+        // 요청 스레드가 끝나면 멀티파트 임시파일이 지워지므로 미리 읽어둔다
+        byte[] bytes = image.getBytes();
+        String filename = image.getOriginalFilename();
+        String contentType = image.getContentType();
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        OrderedProgress listener = new OrderedProgress(emitter);
+
+        try {
+            analysisExecutor.execute(() -> {
+                AnalysisResponseDto result = analysisService.analyzeImage(
+                        memberId, bytes, productType, filename, contentType, listener);
+                listener.finish(result);
+                send(emitter, "result", result);
+                emitter.complete();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("[AnalysisStream] executor saturated: {}", e.toString());
+            send(emitter, "result", AnalysisResponseDto.builder()
+                    .status(AnalysisStatus.SERVER_ERROR)
+                    .reason("ANALYSIS_BUSY")
+                    .suggestion("일시적인 오류예요. 잠시 후 다시 시도해주세요.")
+                    .build());
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            // 클라이언트가 끊긴 경우: 분석은 끝까지 진행(캐시 적재), 전송만 포기
+            log.debug("[AnalysisStream] send '{}' failed: {}", event, e.toString());
+        }
+    }
+
+    /**
+     * 중간 이벤트를 한 번씩만 보내고, 성공 결과인데 빠진 단계가 있으면 결과로 채워 순서를 맞춘다
+     */
+    private static final class OrderedProgress implements AnalysisProgressListener {
+
+        private final SseEmitter emitter;
+        private boolean ingredientsSent;
+        private boolean classifiedSent;
+
+        private OrderedProgress(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public synchronized void onIngredients(List<String> names) {
+            if (!ingredientsSent) {
+                ingredientsSent = true;
+                send(emitter, "ingredients", AnalysisProgressResponse.builder().ingredients(names).build());
+            }
+        }
+
+        @Override
+        public synchronized void onClassified(List<String> safe, List<String> caution, List<String> risky,
+                int matchRate) {
+            if (!classifiedSent) {
+                onIngredients(concat(risky, caution, safe)); // classified 가 ingredients 를 앞지르지 않도록
+                classifiedSent = true;
+                send(emitter, "classified", AnalysisProgressResponse.builder()
+                        .safe(safe).caution(caution).risky(risky).matchRate(matchRate).build());
+            }
+        }
+
+        synchronized void finish(AnalysisResponseDto result) {
+            if (result == null || result.getStatus() != AnalysisStatus.OK) {
+                return;
+            }
+            List<String> safe = orEmpty(result.getSafe());
+            List<String> caution = orEmpty(result.getCaution());
+            List<String> risky = orEmpty(result.getRisky());
+            onIngredients(concat(risky, caution, safe));
+            onClassified(safe, caution, risky, result.getMatchRate());
+        }
+
+        private static List<String> concat(List<String> a, List<String> b, List<String> c) {
+            List<String> out = new ArrayList<>();
+            out.addAll(orEmpty(a));
+            out.addAll(orEmpty(b));
+            out.addAll(orEmpty(c));
+            return out;
+        }
+
+        private static List<String> orEmpty(List<String> xs) {
+            return xs == null ? List.of() : xs;
+        }
+    }
 }
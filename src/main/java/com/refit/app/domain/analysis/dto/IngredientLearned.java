@@ -0,0 +1,14 @@
+package com.refit.app.domain.analysis.dto;
+
+import lombok.Data;
+
+@Data
+public class IngredientLearned {
+
+    private String normalizedKey;    // IngredientRuleIndex.canonicalKey
+    private String ingredientName;   // 처음 분류된 원문 이름
+    private int ingredientCategory;  // 0 SAFE, 1 CAUTION, 2 DANGER
+    private String source;           // LLM | MANUAL
+    private Double confidence;       // 0.0 ~ 1.0
+    private String model;
+}
@@ -0,0 +1,26 @@
+package com.refit.app.domain.analysis.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * SSE 중간 이벤트 payload (ingredients / classified)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisProgressResponse {
+
+    private List<String> ingredients;
+
+    private List<String> risky;
+    private List<String> caution;
+    private List<String> safe;
+    private Integer matchRate;
+}
@@ -4,6 +4,7 @@ import com.refit.app.domain.analysis.dto.AnalysisHairConcernDto;
 import com.refit.app.domain.analysis.dto.AnalysisHealthConcernDto;
 import com.refit.app.domain.analysis.dto.AnalysisHealthInfoDto;
 import com.refit.app.domain.analysis.dto.AnalysisSkinConcernDto;
+import com.refit.app.domain.analysis.dto.IngredientLearned;
 import com.refit.app.domain.analysis.dto.IngredientRule;
 import java.util.Collection;
 import java.util.List;
@@ -22,6 +23,14 @@ public interface AnalysisMapper {
     AnalysisHairConcernDto selectHairConcern(@Param("memberId") Long memberId);
 
     List<IngredientRule> selectByNames(@Param("names") Collection<String> names);
-  
+
+    List<IngredientRule> selectAllRules();
+
+    String selectRuleFingerprint();
+
+    List<IngredientLearned> selectLearnedByKeys(@Param("keys") Collection<String> keys);
+
+    int mergeLearned(@Param("rows") List<IngredientLearned> rows);
+
     String selectMemberNickname(@Param("memberId") Long memberId);
 }
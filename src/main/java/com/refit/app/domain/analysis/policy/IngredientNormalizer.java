@@ -1,6 +1,7 @@
 package com.refit.app.domain.analysis.policy;
 
 import java.text.Normalizer;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,6 +20,30 @@ public class IngredientNormalizer {
         ALIAS.put("retinol", "레티놀(비타민 A 유도체)");
         ALIAS.put("salicylicacid", "살리실산(BHA)");
         ALIAS.put("betaine", "베타인");
+
+        // 조회 키와 같은 형태(소문자/공백 제거)로 맞춰둔다 — 공백이 들어간 별칭도 매칭되도록
+        Map<String, String> byKey = new HashMap<>();
+        ALIAS.forEach((k, v) -> byKey.putIfAbsent(aliasKey(k), v));
+        ALIAS.clear();
+        ALIAS.putAll(byKey);
+    }
+
+    /**
+     * 별칭 사전 (키: 소문자 + 공백 제거 → 표준 이름)
+     */
+    public static Map<String, String> aliases() {
+        return Collections.unmodifiableMap(ALIAS);
+    }
+
+    private static String aliasKey(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
     }
 
     public static String normalize(String raw) {
@@ -26,14 +51,48 @@ public class IngredientNormalizer {
             return "";
         }
         String s = raw.strip();
-        s = Normalizer.normalize(s, Normalizer.Form.NFKC)
-                .replace('（', '(').replace('）', ')')
-                .replaceAll("\\s{2,}", " ");
-        String key = s.toLowerCase().replaceAll("\\s", "");
-        String mapped = ALIAS.get(key);
+        if (!Normalizer.isNormalized(s, Normalizer.Form.NFKC)) {
+            s = Normalizer.normalize(s, Normalizer.Form.NFKC);
+        }
+
+        // （）→() + 연속 공백 1칸 + 별칭 키(소문자/공백 제거)를 한 번에
+        StringBuilder out = new StringBuilder(s.length());
+        StringBuilder key = new StringBuilder(s.length());
+        int wsRun = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '（') {
+                c = '(';
+            } else if (c == '）') {
+                c = ')';
+            }
+            if (Character.isWhitespace(c)) {
+                wsRun++;
+                continue;
+            }
+            if (wsRun > 0) {
+                out.append(wsRun == 1 ? s.charAt(i - 1) : ' ');
+                wsRun = 0;
+            }
+            out.append(c);
+            key.append(Character.toLowerCase(c));
+        }
+
+        String mapped = ALIAS.get(key.toString());
         if (mapped != null) {
             return mapped;
         }
-        return s.replaceAll("[\\.:;]+$", "");
+
+        // 끝의 . : ; 제거
+        int end = out.length();
+        while (end > 0) {
+            char c = out.charAt(end - 1);
+            if (c != '.' && c != ':' && c != ';') {
+                break;
+            }
+            end--;
+        }
+        out.setLength(end);
+        return out.toString();
     }
 }
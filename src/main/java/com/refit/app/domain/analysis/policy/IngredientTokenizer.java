@@ -0,0 +1,188 @@
+package com.refit.app.domain.analysis.policy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OCR 텍스트 → 정규화된 성분 리스트 (단일 패스 스캐너)
+ * <p>
+ * 1) 미리 컴파일한 패턴으로 전성분 블록 위치만 찾고(없으면 전체 텍스트)
+ * 2) 블록을 한 글자씩 훑으며 구분자 분리 / 괄호 내용 제거(닫히지 않은 괄호는 다음 구분자까지만) / 공백 정리 / 한글 소프트 브레이크 결합을 동시에 처리
+ * 3) 토큰마다 IngredientNormalizer(NFKC + 별칭) 적용 후 순서 유지 dedupe
+ * <p>
+ * 중간 문자열은 토큰당 1~2개만 만든다. 상태가 없으므로 여러 스레드에서 그대로 사용 가능.
+ */
+public final class IngredientTokenizer {
+
+    private IngredientTokenizer() {
+    }
+
+    private static final Pattern BLOCK_START = Pattern.compile(
+            "(?i)(전\\s*성\\s*분|성\\s*분|INGREDIENTS?)\\s*[:：]?\\s*|(?m)^(전성분|성분|Ingredients?)\\b");
+    // 줄바꿈으로 끊긴 키워드(주의\n사항)도 잡도록 글자 사이 공백 허용
+    private static final Pattern BLOCK_END = Pattern.compile("(?i)(" + String.join("|",
+            spaced("주의사항"), spaced("사용법"), spaced("보관방법"), spaced("원재료"),
+            spaced("영양성분"), spaced("전성분표"), spaced("제조사"), spaced("고객센터"),
+            spaced("사용상주의"), spaced("효능"), spaced("효과")) + ")");
+
+    private static final int MIN_LEN = 2;
+    private static final int MAX_LEN = 50;
+
+    /**
+     * OCR 원문에서 성분 리스트 추출 (블록을 못 찾으면 전체 텍스트를 파싱)
+     */
+    public static List<String> tokenize(String ocrText) {
+        if (ocrText == null || ocrText.isBlank()) {
+            return List.of();
+        }
+        int from = 0;
+        int to = ocrText.length();
+
+        Matcher start = BLOCK_START.matcher(ocrText);
+        if (start.find()) {
+            Matcher end = BLOCK_END.matcher(ocrText);
+            int blockTo = end.find(start.end()) ? end.start() : to;
+            if (hasContent(ocrText, start.end(), blockTo)) {
+                from = start.end();
+                to = blockTo;
+            }
+        }
+        return scan(ocrText, from, to);
+    }
+
+    /**
+     * [from, to) 구간을 한 번 훑어 토큰화 + 정규화 + dedupe
+     */
+    static List<String> scan(CharSequence text, int from, int to) {
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        StringBuilder token = new StringBuilder(64);
+
+        boolean unclosed = false; // 닫히지 않은 괄호 뒤 — 다음 구분자까지만 버림
+        boolean pendingWs = false;
+        boolean pendingNewline = false;
+
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+
+            if (isOpen(c)) {
+                // 짝이 맞는 괄호는 내용째 건너뛰고, OCR 로 닫는 괄호가 빠졌으면 이 토큰 안에서만 버린다
+                int close = matchingClose(text, i, to);
+                if (close >= 0) {
+                    i = close;
+                } else {
+                    unclosed = true;
+                }
+                continue;
+            }
+            if (isClose(c)) {
+                continue;
+            }
+
+            // 1,2-헥산다이올 처럼 숫자 사이 쉼표는 이름의 일부
+            boolean numericComma = c == ',' && !pendingWs && !token.isEmpty()
+                    && Character.isDigit(token.charAt(token.length() - 1))
+                    && i + 1 < to && Character.isDigit(text.charAt(i + 1));
+            if (!numericComma && isSeparator(c)) {
+                flush(token, out);
+                unclosed = false;
+                pendingWs = false;
+                pendingNewline = false;
+                continue;
+            }
+            if (unclosed) {
+                continue;
+            }
+
+            if (Character.isWhitespace(c)) {
+                pendingWs = true;
+                if (c == '\n') {
+                    pendingNewline = true;
+                }
+                continue;
+            }
+
+            if (pendingWs && !token.isEmpty()) {
+                // 정제\n수 → 정제수 (한글-줄바꿈-한글은 붙이고, 나머지 공백류는 1칸으로)
+                boolean softBreak = pendingNewline
+                        && isHangul(token.charAt(token.length() - 1)) && isHangul(c);
+                if (!softBreak) {
+                    token.append(' ');
+                }
+            }
+            pendingWs = false;
+            pendingNewline = false;
+            token.append(c);
+        }
+        flush(token, out);
+        return new ArrayList<>(out);
+    }
+
+    private static void flush(StringBuilder token, LinkedHashSet<String> out) {
+        int len = token.length();
+        if (len >= MIN_LEN && len <= MAX_LEN) {
+            String normalized = IngredientNormalizer.normalize(token.toString());
+            if (!normalized.isBlank()) {
+                out.add(normalized);
+            }
+        }
+        token.setLength(0);
+    }
+
+    /**
+     * open 위치의 괄호와 짝이 맞는 닫는 괄호 위치 (to 전까지 없으면 -1)
+     */
+    private static int matchingClose(CharSequence text, int open, int to) {
+        int depth = 0;
+        for (int i = open; i < to; i++) {
+            char c = text.charAt(i);
+            if (isOpen(c)) {
+                depth++;
+            } else if (isClose(c) && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String spaced(String keyword) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keyword.length(); i++) {
+            if (i > 0) {
+                sb.append("\\s*");
+            }
+            sb.append(keyword.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    private static boolean hasContent(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSeparator(char c) {
+        return switch (c) {
+            case ',', ';', '/', '\\', '|', 'ㆍ', '·', '│', '•', '，', '；', '｜' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isOpen(char c) {
+        return c == '(' || c == '[' || c == '{' || c == '（';
+    }
+
+    private static boolean isClose(char c) {
+        return c == ')' || c == ']' || c == '}' || c == '）';
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
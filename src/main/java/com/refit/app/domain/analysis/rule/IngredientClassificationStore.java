@@ -0,0 +1,198 @@
+package com.refit.app.domain.analysis.rule;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.refit.app.domain.analysis.ai.OpenAiNarrative.ClassificationResult;
+import com.refit.app.domain.analysis.dto.IngredientLearned;
+import com.refit.app.domain.analysis.mapper.AnalysisMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * INGREDIENT_RULE에 없는 성분에 대해 LLM이 내린 판정을 저장/재사용하는 저장소.
+ * <p>
+ * 조회: 로컬 캐시 → INGREDIENT_LEARNED. 없는 이름만 LLM에 묻고, 응답은 출처/신뢰도와 함께 다시 저장한다.
+ * DB에 없는 키는 짧게 negative 캐싱해서 같은 스캔이 반복돼도 DB를 두드리지 않는다.
+ * <p>
+ * 신뢰도: LLM은 확신이 없으면 caution 으로 몰도록 지시되어 있어, caution 판정은 "모름"이 섞인 값이다.
+ * 그래서 safe/risky 는 confidence.decisive(기본 0.7), caution 은 confidence.caution(기본 0.5)으로 낮게 기록한다.
+ * 기본 min-confidence(0.5)는 둘 다 재사용하고, 0.5 초과로 올리면 caution 판정만 다시 LLM에 묻는다.
+ * 값 자체는 보정된 확률이 아니라 이 순서 관계만 의미가 있다. 저장 후 MANUAL 교정이 있으면 그 행이 우선한다.
+ * 테이블 DDL: db/migration/V1__ingredient_learned.sql
+ */
+@Slf4j
+@Component
+public class IngredientClassificationStore {
+
+    public static final String SOURCE_LLM = "LLM";
+
+    private static final IngredientLearned MISSING = new IngredientLearned();
+
+    private final AnalysisMapper analysisMapper;
+    private final Cache<String, IngredientLearned> local;
+    private final double minConfidence;
+    private final double decisiveConfidence;
+    private final double cautionConfidence;
+    private final String model;
+
+    public IngredientClassificationStore(
+            AnalysisMapper analysisMapper,
+            @Value("${analysis.learned.max-size:20000}") long maxSize,
+            @Value("${analysis.learned.ttl-minutes:720}") long ttlMinutes,
+            @Value("${analysis.learned.negative-ttl-minutes:5}") long negativeTtlMinutes,
+            @Value("${analysis.learned.min-confidence:0.5}") double minConfidence,
+            @Value("${analysis.learned.confidence.decisive:0.7}") double decisiveConfidence,
+            @Value("${analysis.learned.confidence.caution:0.5}") double cautionConfidence,
+            @Value("${spring.ai.openai.chat.options.model:unknown}") String model
+    ) {
+        this.analysisMapper = analysisMapper;
+        this.minConfidence = minConfidence;
+        this.decisiveConfidence = decisiveConfidence;
+        this.cautionConfidence = cautionConfidence;
+        this.model = model;
+        long hitNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        long missNanos = Duration.ofMinutes(negativeTtlMinutes).toNanos();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, IngredientLearned>() {
+                    @Override
+                    public long expireAfterCreate(String k, IngredientLearned v, long now) {
+                        return v == MISSING ? missNanos : hitNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String k, IngredientLearned v, long now,
+                            long current) {
+                        return expireAfterCreate(k, v, now);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String k, IngredientLearned v, long now,
+                            long current) {
+                        return current;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 이름 → 학습된 판정 (입력 순서 유지, 없거나 신뢰도 미달이면 제외)
+     */
+    public Map<String, IngredientLearned> lookup(Collection<String> names) {
+        Map<String, IngredientLearned> out = new LinkedHashMap<>();
+        if (names == null || names.isEmpty()) {
+            return out;
+        }
+
+        Map<String, String> keyByName = new LinkedHashMap<>();
+        for (String n : names) {
+            String key = IngredientRuleIndex.canonicalKey(n);
+            if (!key.isEmpty()) {
+                keyByName.put(n, key);
+            }
+        }
+
+        Map<String, IngredientLearned> byKey;
+        try {
+            byKey = local.getAll(new HashSet<>(keyByName.values()), this::loadFromDb);
+        } catch (Exception e) {
+            // 저장소 장애 시 LLM 경로로 그대로 진행
+            log.warn("[LearnedStore] lookup failed: {}", e.toString());
+            return out;
+        }
+
+        keyByName.forEach((name, key) -> {
+            IngredientLearned l = byKey.get(key);
+            if (l != null && l != MISSING && confidenceOf(l) >= minConfidence) {
+                out.put(name, l);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * LLM 분류 결과 저장. 물어본 이름(asked)에 있는 것만 기록하고, 실패 폴백 결과는 버린다.
+     * 분석 트랜잭션(readOnly)과 분리된 별도 트랜잭션에서 쓴다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void record(List<String> asked, ClassificationResult cr) {
+        if (cr == null || cr.degraded() || asked == null || asked.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> askedByKey = new HashMap<>();
+        for (String n : asked) {
+            askedByKey.putIfAbsent(IngredientRuleIndex.canonicalKey(n), n);
+        }
+
+        Map<String, IngredientLearned> rows = new LinkedHashMap<>();
+        collect(rows, askedByKey, cr.safe(), 0, decisiveConfidence);
+        collect(rows, askedByKey, cr.caution(), 1, cautionConfidence);
+        collect(rows, askedByKey, cr.risky(), 2, decisiveConfidence);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            analysisMapper.mergeLearned(new ArrayList<>(rows.values()));
+            // MERGE 는 기존 행(MANUAL 교정, 먼저 저장된 판정)을 덮어쓰지 않으므로 DB에 실제로 남은 값으로 캐시를 채운다
+            local.putAll(loadFromDb(rows.keySet()));
+            log.info("[LearnedStore] recorded {} classifications", rows.size());
+        } catch (Exception e) {
+            log.warn("[LearnedStore] record failed: {}", e.toString());
+        }
+    }
+
+    // ---- helpers ----
+
+    private Map<String, IngredientLearned> loadFromDb(Set<? extends String> keys) {
+        Map<String, IngredientLearned> found = new HashMap<>();
+        for (IngredientLearned l : analysisMapper.selectLearnedByKeys(new ArrayList<>(keys))) {
+            found.put(l.getNormalizedKey(), l);
+        }
+        for (String k : keys) {
+            found.putIfAbsent(k, MISSING);
+        }
+        return found;
+    }
+
+    private void collect(Map<String, IngredientLearned> rows, Map<String, String> askedByKey,
+            List<String> names, int category, double confidence) {
+        if (names == null) {
+            return;
+        }
+        for (String n : names) {
+            String key = IngredientRuleIndex.canonicalKey(n);
+            String askedName = askedByKey.get(key);
+            if (askedName == null || rows.containsKey(key)) {
+                continue; // LLM이 만들어낸 이름이거나 중복 판정이면 무시
+            }
+            IngredientLearned l = new IngredientLearned();
+            l.setNormalizedKey(key);
+            l.setIngredientName(askedName);
+            l.setIngredientCategory(category);
+            l.setSource(SOURCE_LLM);
+            l.setConfidence(confidence);
+            l.setModel(model);
+            rows.put(key, l);
+        }
+    }
+
+    private static double confidenceOf(IngredientLearned l) {
+        return l.getConfidence() == null ? 1.0 : l.getConfidence();
+    }
+}
@@ -0,0 +1,234 @@
+package com.refit.app.domain.analysis.rule;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 성분 어휘(정규화 키) 위의 자모 단위 트라이 + 제한 편집거리 검색.
+ * <p>
+ * OCR이 한 글자의 받침/모음만 잘못 읽는 경우(나이아신아마이드 → 나이아신아마이도)가 많아서
+ * 음절이 아닌 초/중/종성 단위로 거리를 잰다. 트라이를 따라 Levenshtein 행을 갱신하고, 행 최솟값이
+ * 허용치를 넘으면 가지를 잘라 어휘 크기와 무관하게 수 μs 안에 끝난다.
+ * <p>
+ * 불변 객체: 스냅샷 교체 시 통째로 새로 만든다.
+ */
+public final class IngredientFuzzyMatcher<T> {
+
+    private static final int MIN_FUZZY_LENGTH = 4; // 자모 기준, 이보다 짧으면 오탐이 많아 정확 매칭만
+    private static final int INF = 1 << 20;
+
+    private final Node<T> root;
+    private final int size;
+
+    private IngredientFuzzyMatcher(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public record Match<T>(T value, String key, int distance) {
+
+    }
+
+    /**
+     * @param vocabulary 정규화 키(IngredientRuleIndex.canonicalKey) → 값
+     */
+    public static <T> IngredientFuzzyMatcher<T> build(Map<String, T> vocabulary) {
+        Builder<T> root = new Builder<>();
+        int n = 0;
+        for (Map.Entry<String, T> e : vocabulary.entrySet()) {
+            String jamo = toJamo(e.getKey());
+            if (jamo.isEmpty()) {
+                continue;
+            }
+            Builder<T> cur = root;
+            for (int i = 0; i < jamo.length(); i++) {
+                cur = cur.children.computeIfAbsent(jamo.charAt(i), c -> new Builder<>());
+            }
+            if (cur.value == null) {
+                cur.value = e.getValue();
+                cur.key = e.getKey();
+                n++;
+            }
+        }
+        return new IngredientFuzzyMatcher<>(root.freeze(0), n);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 허용 거리 안의 가장 가까운 항목. 최단 거리 후보가 둘 이상이면(모호) null
+     */
+    public Match<T> closest(String canonicalKey) {
+        String q = toJamo(canonicalKey);
+        if (q.length() < MIN_FUZZY_LENGTH) {
+            return null;
+        }
+        int maxDist = maxDistanceFor(q.length());
+
+        // 깊이별 행 버퍼를 재사용 (노드마다 배열을 새로 만들지 않음)
+        int cols = q.length() + 1;
+        int[][] rows = new int[Math.min(root.maxLen, q.length() + maxDist) + 1][cols];
+        for (int i = 0; i < cols; i++) {
+            rows[0][i] = i;
+        }
+
+        Best<T> best = new Best<>(maxDist);
+        for (int i = 0; i < root.labels.length; i++) {
+            search(root.next[i], root.labels[i], q, rows, 1, best);
+        }
+        if (best.match == null || best.ambiguous) {
+            return null;
+        }
+        return best.match;
+    }
+
+    // 짧은 이름일수록 한 글자 차이도 다른 성분일 가능성이 커서 허용치를 줄인다
+    static int maxDistanceFor(int jamoLength) {
+        if (jamoLength <= 10) {
+            return 1;
+        }
+        if (jamoLength <= 24) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static <T> void search(Node<T> node, char label, String q, int[][] rows, int depth,
+            Best<T> best) {
+        // 이 가지 아래 단어 길이가 질의 길이와 허용치 이상 차이 나면 볼 필요 없음
+        if (node.minLen > q.length() + best.limit || node.maxLen < q.length() - best.limit
+                || depth >= rows.length) {
+            return;
+        }
+        int n = q.length();
+        int limit = best.limit;
+        int[] prevRow = rows[depth - 1];
+        int[] row = rows[depth];
+
+        // 대각선 ±limit 띠 밖은 어차피 허용치를 넘으므로 계산하지 않는다 (버퍼 재사용이라 경계는 INF로 채움)
+        row[0] = depth <= limit ? depth : INF;
+        int lo = Math.max(1, depth - limit);
+        int hi = Math.min(n, depth + limit);
+        if (lo - 1 >= 1) {
+            row[lo - 1] = INF;
+        }
+        if (hi + 1 <= n) {
+            row[hi + 1] = INF;
+        }
+
+        int rowMin = row[0];
+        for (int i = lo; i <= hi; i++) {
+            int insert = row[i - 1] + 1;
+            int delete = prevRow[i] + 1;
+            int replace = prevRow[i - 1] + (q.charAt(i - 1) == label ? 0 : 1);
+            int v = Math.min(insert, Math.min(delete, replace));
+            row[i] = v;
+            if (v < rowMin) {
+                rowMin = v;
+            }
+        }
+
+        int dist = hi == n ? row[n] : INF;
+        if (node.value != null && dist <= best.limit) {
+            best.offer(node, dist);
+        }
+        if (rowMin <= best.limit) {
+            for (int i = 0; i < node.labels.length; i++) {
+                search(node.next[i], node.labels[i], q, rows, depth + 1, best);
+            }
+        }
+    }
+
+    /**
+     * 한글 음절 → 초성/중성/종성 (유니코드 조합형 자모). 그 외 문자는 그대로
+     */
+    static String toJamo(String s) {
+        if (s == null || s.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '가' && c <= '힣') {
+                int idx = c - '가';
+                sb.append((char) (0x1100 + idx / 588));
+                sb.append((char) (0x1161 + (idx % 588) / 28));
+                int jong = idx % 28;
+                if (jong > 0) {
+                    sb.append((char) (0x11A7 + jong));
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // ---- trie nodes ----
+
+    private static final class Node<T> {
+
+        final char[] labels;
+        final Node<T>[] next;
+        final T value;
+        final String key;
+        final int minLen; // 이 노드 아래 단어들의 자모 길이 범위 (가지치기용)
+        final int maxLen;
+
+        Node(char[] labels, Node<T>[] next, T value, String key, int minLen, int maxLen) {
+            this.labels = labels;
+            this.next = next;
+            this.value = value;
+            this.key = key;
+            this.minLen = minLen;
+            this.maxLen = maxLen;
+        }
+    }
+
+    private static final class Builder<T> {
+
+        final TreeMap<Character, Builder<T>> children = new TreeMap<>();
+        T value;
+        String key;
+
+        @SuppressWarnings("unchecked")
+        Node<T> freeze(int depth) {
+            char[] labels = new char[children.size()];
+            Node<T>[] next = new Node[children.size()];
+            int minLen = value != null ? depth : Integer.MAX_VALUE;
+            int maxLen = value != null ? depth : 0;
+            int i = 0;
+            for (Map.Entry<Character, Builder<T>> e : children.entrySet()) {
+                labels[i] = e.getKey();
+                next[i] = e.getValue().freeze(depth + 1);
+                minLen = Math.min(minLen, next[i].minLen);
+                maxLen = Math.max(maxLen, next[i].maxLen);
+                i++;
+            }
+            return new Node<>(labels, next, value, key, minLen, maxLen);
+        }
+    }
+
+    private static final class Best<T> {
+
+        int limit;
+        Match<T> match;
+        boolean ambiguous;
+
+        Best(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(Node<T> node, int dist) {
+            if (match == null || dist < match.distance()) {
+                match = new Match<>(node.value, node.key, dist);
+                ambiguous = false;
+                limit = dist; // 더 먼 후보는 더 볼 필요 없음
+            } else if (dist == match.distance() && node.value != match.value()) {
+                ambiguous = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.refit.app.domain.analysis.rule;
+
+import com.refit.app.domain.analysis.dto.IngredientRule;
+import com.refit.app.domain.analysis.mapper.AnalysisMapper;
+import com.refit.app.domain.analysis.policy.IngredientNormalizer;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * INGREDIENT_RULE 전체를 메모리에 올려두고 정규화 키로 해시 조회하는 인덱스.
+ * <p>
+ * 키는 AnalysisMapper.selectByNames 의 SQL 정규화와 동일하다:
+ * UPPER → [·,/|;:\.-（）()"'[]] 제거 → 공백 제거.
+ * 룰 테이블 지문(count/max id/hash)이 바뀌면 새 스냅샷을 통째로 교체한다(버전 증가).
+ * <p>
+ * 정확히 일치하지 않는 이름은 룰 이름 + IngredientNormalizer 별칭 어휘 위의 자모 편집거리 검색으로 한 번 더
+ * 찾는다(OCR 오인식 보정). 여기서도 못 찾은 이름만 LLM 분류로 넘어간다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngredientRuleIndex {
+
+    private final AnalysisMapper analysisMapper;
+
+    @Value("${analysis.rule-index.fuzzy-enabled:true}")
+    private boolean fuzzyEnabled = true;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder fuzzyHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public record Snapshot(long version, String fingerprint, Map<String, IngredientRule> byKey,
+                           IngredientFuzzyMatcher<IngredientRule> fuzzy, long loadedAtMs) {
+
+        static final Snapshot EMPTY = new Snapshot(0L, null, Map.of(),
+                IngredientFuzzyMatcher.build(Map.of()), 0L);
+
+        public boolean loaded() {
+            return version > 0;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 기동 실패로 이어지지 않도록: 로드 전에는 DB 조회로 폴백
+            log.warn("[RuleIndex] initial load failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * 룰 테이블 지문이 바뀌었을 때만 다시 적재 (기본 1분 간격)
+     */
+    @Scheduled(fixedDelayString = "${analysis.rule-index.refresh-ms:60000}",
+            initialDelayString = "${analysis.rule-index.refresh-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            String fp = analysisMapper.selectRuleFingerprint();
+            if (snapshot.loaded() && Objects.equals(fp, snapshot.fingerprint())) {
+                return;
+            }
+            reload();
+        } catch (Exception e) {
+            log.warn("[RuleIndex] refresh failed, keep version={}: {}", snapshot.version(),
+                    e.toString());
+        }
+    }
+
+    /**
+     * 강제 재적재. 적재가 끝난 뒤 한 번에 스냅샷을 교체하므로 조회 쪽은 락이 필요 없다.
+     */
+    public synchronized Snapshot reload() {
+        long t0 = System.nanoTime();
+        String fp = analysisMapper.selectRuleFingerprint();
+        List<IngredientRule> rules = analysisMapper.selectAllRules();
+
+        Map<String, IngredientRule> byKey = new HashMap<>(Math.max(16, rules.size() * 2));
+        for (IngredientRule r : rules) {
+            String key = canonicalKey(r.getIngredientName());
+            if (!key.isEmpty()) {
+                byKey.putIfAbsent(key, r); // SQL IN 매칭과 동일하게 먼저 온 행 우선
+            }
+        }
+
+        // 퍼지 어휘: 룰 이름 + 룰에 존재하는 표준 이름을 가리키는 별칭
+        Map<String, IngredientRule> vocabulary = new HashMap<>(byKey);
+        IngredientNormalizer.aliases().forEach((alias, target) -> {
+            IngredientRule r = byKey.get(canonicalKey(target));
+            if (r != null) {
+                vocabulary.putIfAbsent(canonicalKey(alias), r);
+            }
+        });
+
+        Snapshot next = new Snapshot(snapshot.version() + 1, fp, Map.copyOf(byKey),
+                IngredientFuzzyMatcher.build(vocabulary), System.currentTimeMillis());
+        this.snapshot = next;
+        log.info("[RuleIndex] loaded version={} rules={} keys={} fuzzyVocab={} latency={} ms",
+                next.version(), rules.size(), byKey.size(), next.fuzzy().size(),
+                (System.nanoTime() - t0) / 1_000_000);
+        return next;
+    }
+
+    /**
+     * 입력 이름 → 매칭된 룰 (입력 순서 유지, 미매칭은 제외)
+     */
+    public Map<String, IngredientRule> resolve(Collection<String> names) {
+        Map<String, IngredientRule> out = new LinkedHashMap<>();
+        if (names == null || names.isEmpty()) {
+            return out;
+        }
+
+        Snapshot s = snapshot;
+        if (!s.loaded()) {
+            return resolveFromDb(names);
+        }
+
+        for (String n : names) {
+            String key = canonicalKey(n);
+            IngredientRule r = s.byKey().get(key);
+            if (r != null) {
+                exactHits.increment();
+            } else if (fuzzyEnabled && (r = fuzzyFind(s, n, key)) != null) {
+                fuzzyHits.increment();
+            } else {
+                misses.increment();
+                continue;
+            }
+            out.putIfAbsent(n, r);
+        }
+        return out;
+    }
+
+    public IngredientRule find(String name) {
+        Snapshot s = snapshot;
+        if (!s.loaded()) {
+            return null;
+        }
+        String key = canonicalKey(name);
+        IngredientRule r = s.byKey().get(key);
+        return (r != null || !fuzzyEnabled) ? r : fuzzyFind(s, name, key);
+    }
+
+    /**
+     * 누적 매칭 통계: [정확, 퍼지, 미스]
+     */
+    public long[] matchStats() {
+        return new long[]{exactHits.sum(), fuzzyHits.sum(), misses.sum()};
+    }
+
+    private static IngredientRule fuzzyFind(Snapshot s, String name, String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+        IngredientFuzzyMatcher.Match<IngredientRule> m = s.fuzzy().closest(key);
+        if (m == null) {
+            return null;
+        }
+        log.debug("[RuleIndex] fuzzy '{}' -> '{}' (d={})", name, m.value().getIngredientName(),
+                m.distance());
+        return m.value();
+    }
+
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    // 인덱스가 아직 없을 때만 기존 SQL 경로 사용
+    private Map<String, IngredientRule> resolveFromDb(Collection<String> names) {
+        Map<String, IngredientRule> byKey = new HashMap<>();
+        for (IngredientRule r : analysisMapper.selectByNames(names)) {
+            byKey.putIfAbsent(canonicalKey(r.getIngredientName()), r);
+        }
+        Map<String, IngredientRule> out = new LinkedHashMap<>();
+        for (String n : names) {
+            IngredientRule r = byKey.get(canonicalKey(n));
+            if (r != null) {
+                out.putIfAbsent(n, r);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * SQL: REPLACE(REGEXP_REPLACE(UPPER(x), '[·,/|;:\.\-（）()"'\[\]]', ''), ' ', '')
+     */
+    public static String canonicalKey(String raw) {
+        if (raw == null || raw.isEmpty()) {
+            return "";
+        }
+        String up = raw.toUpperCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(up.length());
+        for (int i = 0; i < up.length(); i++) {
+            char c = up.charAt(i);
+            if (!isStripped(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isStripped(char c) {
+        return switch (c) {
+            case ' ', '·', ',', '/', '|', ';', ':', '\\', '.', '-', '（', '）', '(', ')', '"',
+                 '\'', '[', ']' -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.refit.app.domain.analysis.service;
+
+import java.util.List;
+
+/**
+ * 분석 파이프라인 중간 결과 콜백 (스트리밍 응답용). 기본 구현은 아무것도 하지 않는다.
+ */
+public interface AnalysisProgressListener {
+
+    AnalysisProgressListener NONE = new AnalysisProgressListener() {
+    };
+
+    /** OCR + 로컬 파싱/정규화가 끝난 성분 리스트 */
+    default void onIngredients(List<String> names) {
+    }
+
+    /** 룰/학습/LLM 분류와 매칭률 계산이 끝난 시점 (내러티브 생성 전) */
+    default void onClassified(List<String> safe, List<String> caution, List<String> risky,
+            int matchRate) {
+    }
+}
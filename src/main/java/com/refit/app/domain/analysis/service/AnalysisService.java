@@ -15,4 +15,13 @@ public interface AnalysisService {
             @org.springframework.lang.Nullable String contentType
     );
 
+    AnalysisResponseDto analyzeImage(
+            Long memberId,
+            byte[] imageBytes,
+            String productType,
+            @org.springframework.lang.Nullable String filename,
+            @org.springframework.lang.Nullable String contentType,
+            AnalysisProgressListener listener
+    );
+
 }
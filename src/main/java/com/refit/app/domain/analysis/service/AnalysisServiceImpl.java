@@ -1,6 +1,7 @@
 package com.refit.app.domain.analysis.service;
 
 import com.refit.app.domain.analysis.ai.OpenAiNarrative;
+import com.refit.app.domain.analysis.cache.AnalysisResultCache;
 import com.refit.app.domain.analysis.ai.OpenAiNarrative.ClassificationResult;
 import com.refit.app.domain.analysis.ai.OpenAiNarrative.CosmeticNarrative;
 import com.refit.app.domain.analysis.ai.OpenAiNarrative.SupplementTwoBlocks;
@@ -9,20 +10,23 @@ import com.refit.app.domain.analysis.dto.AnalysisHealthConcernDto;
 import com.refit.app.domain.analysis.dto.AnalysisHealthInfoDto;
 import com.refit.app.domain.analysis.dto.AnalysisSkinConcernDto;
 import com.refit.app.domain.analysis.dto.AnalysisStatus;
+import com.refit.app.domain.analysis.dto.IngredientLearned;
 import com.refit.app.domain.analysis.dto.IngredientRule;
 import com.refit.app.domain.analysis.dto.response.AnalysisResponseDto;
 import com.refit.app.domain.analysis.dto.response.MemberStatusResponse;
 import com.refit.app.domain.analysis.mapper.AnalysisMapper;
-import com.refit.app.domain.analysis.policy.IngredientNormalizer;
+import com.refit.app.domain.analysis.policy.IngredientTokenizer;
 import com.refit.app.domain.analysis.policy.ScoringPolicy;
+import com.refit.app.domain.analysis.rule.IngredientClassificationStore;
+import com.refit.app.domain.analysis.rule.IngredientRuleIndex;
+import com.refit.app.infra.image.ImageQuality;
+import com.refit.app.infra.ocr.ImageRejectedException;
 import com.refit.app.infra.ocr.OcrProvider;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -39,12 +43,26 @@ public class AnalysisServiceImpl implements AnalysisService {
     private final OcrProvider ocrProvider;
     private final OpenAiNarrative narrative;
     private final AnalysisMapper analysisMapper;
+    private final IngredientRuleIndex ruleIndex;
+    private final AnalysisResultCache resultCache;
+    private final IngredientClassificationStore learnedStore;
+    private final AnalysisStageRunner stageRunner;
 
     private static final String[] SKIN_TYPE_NAME = {"건성", "중성", "지성", "복합성", "수부지"};
 
     @Value("${analysis.debug-ocr:false}")
     private boolean debugOcr;
 
+    // 단계별 타임아웃 (초과 시 각 단계의 보수적 폴백 사용)
+    @Value("${analysis.timeout.db-ms:2000}")
+    private long dbTimeoutMs;
+
+    @Value("${analysis.timeout.classify-ms:8000}")
+    private long classifyTimeoutMs;
+
+    @Value("${analysis.timeout.narrative-ms:10000}")
+    private long narrativeTimeoutMs;
+
     @Override
     public MemberStatusResponse getMemberStatus(Long memberId) {
         AnalysisHealthInfoDto hi = analysisMapper.selectHealthInfo(memberId);
@@ -157,8 +175,23 @@ public class AnalysisServiceImpl implements AnalysisService {
             String productType,
             @Nullable String filename,
             @Nullable String contentType
+    ) {
+        return analyzeImage(memberId, imageBytes, productType, filename, contentType,
+                AnalysisProgressListener.NONE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AnalysisResponseDto analyzeImage(
+            Long memberId,
+            byte[] imageBytes,
+            String productType,
+            @Nullable String filename,
+            @Nullable String contentType,
+            AnalysisProgressListener listener
     ) {
         long tStart = System.nanoTime();
+        AnalysisStageRunner.Timings timings = new AnalysisStageRunner.Timings();
 
         try {
             boolean isHealth = false;
@@ -167,18 +200,27 @@ public class AnalysisServiceImpl implements AnalysisService {
                 isHealth = p.contains("영양") || p.equals("health");
             }
 
+            // 업로드 원본 바이트 해시 (완전히 같은 파일만 OCR 캐시 히트)
+            String imageKey = AnalysisResultCache.imageKey(imageBytes);
+
             // ================== 영양제 ==================
             if (isHealth) {
                 long t0 = System.nanoTime();
-                String ocrText;
-                try {
-                    ocrText = ocrProvider.fullText(imageBytes, filename, contentType);
-                } catch (Exception ex) {
-                    log.warn("[OCR][health] error: {}", ex.toString());
-                    return ocrFail("OCR_TIMEOUT_OR_ERROR");
+                String ocrText = resultCache.getOcrText(imageKey);
+                boolean ocrCached = ocrText != null;
+                if (!ocrCached) {
+                    try {
+                        ocrText = ocrProvider.fullText(imageBytes, filename, contentType);
+                    } catch (ImageRejectedException ex) {
+                        return rejectedCapture(ex.getQuality());
+                    } catch (Exception ex) {
+                        log.warn("[OCR][health] error: {}", ex.toString());
+                        return ocrFail("OCR_TIMEOUT_OR_ERROR");
+                    }
                 }
                 long t1 = System.nanoTime();
-                log.info("[Pipeline] OCR(health) latency={} ms", (t1 - t0) / 1_000_000);
+                log.info("[Pipeline] OCR(health) latency={} ms cached={}", (t1 - t0) / 1_000_000,
+                        ocrCached);
                 if (debugOcr) {
                     log.info("[OCR][health][raw {} chars]\n{}",
                             (ocrText == null ? 0 : ocrText.length()),
@@ -195,19 +237,32 @@ public class AnalysisServiceImpl implements AnalysisService {
                             .suggestion(suggestRetakeMessage())
                             .build();
                 }
+                resultCache.putOcrText(imageKey, ocrText);
+
+                String resultKey = AnalysisResultCache.supplementKey(ocrText);
+                AnalysisResponseDto cachedResult = resultCache.getResult(resultKey, "");
+                if (cachedResult != null) {
+                    log.info("[Pipeline] Result(health) cache hit, total latency={} ms",
+                            (System.nanoTime() - tStart) / 1_000_000);
+                    return cachedResult;
+                }
 
-                CompletableFuture<SupplementTwoBlocks> futureSummary =
-                        CompletableFuture.supplyAsync(
-                                () -> narrative.buildSupplementTwoBlocksFromText(ocrText));
+                final String supplementText = ocrText;
+                CompletableFuture<SupplementTwoBlocks> futureSummary = stageRunner.start(
+                        "narrative", timings,
+                        () -> narrative.buildSupplementTwoBlocksFromText(supplementText));
 
-                SupplementTwoBlocks result = futureSummary.join();
+                SupplementTwoBlocks result = stageRunner.await("narrative", timings, futureSummary,
+                        narrativeTimeoutMs,
+                        () -> new SupplementTwoBlocks("요약 생성에 실패했어요.",
+                                "특이한 주의사항이 명시되어 있지 않습니다."));
 
                 long t2 = System.nanoTime();
                 log.info("[Pipeline] Narrative(health) latency={} ms", (t2 - t1) / 1_000_000);
                 log.info("[Pipeline] Total latency={} ms", (t2 - tStart) / 1_000_000);
 
                 // 영양제는 텍스트 2블록만 반환
-                return AnalysisResponseDto.builder()
+                AnalysisResponseDto healthResult = AnalysisResponseDto.builder()
                         .status(AnalysisStatus.OK)
                         .memberName("")
                         .matchRate(0)
@@ -221,19 +276,36 @@ public class AnalysisServiceImpl implements AnalysisService {
                         .supplementBenefits(java.util.List.of(result.benefits()))
                         .supplementConditionCautions(java.util.List.of(result.conditionCautions()))
                         .build();
+                if (!timings.isDegraded("narrative") && !"요약 생성에 실패했어요.".equals(result.benefits())) {
+                    resultCache.putResult(resultKey, healthResult);
+                }
+                return healthResult;
             }
 
             // ================== 화장품 ==================
+            // OCR과 무관한 DB 조회는 OCR이 도는 동안 미리 시작
+            CompletableFuture<ScoringPolicy.Profile> profileFuture =
+                    stageRunner.start("profile", timings, () -> loadSkinProfile(memberId));
+            CompletableFuture<String> nicknameFuture = stageRunner.start("nickname", timings,
+                    () -> analysisMapper.selectMemberNickname(memberId));
+
             long t0 = System.nanoTime();
-            String ocrText;
-            try {
-                ocrText = ocrProvider.fullText(imageBytes, filename, contentType);
-            } catch (Exception ex) {
-                log.warn("[OCR][cosmetic] error: {}", ex.toString());
-                return ocrFail("OCR_TIMEOUT_OR_ERROR");
+            String ocrText = resultCache.getOcrText(imageKey);
+            boolean ocrCached = ocrText != null;
+            if (!ocrCached) {
+                try {
+                    ocrText = ocrProvider.fullText(imageBytes, filename, contentType);
+                } catch (ImageRejectedException ex) {
+                    return rejectedCapture(ex.getQuality());
+                } catch (Exception ex) {
+                    log.warn("[OCR][cosmetic] error: {}", ex.toString());
+                    return ocrFail("OCR_TIMEOUT_OR_ERROR");
+                }
             }
             long t1 = System.nanoTime();
-            log.info("[Pipeline] OCR(cosmetic) latency={} ms", (t1 - t0) / 1_000_000);
+            timings.record("ocr", t1 - t0);
+            log.info("[Pipeline] OCR(cosmetic) latency={} ms cached={}", (t1 - t0) / 1_000_000,
+                    ocrCached);
             if (debugOcr) {
                 log.info("[OCR][cosmetic][raw {} chars]\n{}",
                         (ocrText == null ? 0 : ocrText.length()),
@@ -244,17 +316,10 @@ public class AnalysisServiceImpl implements AnalysisService {
                 return ocrFail("Empty OCR");
             }
 
-            // 1) 한글 소프트 브레이크 결합 (정제\n수 → 정제수)
-            String compact = collapseHangulSoftBreaks(ocrText);
-
-            // 2) 전성분 블록 시도 → 실패 시 전체 텍스트로 파싱
-            String block = extractIngredientsBlockFromOcr(compact);
-            if (block.isBlank()) {
-                block = compact;
-            }
+            long tParse = System.nanoTime();
 
-            // 3) 로컬 파서로 성분 후보 추출
-            List<String> names = parseIngredientsBlockLocally(block);
+            // 1~4) 전성분 블록 탐색 + 토큰화 + 소프트 브레이크 결합 + 정규화/dedupe (단일 패스)
+            List<String> names = IngredientTokenizer.tokenize(ocrText);
             if (names.isEmpty()) {
                 return AnalysisResponseDto.builder()
                         .status(AnalysisStatus.NO_INGREDIENTS)
@@ -262,23 +327,33 @@ public class AnalysisServiceImpl implements AnalysisService {
                         .suggestion(suggestRetakeMessage())
                         .build();
             }
+            timings.record("parse", System.nanoTime() - tParse);
+
+            listener.onIngredients(names);
 
-            // 4) 정규화 + dedupe
-            names = names.stream()
-                    .map(IngredientNormalizer::normalize)
-                    .filter(s -> !s.isBlank())
-                    .distinct()
-                    .toList();
+            // OCR에서 성분이 나온 이미지만 L1에 저장 (실패 사진은 재시도 시 다시 OCR)
+            resultCache.putOcrText(imageKey, ocrText);
 
-            // 5) DB 룰 매칭
-            List<IngredientRule> rules = analysisMapper.selectByNames(names);
-            Map<String, IngredientRule> ruleByName = rules.stream()
-                    .collect(Collectors.toMap(
-                            IngredientRule::getIngredientName,
-                            r -> r,
-                            (a, b) -> a,
-                            LinkedHashMap::new
-                    ));
+            // 동일 성분 + 동일 피부 프로필이면 결과 캐시 사용
+            ScoringPolicy.Profile profile =
+                    stageRunner.await("profile", timings, profileFuture, dbTimeoutMs, () -> null);
+            String memberName =
+                    stageRunner.await("nickname", timings, nicknameFuture, dbTimeoutMs, () -> null);
+            if (StringUtils.isBlank(memberName)) {
+                memberName = "사용자";
+            }
+            String resultKey = AnalysisResultCache.cosmeticKey(names, profile,
+                    ruleIndex.current().version());
+            AnalysisResponseDto cachedResult = resultCache.getResult(resultKey, memberName);
+            if (cachedResult != null) {
+                log.info("[Pipeline] Result(cosmetic) cache hit, total latency={} ms",
+                        (System.nanoTime() - tStart) / 1_000_000);
+                return cachedResult;
+            }
+
+            // 5) 룰 매칭 (메모리 인덱스, 입력 이름 기준)
+            Map<String, IngredientRule> ruleByName =
+                    stageRunner.measure("rules", timings, () -> ruleIndex.resolve(names));
 
             LinkedHashSet<String> finalSafe = new LinkedHashSet<>();
             LinkedHashSet<String> finalCaution = new LinkedHashSet<>();
@@ -297,37 +372,67 @@ public class AnalysisServiceImpl implements AnalysisService {
                 }
             }
 
-            // 6) DB에 없는 unknown만 LLM으로 초간단 분류
+            // 6) 룰에 없는 이름 → 학습 저장소 → 그래도 모르는 것만 LLM으로 초간단 분류
             List<String> unknown = names.stream().filter(n -> !ruleByName.containsKey(n)).toList();
             if (!unknown.isEmpty()) {
-                ClassificationResult cr = narrative.classifyListFast(unknown);
-                cr.safe().forEach(finalSafe::add);
-                cr.caution().forEach(finalCaution::add);
-                cr.risky().forEach(finalRisky::add);
+                Map<String, IngredientLearned> learned =
+                        stageRunner.measure("learned", timings, () -> learnedStore.lookup(unknown));
+                for (Map.Entry<String, IngredientLearned> e : learned.entrySet()) {
+                    switch (e.getValue().getIngredientCategory()) {
+                        case 0 -> finalSafe.add(e.getKey());
+                        case 1 -> finalCaution.add(e.getKey());
+                        case 2 -> finalRisky.add(e.getKey());
+                        default -> {
+                        }
+                    }
+                }
+
+                List<String> neverSeen = unknown.stream().filter(n -> !learned.containsKey(n))
+                        .toList();
+                log.info("[Pipeline] unknown={} learnedHit={} llm={}", unknown.size(),
+                        learned.size(), neverSeen.size());
+                if (!neverSeen.isEmpty()) {
+                    ClassificationResult cr = stageRunner.await("classify", timings,
+                            stageRunner.start("classify", timings,
+                                    () -> narrative.classifyListFast(neverSeen)),
+                            classifyTimeoutMs,
+                            // 시간 초과 시 기존 파싱 실패와 동일하게 전부 caution(보수적)
+                            () -> new ClassificationResult(List.of(), neverSeen, List.of(), true));
+                    cr.safe().forEach(finalSafe::add);
+                    cr.caution().forEach(finalCaution::add);
+                    cr.risky().forEach(finalRisky::add);
+                    if (cr.degraded()) {
+                        timings.degrade("classify");
+                    }
+                    learnedStore.record(neverSeen, cr);
+                }
             }
 
             // 7) Match rate
-            var profile = loadSkinProfile(memberId);
             int matchRate = ScoringPolicy.computeMatchRate(
                     names.size(),
                     finalSafe.size() + finalCaution.size() + finalRisky.size(),
                     finalSafe.size(), finalCaution.size(), finalRisky.size(),
                     profile
             );
-
-            String memberName = analysisMapper.selectMemberNickname(memberId);
-            if (StringUtils.isBlank(memberName)) {
-                memberName = "사용자";
-            }
+            listener.onClassified(new ArrayList<>(finalSafe), new ArrayList<>(finalCaution),
+                    new ArrayList<>(finalRisky), matchRate);
 
             // 8) 짧은 내러티브
-            CosmeticNarrative nar = narrative.buildCosmeticNarrative(
-                    new ArrayList<>(finalRisky),
-                    new ArrayList<>(finalCaution),
-                    new ArrayList<>(finalSafe),
-                    memberName,
-                    matchRate
-            );
+            // 내러티브는 자리표시자 닉네임으로 만들어 템플릿째 캐시하고, 응답 직전에 닉네임을 채운다
+            CosmeticNarrative nar = stageRunner.await("narrative", timings,
+                    stageRunner.start("narrative", timings,
+                            () -> narrative.buildCosmeticNarrative(
+                                    new ArrayList<>(finalRisky),
+                                    new ArrayList<>(finalCaution),
+                                    new ArrayList<>(finalSafe),
+                                    AnalysisResultCache.NAME_PLACEHOLDER,
+                                    matchRate
+                            )),
+                    narrativeTimeoutMs,
+                    // 시간 초과 시 OpenAiNarrative 실패 응답과 동일 → 아래 내러티브 누락 처리로 이어짐
+                    () -> new CosmeticNarrative("요약 생성에 실패했어요.", "해당되는 성분은 없습니다.",
+                            "해당되는 성분은 없습니다.", "해당되는 성분은 없습니다."));
 
             // ★ 내러티브 검증: 비었으면 실패 처리
             if (shouldFailDueToMissingNarrative(nar, finalRisky, finalCaution, finalSafe)) {
@@ -344,10 +449,10 @@ public class AnalysisServiceImpl implements AnalysisService {
             // 9) 결과
             long tN1 = System.nanoTime();
             log.info("[Pipeline] Total latency={} ms", (tN1 - tStart) / 1_000_000);
+            log.info("[Pipeline] breakdown {}", timings.summary());
 
-            return AnalysisResponseDto.builder()
+            AnalysisResponseDto cosmeticResult = AnalysisResponseDto.builder()
                     .status(AnalysisStatus.OK)
-                    .memberName(memberName)
                     .matchRate(matchRate)
                     .risky(new ArrayList<>(finalRisky))
                     .caution(new ArrayList<>(finalCaution))
@@ -357,6 +462,12 @@ public class AnalysisServiceImpl implements AnalysisService {
                     .safeText(nar.safeText())
                     .summary(nar.summary())
                     .build();
+            // 프로필/분류/내러티브 중 하나라도 폴백이면 이번 응답에만 쓰고 캐시하지 않는다
+            if (!timings.isDegraded("profile", "classify", "narrative")
+                    && !"요약 생성에 실패했어요.".equals(nar.summary())) {
+                resultCache.putResult(resultKey, cosmeticResult);
+            }
+            return AnalysisResultCache.personalize(cosmeticResult, memberName);
 
         } catch (Exception e) {
             log.error("analyzeImage error", e);
@@ -372,9 +483,7 @@ public class AnalysisServiceImpl implements AnalysisService {
     // ---- helpers ----
 
     private ScoringPolicy.Profile loadSkinProfile(Long memberId) {
-        CompletableFuture<AnalysisSkinConcernDto> futureSkin =
-                CompletableFuture.supplyAsync(() -> analysisMapper.selectSkinConcern(memberId));
-        var skin = futureSkin.join();
+        AnalysisSkinConcernDto skin = analysisMapper.selectSkinConcern(memberId);
 
         return new ScoringPolicy.Profile(
                 skin != null && (skin.getAcne() == 1 || skin.getAtopic() == 1
@@ -416,94 +525,35 @@ public class AnalysisServiceImpl implements AnalysisService {
         return len >= 80 && hits >= 1;
     }
 
-    private static String suggestRetakeMessage() {
-        return "라벨이 또렷하게 보이도록 정면에서 촬영해주세요.\n"
-                + "- 화장품: ‘전성분/성분’ 영역이 보이게\n"
-                + "- 영양제: ‘영양성분표/주요 성분’이 보이게\n"
-                + "- 흐림/반사/접힘/잘림 주의";
-    }
-
     /**
-     * 한글 소프트 브레이크 제거: 줄바꿈 사이가 한글-한글이면 붙이기
+     * OCR 전 품질 게이트에서 걸린 촬영본 → 원인별 재촬영 안내 (OCR 호출 없음)
      */
-    private static String collapseHangulSoftBreaks(String s) {
-        if (s == null) {
-            return "";
-        }
-        return s.replaceAll("(?<=[가-힣])\\s*\\n\\s*(?=[가-힣])", "");
-    }
-
-    /**
-     * 전성분 블록 슬라이스(없으면 "")
-     */
-    private static String extractIngredientsBlockFromOcr(String text) {
-        if (text == null) {
-            return "";
-        }
-        String t = text.replaceAll("\\r", "")
-                .replaceAll("\\t", " ")
-                .replaceAll(" +", " ");
-
-        String startRegex =
-                "(?i)(전\\s*성\\s*분|성\\s*분|INGREDIENTS?)\\s*[:：]?\\s*|(?m)^(전성분|성분|Ingredients?)\\b";
-        String endRegex =
-                "(?i)(주의사항|사용법|보관방법|원재료|영양성분|전성분표|제조사|고객센터|사용상\\s*주의|효능|효과)";
-
-        java.util.regex.Matcher mStart =
-                java.util.regex.Pattern.compile(startRegex).matcher(t);
-        if (!mStart.find()) {
-            return "";
-        }
-
-        int from = mStart.end();
-        int to = t.length();
-
-        java.util.regex.Matcher mEnd =
-                java.util.regex.Pattern.compile(endRegex).matcher(t.substring(from));
-        if (mEnd.find()) {
-            to = from + mEnd.start();
+    private static AnalysisResponseDto rejectedCapture(ImageQuality quality) {
+        ImageQuality.Verdict verdict = quality.verdict();
+        if (verdict == ImageQuality.Verdict.NO_TEXT) {
+            return AnalysisResponseDto.builder()
+                    .status(AnalysisStatus.NOT_PRODUCT_LABEL)
+                    .reason("No text-like region in image")
+                    .suggestion(suggestRetakeMessage())
+                    .build();
         }
-
-        return t.substring(from, to).trim()
-                .replaceAll("(?<!\\n),\\s*", ", ")
-                .replaceAll("\\n{2,}", "\n")
-                .trim();
+        String suggestion = switch (verdict) {
+            case TOO_DARK -> "사진이 너무 어두워요. 밝은 곳에서 다시 촬영해주세요.";
+            case OVEREXPOSED -> "빛 반사로 글자가 보이지 않아요. 조명을 피해 각도를 바꿔 촬영해주세요.";
+            default -> "사진이 흔들렸어요. 초점을 맞춘 뒤 다시 촬영해주세요.";
+        };
+        return AnalysisResponseDto.builder()
+                .status(AnalysisStatus.LOW_TEXT)
+                .reason("Image quality: " + verdict)
+                .suggestion(suggestion + "\n" + suggestRetakeMessage())
+                .build();
     }
 
-    /**
-     * FAST 파서: 구분자 기준 + 괄호/잡음 제거
-     */
-    private static List<String> parseIngredientsBlockLocally(String block) {
-        if (block == null || block.isBlank()) {
-            return List.of();
-        }
-        String norm = block
-                .replace("ㆍ", ",").replace("·", ",").replace("│", ",").replace("|", ",")
-                .replaceAll("\\u00B7|\\u2022", ",");
-        norm = norm.replace('\r', ' ').replace('\n', ' ');
-
-        String[] tokens = norm.split("[,;/\\\\]+");
-        List<String> out = new ArrayList<>();
-        for (String tk : tokens) {
-            String s = tk.trim();
-            if (s.isEmpty()) {
-                continue;
-            }
-
-            s = s.replaceAll("\\([^\\)]*\\)", "")
-                    .replaceAll("\\[[^\\]]*\\]", "")
-                    .replaceAll("\\{[^\\}]*\\}", "");
-
-            s = s.replaceAll("\\s{2,}", " ").trim();
-
-            if (s.length() < 2 || s.length() > 50) {
-                continue;
-            }
-
-            out.add(s);
-        }
-        LinkedHashSet<String> set = new LinkedHashSet<>(out);
-        return new ArrayList<>(set);
+    private static String suggestRetakeMessage() {
+        return "라벨이 또렷하게 보이도록 정면에서 촬영해주세요.\n"
+                + "- 화장품: ‘전성분/성분’ 영역이 보이게\n"
+                + "- 영양제: ‘영양성분표/주요 성분’이 보이게\n"
+                + "- 흐림/반사/접힘/잘림 주의";
     }
 
     /**
@@ -0,0 +1,153 @@
+package com.refit.app.domain.analysis.service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분석 파이프라인 단계 실행기.
+ * <p>
+ * 모든 비동기 단계는 전용 analysisExecutor(유한 풀)에서 돌리고, 단계별 타임아웃 + 소요시간을 기록한다.
+ * 공용 ForkJoinPool 에 블로킹 I/O(DB/LLM)를 올리지 않기 위함.
+ * <p>
+ * 시간 초과 시 단계 스레드에 인터럽트를 건다. 인터럽트에 반응하지 않는 블로킹 호출(소켓 읽기 등)은 계속 돌 수 있으므로,
+ * 풀 스레드가 묶이는 시간의 상한은 각 클라이언트 자체 타임아웃(LLM: llm.http.read-timeout-ms)이 정한다.
+ * 폴백으로 끝난 단계는 {@link Timings#isDegraded} 로 확인할 수 있다 (불완전한 결과를 캐시하지 않기 위함).
+ */
+@Slf4j
+@Component
+public class AnalysisStageRunner {
+
+    private final Executor executor;
+
+    public AnalysisStageRunner(@Qualifier("analysisExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 단계를 비동기로 시작. 소요시간은 timings 에 stage 이름으로 기록된다.
+     * 돌려받은 future 를 cancel(true) 하면 실행 중인 스레드에 인터럽트가 전달된다.
+     */
+    public <T> CompletableFuture<T> start(String stage, Timings timings, Supplier<T> task) {
+        StageFuture<T> out = new StageFuture<>();
+        FutureTask<T> ft = new FutureTask<>(() -> {
+            long t0 = System.nanoTime();
+            try {
+                T v = task.get();
+                out.complete(v);
+                return v;
+            } catch (Throwable e) {
+                out.completeExceptionally(e);
+                throw e;
+            } finally {
+                timings.record(stage, System.nanoTime() - t0);
+            }
+        });
+        out.task = ft;
+        try {
+            executor.execute(ft);
+        } catch (RuntimeException e) {
+            out.completeExceptionally(e);
+        }
+        return out;
+    }
+
+    /**
+     * 타임아웃 안에 결과를 기다리고, 시간 초과/실패 시 fallback 값을 돌려준다 (timings 에 degraded 로 표시).
+     */
+    public <T> T await(String stage, Timings timings, CompletableFuture<T> future, long timeoutMs,
+            Supplier<T> fallback) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("[Pipeline] stage '{}' timed out after {} ms (interrupted)", stage, timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("[Pipeline] stage '{}' failed: {}", stage, e.toString());
+        }
+        timings.degrade(stage);
+        return fallback.get();
+    }
+
+    /**
+     * 동기 단계 소요시간 기록용
+     */
+    public <T> T measure(String stage, Timings timings, Supplier<T> task) {
+        long t0 = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            timings.record(stage, System.nanoTime() - t0);
+        }
+    }
+
+    // 취소를 실제 작업(FutureTask)까지 전달하는 future
+    private static final class StageFuture<T> extends CompletableFuture<T> {
+
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> t = task;
+            if (t != null) {
+                t.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * 요청 단위 단계별 소요시간 (여러 스레드에서 기록)
+     */
+    public static final class Timings {
+
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Long> nanosByStage = new LinkedHashMap<>();
+        private final Set<String> degraded = new LinkedHashSet<>();
+
+        public synchronized void record(String stage, long nanos) {
+            nanosByStage.merge(stage, nanos, Long::sum);
+        }
+
+        public synchronized void degrade(String stage) {
+            degraded.add(stage);
+        }
+
+        /**
+         * 주어진 단계 중 하나라도 폴백(시간 초과/실패)으로 끝났는지
+         */
+        public synchronized boolean isDegraded(String... stages) {
+            for (String s : stages) {
+                if (degraded.contains(s)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public synchronized String summary() {
+            StringBuilder sb = new StringBuilder();
+            nanosByStage.forEach((k, v) -> sb.append(k).append('=').append(v / 1_000_000)
+                    .append("ms "));
+            sb.append("total=").append((System.nanoTime() - startNanos) / 1_000_000).append("ms");
+            if (!degraded.isEmpty()) {
+                sb.append(" degraded=").append(degraded);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -6,8 +6,8 @@ import com.refit.app.domain.chat.dto.request.ChatSendRequest;
 import com.refit.app.domain.chat.dto.response.ChatListResponse;
 import com.refit.app.domain.chat.dto.response.ChatMessageResponse;
 import com.refit.app.domain.chat.mapper.ChatMapper;
+import com.refit.app.domain.product.catalog.ProductCatalogCache;
 import com.refit.app.domain.product.dto.ProductDto;
-import com.refit.app.domain.product.mapper.ProductMapper;
 import com.refit.app.global.util.CursorUtil;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,7 +24,7 @@ import org.springframework.web.server.ResponseStatusException;
 public class ChatServiceImpl implements ChatService {
 
     private final ChatMapper chatMapper;
-    private final ProductMapper productMapper;
+    private final ProductCatalogCache productCatalogCache;
 
     @Transactional
     @Override
@@ -62,7 +62,7 @@ public class ChatServiceImpl implements ChatService {
 
         // 5) productId가 있으면 상품 스니펫 채워서 반환
         if (req.getProductId() != null) {
-            ProductDto snippet = productMapper.selectProductSnippet(req.getProductId());
+            ProductDto snippet = productCatalogCache.snippet(req.getProductId());
             if (snippet != null) {
                 saved.setProduct(snippet);
             }
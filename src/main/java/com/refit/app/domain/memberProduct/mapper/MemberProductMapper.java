@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 @Mapper
 public interface MemberProductMapper {
@@ -106,6 +107,15 @@ public interface MemberProductMapper {
     List<Map<String,Object>> selectSkinCompat(@Param("ids") List<Long> ids,
             @Param("skinType") Integer skinType);
 
+    // 추천 인덱스 (ProductRecommendIndex) 적재용
+    List<Map<String,Object>> selectAllSkinCompat();
+    List<Map<String,Object>> selectProductStocks();
+    String selectRecommendCatalogFingerprint();
+
+    // 이웃 캐시 (NeighborSnapshotCache) 적재용: 기준 상품별 최신 스냅샷만, 행 단위 스트리밍
+    String selectNeighborSnapshotVersion();
+    void selectLatestNeighbors(ResultHandler<Map<String,Object>> handler);
+
     // 7일 전 대상자 조회
     List<ExpiryCandidate> selectExpiryIn7Days();
 
@@ -0,0 +1,35 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+/**
+ * 회원 고민에서 나온 원하는 효과 마스크 (카테고리 그룹별). 요청당 한 번 만들어 모든 후보 점수에 재사용한다.
+ *
+ * @param skin   스킨 카테고리(0~5) 후보에 적용
+ * @param hair   헤어 카테고리(6~7) 후보에 적용
+ * @param health 헬스 카테고리(8~11) 후보에 적용
+ */
+public record ConcernMasks(long skin, long hair, long health) {
+
+    /** 후보 카테고리 그룹에 해당하는 고민 마스크 (그룹 밖 카테고리는 0) */
+    public long forCategory(int categoryId) {
+        return forGroup(ProductRecommendIndex.groupOf(categoryId));
+    }
+
+    /**
+     * 외부 제품 기준 효과: 카테고리를 알면 해당 그룹만, 모르면 전체 합집합
+     */
+    public long external(Integer baseCategoryId) {
+        if (baseCategoryId == null) {
+            return skin | hair | health;
+        }
+        return forCategory(baseCategoryId);
+    }
+
+    long forGroup(byte group) {
+        return switch (group) {
+            case ProductRecommendIndex.GROUP_SKIN -> skin;
+            case ProductRecommendIndex.GROUP_HAIR -> hair;
+            case ProductRecommendIndex.GROUP_HEALTH -> health;
+            default -> 0L;
+        };
+    }
+}
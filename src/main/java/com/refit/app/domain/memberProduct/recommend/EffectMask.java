@@ -0,0 +1,66 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 효과 ID 집합을 long 비트마스크로 다루는 도우미 (효과 ID = 비트 번호).
+ * <p>
+ * 효과는 19종(0~18)이라 상품 하나의 효과가 long 하나에 들어간다. 코사인/고민 매칭을 popcount 로 계산한다.
+ */
+public final class EffectMask {
+
+    public static final int MAX_EFFECT_ID = 63;
+
+    private static final double[] SQRT = new double[MAX_EFFECT_ID + 2];
+
+    static {
+        for (int i = 0; i < SQRT.length; i++) {
+            SQRT[i] = Math.sqrt(i);
+        }
+    }
+
+    private EffectMask() {
+    }
+
+    /** 범위 밖(음수/63 초과) ID 는 0 */
+    public static long bit(long effectId) {
+        return effectId >= 0 && effectId <= MAX_EFFECT_ID ? 1L << effectId : 0L;
+    }
+
+    public static long of(Collection<Long> effectIds) {
+        long m = 0L;
+        if (effectIds == null) {
+            return m;
+        }
+        for (Long id : effectIds) {
+            if (id != null) {
+                m |= bit(id);
+            }
+        }
+        return m;
+    }
+
+    /** 집합 코사인 |A∩B| / sqrt(|A|·|B|) */
+    public static double cosine(long a, long b) {
+        int inter = Long.bitCount(a & b);
+        if (inter == 0) {
+            return 0.0;
+        }
+        return inter / (SQRT[Long.bitCount(a)] * SQRT[Long.bitCount(b)]);
+    }
+
+    public static int matches(long effects, long wanted) {
+        return Long.bitCount(effects & wanted);
+    }
+
+    /** 오름차순 효과 ID 목록 */
+    public static List<Long> toIds(long mask) {
+        List<Long> out = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            out.add((long) Long.numberOfTrailingZeros(m));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,206 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+import static com.refit.app.global.util.CursorUtil.asInt;
+import static com.refit.app.global.util.CursorUtil.asLong;
+
+import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RECOMMEND_RESULT 최신 스냅샷 상주 캐시 (내부 제품 추천의 이웃 목록).
+ * <p>
+ * 기준 상품 ID 정렬 배열 + 구간 오프셋, 이웃 ID/유사도/순위는 순위 순 연속 배열로 들고 있어 조회는 이진 탐색 한 번이다.
+ * 배치는 실행마다 새 SNAPSHOT_AT 으로 쓰므로 버전은 MAX(SNAPSHOT_AT) 하나로 본다(인덱스 MIN/MAX 스캔, 전체 집계 없음).
+ * 버전이 바뀌면 새 배열을 다 만든 뒤 한 번에 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NeighborSnapshotCache {
+
+    private final MemberProductMapper memberProductMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 로드 전에는 selectNeighbors 경로로 폴백
+            log.warn("[NeighborCache] initial load failed: {}", e.toString());
+        }
+    }
+
+    public boolean loaded() {
+        return snapshot.version != null;
+    }
+
+    @Scheduled(fixedDelayString = "${recommend.neighbors.refresh-ms:60000}",
+            initialDelayString = "${recommend.neighbors.refresh-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            String version = memberProductMapper.selectNeighborSnapshotVersion();
+            if (loaded() && Objects.equals(version, snapshot.version)) {
+                return;
+            }
+            reload();
+        } catch (Exception e) {
+            log.warn("[NeighborCache] refresh failed, keep version={}: {}", snapshot.version,
+                    e.toString());
+        }
+    }
+
+    public synchronized void reload() {
+        long t0 = System.nanoTime();
+        String version = memberProductMapper.selectNeighborSnapshotVersion();
+        Builder b = new Builder();
+        memberProductMapper.selectLatestNeighbors(ctx -> b.add(ctx.getResultObject()));
+
+        Snapshot next = b.build(version == null ? "" : version);
+        this.snapshot = next;
+        log.info("[NeighborCache] loaded version={} bases={} neighbors={} latency={} ms",
+                next.version, next.baseIds.length, next.neighborIds.length,
+                (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    /**
+     * 기준 상품의 최신 이웃 (순위 순, 최대 limit 개). 스냅샷이 없으면 빈 결과
+     */
+    public Neighbors neighborsOf(long baseProductId, int limit) {
+        Snapshot s = snapshot;
+        int pos = Arrays.binarySearch(s.baseIds, baseProductId);
+        if (pos < 0) {
+            return Neighbors.EMPTY;
+        }
+        int from = s.offsets[pos];
+        int to = Math.min(s.offsets[pos + 1], from + Math.max(0, limit));
+        return new Neighbors(s, from, to);
+    }
+
+    /**
+     * 한 기준 상품의 이웃 구간 (스냅샷 배열을 그대로 가리킨다)
+     */
+    public static final class Neighbors {
+
+        static final Neighbors EMPTY = new Neighbors(Snapshot.EMPTY, 0, 0);
+
+        private final Snapshot snapshot;
+        private final int from;
+        private final int to;
+
+        Neighbors(Snapshot snapshot, int from, int to) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        public boolean isEmpty() {
+            return to == from;
+        }
+
+        public long productId(int i) {
+            return snapshot.neighborIds[from + i];
+        }
+
+        public double similarity(int i) {
+            return snapshot.sims[from + i];
+        }
+
+        public int rank(int i) {
+            return snapshot.ranks[from + i];
+        }
+    }
+
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(null, new long[0], new int[]{0}, new long[0],
+                new double[0], new int[0]);
+
+        final String version;
+        final long[] baseIds;     // 오름차순
+        final int[] offsets;      // baseIds[i] 의 이웃 = [offsets[i], offsets[i+1])
+        final long[] neighborIds;
+        final double[] sims;
+        final int[] ranks;
+
+        Snapshot(String version, long[] baseIds, int[] offsets, long[] neighborIds, double[] sims,
+                int[] ranks) {
+            this.version = version;
+            this.baseIds = baseIds;
+            this.offsets = offsets;
+            this.neighborIds = neighborIds;
+            this.sims = sims;
+            this.ranks = ranks;
+        }
+    }
+
+    /**
+     * (BASE_PRODUCT_ID, RANK_ORDER) 순으로 들어오는 행을 원시 배열에 쌓는다
+     */
+    private static final class Builder {
+
+        private long[] baseIds = new long[1024];
+        private int[] offsets = new int[1025];
+        private int bases;
+        private long[] neighborIds = new long[16_384];
+        private double[] sims = new double[16_384];
+        private int[] ranks = new int[16_384];
+        private int size;
+        private boolean sorted = true;
+
+        void add(Map<String, Object> r) {
+            Long base = asLong(r.get("BASE_PRODUCT_ID"));
+            Long neighbor = asLong(r.get("NEIGHBOR_PRODUCT_ID"));
+            if (base == null || neighbor == null) {
+                return;
+            }
+            if (bases == 0 || baseIds[bases - 1] != base) {
+                if (bases > 0 && baseIds[bases - 1] > base) {
+                    sorted = false;
+                }
+                if (bases == baseIds.length) {
+                    baseIds = Arrays.copyOf(baseIds, bases * 2);
+                    offsets = Arrays.copyOf(offsets, bases * 2 + 1);
+                }
+                baseIds[bases] = base;
+                offsets[bases] = size;
+                bases++;
+            }
+            if (size == neighborIds.length) {
+                neighborIds = Arrays.copyOf(neighborIds, size * 2);
+                sims = Arrays.copyOf(sims, size * 2);
+                ranks = Arrays.copyOf(ranks, size * 2);
+            }
+            Object sim = r.get("SIM_OVERALL");
+            Integer rank = asInt(r.get("RANK_ORDER"));
+            neighborIds[size] = neighbor;
+            sims[size] = sim instanceof Number n ? n.doubleValue() : 0.0;
+            ranks[size] = rank == null ? Integer.MAX_VALUE : rank;
+            size++;
+        }
+
+        Snapshot build(String version) {
+            if (!sorted) {
+                // 쿼리가 ORDER BY 를 보장하므로 올 일은 없지만, 이진 탐색이 틀리지 않도록 막아 둔다
+                throw new IllegalStateException("RECOMMEND_RESULT rows not ordered by BASE_PRODUCT_ID");
+            }
+            int[] off = Arrays.copyOf(offsets, bases + 1);
+            off[bases] = size;
+            return new Snapshot(version, Arrays.copyOf(baseIds, bases), off,
+                    Arrays.copyOf(neighborIds, size), Arrays.copyOf(sims, size),
+                    Arrays.copyOf(ranks, size));
+        }
+    }
+}
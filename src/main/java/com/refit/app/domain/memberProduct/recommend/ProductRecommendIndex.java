@@ -0,0 +1,547 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+import static com.refit.app.global.util.CursorUtil.asInt;
+import static com.refit.app.global.util.CursorUtil.asLong;
+
+import com.refit.app.domain.memberProduct.dto.response.ProductRecommendationDto;
+import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 제품 추천용 상주 카탈로그 인덱스. 외부(직접 등록) 제품은 카탈로그 전체를, 내부 제품은 NeighborSnapshotCache 의
+ * 사전계산 이웃을 같은 가중치로 점수 매긴다.
+ * <p>
+ * 상품 속성은 열 단위 원시 배열, 효과는 상품당 long 비트셋(효과 ID = 비트 번호), 피부 궁합은 피부타입별 byte 벡터로 들고 있다.
+ * 요청마다 DB를 읽지 않고 비트 연산 코사인 + top-K 힙으로 후보를 뽑는다.
+ * <p>
+ * 갱신: 재고는 짧은 주기로 재고 열만, 나머지는 지문(상품/효과/궁합)이 바뀔 때만 통째로 다시 적재해 스냅샷을 교체한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductRecommendIndex {
+
+    // 점수 가중치 (MemberProductServiceImpl 과 동일)
+    private static final double COMPAT_GOOD = 1.20;
+    private static final double COMPAT_NEUTRAL = 1.00;
+    private static final double CONCERN_BOOST_PER_EFFECT = 0.08;
+    private static final double SAME_CATEGORY_BONUS = 1.10;
+    private static final double SAME_GROUP_BONUS = 1.05;
+
+    static final byte GROUP_NONE = 0, GROUP_SKIN = 1, GROUP_HAIR = 2, GROUP_HEALTH = 3;
+
+    private static final int NO_RANK = 9999; // 외부 제품은 이웃 순위 없음
+
+    private final MemberProductMapper memberProductMapper;
+
+    // 30/70 믹스의 표본 풀 크기 (점수 상위 K개)
+    @Value("${recommend.index.pool-size:200}")
+    private int poolSize = 200;
+
+    private volatile Catalog catalog = Catalog.EMPTY;
+
+    @PostConstruct
+    void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 기동 실패로 이어지지 않도록: 로드 전에는 DB 스캔 경로로 폴백
+            log.warn("[RecommendIndex] initial load failed: {}", e.toString());
+        }
+    }
+
+    public boolean loaded() {
+        return catalog.version > 0;
+    }
+
+    /**
+     * 상품 속성/효과/궁합 지문이 바뀌었을 때만 다시 적재 (기본 5분 간격)
+     */
+    @Scheduled(fixedDelayString = "${recommend.index.refresh-ms:300000}",
+            initialDelayString = "${recommend.index.refresh-ms:300000}")
+    public void refreshIfChanged() {
+        try {
+            String fp = memberProductMapper.selectRecommendCatalogFingerprint();
+            if (loaded() && Objects.equals(fp, catalog.fingerprint)) {
+                return;
+            }
+            reload();
+        } catch (Exception e) {
+            log.warn("[RecommendIndex] refresh failed, keep version={}: {}", catalog.version,
+                    e.toString());
+        }
+    }
+
+    /**
+     * 재고 열만 갱신 (주문으로 자주 바뀜, 기본 30초 간격)
+     */
+    @Scheduled(fixedDelayString = "${recommend.index.stock-refresh-ms:30000}",
+            initialDelayString = "${recommend.index.stock-refresh-ms:30000}")
+    public synchronized void refreshStocks() {
+        Catalog c = catalog;
+        if (c.version == 0) {
+            return;
+        }
+        try {
+            long[] stocks = new long[c.size]; // 목록에서 빠진(삭제된) 상품은 재고 0 → 후보 제외
+            for (Map<String, Object> r : memberProductMapper.selectProductStocks()) {
+                Integer i = c.positions.get(asLong(r.get("PRODUCT_ID")));
+                if (i != null) {
+                    Long stock = asLong(r.get("STOCK"));
+                    stocks[i] = stock == null ? 0L : stock;
+                }
+            }
+            catalog = c.withStocks(stocks);
+        } catch (Exception e) {
+            log.warn("[RecommendIndex] stock refresh failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * 강제 재적재. 적재가 끝난 뒤 한 번에 스냅샷을 교체하므로 조회 쪽은 락이 필요 없다.
+     */
+    public synchronized void reload() {
+        long t0 = System.nanoTime();
+        String fp = memberProductMapper.selectRecommendCatalogFingerprint();
+        List<Map<String, Object>> products = memberProductMapper.selectAllProducts();
+        List<Map<String, Object>> effects = memberProductMapper.selectAllProductEffects();
+        List<Map<String, Object>> compat = memberProductMapper.selectAllSkinCompat();
+
+        Catalog next = Catalog.build(catalog.version + 1, fp, products, effects, compat);
+        this.catalog = next;
+        log.info("[RecommendIndex] loaded version={} products={} effects={} compat={} latency={} ms",
+                next.version, next.size, effects.size(), compat.size(),
+                (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    /**
+     * 외부 제품 기준 후보 점수 (재고 없음/피부 궁합 -1/효과 유사도 0 은 제외). 점수 상위 poolSize 개만 남긴다.
+     *
+     * @param concerns 회원 고민 효과 마스크 (기준 효과 = concerns.external(baseCategoryId))
+     */
+    public Candidates scoreExternal(ConcernMasks concerns, Integer skinType,
+            Integer baseCategoryId) {
+        Catalog c = catalog;
+        long want = concerns.external(baseCategoryId);
+        TopK top = new TopK(Math.max(1, poolSize));
+        if (want == 0L || c.size == 0) {
+            return top.finish(c);
+        }
+
+        long[] concernByGroup = {0L, concerns.skin(), concerns.hair(), concerns.health()};
+        byte[] compat = skinType == null ? null : c.compatBySkinType.get(skinType);
+        int baseCat = baseCategoryId == null ? -1 : baseCategoryId;
+        byte baseGroup = baseCategoryId == null ? GROUP_NONE : groupOf(baseCat);
+
+        long[] bits = c.effectBits;
+        long[] stocks = c.stocks;
+        for (int i = 0; i < c.size; i++) {
+            if (stocks[i] <= 0) {
+                continue;
+            }
+            long b = bits[i];
+            double sim = EffectMask.cosine(want, b);
+            if (sim == 0.0) {
+                continue;
+            }
+
+            double w = weight(c, i, compat, concernByGroup, baseCat, baseGroup);
+            if (w < 0) {
+                continue;
+            }
+            top.offer(i, sim * w, sim, NO_RANK);
+        }
+        return top.finish(c);
+    }
+
+    /**
+     * 내부 제품 기준 후보 점수: 사전계산 이웃(RECOMMEND_RESULT)의 유사도에 같은 가중치를 곱한다.
+     * 기준 상품 자신, 카탈로그에 없는(삭제된) 상품, 재고 없음, 피부 궁합 -1 은 제외. 이웃은 전부 남긴다.
+     */
+    public Candidates scoreNeighbors(NeighborSnapshotCache.Neighbors neighbors, long baseProductId,
+            ConcernMasks concerns, Integer skinType, Integer baseCategoryId) {
+        Catalog c = catalog;
+        TopK top = new TopK(Math.max(1, neighbors.size()));
+        if (neighbors.isEmpty() || c.size == 0) {
+            return top.finish(c);
+        }
+
+        long[] concernByGroup = {0L, concerns.skin(), concerns.hair(), concerns.health()};
+        byte[] compat = skinType == null ? null : c.compatBySkinType.get(skinType);
+        int baseCat = baseCategoryId == null ? -1 : baseCategoryId;
+        byte baseGroup = baseCategoryId == null ? GROUP_NONE : groupOf(baseCat);
+
+        for (int k = 0; k < neighbors.size(); k++) {
+            long pid = neighbors.productId(k);
+            if (pid == baseProductId) {
+                continue;
+            }
+            Integer i = c.positions.get(pid);
+            if (i == null || c.stocks[i] <= 0) {
+                continue;
+            }
+            double w = weight(c, i, compat, concernByGroup, baseCat, baseGroup);
+            if (w < 0) {
+                continue;
+            }
+            double sim = neighbors.similarity(k);
+            top.offer(i, sim * w, sim, neighbors.rank(k));
+        }
+        return top.finish(c);
+    }
+
+    /**
+     * 피부 궁합 × 고민 매칭 × 카테고리 보너스. 궁합 -1 이면 -1 (제외)
+     */
+    private static double weight(Catalog c, int i, byte[] compat, long[] concernByGroup,
+            int baseCat, byte baseGroup) {
+        byte g = c.groups[i];
+        double compatWeight = 1.0;
+        if (g == GROUP_SKIN) {
+            int cp = compat == null ? 0 : compat[i];
+            if (cp == -1) {
+                return -1;
+            }
+            compatWeight = (cp == 1) ? COMPAT_GOOD : COMPAT_NEUTRAL;
+        }
+
+        double concernWeight = 1.0
+                + CONCERN_BOOST_PER_EFFECT * EffectMask.matches(c.effectBits[i], concernByGroup[g]);
+
+        double catBonus = 1.0;
+        if (baseCat >= 0) {
+            if (c.categoryIds[i] == baseCat) {
+                catBonus = SAME_CATEGORY_BONUS;
+            } else if (g != GROUP_NONE && g == baseGroup) {
+                catBonus = SAME_GROUP_BONUS;
+            }
+        }
+        return compatWeight * concernWeight * catBonus;
+    }
+
+    static byte groupOf(int categoryId) {
+        if (categoryId >= 0 && categoryId <= 5) {
+            return GROUP_SKIN;
+        }
+        if (categoryId == 6 || categoryId == 7) {
+            return GROUP_HAIR;
+        }
+        if (categoryId >= 8 && categoryId <= 11) {
+            return GROUP_HEALTH;
+        }
+        return GROUP_NONE;
+    }
+
+    /**
+     * 점수 내림차순 후보. 같은 카탈로그 스냅샷에서 DTO 를 만든다.
+     */
+    public static final class Candidates {
+
+        private final Catalog catalog;
+        private final int[] idx;
+        private final double[] scores;
+        private final double[] sims;
+        private final int[] ranks;
+        private final Map<Long, Integer> byProductId;
+
+        private Candidates(Catalog catalog, int[] idx, double[] scores, double[] sims,
+                int[] ranks) {
+            this.catalog = catalog;
+            this.idx = idx;
+            this.scores = scores;
+            this.sims = sims;
+            this.ranks = ranks;
+            this.byProductId = new HashMap<>(Math.max(16, idx.length * 2));
+            for (int k = 0; k < idx.length; k++) {
+                byProductId.put(catalog.productIds[idx[k]], k);
+            }
+        }
+
+        public int size() {
+            return idx.length;
+        }
+
+        /** 상품 ID → 점수 (점수 내림차순) */
+        public Map<Long, Double> scores() {
+            Map<Long, Double> out = new LinkedHashMap<>(Math.max(16, idx.length * 2));
+            for (int k = 0; k < idx.length; k++) {
+                out.put(catalog.productIds[idx[k]], scores[k]);
+            }
+            return out;
+        }
+
+        /** 후보에 없는 상품이면 null */
+        public ProductRecommendationDto toDto(Long productId) {
+            Integer k = byProductId.get(productId);
+            if (k == null) {
+                return null;
+            }
+            Catalog c = catalog;
+            int i = idx[k];
+            return ProductRecommendationDto.builder()
+                    .productId(c.productIds[i])
+                    .categoryId(c.categoryIds[i])
+                    .productName(c.names[i])
+                    .brandName(c.brands[i])
+                    .price(c.prices[i])
+                    .stock(c.stocks[i])
+                    .thumbnailUrl(c.thumbnails[i])
+                    .discountRate(c.discountRates[i])
+                    .discountedPrice(c.discountedPrices[i])
+                    .score(scores[k])
+                    .baseSimilarity(sims[k])
+                    .rankOrder(ranks[k])
+                    .effectIds(EffectMask.toIds(c.effectBits[i]))
+                    .build();
+        }
+    }
+
+    /**
+     * 점수 상위 K 최소 힙 (원시 배열)
+     */
+    private static final class TopK {
+
+        private final int k;
+        private final int[] idx;
+        private final double[] score;
+        private final double[] sim;
+        private final int[] rank;
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+            this.idx = new int[k];
+            this.score = new double[k];
+            this.sim = new double[k];
+            this.rank = new int[k];
+        }
+
+        void offer(int i, double s, double similarity, int rankOrder) {
+            if (size < k) {
+                idx[size] = i;
+                score[size] = s;
+                sim[size] = similarity;
+                rank[size] = rankOrder;
+                siftUp(size++);
+            } else if (s > score[0]) {
+                idx[0] = i;
+                score[0] = s;
+                sim[0] = similarity;
+                rank[0] = rankOrder;
+                siftDown(0);
+            }
+        }
+
+        Candidates finish(Catalog catalog) {
+            // 힙에서 하나씩 꺼내 뒤에서부터 채우면 내림차순
+            int n = size;
+            int[] oi = new int[n];
+            double[] os = new double[n];
+            double[] om = new double[n];
+            int[] or = new int[n];
+            for (int out = n - 1; out >= 0; out--) {
+                oi[out] = idx[0];
+                os[out] = score[0];
+                om[out] = sim[0];
+                or[out] = rank[0];
+                size--;
+                if (size > 0) {
+                    swap(0, size);
+                    siftDown(0);
+                }
+            }
+            return new Candidates(catalog, oi, os, om, or);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (score[p] <= score[i]) {
+                    return;
+                }
+                swap(i, p);
+                i = p;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, m = i;
+                if (l < size && score[l] < score[m]) {
+                    m = l;
+                }
+                if (r < size && score[r] < score[m]) {
+                    m = r;
+                }
+                if (m == i) {
+                    return;
+                }
+                swap(i, m);
+                i = m;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ti = idx[a];
+            idx[a] = idx[b];
+            idx[b] = ti;
+            double ts = score[a];
+            score[a] = score[b];
+            score[b] = ts;
+            double tm = sim[a];
+            sim[a] = sim[b];
+            sim[b] = tm;
+            int tr = rank[a];
+            rank[a] = rank[b];
+            rank[b] = tr;
+        }
+    }
+
+    /**
+     * 불변 카탈로그 스냅샷 (열 단위 배열). 재고만 바뀔 때는 재고 배열만 갈아 끼운 사본을 만든다.
+     */
+    static final class Catalog {
+
+        static final Catalog EMPTY = new Catalog(0L, null, 0, new long[0], new int[0],
+                new byte[0], new long[0], new long[0], new int[0], new String[0], new String[0],
+                new String[0], new long[0], Map.of(), new long[0], Map.of());
+
+        final long version;
+        final String fingerprint;
+        final int size;
+        final long[] productIds;
+        final int[] categoryIds;
+        final byte[] groups;
+        final long[] prices;
+        final long[] discountedPrices;
+        final int[] discountRates;
+        final String[] names;
+        final String[] brands;
+        final String[] thumbnails;
+        final long[] effectBits;
+        final Map<Integer, byte[]> compatBySkinType; // 피부타입 → 상품별 궁합(-1/0/1)
+        final long[] stocks;
+        final Map<Long, Integer> positions;           // 적재/재고 갱신용 (요청 경로에서는 안 씀)
+
+        Catalog(long version, String fingerprint, int size, long[] productIds, int[] categoryIds,
+                byte[] groups, long[] prices, long[] discountedPrices, int[] discountRates,
+                String[] names, String[] brands, String[] thumbnails, long[] effectBits,
+                Map<Integer, byte[]> compatBySkinType, long[] stocks,
+                Map<Long, Integer> positions) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+            this.size = size;
+            this.productIds = productIds;
+            this.categoryIds = categoryIds;
+            this.groups = groups;
+            this.prices = prices;
+            this.discountedPrices = discountedPrices;
+            this.discountRates = discountRates;
+            this.names = names;
+            this.brands = brands;
+            this.thumbnails = thumbnails;
+            this.effectBits = effectBits;
+            this.compatBySkinType = compatBySkinType;
+            this.stocks = stocks;
+            this.positions = positions;
+        }
+
+        Catalog withStocks(long[] newStocks) {
+            return new Catalog(version, fingerprint, size, productIds, categoryIds, groups, prices,
+                    discountedPrices, discountRates, names, brands, thumbnails, effectBits,
+                    compatBySkinType, newStocks, positions);
+        }
+
+        static Catalog build(long version, String fingerprint, List<Map<String, Object>> products,
+                List<Map<String, Object>> effects, List<Map<String, Object>> compat) {
+            int n = products.size();
+            long[] ids = new long[n];
+            int[] cats = new int[n];
+            byte[] groups = new byte[n];
+            long[] prices = new long[n];
+            long[] discounted = new long[n];
+            int[] rates = new int[n];
+            String[] names = new String[n];
+            String[] brands = new String[n];
+            String[] thumbs = new String[n];
+            long[] stocks = new long[n];
+            Map<Long, Integer> positions = new HashMap<>(Math.max(16, n * 2));
+
+            int size = 0;
+            for (Map<String, Object> r : products) {
+                Long id = asLong(r.get("PRODUCT_ID"));
+                Integer cat = asInt(r.get("CATEGORY_ID"));
+                if (id == null || cat == null || positions.containsKey(id)) {
+                    continue;
+                }
+                ids[size] = id;
+                cats[size] = cat;
+                groups[size] = groupOf(cat);
+                prices[size] = orZero(asLong(r.get("PRICE")));
+                discounted[size] = orZero(asLong(r.get("DISCOUNTED_PRICE")));
+                Integer rate = asInt(r.get("DISCOUNT_RATE"));
+                rates[size] = rate == null ? 0 : rate;
+                names[size] = (String) r.get("PRODUCT_NAME");
+                brands[size] = (String) r.get("BRAND_NAME");
+                thumbs[size] = (String) r.get("THUMBNAIL_URL");
+                stocks[size] = orZero(asLong(r.get("STOCK")));
+                positions.put(id, size++);
+            }
+
+            final int loaded = size;
+            long[] bits = new long[loaded];
+            int skipped = 0;
+            for (Map<String, Object> r : effects) {
+                Integer i = positions.get(asLong(r.get("PRODUCT_ID")));
+                Long eid = asLong(r.get("EFFECT_ID"));
+                if (i == null || eid == null) {
+                    continue;
+                }
+                long bit = EffectMask.bit(eid);
+                if (bit == 0L) {
+                    skipped++;
+                    continue;
+                }
+                bits[i] |= bit;
+            }
+            if (skipped > 0) {
+                log.warn("[RecommendIndex] {} effect rows outside 0..{} ignored", skipped,
+                        EffectMask.MAX_EFFECT_ID);
+            }
+
+            Map<Integer, byte[]> compatBySkin = new HashMap<>();
+            for (Map<String, Object> r : compat) {
+                Integer i = positions.get(asLong(r.get("PRODUCT_ID")));
+                Integer skinType = asInt(r.get("SKIN_TYPE"));
+                Integer cp = asInt(r.get("COMPAT"));
+                if (i == null || skinType == null || cp == null) {
+                    continue;
+                }
+                compatBySkin.computeIfAbsent(skinType, k -> new byte[loaded])[i] =
+                        (byte) Integer.signum(cp);
+            }
+
+            return new Catalog(version, fingerprint, size, Arrays.copyOf(ids, size),
+                    Arrays.copyOf(cats, size), Arrays.copyOf(groups, size),
+                    Arrays.copyOf(prices, size), Arrays.copyOf(discounted, size),
+                    Arrays.copyOf(rates, size), Arrays.copyOf(names, size),
+                    Arrays.copyOf(brands, size), Arrays.copyOf(thumbs, size), bits,
+                    Map.copyOf(compatBySkin), Arrays.copyOf(stocks, size), Map.copyOf(positions));
+        }
+
+        private static long orZero(Long v) {
+            return v == null ? 0L : v;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.refit.app.domain.memberProduct.service;
 
+import static com.refit.app.domain.memberProduct.recommend.EffectMask.bit;
 import static com.refit.app.global.util.CursorUtil.asInt;
 
 import com.refit.app.domain.memberProduct.dto.ProductSimpleRow;
@@ -10,6 +11,10 @@ import com.refit.app.domain.memberProduct.dto.response.ProductRecommendationDto;
 import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
 import com.refit.app.domain.memberProduct.model.ProductType;
 import com.refit.app.domain.memberProduct.model.UsageStatus;
+import com.refit.app.domain.memberProduct.recommend.ConcernMasks;
+import com.refit.app.domain.memberProduct.recommend.EffectMask;
+import com.refit.app.domain.memberProduct.recommend.NeighborSnapshotCache;
+import com.refit.app.domain.memberProduct.recommend.ProductRecommendIndex;
 import com.refit.app.global.exception.ErrorCode;
 import com.refit.app.global.exception.RefitException;
 import java.time.LocalDate;
@@ -33,6 +38,8 @@ import java.util.List;
 public class MemberProductServiceImpl implements MemberProductService {
 
     private final MemberProductMapper memberProductMapper;
+    private final ProductRecommendIndex recommendIndex;
+    private final NeighborSnapshotCache neighborCache;
 
     // 하이퍼파라미터(운영 튜닝 대상)
     private static final double COMPAT_GOOD = 1.20;
@@ -281,25 +288,55 @@ public class MemberProductServiceImpl implements MemberProductService {
         Map<String,Object> hair   = orDefault(memberProductMapper.selectHairConcerns(memberId), Map.of());
         Map<String,Object> health = orDefault(memberProductMapper.selectHealthConcerns(memberId), Map.of());
 
-        // 3) 고민 → 효과ID
-        Set<Long> skinEffectIds   = wantedEffectsForSkin(skin);
-        Set<Long> hairEffectIds   = wantedEffectsForHair(hair);
-        Set<Long> healthEffectIds = wantedEffectsForHealth(health);
+        // 3) 고민 → 효과 마스크 (요청당 한 번)
+        ConcernMasks concerns = new ConcernMasks(
+                wantedEffectsForSkin(skin), wantedEffectsForHair(hair), wantedEffectsForHealth(health));
 
         if (baseProductId == null) {
             // 외부 제품 추천
             return recommendForExternal(memberId, memberProductId, baseCategoryId,
-                    skinType, skinEffectIds, hairEffectIds, healthEffectIds, finalLimit);
+                    skinType, concerns, finalLimit);
         }
 
         // 내부 제품 추천
         return recommendForInternal(memberId, memberProductId, baseProductId, baseCategoryId,
-                skinType, skinEffectIds, hairEffectIds, healthEffectIds, topKPerBase, finalLimit);
+                skinType, concerns, topKPerBase, finalLimit);
     }
 
     private List<ProductRecommendationDto> recommendForInternal(
             Long memberId, Long memberProductId, Long baseProductId, Integer baseCategoryId,
-            Integer skinType, Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds,
+            Integer skinType, ConcernMasks concerns,
+            int topKPerBase, int finalLimit
+    ) {
+        if (!neighborCache.loaded() || !recommendIndex.loaded()) {
+            return recommendForInternalFromDb(memberId, memberProductId, baseProductId, baseCategoryId,
+                    skinType, concerns, topKPerBase, finalLimit);
+        }
+
+        // 사전계산 이웃(전카테고리) + 후보 상세/효과/궁합 모두 상주 캐시에서 (DB 왕복 없음)
+        NeighborSnapshotCache.Neighbors neigh = neighborCache.neighborsOf(baseProductId, topKPerBase);
+        if (neigh.isEmpty()) return List.of();
+
+        ProductRecommendIndex.Candidates cands = recommendIndex.scoreNeighbors(
+                neigh, baseProductId, concerns, skinType, baseCategoryId);
+
+        // 30% / 70% 믹스
+        List<Long> finalIds = mix30_70(cands.scores(), finalLimit);
+        List<ProductRecommendationDto> out = new ArrayList<>(finalIds.size());
+        for (Long pid : finalIds) {
+            ProductRecommendationDto dto = cands.toDto(pid);
+            if (dto != null) out.add(dto);
+        }
+
+        // 브랜드 편중 제한
+        out = limitPerBrand(out, 2);
+        if (out.size() > finalLimit) out = out.subList(0, finalLimit);
+        return out;
+    }
+
+    private List<ProductRecommendationDto> recommendForInternalFromDb(
+            Long memberId, Long memberProductId, Long baseProductId, Integer baseCategoryId,
+            Integer skinType, ConcernMasks concerns,
             int topKPerBase, int finalLimit
     ) {
         // 사전계산 이웃(전카테고리)
@@ -319,7 +356,7 @@ public class MemberProductServiceImpl implements MemberProductService {
 
         // 후보 효과
         List<Map<String,Object>> effRows = memberProductMapper.selectProductEffects(candidateIds);
-        Map<Long, Set<Long>> productEffects = groupEffects(effRows);
+        Map<Long, Long> productEffects = groupEffects(effRows);
 
         // 스킨 compat
         Map<Long, Integer> compatMap = loadCompatForCandidates(candidateIds, skinType);
@@ -353,8 +390,8 @@ public class MemberProductServiceImpl implements MemberProductService {
             }
 
             // 고민-효과 매칭
-            Set<Long> eids = productEffects.getOrDefault(candId, Set.of());
-            long matched = concernMatchCount(candCat, eids, skinEffectIds, hairEffectIds, healthEffectIds);
+            long eids = productEffects.getOrDefault(candId, 0L);
+            int matched = EffectMask.matches(eids, concerns.forCategory(candCat));
             double concernWeight = 1.0 + CONCERN_BOOST_PER_EFFECT * matched;
 
             // 카테고리 보너스
@@ -386,7 +423,34 @@ public class MemberProductServiceImpl implements MemberProductService {
 
     private List<ProductRecommendationDto> recommendForExternal(
             Long memberId, Long memberProductId, Integer baseCategoryId,
-            Integer skinType, Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds,
+            Integer skinType, ConcernMasks concerns,
+            int finalLimit
+    ) {
+        if (!recommendIndex.loaded()) {
+            // 인덱스 적재 전(기동 직후 DB 장애 등)에만 전체 스캔
+            return recommendForExternalFromDb(memberId, memberProductId, baseCategoryId,
+                    skinType, concerns, finalLimit);
+        }
+
+        // 상주 카탈로그에서 점수 상위 후보만 (DB 조회 없음)
+        ProductRecommendIndex.Candidates cands = recommendIndex.scoreExternal(
+                concerns, skinType, baseCategoryId);
+
+        List<Long> finalIds = mix30_70(cands.scores(), finalLimit);
+        List<ProductRecommendationDto> out = new ArrayList<>(finalIds.size());
+        for (Long pid : finalIds) {
+            ProductRecommendationDto dto = cands.toDto(pid);
+            if (dto != null) out.add(dto);
+        }
+
+        out = limitPerBrand(out, 2);
+        if (out.size() > finalLimit) out = out.subList(0, finalLimit);
+        return out;
+    }
+
+    private List<ProductRecommendationDto> recommendForExternalFromDb(
+            Long memberId, Long memberProductId, Integer baseCategoryId,
+            Integer skinType, ConcernMasks concerns,
             int finalLimit
     ) {
         List<Map<String,Object>> prodRows = memberProductMapper.selectAllProducts();
@@ -394,10 +458,10 @@ public class MemberProductServiceImpl implements MemberProductService {
                 .collect(Collectors.toMap(r -> getLong(r, "PRODUCT_ID"), r -> r));
 
         List<Map<String,Object>> effRows = memberProductMapper.selectAllProductEffects();
-        Map<Long, Set<Long>> productEffects = groupEffects(effRows);
+        Map<Long, Long> productEffects = groupEffects(effRows);
 
         // 외부 기준 효과 = 현재는 사용자 고민 효과 세트(카테고리 알면 해당 그룹만)
-        Set<Long> extEffects = extDesiredEffectsFromConcerns(baseCategoryId, skinEffectIds, hairEffectIds, healthEffectIds);
+        long extEffects = concerns.external(baseCategoryId);
 
         List<Long> allIds = prodRows.stream().map(r -> getLong(r,"PRODUCT_ID")).toList();
         Map<Long, Integer> compatMap = loadCompatForCandidates(allIds, skinType);
@@ -414,9 +478,9 @@ public class MemberProductServiceImpl implements MemberProductService {
             if (stock <= 0) continue;
 
             int candCat = getInt(pd, "CATEGORY_ID");
-            Set<Long> candEffects = productEffects.getOrDefault(pid, Set.of());
+            long candEffects = productEffects.getOrDefault(pid, 0L);
 
-            double sim = cosineOnSets(extEffects, candEffects);
+            double sim = EffectMask.cosine(extEffects, candEffects);
             if (sim <= 0) continue;
 
             double compatWeight = 1.0;
@@ -426,7 +490,7 @@ public class MemberProductServiceImpl implements MemberProductService {
                 compatWeight = (cp == 1) ? COMPAT_GOOD : COMPAT_NEUTRAL;
             }
 
-            long matched = concernMatchCount(candCat, candEffects, skinEffectIds, hairEffectIds, healthEffectIds);
+            int matched = EffectMask.matches(candEffects, concerns.forCategory(candCat));
             double concernWeight = 1.0 + CONCERN_BOOST_PER_EFFECT * matched;
 
             double catBonus = 1.0;
@@ -452,13 +516,13 @@ public class MemberProductServiceImpl implements MemberProductService {
     }
 
     // ===== 유틸 =====
-    private Map<Long, Set<Long>> groupEffects(List<Map<String,Object>> effRows) {
-        Map<Long, Set<Long>> res = new HashMap<>();
+    private Map<Long, Long> groupEffects(List<Map<String,Object>> effRows) {
+        Map<Long, Long> res = new HashMap<>();
         for (Map<String,Object> r : effRows) {
             Long pid = getLong(r, "PRODUCT_ID");
             Long eid = getLong(r, "EFFECT_ID");
             if (pid == null || eid == null) continue;
-            res.computeIfAbsent(pid, k -> new HashSet<>()).add(eid);
+            res.merge(pid, EffectMask.bit(eid), (a, b) -> a | b);
         }
         return res;
     }
@@ -503,7 +567,7 @@ public class MemberProductServiceImpl implements MemberProductService {
             Map<Long, Double> baseScores,
             Map<Long, Double> bestSim,
             Map<Long, Integer> bestRank,
-            Map<Long, Set<Long>> productEffects
+            Map<Long, Long> productEffects
     ) {
         List<ProductRecommendationDto> out = new ArrayList<>();
         for (Long pid : ids) {
@@ -523,89 +587,50 @@ public class MemberProductServiceImpl implements MemberProductService {
                     .score(baseScores.getOrDefault(pid, 0.0))
                     .baseSimilarity(bestSim.getOrDefault(pid, 0.0))
                     .rankOrder(bestRank.getOrDefault(pid, 9999))
-                    .effectIds(new ArrayList<>(productEffects.getOrDefault(pid, Set.of())))
+                    .effectIds(EffectMask.toIds(productEffects.getOrDefault(pid, 0L)))
                     .build());
         }
         return out;
     }
 
-    private long concernMatchCount(
-            int candCat, Set<Long> candEffects,
-            Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds
-    ) {
-        if (isSkin(candCat))      return countMatches(candEffects, skinEffectIds);
-        else if (isHair(candCat)) return countMatches(candEffects, hairEffectIds);
-        else if (isHealth(candCat)) return countMatches(candEffects, healthEffectIds);
-        return 0;
+    // ==== 효과 매핑 (고민 → 효과 비트마스크) ====
+    private long wantedEffectsForSkin(Map<String,Object> skin) {
+        long m = 0L;
+        if (on(skin,"ATOPIC"))           m |= bit(EFFECT_ITCH_RELIEF);    // 가려움 개선
+        if (on(skin,"ACNE"))             m |= bit(EFFECT_ACNE_RELIEF) | bit(EFFECT_SOOTHING); // 여드름 완화, 진정
+        if (on(skin,"WHITENING"))        m |= bit(EFFECT_WHITENING);      // 미백
+        if (on(skin,"SEBUM"))            m |= bit(EFFECT_ACNE_RELIEF);
+        if (on(skin,"INNER_DRYNESS"))    m |= bit(EFFECT_MOISTURE);       // 보습
+        if (on(skin,"WRINKLES"))         m |= bit(EFFECT_ANTI_WRINKLE);   // 주름 개선
+        if (on(skin,"ENLARGED_PORES"))   m |= bit(EFFECT_ACNE_RELIEF);
+        if (on(skin,"REDNESS"))          m |= bit(EFFECT_SOOTHING);
+        if (on(skin,"KERATIN"))          m |= bit(EFFECT_SOOTHING);
+        return m;
     }
-
-    private Set<Long> extDesiredEffectsFromConcerns(Integer baseCategoryId,
-            Set<Long> skinEffectIds, Set<Long> hairEffectIds, Set<Long> healthEffectIds) {
-        if (baseCategoryId == null) {
-            Set<Long> u = new HashSet<>();
-            u.addAll(skinEffectIds);
-            u.addAll(hairEffectIds);
-            u.addAll(healthEffectIds);
-            return u;
-        }
-        if (isSkin(baseCategoryId))   return skinEffectIds;
-        if (isHair(baseCategoryId))   return hairEffectIds;
-        if (isHealth(baseCategoryId)) return healthEffectIds;
-        return Set.of();
+    private long wantedEffectsForHair(Map<String,Object> hair) {
+        long m = 0L;
+        if (on(hair,"HAIR_LOSS"))        m |= bit(EFFECT_HAIR_LOSS);     // 탈모 개선
+        if (on(hair,"DAMAGED_HAIR"))     m |= bit(EFFECT_DAMAGED_HAIR);  // 손상모 개선
+        if (on(hair,"SCALP_TROUBLE"))    m |= bit(EFFECT_DAMAGED_HAIR);  // 두피 개선
+        if (on(hair,"DANDRUFF"))         m |= bit(EFFECT_DAMAGED_HAIR);
+        return m;
     }
 
-    // ==== 효과 매핑 ====
-    private Set<Long> wantedEffectsForSkin(Map<String,Object> skin) {
-        Set<Long> s = new HashSet<>();
-        if (on(skin,"ATOPIC"))           s.add(6L);       // 가려움 개선
-        if (on(skin,"ACNE"))             { s.add(5L); s.add(1L); } // 여드름 완화, 진정
-        if (on(skin,"WHITENING"))        s.add(3L);       // 미백
-        if (on(skin,"SEBUM"))            s.add(5L);
-        if (on(skin,"INNER_DRYNESS"))    s.add(0L);       // 보습
-        if (on(skin,"WRINKLES"))         s.add(2L);       // 주름 개선
-        if (on(skin,"ENLARGED_PORES"))   s.add(5L);
-        if (on(skin,"REDNESS"))          s.add(1L);
-        if (on(skin,"KERATIN"))          s.add(1L);
-        return s;
-    }
-    private Set<Long> wantedEffectsForHair(Map<String,Object> hair) {
-        Set<Long> s = new HashSet<>();
-        if (on(hair,"HAIR_LOSS"))        s.add(9L);  // 탈모 개선
-        if (on(hair,"DAMAGED_HAIR"))     s.add(8L);  // 손상모 개선
-        if (on(hair,"SCALP_TROUBLE"))    s.add(8L);  // 두피 개선
-        if (on(hair,"DANDRUFF"))         s.add(8L);
-        return s;
-    }
-
-    private Set<Long> wantedEffectsForHealth(Map<String,Object> health) {
-        Set<Long> s = new HashSet<>();
-        if (on(health,"EYE_HEALTH"))        s.add(EFFECT_EYE_HEALTH);
-        if (on(health,"FATIGUE"))           s.add(EFFECT_VITALITY);
-        if (on(health,"SLEEP_STRESS"))      s.add(EFFECT_ANTIOX);
-        if (on(health,"IMMUNE_CARE"))       s.add(EFFECT_IMMUNITY);
-        if (on(health,"MUSCLE_HEALTH"))     s.add(EFFECT_BONE_HEALTH);
-        if (on(health,"GUT_HEALTH"))        s.add(EFFECT_GUT_HEALTH);
-        if (on(health,"BLOOD_CIRCULATION")) s.add(EFFECT_BLOOD_FLOW);
-        return positiveOnly(s);
+    private long wantedEffectsForHealth(Map<String,Object> health) {
+        long m = 0L;
+        if (on(health,"EYE_HEALTH"))        m |= bit(EFFECT_EYE_HEALTH);
+        if (on(health,"FATIGUE"))           m |= bit(EFFECT_VITALITY);
+        if (on(health,"SLEEP_STRESS"))      m |= bit(EFFECT_ANTIOX);
+        if (on(health,"IMMUNE_CARE"))       m |= bit(EFFECT_IMMUNITY);
+        if (on(health,"MUSCLE_HEALTH"))     m |= bit(EFFECT_BONE_HEALTH);
+        if (on(health,"GUT_HEALTH"))        m |= bit(EFFECT_GUT_HEALTH);
+        if (on(health,"BLOOD_CIRCULATION")) m |= bit(EFFECT_BLOOD_FLOW);
+        return m; // 음수(미정) ID 는 bit() 에서 0
     }
 
     private boolean on(Map<String,Object> m, String k) { return m != null && asInt(m.get(k)) == 1; }
 
-    private Set<Long> positiveOnly(Set<Long> s) {
-        return s.stream().filter(id -> id != null && id >= 0).collect(Collectors.toSet());
-    }
-
     // ==== 수학/도우미 ====
-    private double cosineOnSets(Set<Long> a, Set<Long> b) {
-        if (a == null || b == null || a.isEmpty() || b.isEmpty()) return 0.0;
-        int inter = 0;
-        for (Long x : a) if (b.contains(x)) inter++;
-        if (inter == 0) return 0.0;
-        double denom = Math.sqrt((double)a.size() * (double)b.size());
-        if (denom <= 0) return 0.0;
-        return inter / denom;
-    }
-
     private boolean isSkin(int c)   { return c >= 0 && c <= 5; }
     private boolean isHair(int c)   { return c == 6 || c == 7; }
     private boolean isHealth(int c) { return c >= 8 && c <= 11; }
@@ -613,13 +638,6 @@ public class MemberProductServiceImpl implements MemberProductService {
         return (isSkin(a) && isSkin(b)) || (isHair(a) && isHair(b)) || (isHealth(a) && isHealth(b));
     }
 
-    private long countMatches(Set<Long> eids, Set<Long> wanted) {
-        if (wanted == null || wanted.isEmpty() || eids == null || eids.isEmpty()) return 0;
-        long cnt = 0;
-        for (Long x : wanted) if (eids.contains(x)) cnt++;
-        return cnt;
-    }
-
     private List<ProductRecommendationDto> limitPerBrand(List<ProductRecommendationDto> list, int maxPerBrand) {
         Map<String, Integer> cnt = new HashMap<>();
         List<ProductRecommendationDto> res = new ArrayList<>();
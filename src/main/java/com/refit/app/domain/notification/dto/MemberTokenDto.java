@@ -0,0 +1,12 @@
+package com.refit.app.domain.notification.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class MemberTokenDto {
+    private Long memberId;
+    private String fcmToken;
+}
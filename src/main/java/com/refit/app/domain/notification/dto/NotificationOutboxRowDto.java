@@ -0,0 +1,18 @@
+package com.refit.app.domain.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxRowDto {
+    private Long outboxId;
+    private Long memberId;
+    private String payload;   // 푸시 data (JSON)
+    private Integer attempts;
+}
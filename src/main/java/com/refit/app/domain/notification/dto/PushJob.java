@@ -0,0 +1,13 @@
+package com.refit.app.domain.notification.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PushJob {
+    private Long key;                  // 결과 매핑용 (아웃박스 ID 등)
+    private Long memberId;
+    private Map<String, String> data;  // title, body, deeplink, type ...
+}
@@ -1,5 +1,7 @@
 package com.refit.app.domain.notification.mapper;
 
+import com.refit.app.domain.notification.dto.MemberTokenDto;
+import java.util.Collection;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -22,9 +24,12 @@ public interface DeviceMapper {
 
     List<String> selectActiveTokensByMemberId(@Param("memberId") Long memberId);
 
-    void deactivateByToken(@Param("token") String token);
+    // 일괄 발송용: 회원 ID 목록(≤1000)의 활성 토큰
+    List<MemberTokenDto> selectActiveTokensByMemberIds(@Param("memberIds") Collection<Long> memberIds);
 
-    void markSuccessByToken(@Param("token") String token);
+    int deactivateByTokens(@Param("tokens") Collection<String> tokens);
+
+    int markSuccessByTokens(@Param("tokens") Collection<String> tokens);
 
     // 오래된 비활성 토큰 정리
     int deleteStale();
@@ -0,0 +1,35 @@
+package com.refit.app.domain.notification.mapper;
+
+import com.refit.app.domain.notification.dto.NotificationOutboxRowDto;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface NotificationOutboxMapper {
+
+    int insertOutbox(NotificationOutboxRowDto row);   // selectKey로 OUTBOX_ID 세팅
+
+    List<Long> selectDueIds(@Param("limit") int limit);
+
+    List<NotificationOutboxRowDto> selectByIds(@Param("outboxIds") List<Long> outboxIds);
+
+    // 전송 권한 선점: 대기 상태이고 시도 시각이 지난 행만 (lease 동안 다른 워커가 못 가져감)
+    int claim(@Param("outboxId") Long outboxId, @Param("leaseSec") int leaseSec,
+            @Param("claimToken") String claimToken);
+
+    // 아래 일괄 반영은 한 번에 1000건 이하 (Oracle IN 제한)
+    // claimToken 이 바뀐 행(lease 만료 후 다른 워커가 다시 선점)은 건드리지 않는다. 반환값 = 반영된 행 수
+    int markSent(@Param("outboxIds") List<Long> outboxIds, @Param("result") String result,
+            @Param("claimToken") String claimToken);
+
+    int markRetry(@Param("outboxIds") List<Long> outboxIds,
+            @Param("delaySec") long delaySec,
+            @Param("error") String error,
+            @Param("claimToken") String claimToken);
+
+    int markDead(@Param("outboxIds") List<Long> outboxIds, @Param("error") String error,
+            @Param("claimToken") String claimToken);
+
+    int deleteSentBefore(@Param("days") int days);
+}
@@ -0,0 +1,10 @@
+package com.refit.app.domain.notification.model;
+
+public enum PushOutcome {
+    // 한 기기 이상 전송 성공
+    SENT,
+    // 보낼 토큰이 없거나 Firebase 미설정 (재시도 의미 없음)
+    NO_TARGET,
+    // 모든 기기가 일시 오류로 실패 (재시도 대상)
+    RETRY
+}
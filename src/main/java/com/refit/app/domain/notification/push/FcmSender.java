@@ -0,0 +1,36 @@
+package com.refit.app.domain.notification.push;
+
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * FCM 전송 경계. 운영은 {@link FirebaseFcmSender}, 로컬/테스트는 스텁으로 바꿔 끼운다.
+ */
+public interface FcmSender {
+
+    // FCM sendEach 1회 최대 메시지 수
+    int MAX_BATCH = 500;
+
+    boolean isReady();
+
+    /**
+     * 메시지(≤{@link #MAX_BATCH})를 한 번에 보낸다. 결과는 messages 와 같은 순서
+     */
+    CompletableFuture<List<Result>> sendEach(List<Message> messages);
+
+    /**
+     * @param errorCode 실패 시 FCM 오류 코드 (null = 코드 없는 오류: 네트워크 등)
+     */
+    record Result(boolean success, MessagingErrorCode errorCode, String error) {
+
+        public static Result ok() {
+            return new Result(true, null, null);
+        }
+
+        public static Result fail(MessagingErrorCode errorCode, String error) {
+            return new Result(false, errorCode, error);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.refit.app.domain.notification.push;
+
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.SendResponse;
+import jakarta.annotation.PostConstruct;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class FirebaseFcmSender implements FcmSender {
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (FirebaseApp.getApps().isEmpty()) {
+                // 외부 파일 경로로 읽기
+                String path = "/app/config/firebase-adminsdk.json";
+                try (InputStream serviceAccount = new FileInputStream(path)) {
+                    FirebaseOptions options = FirebaseOptions.builder()
+                            .setCredentials(GoogleCredentials.fromStream(serviceAccount))
+                            .build();
+
+                    FirebaseApp.initializeApp(options);
+                    log.info("FirebaseApp initialized from file: {}", path);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize FirebaseApp", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return !FirebaseApp.getApps().isEmpty();
+    }
+
+    @Override
+    public CompletableFuture<List<Result>> sendEach(List<Message> messages) {
+        CompletableFuture<List<Result>> out = new CompletableFuture<>();
+        ApiFutures.addCallback(FirebaseMessaging.getInstance().sendEachAsync(messages),
+                new ApiFutureCallback<BatchResponse>() {
+                    @Override
+                    public void onSuccess(BatchResponse res) {
+                        out.complete(res.getResponses().stream().map(FirebaseFcmSender::toResult).toList());
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        out.completeExceptionally(t);
+                    }
+                }, MoreExecutors.directExecutor());
+        return out;
+    }
+
+    private static Result toResult(SendResponse r) {
+        if (r.isSuccessful()) {
+            return Result.ok();
+        }
+        return r.getException() == null
+                ? Result.fail(null, "unknown")
+                : Result.fail(r.getException().getMessagingErrorCode(), r.getException().getMessage());
+    }
+}
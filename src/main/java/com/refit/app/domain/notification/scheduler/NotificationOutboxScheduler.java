@@ -0,0 +1,48 @@
+package com.refit.app.domain.notification.scheduler;
+
+import com.refit.app.domain.notification.service.NotificationDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 푸시 아웃박스 폴러: 커밋 직후 발송이 밀렸거나 재시도 시각이 된 건을 디스패처 풀에 넘긴다.
+ * 행 단위 선점이라 인스턴스마다 돌아도 중복 발송되지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxScheduler {
+
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Value("${notification.outbox.poll-batch-size:200}")
+    private int batchSize;
+
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-ms:5000}",
+            initialDelayString = "${notification.outbox.poll-ms:5000}")
+    public void drain() {
+        try {
+            int n = notificationDispatcher.drainDue(batchSize);
+            if (n > 0) {
+                log.debug("[NotiOutbox] submitted={}", n);
+            }
+        } catch (Exception e) {
+            log.warn("[NotiOutbox] poll failed: {}", e.toString());
+        }
+    }
+
+    // 매일 04:00 KST, 보낸 지 오래된 행 정리
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    @SchedulerLock(name = "notification-outbox-purge", lockAtMostFor = "PT10M", lockAtLeastFor = "PT30S")
+    public void purge() {
+        int deleted = notificationDispatcher.purgeSent(retentionDays);
+        log.info("[NotiOutbox] purged sent rows={}", deleted);
+    }
+}
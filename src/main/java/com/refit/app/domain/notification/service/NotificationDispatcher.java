@@ -0,0 +1,251 @@
+package com.refit.app.domain.notification.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.notification.dto.NotificationOutboxRowDto;
+import com.refit.app.domain.notification.dto.PushJob;
+import com.refit.app.domain.notification.mapper.NotificationOutboxMapper;
+import com.refit.app.domain.notification.model.PushOutcome;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 푸시 아웃박스 발송.
+ * <p>
+ * 알림을 쓴 트랜잭션이 커밋되면 그 트랜잭션에서 쌓인 건을 묶어 디스패처 풀에 넘기고, 풀이 가득 찼거나 서버가 죽어
+ * 유실된 건은 폴러({@link #drainDue})가 다시 가져간다. 묶음 단위로 {@link PushService#sendBatch} 를 한 번 호출하므로
+ * 스케줄러 일괄 알림도 FCM sendEach 몇 번으로 끝난다.
+ * 행마다 조건부 UPDATE 로 선점하므로 여러 인스턴스가 동시에 돌아도 한 번만 보낸다. 결과 반영도 선점 토큰이 그대로인
+ * 행에만 하므로, lease 가 지나 다른 워커가 다시 가져간 행을 늦게 끝난 워커가 덮어쓰지 않는다.
+ * 일시 오류는 지수 백오프로 재시도하고, max-attempts 를 넘기면 포기 상태로 남긴다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final TypeReference<Map<String, String>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    // 발송 마감 뒤 결과 반영(DB)까지의 여유
+    private static final int LEASE_MARGIN_SEC = 30;
+
+    private final NotificationOutboxMapper outboxMapper;
+    private final PushService pushService;
+    private final ObjectMapper om;
+    private final ThreadPoolTaskExecutor executor;
+
+    // 선점 후 이 시간 안에 결과를 못 쓰면 (서버 다운 등) 폴러가 다시 가져간다
+    @Value("${notification.outbox.lease-sec:60}")
+    private int leaseSec;
+
+    // PushService 한 번의 최장 시간 (슬롯 대기 포함). lease 는 이보다 길어야 한다
+    @Value("${notification.push.batch-timeout-ms:30000}")
+    private long pushBatchTimeoutMs;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.base-delay-sec:10}")
+    private long baseDelaySec;
+
+    @Value("${notification.outbox.max-delay-sec:1800}")
+    private long maxDelaySec;
+
+    // 풀 작업 1개가 맡는 아웃박스 행 수 (IN 절 한도 1000 이하)
+    @Value("${notification.outbox.dispatch-batch-size:200}")
+    private int dispatchBatchSize;
+
+    public NotificationDispatcher(
+            NotificationOutboxMapper outboxMapper,
+            PushService pushService,
+            ObjectMapper om,
+            @Qualifier("notificationDispatchExecutor") ThreadPoolTaskExecutor executor
+    ) {
+        this.outboxMapper = outboxMapper;
+        this.pushService = pushService;
+        this.om = om;
+        this.executor = executor;
+    }
+
+    /**
+     * 아웃박스 적재. 호출 트랜잭션에 참여하고, 커밋된 뒤에만 발송을 시작한다 (롤백되면 발송도 없다)
+     */
+    public void enqueue(Long memberId, Map<String, String> data) {
+        NotificationOutboxRowDto row = NotificationOutboxRowDto.builder()
+                .memberId(memberId)
+                .payload(toJson(data))
+                .build();
+        outboxMapper.insertOutbox(row);
+
+        Long outboxId = row.getOutboxId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitAll(List.of(outboxId));
+            return;
+        }
+        // 같은 트랜잭션에서 쌓인 건은 커밋 후 한꺼번에 넘긴다
+        PendingBatch pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingBatch.class::isInstance)
+                .map(PendingBatch.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    PendingBatch b = new PendingBatch();
+                    TransactionSynchronizationManager.registerSynchronization(b);
+                    return b;
+                });
+        pending.outboxIds.add(outboxId);
+    }
+
+    /**
+     * 발송 시각이 된 대기 건을 묶음으로 풀에 넘긴다
+     *
+     * @return 넘긴 건수
+     */
+    public int drainDue(int limit) {
+        return submitAll(outboxMapper.selectDueIds(limit));
+    }
+
+    public int purgeSent(int days) {
+        return outboxMapper.deleteSentBefore(days);
+    }
+
+    /**
+     * 설정한 lease 와 "발송 마감 + 여유" 중 긴 쪽
+     */
+    int leaseSec() {
+        long minSec = TimeUnit.MILLISECONDS.toSeconds(pushBatchTimeoutMs + 999) + LEASE_MARGIN_SEC;
+        return (int) Math.max(leaseSec, minSec);
+    }
+
+    void dispatch(List<Long> outboxIds) {
+        String claimToken = UUID.randomUUID().toString();
+        int lease = leaseSec();
+        List<Long> claimed = new ArrayList<>(outboxIds.size());
+        for (Long outboxId : outboxIds) {
+            if (outboxMapper.claim(outboxId, lease, claimToken) > 0) {
+                claimed.add(outboxId); // 0 이면 다른 워커가 가져갔거나 이미 처리됨
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        List<NotificationOutboxRowDto> rows = outboxMapper.selectByIds(claimed);
+
+        List<PushJob> jobs = new ArrayList<>(rows.size());
+        List<Long> broken = new ArrayList<>();
+        for (NotificationOutboxRowDto row : rows) {
+            try {
+                jobs.add(new PushJob(row.getOutboxId(), row.getMemberId(), om.readValue(row.getPayload(), PAYLOAD_TYPE)));
+            } catch (Exception e) {
+                broken.add(row.getOutboxId()); // 다시 보내도 같은 결과
+            }
+        }
+        if (!broken.isEmpty()) {
+            outboxMapper.markDead(broken, "payload parse failed", claimToken);
+        }
+
+        Map<Long, PushOutcome> outcomes = Map.of();
+        String error = null;
+        try {
+            outcomes = pushService.sendBatch(jobs);
+        } catch (Exception e) {
+            error = e.toString();
+            log.warn("[NotiOutbox] batch send failed size={}: {}", jobs.size(), error);
+        }
+
+        // 결과별로 모아 UPDATE 한 번씩
+        Map<String, List<Long>> sent = new HashMap<>();
+        Map<Long, List<Long>> retryByDelay = new TreeMap<>();
+        List<Long> dead = new ArrayList<>();
+        for (NotificationOutboxRowDto row : rows) {
+            if (broken.contains(row.getOutboxId())) {
+                continue;
+            }
+            PushOutcome outcome = outcomes.getOrDefault(row.getOutboxId(), PushOutcome.RETRY);
+            if (outcome != PushOutcome.RETRY) {
+                sent.computeIfAbsent(outcome.name(), k -> new ArrayList<>()).add(row.getOutboxId());
+            } else if (row.getAttempts() >= maxAttempts) {
+                dead.add(row.getOutboxId());
+            } else {
+                retryByDelay.computeIfAbsent(backoffSec(row.getAttempts()), k -> new ArrayList<>())
+                        .add(row.getOutboxId());
+            }
+        }
+
+        sent.forEach((result, ids) -> checkLease(outboxMapper.markSent(ids, result, claimToken), ids));
+        String retryError = error;
+        retryByDelay.forEach((delaySec, ids) ->
+                checkLease(outboxMapper.markRetry(ids, delaySec, retryError, claimToken), ids));
+        if (!dead.isEmpty()) {
+            checkLease(outboxMapper.markDead(dead, error == null ? "retry exhausted" : error, claimToken), dead);
+            log.warn("[NotiOutbox] gave up outboxIds={}", dead);
+        }
+    }
+
+    // 반영 안 된 행 = lease 가 지나 다른 워커가 가져간 행 (그쪽 결과가 남는다)
+    private static void checkLease(int updated, List<Long> ids) {
+        if (updated < ids.size()) {
+            log.warn("[NotiOutbox] lease lost for {}/{} rows outboxIds={}", ids.size() - updated, ids.size(), ids);
+        }
+    }
+
+    long backoffSec(int attempts) {
+        long delay = baseDelaySec << Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(delay, maxDelaySec);
+    }
+
+    /**
+     * dispatch-batch-size 씩 나눠 풀에 넘긴다. 풀이 가득 차면 나머지는 폴러가 다시 가져간다
+     *
+     * @return 넘긴 건수
+     */
+    private int submitAll(List<Long> outboxIds) {
+        int submitted = 0;
+        for (int from = 0; from < outboxIds.size(); from += dispatchBatchSize) {
+            List<Long> chunk = List.copyOf(outboxIds.subList(from, Math.min(from + dispatchBatchSize, outboxIds.size())));
+            try {
+                executor.execute(() -> {
+                    try {
+                        dispatch(chunk);
+                    } catch (Exception e) {
+                        log.warn("[NotiOutbox] dispatch failed size={}: {}", chunk.size(), e.toString());
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                log.debug("[NotiOutbox] executor full, deferred {} rows", outboxIds.size() - submitted);
+                break;
+            }
+            submitted += chunk.size();
+        }
+        return submitted;
+    }
+
+    private String toJson(Map<String, String> data) {
+        try {
+            return om.writeValueAsString(data);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("push payload serialize failed", e);
+        }
+    }
+
+    private final class PendingBatch implements TransactionSynchronization {
+
+        private final List<Long> outboxIds = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            submitAll(outboxIds);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.refit.app.domain.notification.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.Message;
 import com.refit.app.domain.notification.mapper.NotificationMapper;
 import com.refit.app.domain.notification.model.NotificationType;
 import java.util.Map;
@@ -18,8 +16,10 @@ import java.util.List;
 public class NotificationTriggerServiceImpl implements NotificationTriggerService {
 
     private final NotificationMapper notificationMapper;
-    private final PushService pushService;
+    private final NotificationDispatcher notificationDispatcher;
 
+    @Override
+    @Transactional
     public void saveAndPush(
             Long memberId,
             String title,
@@ -34,8 +34,8 @@ public class NotificationTriggerServiceImpl implements NotificationTriggerServic
                 notificationId, memberId, title, body, imageUrl, deeplink, type
         );
 
-        // 2) 전송은 PushService에 위임
-        pushService.sendToMember(memberId, Map.of(
+        // 2) 푸시는 같은 트랜잭션에 아웃박스로 적재 → 커밋 후 디스패처 풀이 전송
+        notificationDispatcher.enqueue(memberId, Map.of(
                 "type", type,
                 "title", title,
                 "body", body,
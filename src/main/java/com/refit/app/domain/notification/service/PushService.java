@@ -1,7 +1,13 @@
 package com.refit.app.domain.notification.service;
 
+import com.refit.app.domain.notification.dto.PushJob;
+import com.refit.app.domain.notification.model.PushOutcome;
+import java.util.List;
 import java.util.Map;
 
 public interface PushService {
-    void sendToMember(Long memberId, Map<String, String> data);
+    PushOutcome sendToMember(Long memberId, Map<String, String> data);
+
+    // 여러 회원 발송을 기기 토큰 단위로 묶어 보낸다. 반환: PushJob.key → 결과
+    Map<Long, PushOutcome> sendBatch(List<PushJob> jobs);
 }
@@ -1,103 +1,243 @@
 package com.refit.app.domain.notification.service;
 
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.FirebaseOptions;
-import com.google.firebase.messaging.*;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.refit.app.domain.notification.dto.MemberTokenDto;
+import com.refit.app.domain.notification.dto.PushJob;
 import com.refit.app.domain.notification.mapper.DeviceMapper;
-import java.io.FileInputStream;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.stereotype.Service;
-
-import jakarta.annotation.PostConstruct;
-import java.io.InputStream;
+import com.refit.app.domain.notification.model.PushOutcome;
+import com.refit.app.domain.notification.push.FcmSender;
+import com.refit.app.domain.notification.push.FcmSender.Result;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 
-@Service
-@RequiredArgsConstructor
+/**
+ * FCM 일괄 발송.
+ * <p>
+ * 회원들의 토큰을 한 번에 조회해 (회원, 토큰) 단위 메시지로 펼친 뒤 {@link FcmSender#MAX_BATCH} 건씩 sendEach 로 보낸다.
+ * 동시에 날아가는 배치 수는 max-in-flight 로 묶고, 성공 시각 기록/만료 토큰 비활성화는 IN 절 UPDATE 로 모아서 한다.
+ * <p>
+ * 슬롯 대기와 응답 대기 모두 호출 시점에 잡은 batch-timeout-ms 마감 안에서 끝나므로 한 번의 호출이 그보다 오래 걸리지 않는다
+ * (아웃박스 lease 가 이 값에 맞춰 잡힌다). 마감까지 응답이 온 배치는 결과대로 집계하고, 응답이 없는 배치의 메시지만 재시도
+ * 대상으로 돌린다. 응답 없이 마감된 배치는 FCM 이 이미 보냈을 수 있어 재시도 때 같은 알림이 한 번 더 갈 수 있다.
+ */
 @Slf4j
+@Service
 public class PushServiceImpl implements PushService {
 
+    // Oracle IN 목록 최대 개수
+    private static final int IN_LIMIT = 1000;
+
     private final DeviceMapper deviceMapper;
+    private final FcmSender fcmSender;
+    private final Semaphore inFlight;
+    private final long batchTimeoutMs;
 
-    @PostConstruct
-    public void init() {
-        try {
-            if (FirebaseApp.getApps().isEmpty()) {
-                // 외부 파일 경로로 읽기
-                String path = "/app/config/firebase-adminsdk.json";
-                try (InputStream serviceAccount = new FileInputStream(path)) {
-                    FirebaseOptions options = FirebaseOptions.builder()
-                            .setCredentials(GoogleCredentials.fromStream(serviceAccount))
-                            .build();
-
-                    FirebaseApp.initializeApp(options);
-                    log.info("FirebaseApp initialized from file: {}", path);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Failed to initialize FirebaseApp", e);
-        }
+    public PushServiceImpl(
+            DeviceMapper deviceMapper,
+            FcmSender fcmSender,
+            @Value("${notification.push.max-in-flight:4}") int maxInFlight,
+            @Value("${notification.push.batch-timeout-ms:30000}") long batchTimeoutMs
+    ) {
+        this.deviceMapper = deviceMapper;
+        this.fcmSender = fcmSender;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchTimeoutMs = batchTimeoutMs;
+    }
+
+    @Override
+    public PushOutcome sendToMember(Long memberId, Map<String, String> data) {
+        return sendBatch(List.of(new PushJob(memberId, memberId, data))).get(memberId);
     }
 
     @Override
-    public void sendToMember(Long memberId, Map<String, String> data) {
-        if (FirebaseApp.getApps().isEmpty()) {
-            log.warn("Firebase not initialized. Skip sending.");
-            return;
+    public Map<Long, PushOutcome> sendBatch(List<PushJob> jobs) {
+        Map<Long, PushOutcome> outcomes = new HashMap<>();
+        if (jobs.isEmpty()) {
+            return outcomes;
         }
+        if (!fcmSender.isReady()) {
+            log.warn("Firebase not initialized. Skip sending {} jobs.", jobs.size());
+            jobs.forEach(job -> outcomes.put(job.getKey(), PushOutcome.NO_TARGET));
+            return outcomes;
+        }
+
+        // 1) 토큰 일괄 조회
+        Map<Long, List<String>> tokensByMember = loadTokens(jobs);
 
-        List<String> tokens = deviceMapper.selectActiveTokensByMemberId(memberId);
-        if (tokens == null || tokens.isEmpty()) {
-            log.warn("No tokens for member {}", memberId);
-            return;
+        // 2) (회원, 토큰) 단위 메시지로 펼침
+        List<Target> targets = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        for (PushJob job : jobs) {
+            List<String> tokens = tokensByMember.getOrDefault(job.getMemberId(), List.of());
+            if (tokens.isEmpty()) {
+                log.debug("No tokens for member {}", job.getMemberId());
+            }
+            for (String token : tokens) {
+                targets.add(new Target(job.getKey(), token));
+                messages.add(buildMessage(token, job.getData()));
+            }
         }
 
-        String title = data.getOrDefault("title", "Re:fit");
-        String body  = data.getOrDefault("body",  "새 알림이 도착했어요");
+        // 3) MAX_BATCH 건씩 비동기 발송 (슬롯 대기까지 포함한 마감)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMs);
+        List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+        for (List<Message> chunk : chunks(messages, FcmSender.MAX_BATCH)) {
+            futures.add(sendChunk(chunk, deadline));
+        }
 
-        int success = 0, failure = 0;
-        for (String token : tokens) {
-            try {
-                Message msg = Message.builder()
-                        .setToken(token)
-                        .putAllData(data) // deeplink, type 등
-                        .setNotification(
-                                com.google.firebase.messaging.Notification.builder()
-                                        .setTitle(title)
-                                        .setBody(body)
-                                        .build()
-                        )
-                        .build();
-
-                String id = FirebaseMessaging.getInstance().send(msg);
-                success++;
-                deviceMapper.markSuccessByToken(token);
-                log.debug("FCM sent ok token={}, id={}", token, id);
-
-            } catch (FirebaseMessagingException e) {
-                failure++;
-                log.warn("FCM send failed token={} errCode={} msg={}",
-                        token, e.getMessagingErrorCode(), e.getMessage());
+        // 4) 결과 집계: 작업별 성공/재시도 가능 실패 수, 토큰별 DB 반영 대상
+        Map<Long, int[]> tally = new HashMap<>();
+        Set<String> delivered = new LinkedHashSet<>();
+        Set<String> invalid = new LinkedHashSet<>();
+        for (int c = 0; c < futures.size(); c++) {
+            int offset = c * FcmSender.MAX_BATCH;
+            int size = Math.min(FcmSender.MAX_BATCH, targets.size() - offset);
+            List<Result> results = await(futures.get(c), deadline, size);
 
+            for (int i = 0; i < size; i++) {
+                Target t = targets.get(offset + i);
+                Result r = i < results.size() ? results.get(i) : Result.fail(null, "missing response");
+                int[] counts = tally.computeIfAbsent(t.key(), k -> new int[2]);
+                if (r.success()) {
+                    counts[0]++;
+                    delivered.add(t.token());
+                    continue;
+                }
+                if (isRetryable(r.errorCode())) {
+                    counts[1]++;
+                }
+                log.debug("FCM send failed token={} errCode={} msg={}", t.token(), r.errorCode(), r.error());
                 // 토큰 만료/삭제된 경우 DB 정리
-                if (e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED
-                        || e.getMessagingErrorCode() == MessagingErrorCode.INVALID_ARGUMENT) {
-                    try {
-                        deviceMapper.deactivateByToken(token);
-                        log.info("Deactivated invalid FCM token from DB: {}", token);
-                    } catch (Exception ignore) { }
+                if (r.errorCode() == MessagingErrorCode.UNREGISTERED
+                        || r.errorCode() == MessagingErrorCode.INVALID_ARGUMENT) {
+                    invalid.add(t.token());
                 }
+            }
+        }
+
+        // 5) 토큰 상태 일괄 반영 (실패해도 발송 결과에는 영향 없음)
+        updateTokens(delivered, deviceMapper::markSuccessByTokens, "markSuccess");
+        updateTokens(invalid, deviceMapper::deactivateByTokens, "deactivate");
+
+        int sent = 0;
+        for (PushJob job : jobs) {
+            int[] counts = tally.get(job.getKey());
+            PushOutcome outcome;
+            if (counts == null) {
+                outcome = PushOutcome.NO_TARGET;
+            } else if (counts[0] > 0) {
+                // 한 기기라도 받았으면 재시도하지 않는다 (받은 기기에 중복 발송 방지)
+                outcome = PushOutcome.SENT;
+                sent++;
+            } else {
+                outcome = counts[1] > 0 ? PushOutcome.RETRY : PushOutcome.NO_TARGET;
+            }
+            outcomes.put(job.getKey(), outcome);
+        }
+
+        log.info("FCM batch summary => jobs={}, sentJobs={}, messages={}, delivered={}, deactivated={}, batches={}",
+                jobs.size(), sent, messages.size(), delivered.size(), invalid.size(), futures.size());
+        return outcomes;
+    }
+
+    private Map<Long, List<String>> loadTokens(List<PushJob> jobs) {
+        List<Long> memberIds = jobs.stream().map(PushJob::getMemberId).distinct().toList();
+        Map<Long, List<String>> out = new HashMap<>();
+        for (List<Long> ids : chunks(memberIds, IN_LIMIT)) {
+            for (MemberTokenDto row : deviceMapper.selectActiveTokensByMemberIds(ids)) {
+                out.computeIfAbsent(row.getMemberId(), k -> new ArrayList<>()).add(row.getFcmToken());
+            }
+        }
+        return out;
+    }
+
+    // 동시 진행 배치 수 제한: 마감까지만 자리를 기다리고, 못 얻으면 보내지 않은 채 실패(재시도 대상)로 돌린다
+    private CompletableFuture<List<Result>> sendChunk(List<Message> chunk, long deadline) {
+        try {
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos <= 0 || !inFlight.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.failedFuture(new TimeoutException("no in-flight slot before deadline"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            return fcmSender.sendEach(chunk).whenComplete((r, e) -> inFlight.release());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 배치 전체 실패/시간 초과는 코드 없는 오류(재시도 대상)로 채운다. 시간 초과된 배치의 슬롯은 응답이 올 때 반납된다
+    private static List<Result> await(CompletableFuture<List<Result>> future, long deadline, int size) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.nCopies(size, Result.fail(null, e.toString()));
+        } catch (Exception e) {
+            log.warn("FCM batch failed size={}: {}", size, e.toString());
+            return Collections.nCopies(size, Result.fail(null, e.toString()));
+        }
+    }
+
+    private static void updateTokens(Set<String> tokens, Consumer<List<String>> update, String op) {
+        for (List<String> chunk : chunks(new ArrayList<>(tokens), IN_LIMIT)) {
+            try {
+                update.accept(chunk);
             } catch (Exception e) {
-                failure++;
-                log.error("FCM send error token={}", token, e);
+                log.warn("FCM token {} failed size={}: {}", op, chunk.size(), e.toString());
             }
         }
+    }
+
+    private static Message buildMessage(String token, Map<String, String> data) {
+        String title = data.getOrDefault("title", "Re:fit");
+        String body  = data.getOrDefault("body",  "새 알림이 도착했어요");
+        return Message.builder()
+                .setToken(token)
+                .putAllData(data) // deeplink, type 등
+                .setNotification(
+                        com.google.firebase.messaging.Notification.builder()
+                                .setTitle(title)
+                                .setBody(body)
+                                .build()
+                )
+                .build();
+    }
+
+    // null = 네트워크 등 코드 없는 오류
+    private static boolean isRetryable(MessagingErrorCode code) {
+        return code == null
+                || code == MessagingErrorCode.UNAVAILABLE
+                || code == MessagingErrorCode.INTERNAL
+                || code == MessagingErrorCode.QUOTA_EXCEEDED;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int size) {
+        List<List<T>> out = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            out.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return out;
+    }
 
-        log.info("FCM summary for member {} => success={}, failure={}, total={}",
-                memberId, success, failure, tokens.size());
+    private record Target(Long key, String token) {
     }
 }
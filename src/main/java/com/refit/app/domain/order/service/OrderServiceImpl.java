@@ -18,7 +18,8 @@ import com.refit.app.domain.order.mapper.OrderMapper;
 import com.refit.app.domain.order.dto.OrderItemInsertRow;
 import com.refit.app.domain.order.dto.ProductSummaryRow;
 import com.refit.app.domain.order.model.OrderSource;
-import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.domain.product.catalog.ProductCatalogCache;
+import com.refit.app.domain.product.dto.ProductDetailDto;
 import com.refit.app.global.exception.ErrorCode;
 import com.refit.app.global.exception.RefitException;
 import java.time.format.DateTimeFormatter;
@@ -30,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -37,7 +39,7 @@ import java.util.List;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
-    private final ProductMapper productMapper;
+    private final ProductCatalogCache productCatalogCache;
     private final MemberMapper memberMapper;
     private final CombinationMapper combinationMapper;
 
@@ -189,11 +191,15 @@ public class OrderServiceImpl implements OrderService {
             if (lines == null || lines.isEmpty()) {
                 throw new RefitException(ErrorCode.ILLEGAL_ARGUMENT, "상품 라인이 비어 있음");
             }
+            // 라인별 단건 조회 대신 IN 쿼리 한 번. 주문 금액이 되므로 캐시가 아닌 DB 의 현재 가격/할인율을 쓴다
+            Map<Long, ProductDetailDto> products = productCatalogCache.loadFresh(
+                    lines.stream().map(OrderLineItem::getProductId).toList());
             for (OrderLineItem l : lines) {
-                ProductSummaryRow p = productMapper.findSummaryById(l.getProductId());
-                if (p == null) {
+                ProductDetailDto d = products.get(l.getProductId());
+                if (d == null) {
                     throw new RefitException(ErrorCode.ENTITY_NOT_FOUND, "상품 없음: " + l.getProductId());
                 }
+                ProductSummaryRow p = ProductCatalogCache.toSummary(d);
                 list.add(OrderItemSummary.builder()
                         .productId(p.getId())
                         .originalPrice(p.getOriginalPrice())
@@ -20,4 +20,5 @@ public class PaymentRowDto {
     private LocalDateTime approvedAt;
     private String receiptUrl;
     private String rawJson;
+    private LocalDateTime createdAt;
 }
@@ -22,6 +22,21 @@ public interface PaymentMapper {
             @Param("status") Integer status,
             @Param("receiptUrl") String receiptUrl,
             @Param("rawJson") String rawJson);
+    PaymentRowDto findPaymentByIdForUpdate(@Param("paymentId") Long paymentId);
+
+    // 결제 승인 선점(STATUS=9) / 반영 / 해제 / 복구 대상
+    boolean existsConfirmingPaymentByOrderId(@Param("orderId") Long orderId);
+    List<PaymentRowDto> findStaleConfirmingPayments(@Param("olderThanSec") int olderThanSec,
+            @Param("limit") int limit);
+    int updatePaymentOnConfirmed(@Param("paymentId") Long paymentId,
+            @Param("method") String method,
+            @Param("currency") String currency,
+            @Param("totalAmount") Long totalAmount,
+            @Param("balanceAmount") Long balanceAmount,
+            @Param("status") Integer status);
+    int updatePaymentConfirmFailed(@Param("paymentId") Long paymentId,
+            @Param("rawJson") String rawJson);
+
     void updatePaymentStatusAndBalance(@Param("paymentId") Long paymentId,
             @Param("status") Integer status,
             @Param("balanceAmount") Long balanceAmount);
@@ -0,0 +1,20 @@
+package com.refit.app.domain.payment.model;
+
+/**
+ * PAYMENT.STATUS 값
+ */
+public final class PaymentStatusCode {
+
+    public static final int READY = 0;
+    public static final int APPROVED = 1;
+    public static final int PARTIAL_CANCELED = 2;
+    public static final int CANCELED = 3;
+    // PG 승인 거절/만료, 또는 승인 후 반영 실패로 보상 취소
+    public static final int CONFIRM_FAILED = 4;
+    // PG 승인 호출 전 선점 (잔액 0). 반영/해제 전까지 승인 결과 불명
+    public static final int CONFIRMING = 9;
+    public static final int DEPOSIT_WAITING = 12;
+
+    private PaymentStatusCode() {
+    }
+}
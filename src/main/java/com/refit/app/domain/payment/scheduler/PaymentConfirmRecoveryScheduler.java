@@ -0,0 +1,61 @@
+package com.refit.app.domain.payment.scheduler;
+
+import com.refit.app.domain.payment.dto.PaymentRowDto;
+import com.refit.app.domain.payment.mapper.PaymentMapper;
+import com.refit.app.domain.payment.service.PaymentService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 승인 선점(CONFIRMING) 후 반영/해제되지 않은 결제 복구.
+ * <p>
+ * 승인 호출 도중 서버가 죽었거나 PG 응답이 타임아웃/5xx 였던 경우로, 토스 조회 결과가 승인이면 반영하고
+ * 취소/만료/미도달이면 선점을 해제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentConfirmRecoveryScheduler {
+
+    private final PaymentMapper paymentMapper;
+    private final PaymentService paymentService;
+
+    // 조회 대상 최소 경과 시간. 승인으로 확인되면 바로 반영하고, 토스 미도달(NotFound) 해제는
+    // PaymentServiceImpl 이 토스 타임아웃 + 여유(release-margin-sec)가 지난 행에만 한다
+    @Value("${payment.confirm-recovery.stale-sec:60}")
+    private int staleSec;
+
+    @Value("${payment.confirm-recovery.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${payment.confirm-recovery.interval-ms:60000}",
+            initialDelayString = "${payment.confirm-recovery.interval-ms:60000}")
+    @SchedulerLock(name = "payment-confirm-recovery", lockAtMostFor = "PT5M", lockAtLeastFor = "PT10S")
+    public void recover() {
+        List<PaymentRowDto> stale = paymentMapper.findStaleConfirmingPayments(staleSec, batchSize);
+        if (stale.isEmpty()) {
+            return;
+        }
+        int settled = 0, released = 0, pending = 0, failed = 0;
+        for (PaymentRowDto p : stale) {
+            try {
+                switch (paymentService.recoverConfirm(p.getPaymentId())) {
+                    case "settled" -> settled++;
+                    case "released" -> released++;
+                    default -> pending++;
+                }
+            } catch (Exception e) {
+                failed++;
+                log.warn("[ConfirmRecovery] failed paymentId={} paymentKey={}: {}",
+                        p.getPaymentId(), p.getPaymentKey(), e.toString());
+            }
+        }
+        log.info("[ConfirmRecovery] stale={} settled={} released={} pending={} failed={}",
+                stale.size(), settled, released, pending, failed);
+    }
+}
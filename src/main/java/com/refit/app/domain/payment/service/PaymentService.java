@@ -8,4 +8,7 @@ import com.refit.app.domain.payment.dto.response.PartialCancelResponse;
 public interface PaymentService {
     ConfirmPaymentResponse confirm(ConfirmPaymentRequest req, Long memberId);
     PartialCancelResponse partialCancel(Long paymentId, PartialCancelRequest req, Long memberId);
+
+    // 승인 결과가 반영되지 않은(CONFIRMING) 결제를 토스 조회 결과로 마무리. settled / released / pending
+    String recoverConfirm(Long paymentId);
 }
@@ -13,24 +13,31 @@ import com.refit.app.domain.payment.dto.request.PartialCancelRequest;
 import com.refit.app.domain.payment.dto.response.ConfirmPaymentResponse;
 import com.refit.app.domain.payment.dto.response.PartialCancelResponse;
 import com.refit.app.domain.payment.mapper.PaymentMapper;
+import com.refit.app.domain.payment.model.PaymentStatusCode;
 import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.domain.product.stock.StockReservationService;
 import com.refit.app.global.exception.ErrorCode;
 import com.refit.app.global.exception.RefitException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
@@ -46,6 +53,13 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentCancelLogService cancelLogService;
     private final NotificationTriggerService notificationTriggerService;
+    private final StockReservationService stockReservationService;
+
+    // 결제 승인 단계별 트랜잭션 (PG 호출은 트랜잭션 밖)
+    private final TransactionTemplate tx;
+
+    // 토스 미도달(NotFound) 선점 해제 대기: 승인 호출이 아직 진행 중일 수 있는 시간(연결 + 응답 타임아웃) + 여유
+    private final Duration releaseAfter;
 
     @Value("${toss.api-base}") String tossBase;
     private static final long FREE_SHIPPING_THRESHOLD = 30_000L;
@@ -57,7 +71,12 @@ public class PaymentServiceImpl implements PaymentService {
             ObjectMapper objectMapper,
             ProductMapper productMapper,
             PaymentCancelLogService cancelLogService,
-            NotificationTriggerService notificationTriggerService
+            NotificationTriggerService notificationTriggerService,
+            StockReservationService stockReservationService,
+            PlatformTransactionManager transactionManager,
+            @Value("${toss.http.connect-timeout-ms:3000}") long tossConnectTimeoutMs,
+            @Value("${toss.http.response-timeout-ms:30000}") long tossResponseTimeoutMs,
+            @Value("${payment.confirm-recovery.release-margin-sec:60}") long releaseMarginSec
     ) {
         this.tossWebClient = tossWebClient;
         this.paymentMapper = paymentMapper;
@@ -65,39 +84,224 @@ public class PaymentServiceImpl implements PaymentService {
         this.productMapper = productMapper;
         this.cancelLogService = cancelLogService;
         this.notificationTriggerService = notificationTriggerService;
+        this.stockReservationService = stockReservationService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.releaseAfter = Duration.ofMillis(tossConnectTimeoutMs + tossResponseTimeoutMs)
+                .plusSeconds(releaseMarginSec);
+    }
+
+    /**
+     * 결제 승인. PG 호출이 DB 트랜잭션(주문 행 잠금/커넥션) 밖에서 일어나도록 세 단계로 나눈다.
+     * <ol>
+     *   <li>선점(짧은 트랜잭션): 주문 잠금 + 금액/상태 검증 + PAYMENT 행을 CONFIRMING 으로 insert</li>
+     *   <li>토스 승인 호출 (트랜잭션 없음)</li>
+     *   <li>반영(트랜잭션): paymentKey 의 행이 아직 CONFIRMING 일 때만 승인/재고/알림 처리</li>
+     * </ol>
+     * 2~3 사이에 죽거나 PG 응답이 불명(타임아웃/5xx)이면 행이 CONFIRMING 으로 남고,
+     * {@link #recoverConfirm(Long)} 이 토스 조회 결과로 반영하거나 해제한다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ConfirmPaymentResponse confirm(ConfirmPaymentRequest req, Long memberId) {
+        // 1) 주문 잠금 + 금액 검증 + 결제 행 선점 (같은 paymentKey 가 이미 반영됐으면 그 결과를 그대로 반환)
+        Reservation r = tx.execute(s -> reserve(req, memberId));
+        if (r.replay() != null) {
+            return r.replay();
+        }
+
+        // 2) 토스 승인 호출 (잠금/커넥션 없이)
+        Map<?,?> paymentObj;
+        try {
+            paymentObj = callTossConfirm(req);
+        } catch (WebClientResponseException e) {
+            if (isAlreadyProcessed(e)) {
+                // 이전 시도에서 PG 승인은 끝남 → 조회 결과로 반영
+                paymentObj = fetchTossPayment(req.getPaymentKey());
+            } else {
+                if (e.getStatusCode().is4xxClientError()) {
+                    // PG 거절: 결과가 확정이므로 선점 해제 (5xx 는 승인 여부 불명 → 복구 잡에 맡김)
+                    releaseIfConfirming(r.paymentId(), e.getResponseBodyAsString());
+                }
+                throw e;
+            }
+        }
+
+        // 3) 승인 반영 (paymentKey 기준 멱등)
+        return settle(r.paymentId(), req.getOrderId(), paymentObj, req.getMethod(), memberId);
     }
 
     @Override
-    public ConfirmPaymentResponse confirm(ConfirmPaymentRequest req, Long memberId) {
-        // 1) 주문 잠금 + 금액 검증
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String recoverConfirm(Long paymentId) {
+        PaymentRowDto pay = tx.execute(s -> paymentMapper.findPaymentByIdForUpdate(paymentId));
+        if (pay == null || !Objects.equals(pay.getStatus(), PaymentStatusCode.CONFIRMING)) {
+            return "settled";
+        }
+
+        final Map<?,?> paymentObj;
+        try {
+            paymentObj = fetchTossPayment(pay.getPaymentKey());
+        } catch (WebClientResponseException.NotFound e) {
+            // 토스에 승인 요청이 도달하지 않았음. 승인 호출이 아직 진행 중일 수 있는 동안은 해제하지 않는다
+            // (늦게 도착한 승인이 해제된 행을 만나면 결제는 됐는데 주문은 미결제로 남는다)
+            if (pay.getCreatedAt() != null
+                    && pay.getCreatedAt().plus(releaseAfter).isAfter(LocalDateTime.now())) {
+                return "pending";
+            }
+            return releaseIfConfirming(paymentId, e.getResponseBodyAsString()) ? "released" : "settled";
+        }
+
+        String status = Objects.toString(paymentObj.get("status"), "");
+        switch (status) {
+            case "DONE", "WAITING_FOR_DEPOSIT", "PARTIAL_CANCELED" -> {
+                settle(paymentId, pay.getOrderCode(), paymentObj, pay.getMethod(), null);
+                return "settled";
+            }
+            case "CANCELED", "ABORTED", "EXPIRED" -> {
+                return releaseIfConfirming(paymentId, toJson(paymentObj)) ? "released" : "settled";
+            }
+            default -> {
+                // READY / IN_PROGRESS: 아직 인증 단계 (토스에서 만료되면 다음 회차에 해제)
+                return "pending";
+            }
+        }
+    }
+
+    /**
+     * 선점 해제. 잠금 후 다시 읽어 아직 CONFIRMING 일 때만 실패로 바꾼다 (그 사이 승인 반영이 끝났으면 그대로 둔다)
+     */
+    private boolean releaseIfConfirming(Long paymentId, String rawJson) {
+        return Boolean.TRUE.equals(tx.execute(s -> {
+            PaymentRowDto cur = paymentMapper.findPaymentByIdForUpdate(paymentId);
+            if (cur == null || !Objects.equals(cur.getStatus(), PaymentStatusCode.CONFIRMING)) {
+                return false;
+            }
+            paymentMapper.updatePaymentConfirmFailed(paymentId, rawJson);
+            return true;
+        }));
+    }
+
+    private record Reservation(Long paymentId, ConfirmPaymentResponse replay) {}
+
+    private Reservation reserve(ConfirmPaymentRequest req, Long memberId) {
         OrderRowDto order = validateAndLockOrder(req);
 
-        // 2) 토스 승인 호출
-        Map<?,?> paymentObj = callTossConfirm(req);
+        PaymentRowDto existing = paymentMapper.findPaymentByKey(req.getPaymentKey());
+        if (existing != null) {
+            if (!Objects.equals(existing.getOrderId(), order.getOrderId())) {
+                throw new RefitException(ErrorCode.STATUS_CONFLICT, "다른 주문의 결제키");
+            }
+            if (Objects.equals(existing.getStatus(), PaymentStatusCode.CONFIRMING)) {
+                throw new RefitException(ErrorCode.STATUS_CONFLICT, "결제 승인 처리 중");
+            }
+            return new Reservation(existing.getPaymentId(), replay(order, existing, memberId));
+        }
+        if (nz(order.getOrderStatus()) != 0) {
+            throw new RefitException(ErrorCode.STATUS_CONFLICT, "결제할 수 없는 주문 상태");
+        }
+        if (paymentMapper.existsConfirmingPaymentByOrderId(order.getOrderId())) {
+            throw new RefitException(ErrorCode.STATUS_CONFLICT, "결제 승인 처리 중");
+        }
+
+        PaymentRowDto row = PaymentRowDto.builder()
+                .orderId(order.getOrderId())
+                .orderCode(req.getOrderId())
+                .paymentKey(req.getPaymentKey())
+                .method(req.getMethod())
+                .currency("KRW")
+                .totalAmount(req.getAmount())
+                .balanceAmount(0L)
+                .status(PaymentStatusCode.CONFIRMING)
+                .build();
+        paymentMapper.insertPayment(row);
+        return new Reservation(row.getPaymentId(), null);
+    }
+
+    /**
+     * 승인 반영 트랜잭션. 반영 중 재고 부족이면 PG 승인을 전액 취소하고 선점을 해제한다
+     * (승인만 되고 주문은 미결제로 남는 상태를 만들지 않는다).
+     */
+    private ConfirmPaymentResponse settle(Long paymentId, String orderCode, Map<?,?> paymentObj,
+            String reqMethod, Long memberId) {
+        try {
+            return tx.execute(s -> applyConfirmation(paymentId, orderCode, paymentObj, reqMethod, memberId));
+        } catch (RefitException e) {
+            if (!ErrorCode.OUT_OF_STOCK.getCode().equals(e.getCode())) {
+                throw e;
+            }
+            long amount = ((Number) paymentObj.get("totalAmount")).longValue();
+            var call = callTossCancelIfNeeded(amount, Objects.toString(paymentObj.get("paymentKey"), null),
+                    "confirm-rollback-" + paymentId, buildBaseCancelBody("재고 부족으로 결제 취소", amount, null));
+            tx.executeWithoutResult(s -> paymentMapper.updatePaymentConfirmFailed(paymentId, toJson(call.responseObj)));
+            log.warn("[confirm] approved but not applied, PG canceled: paymentId={}, reason={}", paymentId, e.getMessage());
+            throw e;
+        }
+    }
+
+    private ConfirmPaymentResponse applyConfirmation(Long paymentId, String orderCode, Map<?,?> paymentObj,
+            String reqMethod, Long memberId) {
+        // 잠금 순서: 주문 → 결제 (선점과 같은 순서)
+        OrderRowDto order = paymentMapper.findOrderForUpdate(orderCode);
+        if (order == null) throw new RefitException(ErrorCode.ENTITY_NOT_FOUND, "해당 주문 없음");
+        order.setOrderCode(orderCode);
 
-        // 3) 응답 파싱
-        ParsedPayment parsed = parsePaymentResponse(paymentObj, req);
+        PaymentRowDto pay = paymentMapper.findPaymentByIdForUpdate(paymentId);
+        if (!Objects.equals(pay.getStatus(), PaymentStatusCode.CONFIRMING)) {
+            // 다른 요청/복구 잡이 먼저 반영함
+            return replay(order, pay, memberId);
+        }
 
-        // 4) PAYMENT insert (paymentId 확보)
-        PaymentRowDto payRow = insertPaymentRow(order.getOrderId(), req.getOrderId(), parsed);
+        // 4) 응답 파싱 + 선점 행에 승인 결과 반영
+        ParsedPayment parsed = parsePaymentResponse(paymentObj, reqMethod);
+        int status = "VIRTUAL_ACCOUNT".equalsIgnoreCase(parsed.method)
+                ? PaymentStatusCode.READY : PaymentStatusCode.APPROVED;
+        paymentMapper.updatePaymentOnConfirmed(paymentId, parsed.method,
+                parsed.currency == null || parsed.currency.isBlank() ? "KRW" : parsed.currency,
+                parsed.totalAmount, parsed.balanceAmount, status);
 
         // 5) 가상계좌 필드 저장
         if (parsed.va != null) {
-            persistVirtualAccountFields(payRow.getPaymentId(), parsed.va, paymentObj);
+            persistVirtualAccountFields(paymentId, parsed.va, paymentObj);
         }
 
         // 6) VA 결제면 입금대기 처리 + 응답 빌드 후 반환
         if (parsed.isVirtualAccount) {
-            return handleVirtualAccountFlow(order, payRow.getPaymentId(), parsed, paymentObj);
+            return handleVirtualAccountFlow(order, paymentId, parsed, paymentObj);
         }
 
         // 7) 일반결제 승인 후처리(주문/아이템/결제 업데이트, 재고 차감, 알림)
-        finalizeApproval(order.getOrderId(), payRow.getPaymentId(),
-                parsed.balanceAmount, parsed.receiptUrl, paymentObj, memberId, order.getOrderSummary());
+        Long notifyTo = memberId != null ? memberId : paymentMapper.findMemberIdByOrderId(order.getOrderId());
+        finalizeApproval(order.getOrderId(), paymentId,
+                parsed.balanceAmount, parsed.receiptUrl, paymentObj, notifyTo, order.getOrderSummary());
 
         // 8) 승인 응답 빌드
         List<OrderItemRowDto> orderItems = paymentMapper.findOrderItems(order.getOrderId());
-        return buildApprovedResponse(order, parsed, payRow.getPaymentId(), orderItems);
+        return buildApprovedResponse(order, parsed, paymentId, orderItems);
+    }
+
+    /**
+     * 이미 반영된 결제의 응답을 저장된 PG 응답(RAW_JSON)으로 다시 만든다.
+     * 결제키/주문번호만 알면 남의 결제 내역(가상계좌 번호 등)을 받아 갈 수 있으므로 주문자 본인인지 확인한다 (memberId null = 복구 잡)
+     */
+    private ConfirmPaymentResponse replay(OrderRowDto order, PaymentRowDto pay, Long memberId) {
+        if (memberId != null && !memberId.equals(paymentMapper.findMemberIdByOrderId(order.getOrderId()))) {
+            throw new RefitException(ErrorCode.ACCESS_DENIED, "해당 사용자의 주문이 아닙니다");
+        }
+        if (Objects.equals(pay.getStatus(), PaymentStatusCode.CONFIRM_FAILED) || pay.getRawJson() == null) {
+            throw new RefitException(ErrorCode.STATUS_CONFLICT, "이미 처리된 결제");
+        }
+        Map<?,?> paymentObj;
+        try {
+            paymentObj = om.readValue(pay.getRawJson(), Map.class);
+        } catch (Exception e) {
+            throw new RefitException(e, ErrorCode.INTERNAL_SERVER_ERROR, "결제 응답 복원 실패");
+        }
+        ParsedPayment parsed = parsePaymentResponse(paymentObj, pay.getMethod());
+        List<OrderItemRowDto> orderItems = paymentMapper.findOrderItems(order.getOrderId());
+        if (parsed.isVirtualAccount && parsed.va != null) {
+            return buildVirtualAccountResponse(order, pay.getPaymentId(), parsed, orderItems);
+        }
+        return buildApprovedResponse(order, parsed, pay.getPaymentId(), orderItems);
     }
 
     private OrderRowDto validateAndLockOrder(ConfirmPaymentRequest req) {
@@ -107,6 +311,7 @@ public class PaymentServiceImpl implements PaymentService {
         if (!Objects.equals(order.getTotalPrice(), req.getAmount())) {
             throw new RefitException(ErrorCode.ORDER_AMOUNT_MISMATCH, "금액 불일치");
         }
+        order.setOrderCode(orderCode);
         return order;
     }
 
@@ -126,6 +331,20 @@ public class PaymentServiceImpl implements PaymentService {
                 .block();
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<?,?> fetchTossPayment(String paymentKey) {
+        return tossWebClient.get()
+                .uri("/v1/payments/{paymentKey}", paymentKey)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block();
+    }
+
+    private static boolean isAlreadyProcessed(WebClientResponseException e) {
+        String body = e.getResponseBodyAsString();
+        return body != null && body.contains("ALREADY_PROCESSED_PAYMENT");
+    }
+
     private static final class ParsedPayment {
         String paymentKey;
         String method;
@@ -138,7 +357,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @SuppressWarnings("unchecked")
-    private ParsedPayment parsePaymentResponse(Map<?,?> paymentObj, ConfirmPaymentRequest req) {
+    private ParsedPayment parsePaymentResponse(Map<?,?> paymentObj, String reqMethod) {
         ParsedPayment p = new ParsedPayment();
         p.paymentKey    = Objects.toString(paymentObj.get("paymentKey"), null);
         p.method        = Objects.toString(paymentObj.get("method"), null);
@@ -154,29 +373,13 @@ public class PaymentServiceImpl implements PaymentService {
         p.va = (Map<String, Object>) paymentObj.get("virtualAccount");
         p.isVirtualAccount =
                 p.va != null
-                        || "VIRTUAL_ACCOUNT".equalsIgnoreCase(req.getMethod())
+                        || "VIRTUAL_ACCOUNT".equalsIgnoreCase(reqMethod)
                         || "VIRTUAL_ACCOUNT".equalsIgnoreCase(p.method)
                         || "가상계좌".equals(p.method);
 
         return p;
     }
 
-    private PaymentRowDto insertPaymentRow(Long orderId, String orderCode, ParsedPayment p) {
-        int status = "VIRTUAL_ACCOUNT".equalsIgnoreCase(p.method) ? 0 : 1; // VA는 READY/REQUESTED
-        PaymentRowDto row = PaymentRowDto.builder()
-                .orderId(orderId)
-                .orderCode(orderCode)
-                .paymentKey(p.paymentKey)
-                .method(p.method)
-                .currency(p.currency == null || p.currency.isBlank() ? "KRW" : p.currency)
-                .totalAmount(p.totalAmount)
-                .balanceAmount(p.balanceAmount)
-                .status(status)
-                .build();
-        paymentMapper.insertPayment(row);
-        return row;
-    }
-
     private void persistVirtualAccountFields(Long paymentId, Map<String,Object> va, Map<?,?> paymentObj) {
         paymentMapper.updateVirtualAccountFields(
                 paymentId,
@@ -218,6 +421,12 @@ public class PaymentServiceImpl implements PaymentService {
 
         // 응답을 위한 아이템 목록
         List<OrderItemRowDto> orderItems = paymentMapper.findOrderItems(order.getOrderId());
+        return buildVirtualAccountResponse(order, paymentId, p, orderItems);
+    }
+
+    private ConfirmPaymentResponse buildVirtualAccountResponse(
+            OrderRowDto order, Long paymentId, ParsedPayment p, List<OrderItemRowDto> orderItems) {
+
         var itemsForResponse = orderItems.stream().map(it -> ConfirmPaymentItemDto.builder()
                 .productId(it.getProductId())
                 .brandName(safe(it.getBrandName()))
@@ -269,35 +478,33 @@ public class PaymentServiceImpl implements PaymentService {
         );
 
         // 재고 차감
-        decreaseStocks(orderId);
+        Set<Long> ledgerProducts = decreaseStocks(orderId);
+
+        // 판매량 정렬 키 반영 (재고 차감으로 이미 잠근 상품 행. 원장 상품은 원장 확정 때 적립)
+        productMapper.increaseSalesCountByOrderId(orderId, ledgerProducts);
 
         // 알림
         notificationTriggerService.notifyPaymentCompleted(memberId, orderId,
                 orderSummary + "의 결제가 완료되었습니다.");
     }
 
-    private void decreaseStocks(Long orderId) {
-        List<OrderItemRowDto> orderItems = paymentMapper.findOrderItems(orderId);
-        orderItems.sort(Comparator.comparing(OrderItemRowDto::getProductId)); // 교착 방지
-
-        for (OrderItemRowDto it : orderItems) {
-            Long productId = it.getProductId();
+    /**
+     * 재고 차감: 상품별 수량을 합쳐 재고 예약 서비스에 넘긴다 (인기 상품은 Redis 원장, 그 외는 PRODUCT 일괄 차감).
+     *
+     * @return 원장에서 예약한 상품 ID
+     */
+    private Set<Long> decreaseStocks(Long orderId) {
+        // 같은 상품이 여러 줄이면 합산
+        Map<Long, Integer> need = new TreeMap<>();
+        for (OrderItemRowDto it : paymentMapper.findOrderItems(orderId)) {
             int qty = it.getItemCount();
             if (qty <= 0) {
                 throw new RefitException(ErrorCode.OUT_OF_STOCK, "잘못된 수량: " + qty);
             }
-            Integer stock = productMapper.selectStockForUpdate(productId);
-            if (stock == null) throw new RefitException(ErrorCode.ENTITY_NOT_FOUND, "상품 없음: " + productId);
-            if (stock < qty) throw new RefitException(ErrorCode.OUT_OF_STOCK,
-                    "재고 부족: productId=" + productId + ", stock=" + stock + ", need=" + qty);
-
-            int updated = productMapper.decreaseStock(productId, qty);
-            log.info("PRODUCT 재고 UPDATE 결과: {}", updated);
-            if (updated == 0) {
-                throw new RefitException(ErrorCode.OUT_OF_STOCK,
-                        "차감 실패(동시성): productId=" + productId + ", qty=" + qty);
-            }
+            need.merge(it.getProductId(), qty, Integer::sum);
         }
+        if (need.isEmpty()) return Set.of();
+        return stockReservationService.reserve(orderId, need);
     }
 
     private ConfirmPaymentResponse buildApprovedResponse(
@@ -385,7 +592,15 @@ public class PaymentServiceImpl implements PaymentService {
         persistCancelLog(pay.getPaymentId(), idemp, pgCancelAmount, req.getTaxFreeAmount(),
                 req.getCancelReason(), cancelObj, adj.shippingAdjApplied, needsRefundAccount ? rra : null);
 
-        applyCanceledCountWithRaceTolerance(orderItemId, cancelCount, item);
+        boolean applied = applyCanceledCountWithRaceTolerance(orderItemId, cancelCount, item);
+        if (applied && orderStatus != 0 && orderStatus != 12) {
+            // 승인 때 더한 판매량에서 취소 수량만큼 뺀다 (입금대기/미결제는 더한 적 없음)
+            productMapper.decreaseSalesCount(item.getProductId(), cancelCount);
+            // 재고는 카드 등 즉시 승인(finalizeApproval)에서만 차감하므로 그 경우만 되돌린다
+            if (!isVirtualAccount(pay.getMethod())) {
+                stockReservationService.restock(item.getProductId(), cancelCount);
+            }
+        }
         updatePaymentAndOrderStatusesIfNeeded(pay.getPaymentId(), item.getOrderId(), pgCancelAmount, newBalance);
 
         // 8) 푸시/응답
@@ -437,6 +652,10 @@ public class PaymentServiceImpl implements PaymentService {
         return pay;
     }
 
+    private static boolean isVirtualAccount(String method) {
+        return "VIRTUAL_ACCOUNT".equalsIgnoreCase(method) || "가상계좌".equals(method);
+    }
+
     private boolean needsRefundAccount(String method, int orderStatus) {
         boolean isVA = "VIRTUAL_ACCOUNT".equalsIgnoreCase(method);
         boolean isTransfer = "TRANSFER".equalsIgnoreCase(method);
@@ -560,7 +779,7 @@ public class PaymentServiceImpl implements PaymentService {
         );
     }
 
-    private void applyCanceledCountWithRaceTolerance(Long orderItemId, int cancelCount, OrderItemRowDto before) {
+    private boolean applyCanceledCountWithRaceTolerance(Long orderItemId, int cancelCount, OrderItemRowDto before) {
         int updated = paymentMapper.conditionalIncreaseCanceledCount(orderItemId, cancelCount);
         if (updated <= 0) {
             boolean logged = paymentMapper.existsPaymentCancelByReqId(null); // 멱등키 확인은 호출부에서 처리했지만, 필요 시 확장
@@ -572,7 +791,9 @@ public class PaymentServiceImpl implements PaymentService {
             }
             log.warn("No rows updated (race or already applied). orderItemId={}, beforeRemain={}, afterRemain={}",
                     orderItemId, remainBefore, remainAfter);
+            return false;
         }
+        return true;
     }
 
     private void updatePaymentAndOrderStatusesIfNeeded(Long paymentId, Long orderId, long pgCancelAmount, long newBalance) {
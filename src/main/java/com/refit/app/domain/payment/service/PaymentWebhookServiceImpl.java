@@ -5,7 +5,10 @@ import com.refit.app.domain.notification.service.NotificationTriggerService;
 import com.refit.app.domain.payment.dto.OrderRowDto;
 import com.refit.app.domain.payment.dto.PaymentRowDto;
 import com.refit.app.domain.payment.mapper.PaymentMapper;
+import com.refit.app.domain.payment.model.PaymentStatusCode;
+import com.refit.app.domain.product.mapper.ProductMapper;
 import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -19,17 +22,20 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class PaymentWebhookServiceImpl implements PaymentWebhookService {
 
     private final PaymentMapper mapper;
+    private final ProductMapper productMapper;
     private final WebClient tossWebClient;
     private final ObjectMapper om;
     private final NotificationTriggerService notificationTriggerService;
 
     public PaymentWebhookServiceImpl(
             PaymentMapper mapper,
+            ProductMapper productMapper,
             @Qualifier("tossWebClient") WebClient tossWebClient,
             ObjectMapper om,
             NotificationTriggerService notificationTriggerService
     ) {
         this.mapper = mapper;
+        this.productMapper = productMapper;
         this.tossWebClient = tossWebClient;
         this.om = om;
         this.notificationTriggerService = notificationTriggerService;
@@ -74,19 +80,32 @@ public class PaymentWebhookServiceImpl implements PaymentWebhookService {
             mapper.insertPayment(p);
         }
 
+        // 승인 반영 전(선점 상태)이면 승인 API/복구 잡이 재고 차감까지 함께 처리한다
+        if (Objects.equals(p.getStatus(), PaymentStatusCode.CONFIRMING)) {
+            log.info("webhook skipped, confirm in progress: paymentKey={}, status={}", paymentKey, status);
+            return;
+        }
+
         // 상태 반영 (아이템도 함께)
         if ("DONE".equals(status)) {
+            // 판매량/푸시는 처음 승인될 때 한 번만 (같은 DONE 이벤트 재전송/입금 콜백과 중복 방지)
+            // 결제 행에는 주문번호가 없을 수 있으므로 ORDER_ID 로 주문을 잠근다
+            OrderRowDto before = mapper.findOrderMoneyForUpdate(p.getOrderId());
+            Integer prev = before == null ? null : before.getOrderStatus();
+            boolean firstApproval = before != null && (prev == null || prev == 0 || prev == 12);
+            if (firstApproval) {
+                productMapper.increaseSalesCountByOrderId(p.getOrderId(), null);
+            }
             mapper.updatePaymentStatusAndBalance(p.getPaymentId(), 1, p.getBalanceAmount());
             mapper.updateOrderStatus(p.getOrderId(), 1);  // 결제완료
             mapper.updateOrderItemsStatusByOrderId(p.getOrderId(), 1);
 
-            // 가상계좌만 푸시 (멱등: 이미 완료면 재발송 안 함)
-            OrderRowDto ord = mapper.findOrderForUpdate(p.getOrderCode());
-            if (isVA && ord.getOrderStatus() != null && ord.getOrderStatus() == 1) {
+            // 가상계좌만 푸시
+            if (isVA && firstApproval) {
                 Long memberId = mapper.findMemberIdByOrderId(p.getOrderId());
                 try {
                     notificationTriggerService.notifyPaymentCompleted(
-                            memberId, p.getOrderId(), ord.getOrderSummary() + "의 입금이 완료되었습니다."
+                            memberId, p.getOrderId(), before.getOrderSummary() + "의 입금이 완료되었습니다."
                     );
                 } catch (Exception e) {
                     log.warn("push failed: orderId={}", p.getOrderId(), e);
@@ -127,6 +146,7 @@ public class PaymentWebhookServiceImpl implements PaymentWebhookService {
 
             mapper.markOrderPaid(order.getOrderId()); // ORDERS=1
             mapper.updateStatusToApprovedByOrderId(order.getOrderId()); // ORDER_ITEM=1
+            productMapper.increaseSalesCountByOrderId(order.getOrderId(), null);
 
             Long memberId = mapper.findMemberIdByOrderId(order.getOrderId());
             try {
@@ -0,0 +1,185 @@
+package com.refit.app.domain.product.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.refit.app.domain.order.dto.ProductSummaryRow;
+import com.refit.app.domain.product.dto.ImageDto;
+import com.refit.app.domain.product.dto.ProductDetailDto;
+import com.refit.app.domain.product.dto.ProductDto;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 상세/이미지 상주 캐시 (상세 화면, 채팅 상품 스니펫 표시용).
+ * <p>
+ * 값은 setter 없는 DTO 를 그대로 공유한다. 카탈로그 버전(가격/할인율/이름/이미지 지문)이 바뀌면 전부 비우고,
+ * 그 사이에도 TTL 로 오래된 값이 남지 않게 한다. 재고는 담지 않으므로 재고 변경과는 무관하다
+ * (주문 확정 시 재고는 항상 DB 에서 잠가 확인한다).
+ * <p>
+ * 버전 확인 주기/TTL 동안은 바뀐 가격이 늦게 보일 수 있으므로, 결제 금액이 되는 주문서 가격은
+ * {@link #loadFresh} 로 DB 에서 읽는다.
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache {
+
+    // Oracle IN 목록 최대 1000
+    private static final int IN_CHUNK = 1000;
+
+    private final ProductMapper productMapper;
+    private final Cache<Long, ProductDetailDto> details;
+    private final Cache<Long, List<ImageDto>> images;
+
+    private volatile String version;
+
+    public ProductCatalogCache(
+            ProductMapper productMapper,
+            @Value("${product.catalog.max-size:20000}") long maxSize,
+            @Value("${product.catalog.ttl-ms:300000}") long ttlMs
+    ) {
+        this.productMapper = productMapper;
+        this.details = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.images = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 없으면 null
+     */
+    public ProductDetailDto get(Long productId) {
+        if (productId == null) {
+            return null;
+        }
+        return getAll(List.of(productId)).get(productId);
+    }
+
+    /**
+     * 미스만 IN 쿼리 한 번(1000개 단위)으로 채운다. 없는 상품은 결과에서 빠진다
+     */
+    public Map<Long, ProductDetailDto> getAll(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        return details.getAll(ids, this::loadDetails);
+    }
+
+    /**
+     * 캐시를 거치지 않고 DB 에서 IN 쿼리로 읽는다 (주문서 가격용). 읽은 값으로 캐시도 갱신한다
+     */
+    public Map<Long, ProductDetailDto> loadFresh(Collection<Long> productIds) {
+        Map<Long, ProductDetailDto> loaded = loadDetails(
+                productIds.stream().filter(Objects::nonNull).distinct().toList());
+        details.putAll(loaded);
+        return loaded;
+    }
+
+    public List<ImageDto> images(Long productId) {
+        return images.get(productId, id -> List.copyOf(productMapper.selectProductImages(id)));
+    }
+
+    /**
+     * 채팅 메시지용 스니펫 (selectProductSnippet 과 같은 값)
+     */
+    public ProductDto snippet(Long productId) {
+        ProductDetailDto d = get(productId);
+        if (d == null) {
+            return null;
+        }
+        return ProductDto.builder()
+                .id(d.getId())
+                .thumbnailUrl(d.getThumbnailUrl())
+                .brandName(d.getBrandName())
+                .productName(d.getProductName())
+                .discountRate(d.getDiscountRate())
+                .price(d.getPrice() == null ? 0 : d.getPrice())
+                .discountedPrice(d.getDiscountedPrice() == null ? 0 : d.getDiscountedPrice())
+                .build();
+    }
+
+    /**
+     * 주문서 라인 요약 (findSummaryById 와 같은 값). 호출자가 수정할 수 있으므로 매번 새로 만든다
+     */
+    public static ProductSummaryRow toSummary(ProductDetailDto d) {
+        return ProductSummaryRow.builder()
+                .id(d.getId())
+                .name(d.getProductName())
+                .brandName(d.getBrandName())
+                .thumbnailUrl(d.getThumbnailUrl())
+                .discountRate(d.getDiscountRate() == null ? null : d.getDiscountRate().longValue())
+                .originalPrice(d.getPrice() == null ? null : d.getPrice().longValue())
+                .discountedPrice(d.getDiscountedPrice() == null ? null : d.getDiscountedPrice().longValue())
+                .build();
+    }
+
+    public void invalidate(Long productId) {
+        details.invalidate(productId);
+        images.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        details.invalidateAll();
+        images.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.check-ms:10000}",
+            initialDelayString = "${product.catalog.check-ms:10000}")
+    public void invalidateIfChanged() {
+        try {
+            String v = productMapper.selectCatalogVersion();
+            if (version != null && !Objects.equals(v, version)) {
+                invalidateAll();
+                log.info("[ProductCatalog] version changed, cache cleared");
+            }
+            version = v;
+        } catch (Exception e) {
+            log.warn("[ProductCatalog] version check failed: {}", e.toString());
+        }
+    }
+
+    public CacheStats detailStats() {
+        return details.stats();
+    }
+
+    public CacheStats imageStats() {
+        return images.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.stats-log-ms:600000}",
+            initialDelayString = "${product.catalog.stats-log-ms:600000}")
+    public void logStats() {
+        CacheStats d = details.stats();
+        CacheStats i = images.stats();
+        log.info("[ProductCatalog] detail size={} hit={} miss={} rate={} | image size={} hit={} miss={} rate={}",
+                details.estimatedSize(), d.hitCount(), d.missCount(), String.format("%.2f", d.hitRate()),
+                images.estimatedSize(), i.hitCount(), i.missCount(), String.format("%.2f", i.hitRate()));
+    }
+
+    private Map<Long, ProductDetailDto> loadDetails(Collection<? extends Long> missing) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(missing));
+        Map<Long, ProductDetailDto> loaded = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK));
+            for (ProductDetailDto d : productMapper.selectProductDetailsByIds(chunk)) {
+                loaded.put(d.getId(), d);
+            }
+        }
+        return loaded;
+    }
+}
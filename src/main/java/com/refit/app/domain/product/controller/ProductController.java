@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.web.server.ResponseStatusException;
 
 @RequiredArgsConstructor
@@ -84,7 +85,7 @@ public class ProductController {
      * type: 0=전체, 1=뷰티, 2=헤어, 3=건강기능식품
      */
     @GetMapping("/recommendation/{type}")
-    public ResponseEntity<ProductRecommendationResponse> getRecommendations(
+    public CompletableFuture<ResponseEntity<ProductRecommendationResponse>> getRecommendations(
             @PathVariable("type") int type,
             @RequestParam(name = "concernCode", required = false) String concernCode,
             @RequestParam(name = "location", defaultValue = "서울") String location,
@@ -92,8 +93,9 @@ public class ProductController {
             @RequestParam(name = "limit", defaultValue = "10") int limit,
             @AuthenticationPrincipal Long memberId
     ) {
-        ProductRecommendationResponse resp = productService.getRecommendations(type, memberId, concernCode, location, topk, limit);
-        return ResponseEntity.ok(resp);
+        // 비동기 응답: AI 호출 동안 서블릿 스레드를 반납한다
+        return productService.getRecommendations(type, memberId, concernCode, location, topk, limit)
+                .thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/popular")
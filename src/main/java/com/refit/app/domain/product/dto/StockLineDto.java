@@ -0,0 +1,19 @@
+package com.refit.app.domain.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 일괄 차감/잠금 조회 한 줄. 차감 요청이면 qty 가 필요 수량, 잠금 조회 결과면 stock 이 현재 재고
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLineDto {
+    private Long productId;
+    private Integer qty;
+    private Integer stock;
+}
@@ -5,6 +5,8 @@ import com.refit.app.domain.product.dto.ImageDto;
 import com.refit.app.domain.product.dto.ProductDetailDto;
 import com.refit.app.domain.product.dto.ProductDto;
 import com.refit.app.domain.product.dto.ProductSimpleDto;
+import com.refit.app.domain.product.dto.StockLineDto;
+import java.util.Collection;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -90,6 +92,9 @@ public interface ProductMapper {
             @Param("bhType") Integer bhType
     );
 
+    // 목록 조건 컬럼 변화 감지용 (totalCount 캐시 무효화)
+    String selectListingFingerprint();
+
     List<ProductSimpleDto> findSuggestProducts(
             @Param("keyword") String keyword,
             @Param("limit") int limit,
@@ -103,8 +108,43 @@ public interface ProductMapper {
 
     int decreaseStock(@Param("productId") Long productId, @Param("qty") int qty);
 
+    // 판매량 정렬 키 (PRODUCT.SALES_COUNT)
+    // excludeProductIds: 재고 원장 상품 (판매량은 원장 동기화 잡이 반영)
+    int increaseSalesCountByOrderId(@Param("orderId") Long orderId,
+            @Param("excludeProductIds") Collection<Long> excludeProductIds);
+
+    int decreaseSalesCount(@Param("productId") Long productId, @Param("qty") int qty);
+
+    int reconcileSalesCount();
+
     Integer selectStockForUpdate(@Param("productId") Long productId);   // 재고 행 잠금용
 
+    // 재고 일괄 처리: PRODUCT_ID 순으로 한 번에 잠그고, 한 문장으로 차감
+    List<StockLineDto> selectStocksForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    int decreaseStocks(@Param("lines") List<StockLineDto> lines);
+
+    int increaseStock(@Param("productId") Long productId, @Param("qty") int qty);
+
+    // 재고 원장 동기화: 원장 증감분을 PRODUCT.STOCK 에 더하기 / 원장에 적립된 판매량 반영
+    int applyStockDeltas(@Param("lines") List<StockLineDto> lines);
+
+    int increaseSalesCounts(@Param("lines") List<StockLineDto> lines);
+
+    // 재고 원장 만료 예약 정리 (결제 반영 여부 확인, 주문 행 잠금)
+    Integer selectOrderStatusForUpdate(@Param("orderId") Long orderId);
+
     ProductDto selectProductSnippet(@Param("id") Long id);
 
+    // 상품 상세 캐시 (ProductCatalogCache) 일괄 적재 / 버전
+    List<ProductDetailDto> selectProductDetailsByIds(@Param("ids") Collection<Long> ids);
+
+    String selectCatalogVersion();
+
+    // 추천 캐시 워밍 대상 (최근 접속/주문 회원, MEMBER_ID 키셋 페이지)
+    List<Long> selectRecentlyActiveMemberIds(
+            @Param("days") int days,
+            @Param("lastMemberId") Long lastMemberId,
+            @Param("limit") int limit);
+
 }
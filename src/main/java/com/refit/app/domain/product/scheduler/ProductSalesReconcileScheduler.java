@@ -0,0 +1,31 @@
+package com.refit.app.domain.product.scheduler;
+
+import com.refit.app.domain.product.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PRODUCT.SALES_COUNT 는 결제 승인/취소 때 증감하고, 하루 한 번 ORDER_ITEM 기준으로 다시 맞춘다
+ * (웹훅 누락/중복, 수동 데이터 수정 보정).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSalesReconcileScheduler {
+
+    private final ProductMapper productMapper;
+
+    // 매일 04:30 KST 실행
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    @SchedulerLock(name = "product-sales-reconcile", lockAtMostFor = "PT10M", lockAtLeastFor = "PT30S")
+    @Transactional
+    public void reconcile() {
+        long t0 = System.currentTimeMillis();
+        int fixed = productMapper.reconcileSalesCount();
+        log.info("[SalesCount] reconciled rows={} latency={} ms", fixed, System.currentTimeMillis() - t0);
+    }
+}
@@ -0,0 +1,243 @@
+package com.refit.app.domain.product.scheduler;
+
+import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.domain.product.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 최근 활성 회원의 기본 추천을 새벽에 미리 채워, 첫 추천 조회가 외부 AI 응답을 기다리지 않게 한다.
+ * <p>
+ * 회원은 MEMBER_ID 키셋으로 batch-size 씩 읽고, AI 호출은 동시 concurrency 개 / 초당 rate-per-sec 개로 제한한다.
+ * 이미 신선한 캐시는 건너뛰고, 결과는 Redis(L2)에만 넣는다.
+ * <p>
+ * 실행은 최대 max-duration-ms 동안 잠들거나 대기하므로 스케줄러 스레드에서 돌리지 않는다.
+ * cron 은 전용 실행기(recommendWarmupExecutor)에 넘기기만 하고, ShedLock 도 그 스레드에서 실행 전체 동안 잡는다.
+ */
+@Slf4j
+@Component
+public class RecommendationWarmupScheduler {
+
+    private static final String LOCK_NAME = "recommendation-warmup-job";
+    private static final Duration LOCK_AT_MOST_FOR = Duration.ofMinutes(50);
+    private static final Duration LOCK_AT_LEAST_FOR = Duration.ofMinutes(1);
+
+    private final ProductMapper productMapper;
+    private final ProductService productService;
+    private final Executor warmupExecutor;
+    private final LockingTaskExecutor lockingTaskExecutor;
+
+    @Value("${reco.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reco.warmup.active-days:7}")
+    private int activeDays;
+
+    @Value("${reco.warmup.batch-size:200}")
+    private int batchSize;
+
+    @Value("${reco.warmup.max-members:20000}")
+    private int maxMembers;
+
+    @Value("${reco.warmup.concurrency:4}")
+    private int concurrency;
+
+    @Value("${reco.warmup.rate-per-sec:5}")
+    private double ratePerSec;
+
+    // lockAtMostFor(50분) 안에서 끝나도록
+    @Value("${reco.warmup.max-duration-ms:2400000}")
+    private long maxDurationMs;
+
+    // AI 서버가 죽어 있으면 일찍 멈춘다 (서킷 OPEN 실패도 포함)
+    @Value("${reco.warmup.max-consecutive-failures:20}")
+    private int maxConsecutiveFailures;
+
+    @Value("${reco.warmup.product-types:0}")
+    private List<Integer> productTypes;
+
+    // 컨트롤러 기본값과 같은 키를 채운다
+    @Value("${reco.warmup.location:서울}")
+    private String location;
+
+    @Value("${reco.warmup.topk:200}")
+    private int topk;
+
+    @Value("${reco.warmup.limit:10}")
+    private int limit;
+
+    private volatile Progress lastRun;
+
+    public RecommendationWarmupScheduler(
+            ProductMapper productMapper,
+            ProductService productService,
+            @Qualifier("recommendWarmupExecutor") Executor warmupExecutor,
+            LockProvider lockProvider
+    ) {
+        this.productMapper = productMapper;
+        this.productService = productService;
+        this.warmupExecutor = warmupExecutor;
+        this.lockingTaskExecutor = new DefaultLockingTaskExecutor(lockProvider);
+    }
+
+    // 매일 05:00 KST 실행 (트래픽 최저 구간). 스케줄러 스레드는 넘기기만 하고 바로 돌아온다
+    @Scheduled(cron = "${reco.warmup.cron:0 0 5 * * *}", zone = "Asia/Seoul")
+    public void trigger() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmupExecutor.execute(this::runLocked);
+        } catch (RejectedExecutionException e) {
+            log.warn("[RecoWarmup] previous run still in progress, skip");
+        }
+    }
+
+    // 여러 인스턴스 중 한 곳에서만 (락은 실행이 끝날 때까지 유지)
+    void runLocked() {
+        lockingTaskExecutor.executeWithLock((Runnable) this::warmUp,
+                new LockConfiguration(Instant.now(), LOCK_NAME, LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR));
+    }
+
+    /**
+     * 워밍 1회 실행 (호출 스레드에서 끝날 때까지 블로킹). 속도 제한 대기가 마감을 넘기면 그 자리에서 멈춘다
+     */
+    public void warmUp() {
+        Run run = new Run(Math.max(1, concurrency));
+        long deadline = run.startedAt + maxDurationMs;
+        long intervalNanos = ratePerSec > 0 ? (long) (1_000_000_000L / ratePerSec) : 0L;
+        long nextAt = System.nanoTime();
+        String stop = "done";
+        Long lastId = null;
+
+        try {
+            batches:
+            while (run.members < maxMembers) {
+                List<Long> ids = productMapper.selectRecentlyActiveMemberIds(
+                        activeDays, lastId, Math.min(batchSize, maxMembers - run.members));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long memberId : ids) {
+                    lastId = memberId;
+                    run.members++;
+                    for (Integer type : productTypes) {
+                        if (run.consecutiveFailures.get() >= maxConsecutiveFailures) {
+                            stop = "ai-failing";
+                            break batches;
+                        }
+                        // 속도 제한 대기가 마감을 넘길 거면 기다리지 않고 멈춘다
+                        long wait = Math.max(0L, nextAt - System.nanoTime());
+                        if (System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(wait) >= deadline) {
+                            stop = "deadline";
+                            break batches;
+                        }
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        nextAt = Math.max(nextAt, System.nanoTime()) + intervalNanos;
+
+                        // 동시 호출 자리도 마감까지만 기다린다
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0 || !run.permits.tryAcquire(remaining, TimeUnit.MILLISECONDS)) {
+                            stop = "deadline";
+                            break batches;
+                        }
+                        submit(run, type, memberId);
+                    }
+                }
+                log.info("[RecoWarmup] progress members={} warmed={} skipped={} failed={}",
+                        run.members, run.warmed.get(), run.skipped.get(), run.failed.get());
+            }
+            // 진행 중 호출이 끝날 때까지 (남은 시간 안에서만)
+            long remaining = Math.max(0L, deadline - System.currentTimeMillis());
+            if (!run.permits.tryAcquire(run.concurrency, remaining, TimeUnit.MILLISECONDS)) {
+                stop = "deadline";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop = "interrupted";
+        } catch (Exception e) {
+            log.warn("[RecoWarmup] aborted: {}", e.toString());
+            stop = "error";
+        }
+
+        Progress p = run.finish(stop);
+        lastRun = p;
+        log.info("[RecoWarmup] {} members={} warmed={} skipped={} failed={} elapsed={}ms",
+                p.stopReason(), p.members(), p.warmed(), p.skipped(), p.failed(), p.elapsedMs());
+    }
+
+    public Progress lastRun() {
+        return lastRun;
+    }
+
+    private void submit(Run run, int type, Long memberId) {
+        try {
+            productService.warmRecommendations(type, memberId, location, topk, limit)
+                    .whenComplete((filled, ex) -> {
+                        run.permits.release();
+                        if (ex != null) {
+                            run.failed.incrementAndGet();
+                            run.consecutiveFailures.incrementAndGet();
+                            log.debug("[RecoWarmup] failed memberId={} type={}: {}", memberId, type,
+                                    ex.toString());
+                        } else {
+                            run.consecutiveFailures.set(0);
+                            (Boolean.TRUE.equals(filled) ? run.warmed : run.skipped).incrementAndGet();
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            run.permits.release();
+            run.failed.incrementAndGet();
+            run.consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * 직전 실행 결과
+     *
+     * @param warmed  AI 호출로 채운 키 수
+     * @param skipped 이미 신선해서 건너뛴 키 수
+     */
+    public record Progress(long startedAt, long elapsedMs, int members, int warmed, int skipped,
+                           int failed, String stopReason) {}
+
+    private static final class Run {
+
+        final long startedAt = System.currentTimeMillis();
+        final int concurrency;
+        final Semaphore permits;
+        final AtomicInteger warmed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        int members;
+
+        Run(int concurrency) {
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        Progress finish(String stopReason) {
+            return new Progress(startedAt, System.currentTimeMillis() - startedAt, members,
+                    warmed.get(), skipped.get(), failed.get(), stopReason);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.refit.app.domain.product.scheduler;
+
+import com.refit.app.domain.product.stock.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 원장 → PRODUCT 동기화(STOCK/판매량)와 만료 예약 정리.
+ * 원장 상품 행은 이 잡만 주기적으로 갱신하므로 주문 확정이 그 행 잠금에 줄 서지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedgerSyncScheduler {
+
+    private final StockReservationService stockReservationService;
+
+    @Value("${stock.ledger.reap-batch-size:100}")
+    private int reapBatchSize;
+
+    @Scheduled(fixedDelayString = "${stock.ledger.sync-ms:5000}")
+    @SchedulerLock(name = "stock-ledger-sync", lockAtMostFor = "PT1M", lockAtLeastFor = "PT1S")
+    public void sync() {
+        try {
+            int written = stockReservationService.syncToDatabase();
+            if (written > 0) {
+                log.debug("[StockLedger] synced stock rows={}", written);
+            }
+        } catch (Exception e) {
+            log.warn("[StockLedger] sync failed: {}", e.toString());
+        }
+
+        int committed = 0, released = 0;
+        for (Long orderId : stockReservationService.expiredReservations(reapBatchSize)) {
+            try {
+                if (stockReservationService.resolveExpired(orderId)) {
+                    committed++;
+                } else {
+                    released++;
+                }
+            } catch (Exception e) {
+                log.warn("[StockLedger] resolve failed orderId={}: {}", orderId, e.toString());
+            }
+        }
+        if (committed + released > 0) {
+            log.info("[StockLedger] expired reservations committed={} released={}", committed, released);
+        }
+    }
+}
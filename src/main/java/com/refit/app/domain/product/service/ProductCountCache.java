@@ -0,0 +1,86 @@
+package com.refit.app.domain.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 목록/검색 totalCount 캐시.
+ * <p>
+ * 첫 페이지(커서 없음)는 항상 정확히 세어 캐시를 갱신하고, 스크롤 페이지는 캐시 값을 그대로 써서 키셋 조회 한 번만 한다.
+ * 캐시는 짧은 TTL 에 더해, 목록 조건에 쓰이는 컬럼(행 수/카테고리/구분/상품명)의 지문이 바뀌면 통째로 비운다.
+ */
+@Slf4j
+@Component
+public class ProductCountCache {
+
+    private final ProductMapper productMapper;
+    private final Cache<String, Integer> counts;
+
+    private volatile String fingerprint;
+
+    public ProductCountCache(
+            ProductMapper productMapper,
+            @Value("${product.count-cache.max-size:5000}") long maxSize,
+            @Value("${product.count-cache.ttl-ms:60000}") long ttlMs
+    ) {
+        this.productMapper = productMapper;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /**
+     * @param firstPage true 면 캐시를 무시하고 정확히 센다
+     */
+    public int countProducts(Integer categoryId, Integer catFrom, Integer catTo, boolean firstPage) {
+        String key = "cat:" + categoryId + ":" + catFrom + ":" + catTo;
+        return count(key, firstPage, () -> productMapper.countProducts(categoryId, catFrom, catTo));
+    }
+
+    public int countProductsByName(String keyword, Integer bhType, boolean firstPage) {
+        // 쿼리가 LOWER(...) LIKE 이므로 대소문자만 다른 검색어는 같은 키
+        String key = "name:" + bhType + ":" + (keyword == null ? "" : keyword.toLowerCase(Locale.ROOT));
+        return count(key, firstPage, () -> productMapper.countProductsByName(keyword, bhType));
+    }
+
+    public void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${product.count-cache.check-ms:30000}",
+            initialDelayString = "${product.count-cache.check-ms:30000}")
+    public void invalidateIfChanged() {
+        try {
+            String fp = productMapper.selectListingFingerprint();
+            if (fingerprint != null && !Objects.equals(fp, fingerprint)) {
+                invalidateAll();
+                log.info("[ProductCount] catalog changed, counts invalidated");
+            }
+            fingerprint = fp;
+        } catch (Exception e) {
+            log.warn("[ProductCount] fingerprint check failed: {}", e.toString());
+        }
+    }
+
+    private int count(String key, boolean firstPage, IntSupplier exact) {
+        if (!firstPage) {
+            Integer cached = counts.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int n = exact.getAsInt();
+        counts.put(key, n);
+        return n;
+    }
+}
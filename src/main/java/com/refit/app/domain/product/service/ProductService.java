@@ -7,6 +7,7 @@ import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
 import com.refit.app.domain.product.dto.response.ProductSuggestResponse;
 import com.refit.app.domain.product.model.SortType;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ProductService {
 
@@ -24,10 +25,20 @@ public interface ProductService {
      * @param productType 0:전체, 1:뷰티, 2:헤어, 3:건기능
      * @param limit       기본 10 (1~200 권장)
      * @param memberId    JWT에서 추출 (캐시미스 시 필수)
+     * @return 캐시 히트면 완료된 future, 미스면 외부 AI 응답 시 완료
      */
-    ProductRecommendationResponse getRecommendations(
+    CompletableFuture<ProductRecommendationResponse> getRecommendations(
             int productType, Long memberId, String concernCode, String location, int topk, int limit
     );
 
+    /**
+     * 추천 캐시 미리 채우기 (concernCode 없는 기본 조회 키). 이미 신선하면 AI 를 부르지 않는다
+     *
+     * @return AI 를 호출해 채웠으면 true
+     */
+    CompletableFuture<Boolean> warmRecommendations(
+            int productType, Long memberId, String location, int topk, int limit
+    );
+
     List<ProductDto> findTopProductsByOrderCount(int limit);
 }
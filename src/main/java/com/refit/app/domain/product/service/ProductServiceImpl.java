@@ -1,5 +1,6 @@
 package com.refit.app.domain.product.service;
 
+import com.refit.app.domain.product.catalog.ProductCatalogCache;
 import com.refit.app.domain.product.dto.ImageDto;
 import com.refit.app.domain.product.dto.ProductDetailDto;
 import com.refit.app.domain.product.dto.ProductSimpleDto;
@@ -15,7 +16,7 @@ import com.refit.app.global.exception.RefitException;
 import com.refit.app.global.util.CursorUtil;
 import com.refit.app.infra.ai.AiRecommendClient;
 import com.refit.app.infra.cache.RecommendationCacheKey;
-import com.refit.app.infra.cache.RecommendationCacheRepository;
+import com.refit.app.infra.cache.TieredRecommendationCache;
 import java.util.Collections;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +28,7 @@ import com.refit.app.domain.product.dto.ProductRecommendationItemDto;
 
 import java.util.List;
 import java.util.Map;
-import org.springframework.util.CollectionUtils;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,7 +37,9 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductMapper productMapper;
-    private final RecommendationCacheRepository cacheRepo;
+    private final ProductCountCache productCountCache;
+    private final ProductCatalogCache productCatalogCache;
+    private final TieredRecommendationCache recommendationCache;
     private final AiRecommendClient aiClient;
 
     @Value("${external.ai.cache-ttl-sec:20000}")
@@ -62,7 +65,8 @@ public class ProductServiceImpl implements ProductService {
             }
         }
 
-        int totalCount = productMapper.countProducts(categoryId, catFrom, catTo);
+        // 정확한 개수는 첫 페이지에서만, 스크롤 페이지는 캐시된 개수 + 키셋 조회 한 번
+        int totalCount = productCountCache.countProducts(categoryId, catFrom, catTo, c.isEmpty());
 
         // 정렬별 조회
         List<ProductDto> items = switch (sortType) {
@@ -91,13 +95,13 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductDetailResponse getProductDetail(Long id) {
         // 1. 상품 상세 조회
-        ProductDetailDto product = productMapper.selectProductDetail(id);
+        ProductDetailDto product = productCatalogCache.get(id);
         if (product == null) {
             throw new RefitException(ErrorCode.ILLEGAL_ARGUMENT, "상품이 존재하지 않습니다. id=" + id);
         }
 
         // 2. 상품 이미지 리스트 조회
-        List<ImageDto> images = productMapper.selectProductImages(id);
+        List<ImageDto> images = productCatalogCache.images(id);
 
         return new ProductDetailResponse(product, images);
     }
@@ -116,7 +120,7 @@ public class ProductServiceImpl implements ProductService {
             bhTypeNumber = 1;
         }
 
-        int totalCount = productMapper.countProductsByName(q, bhTypeNumber);
+        int totalCount = productCountCache.countProductsByName(q, bhTypeNumber, c.isEmpty());
 
         List<ProductDto> items = switch (sort) {
             case LATEST     -> productMapper.searchByNameLatest(q, bhTypeNumber, lastId, limit);
@@ -164,7 +168,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public ProductRecommendationResponse getRecommendations(
+    public CompletableFuture<ProductRecommendationResponse> getRecommendations(
             int productType, Long memberId, String concernCode, String location, int topk, int limit
     ) {
         int pt  = normalizeProductType(productType);
@@ -172,16 +176,27 @@ public class ProductServiceImpl implements ProductService {
 
         String key = RecommendationCacheKey.build(pt, memberId, concernCode, location, topk, lim);
 
-        // 캐시 조회 (Cache Hit → 즉시 반환)
-        ProductRecommendationResponse cached = cacheRepo.get(key);
-        if (cached != null && !CollectionUtils.isEmpty(cached.getItems())) {
-            // if (Math.random() < 0.3) {
-            //     Collections.shuffle(cached.getItems());
-            // }
-            return cached;
-        }
+        // L1(로컬) → L2(Redis) → 외부 AI. 같은 키 동시 미스는 AI 호출 1회를 공유, 만료 임박 값은 주고 뒤에서 갱신
+        return recommendationCache.getAsync(key, cacheTtlSec,
+                () -> requestAiRecommendations(pt, memberId, location, topk, lim));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> warmRecommendations(
+            int productType, Long memberId, String location, int topk, int limit
+    ) {
+        int pt  = normalizeProductType(productType);
+        int lim = (limit <= 0) ? 10 : Math.min(limit, 200);
 
-        // 캐시 미스 → 외부 AI 호출
+        String key = RecommendationCacheKey.build(pt, memberId, null, location, topk, lim);
+        return recommendationCache.prefill(key, cacheTtlSec,
+                () -> requestAiRecommendations(pt, memberId, location, topk, lim));
+    }
+
+    // 캐시 미스 → 외부 AI 호출 (논블로킹)
+    private CompletableFuture<ProductRecommendationResponse> requestAiRecommendations(
+            int pt, Long memberId, String location, int topk, int lim
+    ) {
         // 외부 추천은 개인화가 필요하므로 유효한 memberId 필수
         if (memberId == null || memberId <= 0) {
             throw new RefitException(ErrorCode.INVALID_TOKEN, "외부 추천 조회에는 유효한 회원 ID가 필요합니다.");
@@ -197,8 +212,10 @@ public class ProductServiceImpl implements ProductService {
                 .finalCount(lim)
                 .build();
 
-        AiRecommendResponse ai = aiClient.request(req);
+        return aiClient.requestAsync(req).thenApply(ai -> toRecommendationResponse(ai, lim));
+    }
 
+    private static ProductRecommendationResponse toRecommendationResponse(AiRecommendResponse ai, int lim) {
         // 외부 응답 → 내부 DTO 변환 (할인율/할인가 계산 포함)
         List<ProductRecommendationItemDto> items = ai.getResults().stream()
                 .limit(lim)
@@ -218,14 +235,9 @@ public class ProductServiceImpl implements ProductService {
                 })
                 .collect(Collectors.toList());
 
-        ProductRecommendationResponse finalResp = ProductRecommendationResponse.builder()
+        return ProductRecommendationResponse.builder()
                 .items(items)
                 .build();
-
-        // 캐싱 후 반환
-        cacheRepo.put(key, finalResp, cacheTtlSec);
-
-        return finalResp;
     }
 
     private int normalizeProductType(int productType) {
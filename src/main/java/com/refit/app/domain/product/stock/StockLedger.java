@@ -0,0 +1,301 @@
+package com.refit.app.domain.product.stock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인기 상품 재고 원장 (Redis).
+ * <p>
+ * 원장에 올라간 상품은 가용 재고를 {@code avail} 카운터로 관리하고, 주문별 예약을 {@code resv:주문ID} 해시에 둔다.
+ * 예약/확정/해제는 Lua 한 번으로 원자 처리하므로 PRODUCT 행 잠금 없이 동시 주문이 병렬로 진행된다.
+ * avail 을 바꿀 때마다 같은 수량을 {@code delta} 해시에 쌓고, 동기화 잡이 그 증감분만 PRODUCT.STOCK 에 더한 뒤
+ * avail 을 "DB 재고 + 아직 반영 안 된 증감분" 으로 다시 맞춘다 ({@link #settle}). 그래서 관리자 수정처럼 원장을 거치지 않은
+ * STOCK 변경도 지워지지 않고 원장에 따라 들어온다.
+ * <p>
+ * 어떤 상품이 원장 상품인지는 {@code ids} 집합이 정한다. 모든 인스턴스가 이 집합을 보고 경로를 고르므로
+ * 인스턴스별 설정이 달라도 같은 상품을 원장과 PRODUCT 에서 동시에 차감하지 않는다.
+ * <p>
+ * 모든 키는 같은 해시태그({stock})라 Redis Cluster 에서도 한 슬롯에 모인다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockLedger {
+
+    static final String PREFIX = "{stock}:";
+    static final String AVAIL = PREFIX + "avail:";
+    static final String RESV = PREFIX + "resv:";
+    static final String RESV_EXPIRY = PREFIX + "resv-exp";
+    static final String SOLD = PREFIX + "sold";
+    static final String DELTA = PREFIX + "delta";
+    static final String IDS = PREFIX + "ids";
+
+    // KEYS: resv, resv-exp, delta, avail_1..n / ARGV: orderId, expireAt, pid_1..n, qty_1..n
+    // 반환: 부족한 줄 [index, avail(-1=원장 없음)] 쌍 목록, 비어 있으면 예약 성공 (이미 예약된 주문이면 그대로 성공)
+    private static final RedisScript<List> RESERVE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return {} end
+            local n = #KEYS - 3
+            local short = {}
+            for i = 1, n do
+              local a = redis.call('GET', KEYS[i + 3])
+              local q = tonumber(ARGV[2 + n + i])
+              if not a then
+                table.insert(short, i); table.insert(short, -1)
+              elseif tonumber(a) < q then
+                table.insert(short, i); table.insert(short, tonumber(a))
+              end
+            end
+            if #short > 0 then return short end
+            for i = 1, n do
+              redis.call('DECRBY', KEYS[i + 3], ARGV[2 + n + i])
+              redis.call('HINCRBY', KEYS[3], ARGV[2 + i], -tonumber(ARGV[2 + n + i]))
+              redis.call('HSET', KEYS[1], ARGV[2 + i], ARGV[2 + n + i])
+            end
+            redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+            return {}
+            """, List.class);
+
+    // KEYS: resv, resv-exp, sold / ARGV: orderId. 판매 수량을 sold 해시에 적립
+    private static final RedisScript<Long> COMMIT = new DefaultRedisScript<>("""
+            local kv = redis.call('HGETALL', KEYS[1])
+            for i = 1, #kv, 2 do
+              redis.call('HINCRBY', KEYS[3], kv[i], kv[i + 1])
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return #kv / 2
+            """, Long.class);
+
+    // KEYS: resv, resv-exp, delta / ARGV: orderId, avail prefix. 예약 수량을 avail 로 되돌림
+    // 원장에서 내려간 상품이어도 delta 는 되돌려 PRODUCT.STOCK 에 반영되게 한다
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            local kv = redis.call('HGETALL', KEYS[1])
+            for i = 1, #kv, 2 do
+              local k = ARGV[2] .. kv[i]
+              if redis.call('EXISTS', k) == 1 then redis.call('INCRBY', k, kv[i + 1]) end
+              redis.call('HINCRBY', KEYS[3], kv[i], kv[i + 1])
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return #kv / 2
+            """, Long.class);
+
+    // KEYS: avail, ids, delta / ARGV: pid, stock. 원장 상품일 때만 avail 을 "DB 재고 + 미반영 증감분" 으로 올림
+    // 반환: 1 = 올림, 0 = 이미 있음, -1 = 원장 상품 아님
+    private static final RedisScript<Long> SEED = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 0 then return -1 end
+            local d = tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0')
+            return redis.call('SETNX', KEYS[1], tonumber(ARGV[2]) + d)
+            """, Long.class);
+
+    // KEYS: avail, ids, delta / ARGV: pid, stock. 원장 상품으로 등록하고 avail 을 맞춤
+    private static final RedisScript<Long> PROMOTE = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[2], ARGV[1])
+            local d = tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0')
+            redis.call('SET', KEYS[1], tonumber(ARGV[2]) + d)
+            return 1
+            """, Long.class);
+
+    // KEYS: delta, sold / ARGV: avail prefix, n, (pid, qty)*n, m, (pid, qty)*m, r, (pid, stock)*r
+    // DB 에 반영한 증감분/판매량만 빼고 (그 사이 쌓인 값은 남김), 원장 상품의 avail 을 "DB 재고 + 남은 증감분" 으로 맞춤
+    private static final RedisScript<Long> SETTLE = new DefaultRedisScript<>("""
+            local i = 2
+            local function subtract(key)
+              local n = tonumber(ARGV[i]); i = i + 1
+              for _ = 1, n do
+                if redis.call('HINCRBY', key, ARGV[i], -tonumber(ARGV[i + 1])) == 0 then
+                  redis.call('HDEL', key, ARGV[i])
+                end
+                i = i + 2
+              end
+            end
+            subtract(KEYS[1])
+            subtract(KEYS[2])
+            local r = tonumber(ARGV[i]); i = i + 1
+            for _ = 1, r do
+              local k = ARGV[1] .. ARGV[i]
+              if redis.call('EXISTS', k) == 1 then
+                local d = tonumber(redis.call('HGET', KEYS[1], ARGV[i]) or '0')
+                redis.call('SET', k, tonumber(ARGV[i + 1]) + d)
+              end
+              i = i + 2
+            end
+            return r
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    /**
+     * 주문 단위 일괄 예약 (전부 되거나 전부 안 됨)
+     *
+     * @return 부족한 상품 → 현재 가용 재고(-1 = 원장에 없음). 비어 있으면 예약됨
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> reserve(Long orderId, Map<Long, Integer> need, long expireAtMillis) {
+        List<Long> ids = new ArrayList<>(need.keySet());
+        List<String> keys = new ArrayList<>(ids.size() + 3);
+        keys.add(RESV + orderId);
+        keys.add(RESV_EXPIRY);
+        keys.add(DELTA);
+        List<String> args = new ArrayList<>(ids.size() * 2 + 2);
+        args.add(String.valueOf(orderId));
+        args.add(String.valueOf(expireAtMillis));
+        for (Long id : ids) {
+            keys.add(AVAIL + id);
+            args.add(String.valueOf(id));
+        }
+        for (Long id : ids) {
+            args.add(String.valueOf(need.get(id)));
+        }
+
+        List<Object> res = redis.execute(RESERVE, keys, args.toArray());
+        Map<Long, Long> shortages = new TreeMap<>();
+        for (int i = 0; res != null && i + 1 < res.size(); i += 2) {
+            int index = Integer.parseInt(String.valueOf(res.get(i)));
+            shortages.put(ids.get(index - 1), Long.valueOf(String.valueOf(res.get(i + 1))));
+        }
+        return shortages;
+    }
+
+    public void commit(Long orderId) {
+        redis.execute(COMMIT, List.of(RESV + orderId, RESV_EXPIRY, SOLD), String.valueOf(orderId));
+    }
+
+    public void release(Long orderId) {
+        redis.execute(RELEASE, List.of(RESV + orderId, RESV_EXPIRY, DELTA), String.valueOf(orderId), AVAIL);
+    }
+
+    /**
+     * 원장 상품인데 avail 이 없을 때 (Redis 재시작 등) 다시 올림. 호출자가 PRODUCT 행을 잠근 상태에서 읽은 재고를 넘긴다
+     *
+     * @return 1 = 올림, 0 = 이미 있음, -1 = 원장 상품 아님 (그 사이 내려감)
+     */
+    public long seed(Long productId, int stock) {
+        Long res = redis.execute(SEED, List.of(AVAIL + productId, IDS, DELTA),
+                String.valueOf(productId), String.valueOf(stock));
+        return res == null ? -1 : res;
+    }
+
+    /**
+     * 원장 상품으로 등록. 호출자가 PRODUCT 행을 잠근 상태에서 읽은 재고를 넘긴다
+     */
+    public void promote(Long productId, long stock) {
+        redis.execute(PROMOTE, List.of(AVAIL + productId, IDS, DELTA),
+                String.valueOf(productId), String.valueOf(stock));
+    }
+
+    /**
+     * 원장에서 내림. 집합에서 먼저 빼서 이후 주문이 PRODUCT 경로로 가게 하고, 그 뒤 avail 을 지운다.
+     * 남은 delta 는 다음 동기화 때 PRODUCT.STOCK 에 반영된다
+     */
+    public void remove(Long productId) {
+        redis.opsForSet().remove(IDS, String.valueOf(productId));
+        redis.delete(AVAIL + productId);
+    }
+
+    /**
+     * 원장에 올라간 상품 ID
+     */
+    public Set<Long> productIds() {
+        Set<String> ids = redis.opsForSet().members(IDS);
+        return ids == null ? Set.of() : ids.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    /**
+     * 주어진 상품 중 원장 상품 (SMISMEMBER 한 번)
+     */
+    public Set<Long> members(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+        Map<Object, Boolean> res = redis.opsForSet().isMember(IDS,
+                productIds.stream().map(String::valueOf).toArray());
+        Set<Long> out = new HashSet<>();
+        if (res != null) {
+            res.forEach((id, member) -> {
+                if (Boolean.TRUE.equals(member)) {
+                    out.add(Long.valueOf(String.valueOf(id)));
+                }
+            });
+        }
+        return out;
+    }
+
+    /**
+     * 가용 재고 일괄 조회 (원장에 없는 상품은 빠진다)
+     */
+    public Map<Long, Long> available(Set<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        List<String> values = redis.opsForValue().multiGet(ids.stream().map(id -> AVAIL + id).toList());
+        Map<Long, Long> out = new LinkedHashMap<>();
+        for (int i = 0; values != null && i < ids.size(); i++) {
+            if (values.get(i) != null) {
+                out.put(ids.get(i), Long.parseLong(values.get(i)));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 만료 시각이 지난 예약의 주문 ID (확정/해제 콜백이 유실된 경우)
+     */
+    public List<Long> expiredReservations(long nowMillis, int limit) {
+        Set<String> ids = redis.opsForZSet().rangeByScore(RESV_EXPIRY, 0, nowMillis, 0, limit);
+        return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * 아직 PRODUCT.STOCK 에 반영되지 않은 재고 증감분 (비우지 않음, 반영 커밋 뒤 {@link #settle} 로 뺀다)
+     */
+    public Map<Long, Long> pendingDeltas() {
+        return readCounts(DELTA);
+    }
+
+    /**
+     * 아직 SALES_COUNT 에 반영되지 않은 판매 수량 (비우지 않음)
+     */
+    public Map<Long, Long> pendingSold() {
+        return readCounts(SOLD);
+    }
+
+    /**
+     * 동기화 커밋 뒤 호출: 반영한 만큼만 빼고, 원장 상품 avail 을 커밋된 DB 재고 기준으로 다시 맞춤
+     *
+     * @param stocks 원장 상품별 커밋된 PRODUCT.STOCK
+     */
+    public void settle(Map<Long, Long> appliedDeltas, Map<Long, Long> appliedSold, Map<Long, Long> stocks) {
+        List<String> args = new ArrayList<>();
+        args.add(AVAIL);
+        for (Map<Long, Long> m : List.of(appliedDeltas, appliedSold, stocks)) {
+            args.add(String.valueOf(m.size()));
+            m.forEach((productId, value) -> {
+                args.add(String.valueOf(productId));
+                args.add(String.valueOf(value));
+            });
+        }
+        redis.execute(SETTLE, List.of(DELTA, SOLD), args.toArray());
+    }
+
+    private Map<Long, Long> readCounts(String key) {
+        Map<Long, Long> out = new HashMap<>();
+        redis.<String, String>opsForHash().entries(key).forEach((id, value) -> {
+            long v = Long.parseLong(value);
+            if (v != 0) {
+                out.put(Long.valueOf(id), v);
+            }
+        });
+        return out;
+    }
+}
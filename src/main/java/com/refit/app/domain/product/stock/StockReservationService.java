@@ -0,0 +1,290 @@
+package com.refit.app.domain.product.stock;
+
+import com.refit.app.domain.product.dto.StockLineDto;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.global.exception.ErrorCode;
+import com.refit.app.global.exception.RefitException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 주문 재고 예약/확정/해제.
+ * <p>
+ * 원장 상품(Redis {@link StockLedger} 의 공유 집합)은 원장에서 예약해 PRODUCT 행을 잠그지 않고,
+ * 나머지는 PRODUCT 행을 PRODUCT_ID 순으로 한 번에 잠근 뒤 MERGE 한 문장으로 차감한다.
+ * stock.ledger.hot-product-ids 는 원하는 원장 상품 목록일 뿐이고, 동기화 잡이 PRODUCT 행을 잠근 채 원장 집합에 올리고 내린다.
+ * 원장 예약은 호출한 트랜잭션이 커밋되면 확정, 롤백되면 해제된다. 콜백이 유실되면 {@link #resolveExpired} 가
+ * 주문 상태를 보고 정리한다.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final ProductMapper productMapper;
+    private final StockLedger ledger;
+    private final Set<Long> hotProductIds;
+    private final long reservationTtlMs;
+
+    public StockReservationService(
+            ProductMapper productMapper,
+            StockLedger ledger,
+            @Value("${stock.ledger.hot-product-ids:}") List<Long> hotProductIds,
+            @Value("${stock.ledger.reservation-ttl-ms:300000}") long reservationTtlMs
+    ) {
+        this.productMapper = productMapper;
+        this.ledger = ledger;
+        this.hotProductIds = Set.copyOf(hotProductIds);
+        this.reservationTtlMs = reservationTtlMs;
+    }
+
+    /**
+     * 주문 재고 차감. 트랜잭션 안에서 호출해야 하며, 부족한 상품을 모두 모아 OUT_OF_STOCK 으로 던진다.
+     *
+     * @param need 상품별 필요 수량
+     * @return 원장에서 예약한 상품 ID (판매량은 원장 확정 때 적립되므로 호출자가 DB 판매량 증가에서 뺀다)
+     */
+    public Set<Long> reserve(Long orderId, Map<Long, Integer> need) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 예약은 트랜잭션 안에서 호출해야 합니다.");
+        }
+        Set<Long> members = ledger.members(need.keySet());
+        Map<Long, Integer> hot = new TreeMap<>();
+        Map<Long, Integer> cold = new TreeMap<>();
+        need.forEach((productId, qty) -> {
+            if (qty == null || qty <= 0) {
+                throw new RefitException(ErrorCode.OUT_OF_STOCK, "잘못된 수량: " + qty);
+            }
+            (members.contains(productId) ? hot : cold).put(productId, qty);
+        });
+
+        // 1) 일반 상품: 한 번에 잠그고 부족분 확인
+        List<String> shortages = new ArrayList<>();
+        List<StockLineDto> coldLines = lockAndCheck(cold, shortages);
+        if (!cold.isEmpty()) {
+            // 확인과 잠금 사이에 원장에 올라간 상품은 원장 재고가 이미 잡혀 있으므로 여기서 차감하면 안 된다
+            Set<Long> promoted = ledger.members(cold.keySet());
+            if (!promoted.isEmpty()) {
+                throw new RefitException(ErrorCode.STATUS_CONFLICT, "재고 원장 전환 중: productIds=" + promoted);
+            }
+        }
+
+        // 2) 인기 상품: 원장 예약 (일반 상품이 이미 부족하면 예약하지 않고 부족분만 모은다)
+        if (!hot.isEmpty()) {
+            if (shortages.isEmpty()) {
+                reserveHot(orderId, hot, shortages);
+            } else {
+                ledger.available(hot.keySet()).forEach((productId, avail) -> {
+                    if (avail < hot.get(productId)) {
+                        shortages.add(shortage(productId, avail, hot.get(productId)));
+                    }
+                });
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new RefitException(ErrorCode.OUT_OF_STOCK, "재고 부족: " + String.join(", ", shortages));
+        }
+
+        // 3) 일반 상품 일괄 차감 (실패 시 롤백 → 원장 예약도 해제)
+        if (!coldLines.isEmpty()) {
+            int updated = productMapper.decreaseStocks(coldLines);
+            log.info("PRODUCT 재고 일괄 UPDATE 결과: {}/{}", updated, coldLines.size());
+            if (updated != coldLines.size()) {
+                throw new RefitException(ErrorCode.OUT_OF_STOCK,
+                        "차감 실패(동시성): orderId=" + orderId + ", updated=" + updated + "/" + coldLines.size());
+            }
+        }
+        return hot.keySet();
+    }
+
+    /**
+     * 취소 반품 재고 복원. 원장 상품도 PRODUCT.STOCK 에 더한다: 호출 트랜잭션과 함께 롤백되고,
+     * 원장 가용 재고에는 다음 동기화 때 반영된다 (그 전까지는 적게 잡히는 쪽으로만 어긋남)
+     */
+    @Transactional
+    public void restock(Long productId, int qty) {
+        if (qty <= 0) {
+            return;
+        }
+        productMapper.increaseStock(productId, qty);
+    }
+
+    /**
+     * 만료된 원장 예약 정리: 주문이 결제 반영됐으면 확정, 아니면 해제. 주문 행을 잠가 반영 중인 승인과 겹치지 않게 한다
+     *
+     * @return true = 확정
+     */
+    @Transactional
+    public boolean resolveExpired(Long orderId) {
+        Integer status = productMapper.selectOrderStatusForUpdate(orderId);
+        if (status != null && status != 0) {
+            ledger.commit(orderId);
+            return true;
+        }
+        ledger.release(orderId);
+        return false;
+    }
+
+    public List<Long> expiredReservations(int limit) {
+        return ledger.expiredReservations(System.currentTimeMillis(), limit);
+    }
+
+    /**
+     * 원장 → PRODUCT 동기화.
+     * <ol>
+     *   <li>원장 상품과 설정 상품의 PRODUCT 행을 잠그고, 설정에서 빠진 상품은 원장에서 내리고 새로 들어온 상품은 올린다.
+     *       행을 잠근 채 바꾸므로 일반 경로 주문은 커밋 뒤의 STOCK 을 본다.</li>
+     *   <li>원장에 쌓인 재고 증감분을 STOCK 에 더하고 판매량을 SALES_COUNT 에 더한다 (덮어쓰지 않음).</li>
+     *   <li>커밋된 뒤에만 반영한 만큼 원장에서 빼고 avail 을 커밋된 STOCK 기준으로 다시 맞춘다.
+     *       롤백되면 원장 값은 그대로라 다음 주기에 다시 반영된다. 단 이번에 내린 상품은 내려간 채로 남아,
+     *       다음 동기화 전까지는 PRODUCT.STOCK 이 남은 증감분만큼 어긋난다.</li>
+     * </ol>
+     *
+     * @return 증감분을 반영한 STOCK 행 수
+     */
+    @Transactional
+    public int syncToDatabase() {
+        Set<Long> current = ledger.productIds();
+        Set<Long> productIds = new TreeSet<>(current);
+        productIds.addAll(hotProductIds);
+        Map<Long, Long> stocks = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (StockLineDto row : productMapper.selectStocksForUpdate(productIds)) {
+                stocks.put(row.getProductId(), (long) row.getStock());
+            }
+        }
+
+        Set<Long> members = new HashSet<>();
+        for (Long productId : productIds) {
+            boolean wanted = hotProductIds.contains(productId) && stocks.containsKey(productId);
+            if (!wanted) {
+                if (current.contains(productId)) {
+                    ledger.remove(productId);
+                    log.info("[StockLedger] retired productId={}", productId);
+                }
+                continue;
+            }
+            if (!current.contains(productId)) {
+                ledger.promote(productId, stocks.get(productId));
+                log.info("[StockLedger] promoted productId={} stock={}", productId, stocks.get(productId));
+            }
+            members.add(productId);
+        }
+
+        // 원장에서 내린 상품의 남은 증감분도 함께 반영한다
+        Map<Long, Long> deltas = ledger.pendingDeltas();
+        Map<Long, Long> sold = ledger.pendingSold();
+        int written = deltas.isEmpty() ? 0 : productMapper.applyStockDeltas(lines(deltas));
+        if (!sold.isEmpty()) {
+            productMapper.increaseSalesCounts(lines(sold));
+        }
+
+        Map<Long, Long> committed = new HashMap<>();
+        for (Long productId : members) {
+            committed.put(productId, stocks.get(productId) + deltas.getOrDefault(productId, 0L));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    ledger.settle(deltas, sold, committed);
+                } catch (Exception e) {
+                    // 반영한 값이 원장에 남아 다음 주기에 한 번 더 더해진다 (수동 보정 필요)
+                    log.error("[StockLedger] settle failed deltas={} sold={}: {}", deltas, sold, e.toString());
+                }
+            }
+        });
+        return written;
+    }
+
+    private static List<StockLineDto> lines(Map<Long, Long> qtyByProduct) {
+        List<StockLineDto> lines = new ArrayList<>(qtyByProduct.size());
+        qtyByProduct.forEach((productId, qty) ->
+                lines.add(StockLineDto.builder().productId(productId).qty(qty.intValue()).build()));
+        return lines;
+    }
+
+    private List<StockLineDto> lockAndCheck(Map<Long, Integer> need, List<String> shortages) {
+        if (need.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> stocks = new HashMap<>();
+        for (StockLineDto row : productMapper.selectStocksForUpdate(need.keySet())) {
+            stocks.put(row.getProductId(), row.getStock());
+        }
+        List<StockLineDto> lines = new ArrayList<>(need.size());
+        need.forEach((productId, qty) -> {
+            Integer stock = stocks.get(productId);
+            if (stock == null) {
+                shortages.add("productId=" + productId + "(상품 없음)");
+            } else if (stock < qty) {
+                shortages.add(shortage(productId, stock, qty));
+            }
+            lines.add(StockLineDto.builder().productId(productId).qty(qty).build());
+        });
+        return lines;
+    }
+
+    private void reserveHot(Long orderId, Map<Long, Integer> need, List<String> shortages) {
+        long expireAt = System.currentTimeMillis() + reservationTtlMs;
+        Map<Long, Long> result = ledger.reserve(orderId, need, expireAt);
+
+        // avail 이 없는 원장 상품(Redis 재시작 등)은 PRODUCT 행을 잠가 현재 재고로 올린 뒤 한 번 더 시도
+        List<Long> unseeded = result.entrySet().stream().filter(e -> e.getValue() < 0).map(Map.Entry::getKey).toList();
+        if (!unseeded.isEmpty()) {
+            List<Long> retired = new ArrayList<>();
+            for (StockLineDto row : productMapper.selectStocksForUpdate(unseeded)) {
+                long seeded = ledger.seed(row.getProductId(), row.getStock());
+                if (seeded > 0) {
+                    log.info("[StockLedger] seeded productId={} stock={}", row.getProductId(), row.getStock());
+                } else if (seeded < 0) {
+                    retired.add(row.getProductId());
+                }
+            }
+            if (!retired.isEmpty()) {
+                // 그 사이 원장에서 내려감: 이 주문은 다시 시도하면 PRODUCT 경로로 간다
+                throw new RefitException(ErrorCode.STATUS_CONFLICT, "재고 원장 전환 중: productIds=" + retired);
+            }
+            result = ledger.reserve(orderId, need, expireAt);
+        }
+
+        if (!result.isEmpty()) {
+            result.forEach((productId, avail) -> shortages.add(avail < 0
+                    ? "productId=" + productId + "(상품 없음)"
+                    : shortage(productId, avail, need.get(productId))));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        ledger.commit(orderId);
+                    } else {
+                        ledger.release(orderId);
+                    }
+                } catch (Exception e) {
+                    // 만료 정리 잡이 주문 상태를 보고 마무리한다
+                    log.warn("[StockLedger] afterCompletion failed orderId={} status={}: {}", orderId, status,
+                            e.toString());
+                }
+            }
+        });
+    }
+
+    private static String shortage(Long productId, long stock, int qty) {
+        return "productId=" + productId + "(stock=" + stock + ", need=" + qty + ")";
+    }
+}
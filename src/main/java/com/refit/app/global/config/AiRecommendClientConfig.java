@@ -0,0 +1,49 @@
+package com.refit.app.global.config;
+
+import com.refit.app.infra.ai.AiRecommendProps;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(AiRecommendProps.class)
+public class AiRecommendClientConfig {
+
+    // 공유 커넥션 풀 (keep-alive 재사용). Reactor Netty 풀은 원격 주소(route)별로 maxConnections 를 따로 센다
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiRecommendConnectionProvider(AiRecommendProps props) {
+        AiRecommendProps.Pool pool = props.getPool();
+        return ConnectionProvider.builder("ai-recommend")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictInBackgroundMs()))
+                .build();
+    }
+
+    @Bean("aiRecommendWebClient")
+    public WebClient aiRecommendWebClient(AiRecommendProps props,
+            ConnectionProvider aiRecommendConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(aiRecommendConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, props.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofMillis(props.getTimeoutMs()));
+
+        return WebClient.builder()
+                .baseUrl(props.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+}
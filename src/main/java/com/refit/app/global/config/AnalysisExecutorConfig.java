@@ -0,0 +1,61 @@
+package com.refit.app.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    // 분석 단계(DB/LLM) 전용 풀 (OCR/LLM 대기 위주라 공용 ForkJoinPool과 분리)
+    @Bean(name = "analysisExecutor")
+    public ThreadPoolTaskExecutor analysisExecutor(
+            @Value("${analysis.executor.core-size:8}") int coreSize,
+            @Value("${analysis.executor.max-size:32}") int maxSize,
+            @Value("${analysis.executor.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("analysis-");
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        return ex;
+    }
+
+    // 스트리밍 요청 1건 = 작업 1개. 단계 풀과 분리해 두어야 요청 작업이 단계 작업을 기다리며 풀을 잠그지 않는다
+    @Bean(name = "analysisRequestExecutor")
+    public ThreadPoolTaskExecutor analysisRequestExecutor(
+            @Value("${analysis.request-executor.core-size:8}") int coreSize,
+            @Value("${analysis.request-executor.max-size:16}") int maxSize,
+            @Value("${analysis.request-executor.queue-capacity:50}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("analysis-req-");
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        return ex;
+    }
+
+    // 블로킹 OCR 엔진(OpenAI Vision) 호출 + 헤지 타이머. 벤더가 느려져도 단계 풀을 잠식하지 않도록 분리
+    @Bean(name = "ocrExecutor")
+    public ThreadPoolTaskExecutor ocrExecutor(
+            @Value("${ocr.executor.core-size:4}") int coreSize,
+            @Value("${ocr.executor.max-size:16}") int maxSize,
+            @Value("${ocr.executor.queue-capacity:50}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("ocr-");
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        return ex;
+    }
+}
@@ -0,0 +1,27 @@
+package com.refit.app.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class NotificationExecutorConfig {
+
+    // 푸시 아웃박스 발송 (FCM 블로킹 호출). 큐가 차면 이번 건은 아웃박스 폴러가 다시 가져간다
+    @Bean(name = "notificationDispatchExecutor")
+    public ThreadPoolTaskExecutor notificationDispatchExecutor(
+            @Value("${notification.outbox.executor.core-size:2}") int coreSize,
+            @Value("${notification.outbox.executor.max-size:8}") int maxSize,
+            @Value("${notification.outbox.executor.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("noti-dispatch-");
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        return ex;
+    }
+}
@@ -11,10 +11,11 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import com.refit.app.infra.ocr.ClovaOcrProps;
+import com.refit.app.infra.ocr.OcrProps;
 import reactor.netty.http.client.HttpClient;
 
 @Configuration
-@EnableConfigurationProperties({ClovaOcrProps.class})
+@EnableConfigurationProperties({ClovaOcrProps.class, OcrProps.class})
 public class OcrWebClientConfig {
 
     @Bean
@@ -0,0 +1,26 @@
+package com.refit.app.global.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OpenAiClientConfig {
+
+    // Spring AI(OpenAI) 블로킹 호출이 쓰는 RestClient 타임아웃.
+    // 소켓 읽기는 인터럽트로 끊기지 않으므로, 분석 단계 타임아웃 뒤에도 풀 스레드가 묶이는 시간의 상한이 된다
+    @Bean
+    public RestClientCustomizer llmHttpTimeouts(
+            @Value("${llm.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+            @Value("${llm.http.read-timeout-ms:20000}") long readTimeoutMs
+    ) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+                .withConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .withReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return builder -> builder.requestFactory(ClientHttpRequestFactoryBuilder.detect().build(settings));
+    }
+}
@@ -0,0 +1,38 @@
+package com.refit.app.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RecommendExecutorConfig {
+
+    // 추천 캐시 만료 임박 항목의 백그라운드 재검증 (AI 추천 호출). 큐가 차면 이번 재검증은 건너뛴다
+    @Bean(name = "recommendRefreshExecutor")
+    public ThreadPoolTaskExecutor recommendRefreshExecutor(
+            @Value("${reco.cache.refresh-executor.core-size:2}") int coreSize,
+            @Value("${reco.cache.refresh-executor.max-size:8}") int maxSize,
+            @Value("${reco.cache.refresh-executor.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("reco-refresh-");
+        ex.setCorePoolSize(coreSize);
+        ex.setMaxPoolSize(maxSize);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setWaitForTasksToCompleteOnShutdown(false);
+        return ex;
+    }
+
+    // 추천 워밍 실행 전용 (한 번에 1회). 이전 실행이 아직 돌고 있으면 새 실행은 거절된다
+    @Bean(name = "recommendWarmupExecutor")
+    public ThreadPoolTaskExecutor recommendWarmupExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("reco-warmup-");
+        ex.setCorePoolSize(1);
+        ex.setMaxPoolSize(1);
+        ex.setQueueCapacity(0);
+        ex.setWaitForTasksToCompleteOnShutdown(false); // 종료 시 인터럽트 → 진행 현황만 남기고 멈춘다
+        return ex;
+    }
+}
@@ -1,12 +1,27 @@
 package com.refit.app.global.config;
 
 import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
 @EnableScheduling
 @EnableSchedulerLock(defaultLockAtMostFor = "PT10M") // 최대 10분
 public class SchedulingConfig {
 
+    // 기본 스케줄러는 스레드 1개라 잡 하나가 늘어지면 아웃박스/재고 동기화/결제 복구 폴링이 모두 밀린다
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${scheduling.pool-size:4}") int poolSize
+    ) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("sched-");
+        scheduler.setPoolSize(poolSize);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
 }
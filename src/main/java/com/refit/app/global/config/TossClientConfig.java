@@ -1,23 +1,33 @@
 package com.refit.app.global.config;
 
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.env.Environment;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
 @Configuration
 @RequiredArgsConstructor
 public class TossClientConfig {
     private final Environment env;
 
+    // 결제 승인 복구 잡의 선점 해제 대기(PaymentServiceImpl.releaseAfter)가 이 타임아웃에서 나온다
     @Bean("tossWebClient")
     public WebClient tossWebClient() {
         String secret = env.getProperty("toss.secret-key");
+        int connectTimeoutMs = env.getProperty("toss.http.connect-timeout-ms", Integer.class, 3000);
+        long responseTimeoutMs = env.getProperty("toss.http.response-timeout-ms", Long.class, 30000L);
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
         return WebClient.builder()
                 .baseUrl(env.getProperty("toss.api-base"))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeaders(h -> h.setBasicAuth(secret, ""))
                 .build();
     }
 }
-
@@ -0,0 +1,72 @@
+package com.refit.app.global.util;
+
+/**
+ * 외부 호출 대상(OCR 엔진, AI 추천 서버 등)별 서킷 브레이커.
+ * 연속 실패 failureThreshold 회 → OPEN(openMs 동안 호출 안 함) → HALF_OPEN 시험 1건 → 성공 시 CLOSED
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMs;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = openMs;
+    }
+
+    /**
+     * 이번 호출을 보내도 되는지. HALF_OPEN 에서는 동시에 1건만 허용
+     */
+    public synchronized boolean tryAcquire(long nowMs) {
+        if (state == State.OPEN && nowMs - openedAtMs >= openMs) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure(long nowMs) {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMs = nowMs;
+        }
+    }
+
+    /**
+     * 결과와 무관하게 호출이 취소된 경우 (헤지 패자). 성공/실패로 세지 않고 시험 슬롯만 돌려준다
+     */
+    public synchronized void onCancelled() {
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -2,64 +2,100 @@ package com.refit.app.infra.ai;
 
 import com.refit.app.domain.product.dto.request.AiRecommendRequest;
 import com.refit.app.domain.product.dto.response.AiRecommendResponse;
-import lombok.RequiredArgsConstructor;
-import org.apache.hc.client5.http.config.RequestConfig;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import com.refit.app.global.util.CircuitBreaker;
+import io.netty.channel.ConnectTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
-
-import java.net.URI;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
 
+/**
+ * 외부 AI 추천 서버 클라이언트. 공유 커넥션 풀(AiRecommendClientConfig) 위의 논블로킹 호출.
+ * <p>
+ * 시도마다 응답 타임아웃, 연결 실패/타임아웃/5xx/429 는 지터 백오프로 재시도, 연속 실패가 쌓이면 서킷 OPEN 동안 바로 실패한다.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class AiRecommendClient {
 
-    @Value("${external.ai.base-url}")
-    private String baseUrl;
-
-    @Value("${external.ai.path}")
-    private String path;
-
-    @Value("${external.ai.timeout-ms:20000}")
-    private int timeoutMs;
-
-    private RestTemplate restTemplate() {
-        RequestConfig config = RequestConfig.custom()
-                .setConnectTimeout(timeoutMs, java.util.concurrent.TimeUnit.MILLISECONDS)
-                .setResponseTimeout(timeoutMs, java.util.concurrent.TimeUnit.MILLISECONDS)
-                .build();
-
-        CloseableHttpClient httpClient = HttpClients.custom()
-                .setDefaultRequestConfig(config)
-                .build();
+    private final WebClient webClient;
+    private final AiRecommendProps props;
+    private final CircuitBreaker breaker;
 
-        HttpComponentsClientHttpRequestFactory factory =
-                new HttpComponentsClientHttpRequestFactory(httpClient);
-
-        return new RestTemplate(factory);
+    public AiRecommendClient(@Qualifier("aiRecommendWebClient") WebClient webClient,
+            AiRecommendProps props) {
+        this.webClient = webClient;
+        this.props = props;
+        this.breaker = new CircuitBreaker(props.getBreaker().getFailureThreshold(),
+                props.getBreaker().getOpenMs());
     }
 
-    public AiRecommendResponse request(AiRecommendRequest req) {
-        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
-                .path(path)
-                .build()
-                .toUri();
+    /**
+     * 구독 시점에 호출. 서킷 OPEN 이면 바로 실패
+     */
+    public Mono<AiRecommendResponse> requestMono(AiRecommendRequest req) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire(System.currentTimeMillis())) {
+                return Mono.error(new IllegalStateException(
+                        "AI 추천 서버 호출 차단 (circuit " + breaker.state() + ")"));
+            }
+            AiRecommendProps.Retry retry = props.getRetry();
+            return webClient.post()
+                    .uri(props.getPath())
+                    .bodyValue(req)
+                    .retrieve()
+                    .bodyToMono(AiRecommendResponse.class)
+                    .switchIfEmpty(Mono.error(new IllegalStateException("AI API 응답 본문 없음")))
+                    .timeout(Duration.ofMillis(props.getTimeoutMs()))
+                    .retryWhen(Retry.backoff(retry.getMaxRetries(), Duration.ofMillis(retry.getBackoffMs()))
+                            .maxBackoff(Duration.ofMillis(retry.getMaxBackoffMs()))
+                            .jitter(retry.getJitter())
+                            .filter(AiRecommendClient::retryable)
+                            .doBeforeRetry(s -> log.warn("[AI-RECO] retry #{} after {}",
+                                    s.totalRetries() + 1, s.failure().toString()))
+                            .onRetryExhaustedThrow((spec, s) -> s.failure()))
+                    .timeout(Duration.ofMillis(props.getTotalTimeoutMs()))
+                    .doOnSuccess(r -> breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (serverSide(e)) {
+                            breaker.onFailure(System.currentTimeMillis());
+                        } else {
+                            breaker.onSuccess(); // 4xx 등 요청 문제: 서버는 살아 있음
+                        }
+                    })
+                    .doFinally(sig -> {
+                        if (sig == SignalType.CANCEL) {
+                            breaker.onCancelled();
+                        }
+                    });
+        });
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    /**
+     * 서블릿 스레드를 잡지 않는 호출 (결과는 Netty 이벤트 루프에서 완료)
+     */
+    public CompletableFuture<AiRecommendResponse> requestAsync(AiRecommendRequest req) {
+        return requestMono(req).toFuture();
+    }
 
-        HttpEntity<AiRecommendRequest> entity = new HttpEntity<>(req, headers);
-        ResponseEntity<AiRecommendResponse> resp =
-                restTemplate().postForEntity(uri, entity, AiRecommendResponse.class);
+    private static boolean serverSide(Throwable t) {
+        return retryable(t) || t instanceof IllegalStateException;
+    }
 
-        if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
-            throw new RuntimeException("AI API 호출 실패: " + resp.getStatusCode());
+    private static boolean retryable(Throwable t) {
+        if (t instanceof WebClientResponseException e) {
+            return e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == 429;
         }
-        return resp.getBody();
+        return t instanceof WebClientRequestException   // 연결 실패/리셋 (풀의 끊긴 연결 포함)
+                || t instanceof TimeoutException
+                || t instanceof ConnectTimeoutException;
     }
 }
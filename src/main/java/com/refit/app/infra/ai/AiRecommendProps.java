@@ -0,0 +1,51 @@
+package com.refit.app.infra.ai;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "external.ai")
+public class AiRecommendProps {
+
+    private String baseUrl;
+    private String path;
+
+    /** 시도 1회 응답 대기 한도 */
+    private int timeoutMs = 20000;
+    private int connectTimeoutMs = 2000;
+    /** 재시도 포함 호출 1건 전체 한도 (MVC 비동기 요청 타임아웃보다 짧게) */
+    private long totalTimeoutMs = 25000;
+
+    private final Pool pool = new Pool();
+    private final Retry retry = new Retry();
+    private final Breaker breaker = new Breaker();
+
+    @Data
+    public static class Pool {
+        /** 추천 서버(호스트:포트) 하나당 최대 연결 수 */
+        private int maxConnections = 50;
+        /** 연결이 다 쓰이고 있을 때 빈 연결을 기다리는 한도 */
+        private long pendingAcquireTimeoutMs = 2000;
+        private int pendingAcquireMaxCount = 200;
+        /** 서버/LB 유휴 타임아웃보다 짧게 → 끊긴 keep-alive 연결 재사용 방지 */
+        private long maxIdleTimeMs = 30000;
+        private long maxLifeTimeMs = 300000;
+        private long evictInBackgroundMs = 60000;
+    }
+
+    @Data
+    public static class Retry {
+        /** 재시도 횟수 (연결 실패/타임아웃/5xx/429 만) */
+        private int maxRetries = 2;
+        private long backoffMs = 200;
+        private long maxBackoffMs = 2000;
+        /** 백오프에 곱하는 ±지터 비율 */
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class Breaker {
+        private int failureThreshold = 5;
+        private long openMs = 30000;
+    }
+}
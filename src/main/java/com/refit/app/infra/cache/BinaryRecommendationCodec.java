@@ -0,0 +1,306 @@
+package com.refit.app.infra.cache;
+
+import com.refit.app.domain.product.dto.ProductRecommendationItemDto;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 추천 응답 전용 바이너리 형식 (스키마 버전 포함).
+ * <pre>
+ * [0] MAGIC 0xB7  (JSON 은 '{' 로 시작하므로 첫 바이트로 구분)
+ * [1] 하위 4비트 = 버전, FLAG_DEFLATE = 본문 압축
+ * (압축 시) varint 원본 길이
+ * 본문: varint (항목 수 + 1, 0 = items null)
+ *       항목마다 존재 비트 1바이트 + 있는 필드만 (숫자는 zigzag varint, 문자열은 varint 길이 + UTF-8)
+ * </pre>
+ * 본문이 compressMinBytes 이상이면 Deflate(BEST_SPEED) 로 줄이고, 줄지 않으면 그대로 둔다.
+ * 필드를 추가할 때는 존재 비트 뒤쪽에 붙이고 VERSION 을 올린다.
+ */
+public class BinaryRecommendationCodec implements RecommendationCodec {
+
+    static final byte MAGIC = (byte) 0xB7;
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 0x10;
+
+    private static final int F_PRODUCT_ID = 1;
+    private static final int F_THUMBNAIL = 1 << 1;
+    private static final int F_BRAND = 1 << 2;
+    private static final int F_NAME = 1 << 3;
+    private static final int F_DISCOUNT_RATE = 1 << 4;
+    private static final int F_PRICE = 1 << 5;
+    private static final int F_DISCOUNTED_PRICE = 1 << 6;
+
+    // 손상된 값으로 거대한 배열을 잡지 않도록
+    private static final int MAX_ITEMS = 10_000;
+    private static final int MAX_RAW_BYTES = 8 * 1024 * 1024;
+
+    private final int compressMinBytes;
+
+    /**
+     * @param compressMinBytes 본문이 이 크기 이상이면 압축 (0 이하면 압축 안 함)
+     */
+    public BinaryRecommendationCodec(int compressMinBytes) {
+        this.compressMinBytes = compressMinBytes;
+    }
+
+    public static boolean accepts(byte[] bytes) {
+        return bytes != null && bytes.length >= 2 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(ProductRecommendationResponse value) {
+        Writer w = new Writer(256);
+        List<ProductRecommendationItemDto> items = value == null ? null : value.getItems();
+        w.varint(items == null ? 0 : items.size() + 1);
+        if (items != null) {
+            for (ProductRecommendationItemDto it : items) {
+                writeItem(w, it);
+            }
+        }
+
+        if (compressMinBytes > 0 && w.size >= compressMinBytes) {
+            byte[] packed = deflate(w.buf, w.size);
+            Writer header = new Writer(packed.length + 8);
+            header.raw(MAGIC);
+            header.raw((byte) (VERSION | FLAG_DEFLATE));
+            header.varint(w.size);
+            if (header.size + packed.length < w.size + 2) {
+                header.raw(packed, packed.length);
+                return header.toBytes();
+            }
+        }
+        byte[] out = new byte[w.size + 2];
+        out[0] = MAGIC;
+        out[1] = (byte) VERSION;
+        System.arraycopy(w.buf, 0, out, 2, w.size);
+        return out;
+    }
+
+    @Override
+    public ProductRecommendationResponse decode(byte[] bytes) throws IOException {
+        if (!accepts(bytes)) {
+            throw new IOException("not a binary recommendation payload");
+        }
+        int flags = bytes[1] & 0xFF;
+        if ((flags & 0x0F) != VERSION) {
+            throw new IOException("unsupported recommendation codec version: " + (flags & 0x0F));
+        }
+
+        Reader r;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            Reader header = new Reader(bytes, 2, bytes.length);
+            int rawLen = header.varint();
+            if (rawLen < 0 || rawLen > MAX_RAW_BYTES) {
+                throw new IOException("invalid raw length: " + rawLen);
+            }
+            byte[] raw = inflate(bytes, header.pos, rawLen);
+            r = new Reader(raw, 0, raw.length);
+        } else {
+            r = new Reader(bytes, 2, bytes.length);
+        }
+
+        int count = r.varint();
+        if (count == 0) {
+            return new ProductRecommendationResponse(null);
+        }
+        count--;
+        if (count > MAX_ITEMS) {
+            throw new IOException("too many items: " + count);
+        }
+        List<ProductRecommendationItemDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(readItem(r));
+        }
+        return new ProductRecommendationResponse(items);
+    }
+
+    private static void writeItem(Writer w, ProductRecommendationItemDto it) {
+        if (it == null) {
+            w.raw((byte) 0);
+            return;
+        }
+        int present = (it.getProductId() != null ? F_PRODUCT_ID : 0)
+                | (it.getThumbnailUrl() != null ? F_THUMBNAIL : 0)
+                | (it.getBrandName() != null ? F_BRAND : 0)
+                | (it.getProductName() != null ? F_NAME : 0)
+                | (it.getDiscountRate() != null ? F_DISCOUNT_RATE : 0)
+                | (it.getPrice() != null ? F_PRICE : 0)
+                | (it.getDiscountedPrice() != null ? F_DISCOUNTED_PRICE : 0);
+        w.raw((byte) present);
+        if (it.getProductId() != null) w.zigzag(it.getProductId());
+        if (it.getThumbnailUrl() != null) w.string(it.getThumbnailUrl());
+        if (it.getBrandName() != null) w.string(it.getBrandName());
+        if (it.getProductName() != null) w.string(it.getProductName());
+        if (it.getDiscountRate() != null) w.zigzag(it.getDiscountRate());
+        if (it.getPrice() != null) w.zigzag(it.getPrice());
+        if (it.getDiscountedPrice() != null) w.zigzag(it.getDiscountedPrice());
+    }
+
+    private static ProductRecommendationItemDto readItem(Reader r) throws IOException {
+        int present = r.u8();
+        return ProductRecommendationItemDto.builder()
+                .productId((present & F_PRODUCT_ID) != 0 ? r.zigzag() : null)
+                .thumbnailUrl((present & F_THUMBNAIL) != 0 ? r.string() : null)
+                .brandName((present & F_BRAND) != 0 ? r.string() : null)
+                .productName((present & F_NAME) != 0 ? r.string() : null)
+                .discountRate((present & F_DISCOUNT_RATE) != 0 ? (int) r.zigzag() : null)
+                .price((present & F_PRICE) != 0 ? r.zigzag() : null)
+                .discountedPrice((present & F_DISCOUNTED_PRICE) != 0 ? r.zigzag() : null)
+                .build();
+    }
+
+    private static byte[] deflate(byte[] src, int len) {
+        Deflater d = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            d.setInput(src, 0, len);
+            d.finish();
+            byte[] out = new byte[len + 64];
+            int n = 0;
+            while (!d.finished()) {
+                if (n == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                n += d.deflate(out, n, out.length - n);
+            }
+            return Arrays.copyOf(out, n);
+        } finally {
+            d.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] src, int off, int rawLen) throws IOException {
+        Inflater inf = new Inflater(true);
+        try {
+            inf.setInput(src, off, src.length - off);
+            byte[] out = new byte[rawLen];
+            int n = 0;
+            while (n < rawLen) {
+                int k = inf.inflate(out, n, rawLen - n);
+                if (k == 0 && (inf.finished() || inf.needsInput() || inf.needsDictionary())) {
+                    break;
+                }
+                n += k;
+            }
+            if (n != rawLen) {
+                throw new IOException("truncated compressed payload");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupt compressed payload", e);
+        } finally {
+            inf.end();
+        }
+    }
+
+    private static final class Writer {
+
+        byte[] buf;
+        int size;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+
+        void raw(byte b) {
+            ensure(1);
+            buf[size++] = b;
+        }
+
+        void raw(byte[] src, int len) {
+            ensure(len);
+            System.arraycopy(src, 0, buf, size, len);
+            size += len;
+        }
+
+        void varint(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[size++] = (byte) v;
+        }
+
+        void zigzag(long v) {
+            varint((v << 1) ^ (v >> 63));
+        }
+
+        void string(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            varint(b.length);
+            raw(b, b.length);
+        }
+
+        byte[] toBytes() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+
+    private static final class Reader {
+
+        final byte[] buf;
+        final int end;
+        int pos;
+
+        Reader(byte[] buf, int pos, int end) {
+            this.buf = buf;
+            this.pos = pos;
+            this.end = end;
+        }
+
+        int u8() throws IOException {
+            if (pos >= end) {
+                throw new IOException("unexpected end of payload");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        long varlong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return v;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        int varint() throws IOException {
+            long v = varlong();
+            if (v < 0 || v > Integer.MAX_VALUE) {
+                throw new IOException("varint out of range: " + v);
+            }
+            return (int) v;
+        }
+
+        long zigzag() throws IOException {
+            long v = varlong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string() throws IOException {
+            int len = varint();
+            if (len > end - pos) {
+                throw new IOException("string length exceeds payload");
+            }
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+    }
+}
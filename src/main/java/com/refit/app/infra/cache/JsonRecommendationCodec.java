@@ -0,0 +1,25 @@
+package com.refit.app.infra.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 기존 JSON 문자열 형식. 바이너리 전환 전에 저장된 키를 읽을 때도 쓴다
+ */
+@RequiredArgsConstructor
+public class JsonRecommendationCodec implements RecommendationCodec {
+
+    private final ObjectMapper om;
+
+    @Override
+    public byte[] encode(ProductRecommendationResponse value) throws IOException {
+        return om.writeValueAsBytes(value);
+    }
+
+    @Override
+    public ProductRecommendationResponse decode(byte[] bytes) throws IOException {
+        return om.readValue(bytes, ProductRecommendationResponse.class);
+    }
+}
@@ -5,4 +5,14 @@ import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
 public interface RecommendationCacheRepository {
     ProductRecommendationResponse get(String key);
     void put(String key, ProductRecommendationResponse value, long ttlSeconds);
+
+    /**
+     * 값 + 남은 TTL. 없으면 null. TTL 을 모르면 ttlMillis = -1
+     */
+    default Hit getWithTtl(String key) {
+        ProductRecommendationResponse v = get(key);
+        return v == null ? null : new Hit(v, -1L);
+    }
+
+    record Hit(ProductRecommendationResponse value, long ttlMillis) {}
 }
@@ -0,0 +1,14 @@
+package com.refit.app.infra.cache;
+
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.io.IOException;
+
+/**
+ * Redis 에 저장하는 추천 응답 직렬화 방식 (reco.cache.codec = binary | json)
+ */
+public interface RecommendationCodec {
+
+    byte[] encode(ProductRecommendationResponse value) throws IOException;
+
+    ProductRecommendationResponse decode(byte[] bytes) throws IOException;
+}
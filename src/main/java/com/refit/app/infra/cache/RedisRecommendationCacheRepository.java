@@ -1,30 +1,72 @@
 package com.refit.app.infra.cache;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+/**
+ * 추천 응답 Redis 저장소. 값은 바이트 그대로 읽고 쓰며, 형식은 reco.cache.codec 으로 고른다.
+ * 읽을 때는 첫 바이트로 형식을 판별하므로 전환 전에 저장된 JSON 키도 TTL 이 끝날 때까지 그대로 읽힌다.
+ */
 @Repository
-@RequiredArgsConstructor
 @Slf4j
 public class RedisRecommendationCacheRepository implements RecommendationCacheRepository {
 
     private final StringRedisTemplate redis;
-    private final ObjectMapper om;
+    private final BinaryRecommendationCodec binary;
+    private final JsonRecommendationCodec json;
+    private final RecommendationCodec writer;
+
+    public RedisRecommendationCacheRepository(
+            StringRedisTemplate redis,
+            ObjectMapper om,
+            @Value("${reco.cache.codec:binary}") String codec,
+            @Value("${reco.cache.compress-min-bytes:512}") int compressMinBytes
+    ) {
+        this.redis = redis;
+        this.binary = new BinaryRecommendationCodec(compressMinBytes);
+        this.json = new JsonRecommendationCodec(om);
+        this.writer = "json".equalsIgnoreCase(codec) ? json : binary;
+    }
 
     @Override
     public ProductRecommendationResponse get(String key) {
         try {
-            String json = redis.opsForValue().get(key);
-            if (json == null) return null;
-            return om.readValue(json, new TypeReference<ProductRecommendationResponse>() {});
+            byte[] k = key.getBytes(StandardCharsets.UTF_8);
+            byte[] v = redis.execute((RedisCallback<byte[]>) conn -> conn.stringCommands().get(k));
+            return v == null ? null : decode(v);
+        } catch (Exception e) {
+            return null; // 캐시 장애 시 소프트 페일
+        }
+    }
+
+    /**
+     * GET + PTTL 을 파이프라인 한 번으로 (L1 적재 시 만료 임박 여부 판단용)
+     */
+    @Override
+    public Hit getWithTtl(String key) {
+        try {
+            byte[] k = key.getBytes(StandardCharsets.UTF_8);
+            List<Object> res = redis.executePipelined((RedisCallback<Object>) conn -> {
+                conn.stringCommands().get(k);
+                conn.keyCommands().pTtl(k);
+                return null;
+            }, RedisSerializer.byteArray());
+            byte[] v = (byte[]) res.get(0);
+            if (v == null) return null;
+            Long ttl = (Long) res.get(1);
+            return new Hit(decode(v), ttl == null || ttl < 0 ? -1L : ttl);
         } catch (Exception e) {
             return null; // 캐시 장애 시 소프트 페일
         }
@@ -33,10 +75,16 @@ public class RedisRecommendationCacheRepository implements RecommendationCacheRe
     @Override
     public void put(String key, ProductRecommendationResponse value, long ttlSeconds) {
         try {
-            String json = om.writeValueAsString(value);
-            redis.opsForValue().set(key, json, ttlSeconds, TimeUnit.SECONDS);
+            byte[] k = key.getBytes(StandardCharsets.UTF_8);
+            byte[] v = writer.encode(value);
+            redis.execute((RedisCallback<Boolean>) conn -> conn.stringCommands()
+                    .set(k, v, Expiration.seconds(ttlSeconds), SetOption.upsert()));
         } catch (Exception e) {
             log.error("Redis put 실패: key=" + key, e);
         }
     }
+
+    private ProductRecommendationResponse decode(byte[] v) throws IOException {
+        return BinaryRecommendationCodec.accepts(v) ? binary.decode(v) : json.decode(v);
+    }
 }
@@ -0,0 +1,271 @@
+package com.refit.app.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * AI 추천 2단 캐시
+ * <ul>
+ *   <li>L1: 인스턴스 로컬 Caffeine (역직렬화된 응답 그대로) → 히트 시 Redis 왕복/JSON 파싱 없음</li>
+ *   <li>L2: Redis (RecommendationCacheRepository) → 인스턴스 간 공유</li>
+ * </ul>
+ * 같은 키의 동시 미스는 진행 중인 로드 하나를 같이 기다린다(AI 호출 1회). 만료가 가까워지면(refresh-ahead) 또는 만료 직후
+ * 유예 시간 안이면 가진 값을 바로 주고 백그라운드에서 다시 채운다.
+ * <p>
+ * L1 값은 요청 간에 공유되는 인스턴스이므로 호출자가 수정하면 안 된다.
+ */
+@Slf4j
+@Component
+public class TieredRecommendationCache {
+
+    private final RecommendationCacheRepository l2;
+    private final Executor refreshExecutor;
+    private final Cache<String, Entry> l1;
+    private final double refreshAheadRatio;
+    private final long staleGraceMs;
+    private final long waitTimeoutMs;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder prefills = new LongAdder();
+
+    public TieredRecommendationCache(
+            RecommendationCacheRepository l2,
+            @Qualifier("recommendRefreshExecutor") Executor refreshExecutor,
+            @Value("${reco.cache.l1.max-size:10000}") long l1MaxSize,
+            @Value("${reco.cache.l1.ttl-ms:600000}") long l1TtlMs,
+            @Value("${reco.cache.refresh-ahead-ratio:0.2}") double refreshAheadRatio,
+            @Value("${reco.cache.stale-grace-ms:300000}") long staleGraceMs,
+            @Value("${reco.cache.wait-timeout-ms:25000}") long waitTimeoutMs
+    ) {
+        this.l2 = l2;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAheadRatio = Math.max(0.0, Math.min(1.0, refreshAheadRatio));
+        this.staleGraceMs = Math.max(0L, staleGraceMs);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfter(new L1Expiry(l1TtlMs, this.staleGraceMs))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param ttlSeconds L2 TTL (새로 로드한 값에 적용)
+     * @param loader     미스일 때 한 번만 호출되는 원본 조회 (AI 추천, 비동기)
+     * @return L1 히트면 이미 완료된 future
+     */
+    public CompletableFuture<ProductRecommendationResponse> getAsync(String key, long ttlSeconds,
+            Supplier<CompletableFuture<ProductRecommendationResponse>> loader) {
+        long now = System.currentTimeMillis();
+        Entry e = l1.getIfPresent(key);
+        if (e != null && now < e.expiresAt + staleGraceMs) {
+            if (now >= e.refreshAt) {
+                // 만료 임박 또는 유예 중: 가진 값을 주고 뒤에서 다시 채운다
+                staleServed.increment();
+                refreshInBackground(key, ttlSeconds, loader);
+            }
+            return CompletableFuture.completedFuture(e.value);
+        }
+        // 공유 future 를 그대로 넘기면 한 호출자의 cancel/timeout 이 다른 대기자에게 번지므로 파생 future 를 준다
+        return load(key, ttlSeconds, loader, false)
+                .thenApply(Entry::value)
+                .orTimeout(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 요청 전에 L2 만 채운다 (워밍 배치용). L1 은 건드리지 않아 실제 요청이 만든 핫 키를 밀어내지 않는다.
+     *
+     * @return 로더를 호출해 채웠으면 true, 이미 신선한 값이 있거나 같은 키를 로드 중이면 false
+     */
+    public CompletableFuture<Boolean> prefill(String key, long ttlSeconds,
+            Supplier<CompletableFuture<ProductRecommendationResponse>> loader) {
+        try {
+            long ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+            RecommendationCacheRepository.Hit hit = l2.getWithTtl(key);
+            boolean fresh = hit != null && usable(hit.value())
+                    && (hit.ttlMillis() < 0 || hit.ttlMillis() > (long) (ttlMs * refreshAheadRatio));
+            if (fresh || inFlight.containsKey(key)) {
+                return CompletableFuture.completedFuture(false);
+            }
+            prefills.increment();
+            return loader.get().thenApply(v -> {
+                if (usable(v)) {
+                    putL2(key, v, ttlSeconds);
+                }
+                return true;
+            });
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public void invalidate(String key) {
+        l1.invalidate(key);
+    }
+
+    /**
+     * 같은 키의 진행 중 로드가 있으면 그 future 를, 없으면 새로 로드를 시작한다
+     */
+    private CompletableFuture<Entry> load(String key, long ttlSeconds,
+            Supplier<CompletableFuture<ProductRecommendationResponse>> loader, boolean refreshing) {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        mine.whenComplete((e, ex) -> inFlight.remove(key, mine));
+        fetch(key, ttlSeconds, loader, refreshing).whenComplete((e, ex) -> {
+            if (ex != null) {
+                mine.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
+            } else {
+                mine.complete(e);
+            }
+        });
+        return mine;
+    }
+
+    private CompletableFuture<Entry> fetch(String key, long ttlSeconds,
+            Supplier<CompletableFuture<ProductRecommendationResponse>> loader, boolean refreshing) {
+        long now = System.currentTimeMillis();
+        long ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+
+        try {
+            // L2: 다른 인스턴스가 이미 채웠거나(재검증 중이면) 새로 갱신해 두었으면 그 값을 쓴다
+            RecommendationCacheRepository.Hit hit = l2.getWithTtl(key);
+            if (hit != null && usable(hit.value())) {
+                Entry e = entry(hit.value(), now, ttlMs, hit.ttlMillis());
+                if (!refreshing || now < e.refreshAt) {
+                    l2Hits.increment();
+                    l1.put(key, e);
+                    return CompletableFuture.completedFuture(e);
+                }
+            }
+
+            loads.increment();
+            return loader.get().thenApply(fresh -> {
+                Entry e = entry(fresh, System.currentTimeMillis(), ttlMs, ttlMs);
+                if (usable(fresh)) {
+                    l1.put(key, e);
+                }
+                putL2(key, fresh, ttlSeconds);
+                return e;
+            });
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * 로더 완료 스레드(Netty 이벤트 루프)에서 Redis 를 쓰지 않도록 넘긴다. 큐가 차면 그 자리에서 쓴다
+     */
+    private void putL2(String key, ProductRecommendationResponse value, long ttlSeconds) {
+        Runnable put = () -> {
+            try {
+                l2.put(key, value, ttlSeconds);
+            } catch (Exception ex) {
+                log.warn("[RecoCache] L2 put failed key={}: {}", key, ex.toString());
+            }
+        };
+        try {
+            refreshExecutor.execute(put);
+        } catch (RejectedExecutionException ex) {
+            put.run();
+        }
+    }
+
+    private void refreshInBackground(String key, long ttlSeconds,
+            Supplier<CompletableFuture<ProductRecommendationResponse>> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> load(key, ttlSeconds, loader, true).whenComplete((e, ex) -> {
+                if (ex != null) {
+                    // 재검증 실패: 유예 시간 동안은 기존 값을 계속 준다
+                    log.warn("[RecoCache] background refresh failed key={}: {}", key, ex.toString());
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            log.debug("[RecoCache] refresh queue full, skip key={}", key);
+        }
+    }
+
+    /**
+     * @param remainingMs L2 남은 TTL (모르면 -1 → 전체 TTL 로 간주)
+     */
+    private Entry entry(ProductRecommendationResponse value, long now, long ttlMs, long remainingMs) {
+        long remaining = remainingMs < 0 ? ttlMs : remainingMs;
+        long expiresAt = now + remaining;
+        long refreshAt = expiresAt - (long) (ttlMs * refreshAheadRatio);
+        return new Entry(value, refreshAt, expiresAt);
+    }
+
+    private static boolean usable(ProductRecommendationResponse v) {
+        return v != null && !CollectionUtils.isEmpty(v.getItems());
+    }
+
+    public CacheStats l1Stats() {
+        return l1.stats();
+    }
+
+    @Scheduled(fixedDelayString = "${reco.cache.stats-log-ms:600000}",
+            initialDelayString = "${reco.cache.stats-log-ms:600000}")
+    public void logStats() {
+        CacheStats s = l1.stats();
+        log.info("[RecoCache] L1 size={} hit={} miss={} rate={} | L2 hit={} loads={} coalesced={} stale={}"
+                        + " prefill={}",
+                l1.estimatedSize(), s.hitCount(), s.missCount(), String.format("%.2f", s.hitRate()),
+                l2Hits.sum(), loads.sum(), coalesced.sum(), staleServed.sum(), prefills.sum());
+    }
+
+    /**
+     * @param refreshAt 이 시각 이후 조회는 백그라운드 재검증
+     * @param expiresAt L2 만료 시각 (이후 staleGraceMs 동안만 stale 제공)
+     */
+    record Entry(ProductRecommendationResponse value, long refreshAt, long expiresAt) {}
+
+    /**
+     * L1 수명 = min(L1 TTL, L2 만료 + 유예)
+     */
+    private record L1Expiry(long l1TtlMs, long staleGraceMs) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry e, long currentTime) {
+            long untilStaleEnd = e.expiresAt() + staleGraceMs - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, Math.min(l1TtlMs, untilStaleEnd)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry e, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, e, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry e, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
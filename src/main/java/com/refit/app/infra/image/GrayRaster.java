@@ -0,0 +1,340 @@
+package com.refit.app.infra.image;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * OCR 전처리용 그레이스케일 래스터. EXIF 회전 + 축소 + 그레이스케일을 한 번에, 대비 늘이기를 한 번 더 해서 총 2패스로 끝낸다.
+ * <p>
+ * 원본 DataBuffer 배열을 직접 읽고, 출력 행을 밴드로 나눠 전용 ForkJoinPool 에서 병렬 처리한다. 출력 버퍼는 풀에서 빌려
+ * 쓰므로 사용 후 반드시 close() (try-with-resources)
+ */
+final class GrayRaster implements AutoCloseable {
+
+    private static final int BAND_ROWS = 64;
+    private static final int PARALLEL_MIN_PIXELS = 256 * 1024; // 이보다 작으면 스레드 전환 비용이 더 큼
+    private static final int BUFFER_ALIGN = 64 * 1024;         // 종횡비가 조금 달라도 버퍼 재사용되도록 올림
+
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final ForkJoinPool WORKERS = new ForkJoinPool(PARALLELISM);
+    private static final ArrayBlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(PARALLELISM * 2);
+
+    private static final ColorModel GRAY_MODEL = new ComponentColorModel(
+            ColorSpace.getInstance(ColorSpace.CS_GRAY), false, false, Transparency.OPAQUE,
+            DataBuffer.TYPE_BYTE);
+
+    private final BufferedImage image;
+    private final ImageQuality quality;
+    private byte[] buffer;
+
+    private GrayRaster(BufferedImage image, byte[] buffer, ImageQuality quality) {
+        this.image = image;
+        this.buffer = buffer;
+        this.quality = quality;
+    }
+
+    BufferedImage image() {
+        return image;
+    }
+
+    /**
+     * 대비 늘이기 전 밝기/선명도/에지 통계 (OCR 전 품질 게이트용)
+     */
+    ImageQuality quality() {
+        return quality;
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            BUFFERS.offer(buffer); // 풀이 차 있으면 그냥 버림
+            buffer = null;
+        }
+    }
+
+    /**
+     * src 를 EXIF orientation 대로 세우고 긴 변이 maxDim 이하가 되도록 줄인 뒤 min-max 대비 늘이기까지 적용한 8bit 그레이 이미지
+     */
+    static GrayRaster render(BufferedImage src, int orientation, int maxDim) {
+        Pixels px = Pixels.of(src);
+        int w = px.width, h = px.height;
+        boolean swap = orientation >= 5 && orientation <= 8;
+        int ow = swap ? h : w, oh = swap ? w : h;
+
+        int max = Math.max(ow, oh);
+        double scale = max > maxDim ? (double) maxDim / max : 1.0;
+        int outW = Math.max(1, (int) Math.round(ow * scale));
+        int outH = Math.max(1, (int) Math.round(oh * scale));
+
+        Mapping m = Mapping.of(orientation, w, h, (double) ow / outW, (double) oh / outH);
+        byte[] out = borrow(outW * outH);
+
+        // 1패스: 회전/축소(쌍선형)/그레이 동시 처리 + 밴드별 밝기/라플라시안 통계
+        int bands = (outH + BAND_ROWS - 1) / BAND_ROWS;
+        BandStats[] stats = new BandStats[bands];
+        boolean parallel = (long) outW * outH >= PARALLEL_MIN_PIXELS;
+        forEachBand(bands, parallel, b -> {
+            int y0 = b * BAND_ROWS, y1 = Math.min(outH, y0 + BAND_ROWS);
+            BandStats st = new BandStats();
+            sampleRows(px, m, out, outW, y0, y1, st);
+            laplacianRows(out, outW, y0, y1, st);
+            stats[b] = st;
+        });
+        ImageQuality quality = ImageQuality.of(BandStats.merge(stats));
+
+        // 2패스: 대비 늘이기 (LUT)
+        int min = quality.minLuma(), hi = quality.maxLuma();
+        if (hi > min && (min > 0 || hi < 255)) {
+            byte[] lut = stretchLut(min, hi);
+            forEachBand(bands, parallel, b -> {
+                int from = b * BAND_ROWS * outW;
+                int to = Math.min(outH, (b + 1) * BAND_ROWS) * outW;
+                for (int i = from; i < to; i++) {
+                    out[i] = lut[out[i] & 0xFF];
+                }
+            });
+        }
+
+        WritableRaster raster = Raster.createInterleavedRaster(
+                new DataBufferByte(out, outW * outH), outW, outH, outW, 1, new int[]{0}, null);
+        return new GrayRaster(new BufferedImage(GRAY_MODEL, raster, false, null), out, quality);
+    }
+
+    private static byte[] stretchLut(int min, int max) {
+        byte[] lut = new byte[256];
+        double scale = 255.0 / (max - min);
+        for (int v = 0; v < 256; v++) {
+            int s = (int) Math.round((v - min) * scale);
+            lut[v] = (byte) (s < 0 ? 0 : Math.min(255, s));
+        }
+        return lut;
+    }
+
+    /**
+     * [y0, y1) 출력 행을 채우면서 밝기 히스토그램 누적
+     */
+    private static void sampleRows(Pixels px, Mapping m, byte[] out, int outW, int y0, int y1,
+            BandStats st) {
+        int lastX = px.width - 1, lastY = px.height - 1;
+        int[] hist = st.lumaHist;
+        for (int dy = y0; dy < y1; dy++) {
+            double sx = m.sx0 + dy * m.sxDy;
+            double sy = m.sy0 + dy * m.syDy;
+            int o = dy * outW;
+            for (int dx = 0; dx < outW; dx++, sx += m.sxDx, sy += m.syDx) {
+                double cx = sx < 0 ? 0 : Math.min(sx, lastX);
+                double cy = sy < 0 ? 0 : Math.min(sy, lastY);
+                int x0 = (int) cx, yy0 = (int) cy;
+                int x1 = Math.min(x0 + 1, lastX), yy1 = Math.min(yy0 + 1, lastY);
+                int fx = (int) ((cx - x0) * 256), fy = (int) ((cy - yy0) * 256);
+
+                int top = px.luma(x0, yy0) * (256 - fx) + px.luma(x1, yy0) * fx;
+                int bottom = px.luma(x0, yy1) * (256 - fx) + px.luma(x1, yy1) * fx;
+                int v = (top * (256 - fy) + bottom * fy + (1 << 15)) >>> 16;
+
+                out[o + dx] = (byte) v;
+                hist[v]++;
+            }
+        }
+    }
+
+    /**
+     * 4-이웃 라플라시안 통계. 밴드 경계 행은 이웃 밴드가 아직 쓰는 중일 수 있어 밴드 내부 행만 본다 (표본으로 충분)
+     */
+    private static void laplacianRows(byte[] g, int w, int y0, int y1, BandStats st) {
+        int[] hist = st.lapHist;
+        long sum = 0, sumSq = 0;
+        int n = 0;
+        for (int y = y0 + 1; y < y1 - 1; y++) {
+            int o = y * w;
+            for (int x = 1; x < w - 1; x++) {
+                int i = o + x;
+                int lap = 4 * (g[i] & 0xFF) - (g[i - 1] & 0xFF) - (g[i + 1] & 0xFF)
+                        - (g[i - w] & 0xFF) - (g[i + w] & 0xFF);
+                sum += lap;
+                sumSq += (long) lap * lap;
+                hist[Math.min(255, Math.abs(lap))]++;
+            }
+            n += Math.max(0, w - 2);
+        }
+        st.lapSum = sum;
+        st.lapSumSq = sumSq;
+        st.lapCount = n;
+    }
+
+    private static void forEachBand(int bands, boolean parallel, IntConsumer band) {
+        if (!parallel || bands == 1 || PARALLELISM == 1) {
+            for (int b = 0; b < bands; b++) {
+                band.accept(b);
+            }
+            return;
+        }
+        // 공용 풀(commonPool)과 분리: 요청 스레드 수와 무관하게 코어 수만큼만 돈다
+        WORKERS.submit(() -> IntStream.range(0, bands).parallel().forEach(band)).join();
+    }
+
+    private static byte[] borrow(int size) {
+        byte[] buf = BUFFERS.poll();
+        if (buf != null && buf.length >= size) {
+            return buf;
+        }
+        int aligned = (size + BUFFER_ALIGN - 1) / BUFFER_ALIGN * BUFFER_ALIGN;
+        return new byte[aligned];
+    }
+
+    /**
+     * 밴드별 누적 통계 (밴드끼리 공유하지 않으므로 동기화 불필요)
+     */
+    static final class BandStats {
+
+        final int[] lumaHist = new int[256];
+        final int[] lapHist = new int[256]; // |라플라시안|, 255 이상은 255 칸에
+        long lapSum;
+        long lapSumSq;
+        long lapCount;
+
+        static BandStats merge(BandStats[] bands) {
+            BandStats all = new BandStats();
+            for (BandStats b : bands) {
+                for (int i = 0; i < 256; i++) {
+                    all.lumaHist[i] += b.lumaHist[i];
+                    all.lapHist[i] += b.lapHist[i];
+                }
+                all.lapSum += b.lapSum;
+                all.lapSumSq += b.lapSumSq;
+                all.lapCount += b.lapCount;
+            }
+            return all;
+        }
+    }
+
+    /**
+     * 출력 좌표 → 원본 좌표 아핀 변환. sx = sx0 + dx*sxDx + dy*sxDy (sy 동일)
+     */
+    private record Mapping(double sx0, double sxDx, double sxDy,
+                           double sy0, double syDx, double syDy) {
+
+        static Mapping of(int orientation, int w, int h, double kx, double ky) {
+            // 세워진 좌표(ox, oy) → 원본 좌표: sx = cx + mxx*ox + mxy*oy, sy = cy + myx*ox + myy*oy
+            double rw = w - 1, rh = h - 1;
+            double[] t = switch (orientation) {
+                case 2 -> new double[]{rw, -1, 0, 0, 0, 1};
+                case 3 -> new double[]{rw, -1, 0, rh, 0, -1};
+                case 4 -> new double[]{0, 1, 0, rh, 0, -1};
+                case 5 -> new double[]{0, 0, 1, 0, 1, 0};
+                case 6 -> new double[]{0, 0, 1, rh, -1, 0};
+                case 7 -> new double[]{rw, 0, -1, rh, -1, 0};
+                case 8 -> new double[]{rw, 0, -1, 0, 1, 0};
+                default -> new double[]{0, 1, 0, 0, 0, 1};
+            };
+            // 출력 픽셀 중심 → 세워진 좌표: ox = kx*dx + (kx-1)/2
+            double bx = (kx - 1) / 2, by = (ky - 1) / 2;
+            return new Mapping(
+                    t[0] + t[1] * bx + t[2] * by, t[1] * kx, t[2] * ky,
+                    t[3] + t[4] * bx + t[5] * by, t[4] * kx, t[5] * ky);
+        }
+    }
+
+    /**
+     * 디코딩된 이미지의 픽셀 배열 직접 접근. 흔한 레이아웃(3/4BYTE, BYTE_GRAY, INT_RGB 계열)만 직접 읽고 나머지는 한 번 변환
+     */
+    private static final class Pixels {
+
+        final int width, height;
+        final byte[] bytes;
+        final int[] ints;
+        final int pixelStride, scanStride, base;
+        final int offR, offG, offB;
+        final boolean gray;
+
+        private Pixels(int width, int height, byte[] bytes, int[] ints, int pixelStride,
+                int scanStride, int base, int offR, int offG, int offB, boolean gray) {
+            this.width = width;
+            this.height = height;
+            this.bytes = bytes;
+            this.ints = ints;
+            this.pixelStride = pixelStride;
+            this.scanStride = scanStride;
+            this.base = base;
+            this.offR = offR;
+            this.offG = offG;
+            this.offB = offB;
+            this.gray = gray;
+        }
+
+        static Pixels of(BufferedImage img) {
+            Pixels px = direct(img);
+            if (px != null) {
+                return px;
+            }
+            BufferedImage bgr = new BufferedImage(img.getWidth(), img.getHeight(),
+                    BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D g = bgr.createGraphics();
+            g.drawImage(img, 0, 0, null);
+            g.dispose();
+            return direct(bgr);
+        }
+
+        private static Pixels direct(BufferedImage img) {
+            WritableRaster r = img.getRaster();
+            if (r.getSampleModelTranslateX() != 0 || r.getSampleModelTranslateY() != 0) {
+                return null;
+            }
+            int w = img.getWidth(), h = img.getHeight();
+            switch (img.getType()) {
+                case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+                     BufferedImage.TYPE_INT_ARGB_PRE -> {
+                    DataBufferInt db = (DataBufferInt) r.getDataBuffer();
+                    int scan = r.getSampleModel().getWidth();
+                    return new Pixels(w, h, null, db.getData(), 1, scan, db.getOffset(),
+                            0, 0, 0, false);
+                }
+                case BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+                     BufferedImage.TYPE_4BYTE_ABGR_PRE, BufferedImage.TYPE_BYTE_GRAY -> {
+                    SampleModel sm = r.getSampleModel();
+                    if (!(sm instanceof ComponentSampleModel csm)) {
+                        return null;
+                    }
+                    DataBufferByte db = (DataBufferByte) r.getDataBuffer();
+                    int[] off = csm.getBandOffsets();
+                    boolean gray = off.length == 1;
+                    return new Pixels(w, h, db.getData(), null, csm.getPixelStride(),
+                            csm.getScanlineStride(), db.getOffset(),
+                            off[0], gray ? off[0] : off[1], gray ? off[0] : off[2], gray);
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+
+        int luma(int x, int y) {
+            if (ints != null) {
+                int rgb = ints[base + y * scanStride + x];
+                return (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150
+                        + (rgb & 0xFF) * 29) >>> 8;
+            }
+            int p = base + y * scanStride + x * pixelStride;
+            if (gray) {
+                return bytes[p + offR] & 0xFF;
+            }
+            return ((bytes[p + offR] & 0xFF) * 77 + (bytes[p + offG] & 0xFF) * 150
+                    + (bytes[p + offB] & 0xFF) * 29) >>> 8;
+        }
+    }
+}
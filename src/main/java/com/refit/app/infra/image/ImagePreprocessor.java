@@ -4,19 +4,20 @@ import com.drew.imaging.ImageMetadataReader;
 import com.drew.metadata.Metadata;
 import com.drew.metadata.exif.ExifIFD0Directory;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.awt.image.Raster;
-import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Iterator;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.springframework.lang.Nullable;
 
 public final class ImagePreprocessor {
 
@@ -29,31 +30,39 @@ public final class ImagePreprocessor {
     private static final boolean ALWAYS_RECOMPRESS = true;
 
     public static byte[] preprocess(byte[] imageBytes) {
+        return prepare(imageBytes).jpeg();
+    }
+
+    /**
+     * 전처리 JPEG + 촬영 품질 지표. 디코딩 실패로 원본/재인코딩 폴백한 경우 quality 는 null
+     */
+    public static Prepared prepare(byte[] imageBytes) {
         try {
-            BufferedImage src = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            BufferedImage src = decode(imageBytes, MAX_DIM);
             if (src == null) {
-                return imageBytes;
+                return new Prepared(imageBytes, null);
             }
 
             int orientation = readOrientationSafe(imageBytes);
-            BufferedImage oriented = applyOrientation(src, orientation);
-
-            BufferedImage scaled = scaleDownIfNeeded(oriented, MAX_DIM);
 
-            // 텍스트 대비 강화
-            BufferedImage enhanced = enhanceForText(scaled);
-
-            return writeJpeg(enhanced, JPEG_QUALITY);
+            // 회전 + 축소 + 그레이스케일/대비 강화를 래스터 배열 위에서 한 번에
+            try (GrayRaster gray = GrayRaster.render(src, orientation, MAX_DIM)) {
+                return new Prepared(writeJpeg(gray.image(), JPEG_QUALITY), gray.quality());
+            }
         } catch (Exception e) {
             // 실패 시에도 최소한 JPEG 보장
             try {
-                return ensureJpeg(imageBytes);
+                return new Prepared(ensureJpeg(imageBytes), null);
             } catch (Exception ignore) {
-                return imageBytes;
+                return new Prepared(imageBytes, null);
             }
         }
     }
 
+    public record Prepared(byte[] jpeg, @Nullable ImageQuality quality) {
+
+    }
+
     private static byte[] ensureJpeg(byte[] imageBytes) throws Exception {
         BufferedImage src = ImageIO.read(new ByteArrayInputStream(imageBytes));
         if (src == null) {
@@ -63,25 +72,31 @@ public final class ImagePreprocessor {
         return writeJpeg(convertToRGB(src), JPEG_QUALITY);
     }
 
-    private static BufferedImage scaleDownIfNeeded(BufferedImage src, int maxDim) {
-        int w = src.getWidth();
-        int h = src.getHeight();
-        int max = Math.max(w, h);
-        if (max <= maxDim) {
-            return convertToRGB(src);
+    /**
+     * 긴 변이 minDim 이상으로 남는 범위에서 정수 배 솎아 디코딩 (12MP 사진을 통째로 풀지 않도록). 읽을 수 없는 형식이면 null
+     */
+    static BufferedImage decode(byte[] bytes, int minDim) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(reader.getWidth(0), reader.getHeight(0)) / minDim;
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
         }
-        double scale = (double) maxDim / (double) max;
-        int nw = Math.max(1, (int) Math.round(w * scale));
-        int nh = Math.max(1, (int) Math.round(h * scale));
-        BufferedImage out = new BufferedImage(nw, nh, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = out.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        g.drawImage(src, 0, 0, nw, nh, null);
-        g.dispose();
-        return out;
     }
 
     private static BufferedImage convertToRGB(BufferedImage src) {
@@ -108,98 +123,6 @@ public final class ImagePreprocessor {
         return 1;
     }
 
-    private static BufferedImage applyOrientation(BufferedImage img, int orientation) {
-        AffineTransform tx = new AffineTransform();
-        int w = img.getWidth(), h = img.getHeight();
-        boolean transformNeeded = true;
-
-        switch (orientation) {
-            case 1 -> transformNeeded = false;
-            case 2 -> {
-                tx.scale(-1, 1);
-                tx.translate(-w, 0);
-            }
-            case 3 -> {
-                tx.translate(w, h);
-                tx.rotate(Math.PI);
-            }
-            case 4 -> {
-                tx.scale(1, -1);
-                tx.translate(0, -h);
-            }
-            case 5 -> {
-                tx.rotate(Math.PI / 2);
-                tx.scale(1, -1);
-            }
-            case 6 -> {
-                tx.translate(h, 0);
-                tx.rotate(Math.PI / 2);
-            }
-            case 7 -> {
-                tx.translate(h, 0);
-                tx.rotate(Math.PI / 2);
-                tx.scale(-1, 1);
-            }
-            case 8 -> {
-                tx.translate(0, w);
-                tx.rotate(-Math.PI / 2);
-            }
-            default -> transformNeeded = false;
-        }
-
-        if (!transformNeeded) {
-            return convertToRGB(img);
-        }
-
-        int newW = (orientation >= 5 && orientation <= 8) ? h : w;
-        int newH = (orientation >= 5 && orientation <= 8) ? w : h;
-        BufferedImage out = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = out.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(img, tx, null);
-        g.dispose();
-        return out;
-    }
-
-    private static BufferedImage enhanceForText(BufferedImage src) {
-        BufferedImage gray = new BufferedImage(src.getWidth(), src.getHeight(),
-                BufferedImage.TYPE_BYTE_GRAY);
-        Graphics2D g = gray.createGraphics();
-        g.drawImage(src, 0, 0, null);
-        g.dispose();
-
-        Raster r = gray.getRaster();
-        int w = gray.getWidth(), h = gray.getHeight();
-        int min = 255, max = 0;
-        int[] px = new int[1];
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                r.getPixel(x, y, px);
-                int v = px[0];
-                if (v < min) {
-                    min = v;
-                }
-                if (v > max) {
-                    max = v;
-                }
-            }
-        }
-        if (max > min) {
-            WritableRaster wr = gray.getRaster();
-            double scale = 255.0 / (max - min);
-            for (int y = 0; y < h; y++) {
-                for (int x = 0; x < w; x++) {
-                    wr.getPixel(x, y, px);
-                    int v = (int) Math.round((px[0] - min) * scale);
-                    px[0] = (v < 0) ? 0 : (Math.min(255, v));
-                    wr.setPixel(x, y, px);
-                }
-            }
-        }
-        return gray;
-    }
-
     private static byte[] writeJpeg(BufferedImage img, float quality) throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream(96 * 1024);
         Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
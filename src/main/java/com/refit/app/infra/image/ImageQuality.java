@@ -0,0 +1,114 @@
+package com.refit.app.infra.image;
+
+/**
+ * OCR 전에 로컬에서 보는 촬영 품질 지표. 전처리 해상도(긴 변 1024) 그레이 기준, 대비 늘이기 전 값
+ *
+ * @param meanLuma    평균 밝기 (0~255)
+ * @param minLuma     최소 밝기
+ * @param maxLuma     최대 밝기
+ * @param darkRatio   거의 검은 픽셀 비율
+ * @param brightRatio 날아간(하얗게 포화된) 픽셀 비율
+ * @param sharpness   라플라시안 분산 (대비 늘이기 후 스케일로 환산) → 낮을수록 흐림
+ * @param edgeDensity 강한 에지 픽셀 비율 → 글자가 있으면 높다
+ */
+public record ImageQuality(
+        double meanLuma,
+        int minLuma,
+        int maxLuma,
+        double darkRatio,
+        double brightRatio,
+        double sharpness,
+        double edgeDensity
+) {
+
+    // ↓↓↓ 조정 포인트 (애매하면 통과: 게이트는 명백한 불량만 거른다)
+    private static final int DARK_LUMA = 30;
+    private static final int BRIGHT_LUMA = 250;
+    private static final double MAX_DARK_RATIO = 0.85;
+    private static final double MAX_BRIGHT_RATIO = 0.60;
+    private static final double MIN_SHARPNESS = 40.0;
+    private static final int EDGE_LAPLACIAN = 48;     // 대비 늘이기 후 기준
+    private static final double MIN_EDGE_DENSITY = 0.012;
+    private static final int MIN_SPREAD = 32;          // 거의 단색인 이미지에서 노이즈가 과하게 증폭되지 않도록
+
+    public enum Verdict {
+        OK,
+        TOO_DARK,
+        OVEREXPOSED,
+        BLURRY,
+        NO_TEXT
+    }
+
+    public Verdict verdict() {
+        if (darkRatio > MAX_DARK_RATIO) {
+            return Verdict.TOO_DARK;
+        }
+        if (brightRatio > MAX_BRIGHT_RATIO) {
+            return Verdict.OVEREXPOSED;
+        }
+        if (sharpness < MIN_SHARPNESS) {
+            return Verdict.BLURRY;
+        }
+        if (edgeDensity < MIN_EDGE_DENSITY) {
+            return Verdict.NO_TEXT;
+        }
+        return Verdict.OK;
+    }
+
+    static ImageQuality of(GrayRaster.BandStats s) {
+        long total = 0, sum = 0, dark = 0, bright = 0;
+        int min = 255, max = 0;
+        for (int v = 0; v < 256; v++) {
+            int c = s.lumaHist[v];
+            if (c == 0) {
+                continue;
+            }
+            total += c;
+            sum += (long) v * c;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+            if (v <= DARK_LUMA) {
+                dark += c;
+            } else if (v >= BRIGHT_LUMA) {
+                bright += c;
+            }
+        }
+        if (total == 0) {
+            return new ImageQuality(0, 0, 0, 1, 0, 0, 0);
+        }
+
+        // 대비 늘이기 배율: 양 끝 1%를 뺀 폭 기준 (반사 한 점 때문에 배율이 죽지 않도록)
+        int spread = Math.max(MIN_SPREAD, percentile(s.lumaHist, total, 0.99)
+                - percentile(s.lumaHist, total, 0.01));
+        double k = 255.0 / spread;
+
+        double sharpness = 0, edgeDensity = 0;
+        if (s.lapCount > 0) {
+            double mean = (double) s.lapSum / s.lapCount;
+            double variance = (double) s.lapSumSq / s.lapCount - mean * mean;
+            sharpness = variance * k * k;
+
+            int threshold = Math.min(255, (int) Math.ceil(EDGE_LAPLACIAN / k));
+            long edges = 0;
+            for (int v = threshold; v < 256; v++) {
+                edges += s.lapHist[v];
+            }
+            edgeDensity = (double) edges / s.lapCount;
+        }
+
+        return new ImageQuality((double) sum / total, min, max, (double) dark / total,
+                (double) bright / total, sharpness, edgeDensity);
+    }
+
+    private static int percentile(int[] hist, long total, double p) {
+        long target = (long) Math.ceil(total * p);
+        long acc = 0;
+        for (int v = 0; v < 256; v++) {
+            acc += hist[v];
+            if (acc >= target) {
+                return v;
+            }
+        }
+        return 255;
+    }
+}
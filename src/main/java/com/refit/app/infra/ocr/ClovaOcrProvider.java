@@ -1,11 +1,11 @@
 package com.refit.app.infra.ocr;
 
-import com.refit.app.infra.image.ImagePreprocessor;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatusCode;
@@ -17,61 +17,68 @@ import reactor.core.publisher.Mono;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ClovaOcrProvider implements OcrProvider {
+public class ClovaOcrProvider implements OcrEngine {
 
     private final WebClient ocrWebClient;
     private final ClovaOcrProps props;
 
     @Override
-    public String fullText(byte[] imageBytes, String filename, String contentType) {
-        long t0 = System.nanoTime();
+    public String name() {
+        return "clova";
+    }
 
-        // 1) 이미지 전처리(JPEG 재인코딩 + 리사이즈 등)
-        boolean isPdf = contentType != null && contentType.toLowerCase().contains("pdf");
-        byte[] prepped = isPdf ? imageBytes : ImagePreprocessor.preprocess(imageBytes);
-        String format = isPdf ? "pdf" : "jpg"; // 전처리했으면 무조건 jpg
+    @Override
+    public boolean supportsPdf() {
+        return true;
+    }
 
-        String base64 = Base64.getEncoder().encodeToString(prepped);
+    @Override
+    public CompletableFuture<String> recognize(byte[] payload, String format, String filename) {
+        long t0 = System.nanoTime();
+
+        String base64 = Base64.getEncoder().encodeToString(payload);
 
-        Map<String, Object> payload = Map.of(
+        Map<String, Object> body = Map.of(
                 "version", "V2",
                 "requestId", UUID.randomUUID().toString(),
                 "timestamp", System.currentTimeMillis(),
                 "images", List.of(Map.of(
                         "format", format,
-                        "name", (filename == null ? "upload" : filename),
+                        "name", filename,
                         "data", base64
                 ))
         );
 
         String endpoint = props.getEndpoint() == null ? "" : props.getEndpoint().trim();
 
-        // 2) retrieve + onStatus: 비Deprecated & 에러바디 로깅
-        ClovaResp resp = ocrWebClient.post()
+        // retrieve + onStatus: 비Deprecated & 에러바디 로깅. block() 하지 않고 future 로 넘긴다 (취소 시 연결도 끊김)
+        return ocrWebClient.post()
                 .uri(endpoint)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header("X-OCR-SECRET", props.getSecret())
-                .bodyValue(payload)
+                .bodyValue(body)
                 .retrieve()
                 .onStatus(HttpStatusCode::isError, r ->
                         r.bodyToMono(String.class).defaultIfEmpty("")
-                                .flatMap(body -> {
+                                .flatMap(err -> {
                                     int code = r.statusCode().value(); // ← rawStatusCode() 대체
-                                    log.warn("[ClovaOCR][{}] {} -> {}", code, endpoint, body);
+                                    log.warn("[ClovaOCR][{}] {} -> {}", code, endpoint, err);
                                     return Mono.error(new RuntimeException(
-                                            "Clova OCR " + code + ": " + body));
+                                            "Clova OCR " + code + ": " + err));
                                 })
                 )
                 .bodyToMono(ClovaResp.class)
                 .timeout(Duration.ofMillis(
                         props.getTotalTimeoutMs() != null ? props.getTotalTimeoutMs() : 15000))
-                .block();
-
-        long t1 = System.nanoTime();
-        log.info("[ClovaOCR] in={}KB -> prepped={}KB, latency={} ms",
-                kb(imageBytes.length), kb(prepped.length), (t1 - t0) / 1_000_000);
+                .map(ClovaOcrProvider::toText)
+                .defaultIfEmpty("")
+                .doOnSuccess(text -> log.info("[ClovaOCR] prepped={}KB, latency={} ms",
+                        kb(payload.length), (System.nanoTime() - t0) / 1_000_000))
+                .toFuture();
+    }
 
-        if (resp == null || resp.images() == null || resp.images().isEmpty()) {
+    private static String toText(ClovaResp resp) {
+        if (resp.images() == null || resp.images().isEmpty()) {
             return "";
         }
 
@@ -0,0 +1,18 @@
+package com.refit.app.infra.ocr;
+
+import com.refit.app.infra.image.ImageQuality;
+import lombok.Getter;
+
+/**
+ * OCR 호출 전 품질 게이트에서 걸러진 촬영본. 네트워크 호출 없이 재촬영 안내로 응답하기 위한 신호
+ */
+@Getter
+public class ImageRejectedException extends RuntimeException {
+
+    private final ImageQuality quality;
+
+    public ImageRejectedException(ImageQuality quality) {
+        super("Image rejected before OCR: " + quality.verdict());
+        this.quality = quality;
+    }
+}
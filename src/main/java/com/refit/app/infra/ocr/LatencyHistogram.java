@@ -0,0 +1,96 @@
+package com.refit.app.infra.ocr;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 로그 버킷 지연 히스토그램 (25ms ~ 60s, 버킷 폭 ×1.35). 최근 두 윈도우만 합산해 오래된 표본은 자연히 빠진다.
+ */
+final class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = bounds();
+
+    private final long windowMs;
+    private volatile AtomicLongArray current = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private volatile long windowStartMs = System.currentTimeMillis();
+
+    LatencyHistogram(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    void record(long latencyMs) {
+        rotateIfNeeded(System.currentTimeMillis());
+        current.incrementAndGet(bucketOf(latencyMs));
+    }
+
+    long count() {
+        AtomicLongArray cur = current, prev = previous;
+        long n = 0;
+        for (int i = 0; i < cur.length(); i++) {
+            n += cur.get(i) + prev.get(i);
+        }
+        return n;
+    }
+
+    /**
+     * 해당 분위가 속한 버킷의 상한 (ms). 표본 없으면 -1
+     */
+    long percentile(double p) {
+        rotateIfNeeded(System.currentTimeMillis());
+        AtomicLongArray cur = current, prev = previous;
+        long[] merged = new long[cur.length()];
+        long total = 0;
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = cur.get(i) + prev.get(i);
+            total += merged[i];
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long target = (long) Math.ceil(total * p);
+        long acc = 0;
+        for (int i = 0; i < merged.length; i++) {
+            acc += merged[i];
+            if (acc >= target) {
+                return i < BOUNDS_MS.length ? BOUNDS_MS[i] : BOUNDS_MS[BOUNDS_MS.length - 1] * 2;
+            }
+        }
+        return BOUNDS_MS[BOUNDS_MS.length - 1] * 2;
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (now - windowStartMs < windowMs) {
+            return;
+        }
+        synchronized (this) {
+            if (now - windowStartMs < windowMs) {
+                return;
+            }
+            // 두 윈도우 이상 비었으면 이전 것도 버림
+            previous = now - windowStartMs < 2 * windowMs
+                    ? current : new AtomicLongArray(BOUNDS_MS.length + 1);
+            current = new AtomicLongArray(BOUNDS_MS.length + 1);
+            windowStartMs = now;
+        }
+    }
+
+    private static int bucketOf(long ms) {
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (ms <= BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_MS.length;
+    }
+
+    private static long[] bounds() {
+        long[] tmp = new long[64];
+        int n = 0;
+        for (double b = 25; b <= 60_000; b *= 1.35) {
+            tmp[n++] = Math.round(b);
+        }
+        long[] out = new long[n];
+        System.arraycopy(tmp, 0, out, 0, n);
+        return out;
+    }
+}
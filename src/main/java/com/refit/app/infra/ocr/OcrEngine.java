@@ -0,0 +1,24 @@
+package com.refit.app.infra.ocr;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OCR 백엔드 하나 (Clova, OpenAI Vision ...). 전처리/품질 게이트/헤징은 OcrOrchestrator 가 맡고, 엔진은 받은 바이트를 그대로 보낸다.
+ */
+public interface OcrEngine {
+
+    /** 설정(ocr.engine-order)과 로그에서 쓰는 이름 */
+    String name();
+
+    /**
+     * @param payload  전처리된 JPEG (PDF 면 원본)
+     * @param format   "jpg" | "pdf"
+     * @param filename 원본 파일명 (없으면 "upload")
+     * @return 줄바꿈 보존한 전체 텍스트. 취소(cancel) 시 진행 중인 호출도 가능한 한 중단해야 한다
+     */
+    CompletableFuture<String> recognize(byte[] payload, String format, String filename);
+
+    default boolean supportsPdf() {
+        return false;
+    }
+}
@@ -0,0 +1,270 @@
+package com.refit.app.infra.ocr;
+
+import com.refit.app.global.util.CircuitBreaker;
+import com.refit.app.infra.image.ImagePreprocessor;
+import com.refit.app.infra.image.ImageQuality;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * OcrProvider 구현: 전처리 + 품질 게이트를 한 번만 하고, 등록된 OcrEngine 들을 순서대로 경주시킨다.
+ * <p>
+ * 1순위 엔진이 p95 지연 안에 답하지 않으면 2순위를 헤지로 띄우고 먼저 온 답을 쓴다. 1순위가 실패하면 기다리지 않고 바로 다음
+ * 엔진으로 넘어간다. 엔진별 서킷 브레이커가 OPEN 이면 건너뛴다.
+ */
+@Slf4j
+@Component
+public class OcrOrchestrator implements OcrProvider {
+
+    private static final long HISTOGRAM_WINDOW_MS = 5 * 60_000L;
+
+    private final OcrProps props;
+    private final Executor ocrExecutor;
+    private final List<Lane> lanes;
+
+    public OcrOrchestrator(List<OcrEngine> engines, OcrProps props,
+            @Qualifier("ocrExecutor") Executor ocrExecutor) {
+        this.props = props;
+        this.ocrExecutor = ocrExecutor;
+
+        Map<String, OcrEngine> byName = new LinkedHashMap<>();
+        engines.forEach(e -> byName.put(e.name(), e));
+        List<Lane> ordered = new ArrayList<>();
+        for (String name : props.getEngineOrder()) {
+            OcrEngine engine = byName.get(name.trim());
+            if (engine == null) {
+                log.warn("[OCR] unknown engine '{}' in ocr.engine-order (available={})", name,
+                        byName.keySet());
+                continue;
+            }
+            ordered.add(new Lane(engine, new CircuitBreaker(
+                    props.getBreaker().getFailureThreshold(), props.getBreaker().getOpenMs())));
+        }
+        if (ordered.isEmpty()) {
+            throw new IllegalStateException("No OCR engine configured: " + props.getEngineOrder());
+        }
+        this.lanes = List.copyOf(ordered);
+        log.info("[OCR] engines={} hedge={}", lanes.stream().map(l -> l.engine.name()).toList(),
+                props.getHedge().isEnabled());
+    }
+
+    @Override
+    public String fullText(byte[] imageBytes, String filename, String contentType) {
+        boolean isPdf = contentType != null && contentType.toLowerCase().contains("pdf");
+
+        // 1) 이미지 전처리(JPEG 재인코딩 + 리사이즈 등) + 품질 게이트. 엔진 수와 무관하게 한 번만
+        byte[] payload = imageBytes;
+        if (!isPdf) {
+            ImagePreprocessor.Prepared prepared = ImagePreprocessor.prepare(imageBytes);
+            payload = prepared.jpeg();
+            gate(prepared.quality());
+        }
+        String format = isPdf ? "pdf" : "jpg"; // 전처리했으면 무조건 jpg
+        String name = filename == null ? "upload" : filename;
+
+        List<Lane> candidates = lanes.stream()
+                .filter(l -> !isPdf || l.engine.supportsPdf())
+                .toList();
+        return new Race(candidates, payload, format, name).run();
+    }
+
+    /**
+     * 흐림/노출/글자 없음이 명백하면 OCR 쿼터를 쓰기 전에 끊는다 (디코딩 실패로 지표가 없으면 통과)
+     */
+    private void gate(ImageQuality quality) {
+        if (quality == null) {
+            return;
+        }
+        ImageQuality.Verdict verdict = quality.verdict();
+        if (verdict == ImageQuality.Verdict.OK) {
+            log.debug("[OCR][gate] pass {}", quality);
+            return;
+        }
+        boolean enforced = props.getQualityGate().isEnabled();
+        log.info("[OCR][gate] {} (enforced={}) {}", verdict, enforced, quality);
+        if (enforced) {
+            throw new ImageRejectedException(quality);
+        }
+    }
+
+    /**
+     * 1순위 엔진 최근 p95 를 헤지 지연으로. 표본이 적으면 기본값
+     */
+    long hedgeDelayMs(Lane primary) {
+        OcrProps.Hedge h = props.getHedge();
+        long p95 = primary.latency.count() >= h.getMinSamples()
+                ? primary.latency.percentile(0.95) : h.getDefaultDelayMs();
+        return Math.max(h.getMinDelayMs(), Math.min(h.getMaxDelayMs(), p95));
+    }
+
+    @Scheduled(fixedDelayString = "${ocr.stats-log-ms:600000}",
+            initialDelayString = "${ocr.stats-log-ms:600000}")
+    public void logStats() {
+        for (Lane l : lanes) {
+            log.info("[OCR][{}] calls={} wins={} hedged={} failures={} breaker={} p50={}ms p95={}ms p99={}ms",
+                    l.engine.name(), l.calls.sum(), l.wins.sum(), l.hedged.sum(),
+                    l.failures.sum(), l.breaker.state(), l.latency.percentile(0.50),
+                    l.latency.percentile(0.95), l.latency.percentile(0.99));
+        }
+    }
+
+    static final class Lane {
+
+        final OcrEngine engine;
+        final CircuitBreaker breaker;
+        final LatencyHistogram latency = new LatencyHistogram(HISTOGRAM_WINDOW_MS);
+        final LongAdder calls = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder hedged = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        Lane(OcrEngine engine, CircuitBreaker breaker) {
+            this.engine = engine;
+            this.breaker = breaker;
+        }
+    }
+
+    /**
+     * 요청 1건의 엔진 경주. 먼저 성공한 답이 이기고 나머지는 취소
+     */
+    private final class Race {
+
+        private final List<Lane> candidates;
+        private final byte[] payload;
+        private final String format;
+        private final String filename;
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final List<CompletableFuture<String>> attempts = new ArrayList<>();
+        private int next;
+        private int finished;
+        private volatile boolean timedOut;
+        private Throwable lastError;
+
+        Race(List<Lane> candidates, byte[] payload, String format, String filename) {
+            this.candidates = candidates;
+            this.payload = payload;
+            this.format = format;
+            this.filename = filename;
+        }
+
+        String run() {
+            Lane primary = startNext(false);
+            if (primary == null) {
+                throw new IllegalStateException("No OCR engine available (circuit open)");
+            }
+            if (props.getHedge().isEnabled() && next < candidates.size()) {
+                Executor hedgeTimer = CompletableFuture.delayedExecutor(hedgeDelayMs(primary),
+                        TimeUnit.MILLISECONDS, ocrExecutor);
+                CompletableFuture.runAsync(() -> startNext(true), hedgeTimer);
+            }
+
+            try {
+                return result.get(props.getTotalTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                timedOut = true;
+                throw new IllegalStateException(
+                        "OCR timed out after " + props.getTotalTimeoutMs() + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("OCR interrupted", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re
+                        : new IllegalStateException(e.getCause());
+            } finally {
+                result.cancel(false); // 이후 도착하는 실패가 다음 엔진을 띄우지 않도록
+                cancelAll();
+            }
+        }
+
+        /**
+         * 브레이커가 허용하는 다음 엔진을 띄운다. 더 없거나 경주가 끝났으면 null.
+         * 끝났는지는 cancelAll 과 같은 잠금 안에서 본다 (늦게 깨어난 헤지가 cancelAll 뒤에 호출을 남기지 않도록)
+         */
+        private synchronized Lane startNext(boolean hedge) {
+            if (result.isDone()) {
+                return null;
+            }
+            while (next < candidates.size()) {
+                Lane lane = candidates.get(next++);
+                if (!lane.breaker.tryAcquire(System.currentTimeMillis())) {
+                    log.debug("[OCR][{}] skipped: circuit {}", lane.engine.name(),
+                            lane.breaker.state());
+                    continue;
+                }
+                lane.calls.increment();
+                if (hedge) {
+                    lane.hedged.increment();
+                    log.info("[OCR][{}] hedging after primary exceeded delay", lane.engine.name());
+                }
+                long t0 = System.nanoTime();
+                CompletableFuture<String> attempt;
+                try {
+                    attempt = lane.engine.recognize(payload, format, filename);
+                } catch (RuntimeException e) {
+                    attempt = CompletableFuture.failedFuture(e);
+                }
+                attempts.add(attempt);
+                attempt.whenComplete((text, err) -> onAttemptDone(lane, t0, text, err));
+                return lane;
+            }
+            return null;
+        }
+
+        private void onAttemptDone(Lane lane, long t0, String text, Throwable err) {
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+            Throwable cause = err instanceof CompletionException && err.getCause() != null
+                    ? err.getCause() : err;
+
+            if (cause == null) {
+                lane.latency.record(ms);
+                lane.breaker.onSuccess();
+                if (result.complete(text)) {
+                    lane.wins.increment();
+                    log.info("[OCR][{}] answered in {} ms", lane.engine.name(), ms);
+                }
+                return;
+            }
+            if (cause instanceof CancellationException && !timedOut) {
+                lane.breaker.onCancelled(); // 헤지 패자: 엔진 잘못 아님
+                return;
+            }
+
+            lane.failures.increment();
+            lane.breaker.onFailure(System.currentTimeMillis());
+            log.warn("[OCR][{}] failed after {} ms: {}", lane.engine.name(), ms, cause.toString());
+
+            boolean exhausted;
+            synchronized (this) {
+                finished++;
+                lastError = cause;
+                // 실패하면 헤지 타이머를 기다리지 않고 바로 다음 엔진으로
+                exhausted = result.isDone() || (startNext(false) == null
+                        && finished >= attempts.size());
+            }
+            if (exhausted && !result.isDone()) {
+                result.completeExceptionally(lastError);
+            }
+        }
+
+        private synchronized void cancelAll() {
+            for (CompletableFuture<String> a : attempts) {
+                a.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.refit.app.infra.ocr;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "ocr")
+public class OcrProps {
+
+    /** 1순위부터. 목록에 없는 엔진은 쓰지 않는다 */
+    private List<String> engineOrder = new ArrayList<>(List.of("clova", "openai"));
+    /** 헤지/폴백 포함 요청 1건 전체 대기 한도 */
+    private long totalTimeoutMs = 20000;
+
+    private final Hedge hedge = new Hedge();
+    private final Breaker breaker = new Breaker();
+    private final QualityGate qualityGate = new QualityGate();
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = true;
+        /** 1순위 엔진 p95 를 이 범위로 잘라서 헤지 지연으로 쓴다 */
+        private long minDelayMs = 800;
+        private long maxDelayMs = 8000;
+        /** 표본이 minSamples 미만이면 defaultDelayMs */
+        private long defaultDelayMs = 3000;
+        private int minSamples = 20;
+    }
+
+    @Data
+    public static class Breaker {
+        /** 연속 실패 N회 → OPEN */
+        private int failureThreshold = 5;
+        /** OPEN 유지 후 시험 호출 1건 허용 */
+        private long openMs = 30000;
+    }
+
+    @Data
+    public static class QualityGate {
+        /** false 면 판정만 로그로 남기고 OCR 은 그대로 호출 (임계값 튜닝용) */
+        private boolean enabled = true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.refit.app.domain.analysis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.refit.app.domain.analysis.dto.response.AnalysisResponseDto;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AnalysisResultCacheTest {
+
+    AnalysisResultCache cache = new AnalysisResultCache(100, 60, 100, 60);
+
+    @Test
+    void ocr_hitsOnlyForIdenticalBytes() {
+        String key = AnalysisResultCache.imageKey("label-a".getBytes(StandardCharsets.UTF_8));
+        cache.putOcrText(key, "전성분: 정제수, 글리세린");
+
+        assertThat(cache.getOcrText(AnalysisResultCache.imageKey("label-a".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo("전성분: 정제수, 글리세린");
+        // 한 바이트만 달라도 다른 라벨로 본다
+        assertThat(cache.getOcrText(AnalysisResultCache.imageKey("label-b".getBytes(StandardCharsets.UTF_8))))
+                .isNull();
+        assertThat(cache.getOcrText(null)).isNull();
+    }
+
+    @Test
+    void result_missThenHit_isPersonalizedPerMember() {
+        String key = AnalysisResultCache.cosmeticKey(List.of("정제수", "글리세린"), null, 1L);
+        assertThat(cache.getResult(key, "민지")).isNull();
+
+        cache.putResult(key, AnalysisResponseDto.builder()
+                .matchRate(80)
+                .safe(List.of("정제수", "글리세린"))
+                .summary(AnalysisResultCache.NAME_PLACEHOLDER + "님께 대체로 무난해요. 수분 공급에 좋아요.")
+                .safeText("보습 성분 위주예요.")
+                .build());
+
+        AnalysisResponseDto a = cache.getResult(key, "수분");
+        AnalysisResponseDto b = cache.getResult(key, "민지");
+
+        // 닉네임이 본문 단어와 같아도 자리표시자만 바뀐다
+        assertThat(a.getSummary()).isEqualTo("수분님께 대체로 무난해요. 수분 공급에 좋아요.");
+        assertThat(a.getMemberName()).isEqualTo("수분");
+        assertThat(b.getSummary()).isEqualTo("민지님께 대체로 무난해요. 수분 공급에 좋아요.");
+        assertThat(b.getSafeText()).isEqualTo("보습 성분 위주예요.");
+    }
+
+    @Test
+    void result_returnsCopies() {
+        String key = AnalysisResultCache.supplementKey("비타민C 1000mg");
+        cache.putResult(key, AnalysisResponseDto.builder().summary("요약").safe(List.of("비타민C")).build());
+
+        cache.getResult(key, "").getSafe().clear();
+
+        assertThat(cache.getResult(key, "").getSafe()).containsExactly("비타민C");
+    }
+}
@@ -0,0 +1,130 @@
+package com.refit.app.domain.analysis.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+import com.refit.app.domain.analysis.dto.AnalysisStatus;
+import com.refit.app.domain.analysis.dto.response.AnalysisResponseDto;
+import com.refit.app.domain.analysis.service.AnalysisProgressListener;
+import com.refit.app.domain.analysis.service.AnalysisService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(
+        controllers = IngredientAnalysisController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = com.refit.app.global.config.JwtAuthFilter.class
+        )
+)
+@TestPropertySource(properties = "spring.main.web-application-type=servlet") // WebFlux 차단
+@AutoConfigureMockMvc(addFilters = false)
+class IngredientAnalysisControllerTest {
+
+    private static final Pattern EVENT = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    AnalysisService analysisService;
+
+    @MockBean
+    ChatClient.Builder chatClientBuilder;
+
+    @TestConfiguration
+    static class ExecutorConfig {
+
+        // 분석을 요청 스레드에서 바로 돌려 이벤트를 응답 본문에서 확인
+        @Bean(name = "analysisRequestExecutor")
+        TaskExecutor analysisRequestExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @Test
+    void fullPipeline_emitsEachStageOnceInOrder() throws Exception {
+        when(analysisService.analyzeImage(eq(42L), any(), eq("beauty"), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    AnalysisProgressListener l = inv.getArgument(5);
+                    l.onIngredients(List.of("정제수", "향료"));
+                    l.onClassified(List.of("정제수"), List.of("향료"), List.of(), 80);
+                    return ok(List.of("정제수"), List.of("향료"));
+                });
+
+        assertThat(stream("beauty")).containsExactly("ingredients", "classified", "result");
+    }
+
+    @Test
+    void cachedResult_stillEmitsClassifiedBeforeResult() throws Exception {
+        // 결과 캐시 히트: 파싱 후 바로 최종 결과
+        when(analysisService.analyzeImage(eq(42L), any(), eq("beauty"), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    AnalysisProgressListener l = inv.getArgument(5);
+                    l.onIngredients(List.of("정제수", "향료"));
+                    return ok(List.of("정제수"), List.of("향료"));
+                });
+
+        assertThat(stream("beauty")).containsExactly("ingredients", "classified", "result");
+    }
+
+    @Test
+    void supplement_emitsSameSequence() throws Exception {
+        when(analysisService.analyzeImage(eq(42L), any(), eq("health"), any(), any(), any()))
+                .thenReturn(ok(List.of(), List.of()));
+
+        assertThat(stream("health")).containsExactly("ingredients", "classified", "result");
+    }
+
+    @Test
+    void failure_emitsOnlyResult() throws Exception {
+        when(analysisService.analyzeImage(eq(42L), any(), eq("beauty"), any(), any(), any()))
+                .thenReturn(AnalysisResponseDto.builder().status(AnalysisStatus.OCR_FAILURE).build());
+
+        assertThat(stream("beauty")).containsExactly("result");
+    }
+
+    private List<String> stream(String productType) throws Exception {
+        String body = mockMvc.perform(multipart("/analysis/image/stream")
+                        .file(new MockMultipartFile("image", "label.jpg", "image/jpeg", new byte[]{1, 2, 3}))
+                        .param("productType", productType)
+                        .principal(new UsernamePasswordAuthenticationToken(42L, null, List.of())))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> events = new ArrayList<>();
+        Matcher m = EVENT.matcher(body);
+        while (m.find()) {
+            events.add(m.group(1));
+        }
+        return events;
+    }
+
+    private static AnalysisResponseDto ok(List<String> safe, List<String> caution) {
+        return AnalysisResponseDto.builder()
+                .status(AnalysisStatus.OK)
+                .matchRate(80)
+                .safe(safe).caution(caution).risky(List.of())
+                .build();
+    }
+}
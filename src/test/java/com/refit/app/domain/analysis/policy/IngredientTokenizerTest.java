@@ -0,0 +1,62 @@
+package com.refit.app.domain.analysis.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IngredientTokenizerTest {
+
+    @Test
+    void tokenize_shouldSliceIngredientsBlock_andStripBracketsAndNoise() {
+        String ocr = """
+                제품명: 수분크림
+                전성분: 정제수, 글리세린, 나이아신아마이드(미백), 향료[알러젠], 판테놀
+                주의사항: 피부에 이상이 있는 경우
+                """;
+
+        assertThat(IngredientTokenizer.tokenize(ocr))
+                .containsExactly("정제수", "글리세린", "나이아신아마이드", "향료", "판테놀");
+    }
+
+    @Test
+    void tokenize_shouldKeepLaterIngredients_whenBracketIsNotClosed() {
+        String ocr = "전성분: 정제수, 나이아신아마이드(미백, 글리세린, 판테놀, 향료";
+
+        assertThat(IngredientTokenizer.tokenize(ocr))
+                .containsExactly("정제수", "나이아신아마이드", "글리세린", "판테놀", "향료");
+    }
+
+    @Test
+    void tokenize_shouldDropClosedBracketContent_evenAcrossSeparators() {
+        String ocr = "전성분: 정제수, 나이아신아마이드(미백, 보습), 글리세린";
+
+        assertThat(IngredientTokenizer.tokenize(ocr))
+                .containsExactly("정제수", "나이아신아마이드", "글리세린");
+    }
+
+    @Test
+    void tokenize_shouldJoinHangulSoftBreaks_andKeepNumericCommas() {
+        String ocr = "전성분: 정제수, 병풀추\n출물, 1,2-헥산다이올";
+
+        assertThat(IngredientTokenizer.tokenize(ocr))
+                .containsExactly("정제수", "병풀추출물", "1,2-헥산다이올");
+    }
+
+    @Test
+    void tokenize_shouldSplitOnMixedSeparators_applyAliases_andDedupe() {
+        String ocr = "성분 : 정제수ㆍ글리세린│Niacinamide·나이아신아마이드 / 소듐 히알루로네이트；정제수";
+
+        List<String> names = IngredientTokenizer.tokenize(ocr);
+
+        assertThat(names).containsExactly(
+                "정제수", "글리세린", "나이아신아마이드", "히알루론산(소듐하이알루로네이트)");
+    }
+
+    @Test
+    void tokenize_shouldFallBackToWholeText_whenNoBlockHeader() {
+        assertThat(IngredientTokenizer.tokenize("Water, Glycerin, Betaine"))
+                .containsExactly("Water", "Glycerin", "베타인");
+        assertThat(IngredientTokenizer.tokenize("   ")).isEmpty();
+    }
+}
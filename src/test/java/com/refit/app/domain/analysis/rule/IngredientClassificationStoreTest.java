@@ -0,0 +1,75 @@
+package com.refit.app.domain.analysis.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.analysis.ai.OpenAiNarrative.ClassificationResult;
+import com.refit.app.domain.analysis.dto.IngredientLearned;
+import com.refit.app.domain.analysis.mapper.AnalysisMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientClassificationStoreTest {
+
+    @Mock
+    AnalysisMapper mapper;
+
+    IngredientClassificationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IngredientClassificationStore(mapper, 100, 60, 5, 0.6, 0.7, 0.5, "test-model");
+    }
+
+    @Test
+    void record_cachesWhatDbHolds_notWhatWasAsked() {
+        // DB에는 이미 MANUAL 교정(safe)이 있어 MERGE 가 덮어쓰지 않는다
+        when(mapper.selectLearnedByKeys(anyCollection()))
+                .thenReturn(List.of(learned("나이아신아마이드", 0, "MANUAL", 1.0)));
+
+        store.record(List.of("나이아신아마이드"),
+                new ClassificationResult(List.of(), List.of(), List.of("나이아신아마이드"), false));
+
+        assertThat(store.lookup(List.of("나이아신아마이드")).get("나이아신아마이드").getIngredientCategory())
+                .isZero();
+        verify(mapper).mergeLearned(anyList());
+        verify(mapper, times(1)).selectLearnedByKeys(anyCollection()); // 조회는 캐시에서
+    }
+
+    @Test
+    void lookup_skipsCautionBelowMinConfidence() {
+        when(mapper.selectLearnedByKeys(anyCollection())).thenReturn(List.of(
+                learned("향료", 1, "LLM", 0.5),
+                learned("판테놀", 0, "LLM", 0.7)));
+
+        assertThat(store.lookup(List.of("향료", "판테놀"))).containsOnlyKeys("판테놀");
+    }
+
+    @Test
+    void record_ignoresDegradedAndInventedNames() {
+        store.record(List.of("향료"), new ClassificationResult(List.of(), List.of("향료"), List.of(), true));
+        store.record(List.of("향료"), new ClassificationResult(List.of("물"), List.of(), List.of(), false));
+
+        verify(mapper, never()).mergeLearned(anyList());
+    }
+
+    private static IngredientLearned learned(String name, int category, String source, double confidence) {
+        IngredientLearned l = new IngredientLearned();
+        l.setNormalizedKey(IngredientRuleIndex.canonicalKey(name));
+        l.setIngredientName(name);
+        l.setIngredientCategory(category);
+        l.setSource(source);
+        l.setConfidence(confidence);
+        return l;
+    }
+}
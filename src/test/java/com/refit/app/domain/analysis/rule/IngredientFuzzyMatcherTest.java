@@ -0,0 +1,39 @@
+package com.refit.app.domain.analysis.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IngredientFuzzyMatcherTest {
+
+    private final IngredientFuzzyMatcher<String> matcher = IngredientFuzzyMatcher.build(Map.of(
+            "나이아신아마이드", "niacinamide",
+            "부틸렌글라이콜", "butylene-glycol",
+            "프로필렌글라이콜", "propylene-glycol",
+            "GLYCERIN", "glycerin",
+            "정제수", "water"
+    ));
+
+    @Test
+    void closest_shouldTolerateSingleJamoOcrErrors() {
+        // 드 → 도 (모음 하나), 콜 → 골 (초성 하나)
+        assertThat(matcher.closest("나이아신아마이도").value()).isEqualTo("niacinamide");
+        assertThat(matcher.closest("부틸렌글라이골").value()).isEqualTo("butylene-glycol");
+        assertThat(matcher.closest("GLYCERlN").value()).isEqualTo("glycerin");
+        assertThat(matcher.closest("정제주").value()).isEqualTo("water");
+    }
+
+    @Test
+    void closest_shouldRejectShortOrDistantNames() {
+        assertThat(matcher.closest("정제")).isNull();
+        assertThat(matcher.closest("수")).isNull(); // 너무 짧음 → 정확 매칭만
+        assertThat(matcher.closest("판테놀")).isNull();
+        assertThat(matcher.closest("부틸렌")).isNull();
+    }
+
+    @Test
+    void toJamo_shouldDecomposeHangulSyllables() {
+        assertThat(IngredientFuzzyMatcher.toJamo("각A")).isEqualTo("각A");
+    }
+}
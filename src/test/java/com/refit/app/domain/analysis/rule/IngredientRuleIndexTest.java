@@ -0,0 +1,85 @@
+package com.refit.app.domain.analysis.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.analysis.dto.IngredientRule;
+import com.refit.app.domain.analysis.mapper.AnalysisMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientRuleIndexTest {
+
+    @Mock
+    AnalysisMapper mapper;
+
+    @InjectMocks
+    IngredientRuleIndex index;
+
+    private static IngredientRule rule(long id, String name, int category) {
+        IngredientRule r = new IngredientRule();
+        r.setIngredientRuleId(id);
+        r.setIngredientName(name);
+        r.setIngredientCategory(category);
+        return r;
+    }
+
+    @Test
+    void canonicalKey_shouldMatchSqlNormalization() {
+        assertThat(IngredientRuleIndex.canonicalKey("히알루론산(소듐하이알루로네이트)"))
+                .isEqualTo("히알루론산소듐하이알루로네이트");
+        assertThat(IngredientRuleIndex.canonicalKey("Salicylic-Acid [BHA]"))
+                .isEqualTo("SALICYLICACIDBHA");
+        assertThat(IngredientRuleIndex.canonicalKey(null)).isEmpty();
+    }
+
+    @Test
+    void resolve_shouldUseIndex_andKeyByInputName() {
+        when(mapper.selectRuleFingerprint()).thenReturn("2:2:100");
+        when(mapper.selectAllRules()).thenReturn(List.of(
+                rule(1L, "정제수", 0),
+                rule(2L, "살리실산(BHA)", 2)
+        ));
+        index.reload();
+
+        Map<String, IngredientRule> out = index.resolve(List.of("살리실산 BHA", "향료", "정제수"));
+
+        assertThat(out).containsOnlyKeys("살리실산 BHA", "정제수");
+        assertThat(out.get("살리실산 BHA").getIngredientCategory()).isEqualTo(2);
+        verify(mapper, never()).selectByNames(anyCollection());
+    }
+
+    @Test
+    void refreshIfChanged_shouldReloadOnlyWhenFingerprintChanges() {
+        when(mapper.selectRuleFingerprint()).thenReturn("1:1:10", "1:1:10", "2:2:20",
+                "2:2:20");
+        when(mapper.selectAllRules()).thenReturn(List.of(rule(1L, "정제수", 0)));
+
+        index.reload();
+        index.refreshIfChanged();
+        assertThat(index.current().version()).isEqualTo(1L);
+
+        index.refreshIfChanged();
+        assertThat(index.current().version()).isEqualTo(2L);
+        verify(mapper, times(2)).selectAllRules();
+    }
+
+    @Test
+    void resolve_shouldFallBackToDb_whenNotLoaded() {
+        when(mapper.selectByNames(anyCollection())).thenReturn(List.of(rule(1L, "정제수", 0)));
+
+        Map<String, IngredientRule> out = index.resolve(List.of("정제수"));
+
+        assertThat(out).containsOnlyKeys("정제수");
+    }
+}
@@ -0,0 +1,80 @@
+package com.refit.app.domain.analysis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AnalysisStageRunnerTest {
+
+    ExecutorService pool = Executors.newFixedThreadPool(1);
+    AnalysisStageRunner runner = new AnalysisStageRunner(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void timeout_interruptsStageThread_andMarksDegraded() throws Exception {
+        AnalysisStageRunner.Timings timings = new AnalysisStageRunner.Timings();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String v = runner.await("classify", timings, runner.start("classify", timings, () -> {
+            try {
+                Thread.sleep(10_000);
+                return "late";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                return "interrupted";
+            }
+        }), 50, () -> "fallback");
+
+        assertThat(v).isEqualTo("fallback");
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timings.isDegraded("classify")).isTrue();
+    }
+
+    @Test
+    void failure_usesFallback_successDoesNot() {
+        AnalysisStageRunner.Timings timings = new AnalysisStageRunner.Timings();
+
+        String ok = runner.await("profile", timings, runner.start("profile", timings, () -> "p"), 1000,
+                () -> null);
+        String failed = runner.await("narrative", timings, runner.start("narrative", timings, () -> {
+            throw new IllegalStateException("boom");
+        }), 1000, () -> "fallback");
+
+        assertThat(ok).isEqualTo("p");
+        assertThat(failed).isEqualTo("fallback");
+        assertThat(timings.isDegraded("profile")).isFalse();
+        assertThat(timings.isDegraded("profile", "narrative")).isTrue();
+    }
+
+    @Test
+    void timedOutStage_freesPoolForNextStage() throws Exception {
+        AnalysisStageRunner.Timings timings = new AnalysisStageRunner.Timings();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        runner.await("slow", timings, runner.start("slow", timings, () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ignored) {
+                // 인터럽트에 반응하는 작업은 바로 끝난다
+            }
+            return null;
+        }), 50, () -> null);
+
+        // 풀 스레드가 1개뿐이라, 앞 단계가 인터럽트로 끝나야 다음 단계가 돈다
+        runner.await("next", timings, runner.start("next", timings, () -> {
+            ran.set(true);
+            return null;
+        }), 2000, () -> null);
+        assertThat(ran).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NeighborSnapshotCacheTest {
+
+    @Mock
+    MemberProductMapper mapper;
+
+    @InjectMocks
+    NeighborSnapshotCache cache;
+
+    @Test
+    void neighborsOf_returnsRankOrderedSliceOfBase() {
+        stubRows(List.of(
+                row(10L, 11L, 0.9, 1), row(10L, 12L, 0.8, 2), row(10L, 13L, 0.7, 3),
+                row(20L, 21L, 0.6, 1)));
+        when(mapper.selectNeighborSnapshotVersion()).thenReturn("v1");
+
+        cache.reload();
+
+        NeighborSnapshotCache.Neighbors n = cache.neighborsOf(10L, 2);
+        assertThat(n.size()).isEqualTo(2);
+        assertThat(n.productId(0)).isEqualTo(11L);
+        assertThat(n.productId(1)).isEqualTo(12L);
+        assertThat(n.similarity(1)).isEqualTo(0.8);
+        assertThat(n.rank(1)).isEqualTo(2);
+
+        assertThat(cache.neighborsOf(20L, 50).size()).isEqualTo(1);
+        assertThat(cache.neighborsOf(15L, 50).isEmpty()).isTrue();
+    }
+
+    @Test
+    void refreshIfChanged_reloadsOnlyOnNewSnapshotVersion() {
+        stubRows(List.of(row(10L, 11L, 0.9, 1)));
+        when(mapper.selectNeighborSnapshotVersion()).thenReturn("v1", "v1", "v2");
+
+        cache.reload();           // v1
+        cache.refreshIfChanged(); // v1 그대로 → 재적재 없음
+        cache.refreshIfChanged(); // v2 → 재적재
+
+        verify(mapper, times(2)).selectLatestNeighbors(any());
+    }
+
+    private void stubRows(List<Map<String, Object>> rows) {
+        doAnswer(inv -> {
+            ResultHandler<Map<String, Object>> h = inv.getArgument(0);
+            rows.forEach(r -> h.handleResult(context(r)));
+            return null;
+        }).when(mapper).selectLatestNeighbors(any());
+    }
+
+    private static ResultContext<Map<String, Object>> context(Map<String, Object> r) {
+        return new ResultContext<>() {
+            @Override
+            public Map<String, Object> getResultObject() {
+                return r;
+            }
+
+            @Override
+            public int getResultCount() {
+                return 1;
+            }
+
+            @Override
+            public boolean isStopped() {
+                return false;
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+    }
+
+    private static Map<String, Object> row(long base, long neighbor, double sim, int rank) {
+        return Map.of("BASE_PRODUCT_ID", base, "NEIGHBOR_PRODUCT_ID", neighbor,
+                "SIM_OVERALL", sim, "RANK_ORDER", rank);
+    }
+}
@@ -0,0 +1,136 @@
+package com.refit.app.domain.memberProduct.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.memberProduct.dto.response.ProductRecommendationDto;
+import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRecommendIndexTest {
+
+    @Mock
+    MemberProductMapper mapper;
+
+    @InjectMocks
+    ProductRecommendIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<Map<String, Object>> products = new ArrayList<>();
+        products.add(product(1L, 1, "A", 10));   // 스킨, 보습+진정
+        products.add(product(2L, 1, "B", 10));   // 스킨, 보습 (궁합 나쁨)
+        products.add(product(3L, 6, "C", 10));   // 헤어, 손상모
+        products.add(product(4L, 2, "D", 0));    // 품절
+        products.add(product(5L, 3, "E", 10));   // 스킨, 보습 (궁합 좋음)
+
+        when(mapper.selectRecommendCatalogFingerprint()).thenReturn("fp-1");
+        when(mapper.selectAllProducts()).thenReturn(products);
+        when(mapper.selectAllProductEffects()).thenReturn(List.of(
+                effect(1L, 0L), effect(1L, 1L), effect(2L, 0L), effect(3L, 8L),
+                effect(4L, 0L), effect(5L, 0L)));
+        when(mapper.selectAllSkinCompat()).thenReturn(List.of(
+                compat(2L, 1, -1), compat(5L, 1, 1)));
+
+        index.reload();
+    }
+
+    @Test
+    void scoreExternal_appliesCompatStockAndCategoryBonus() {
+        ProductRecommendIndex.Candidates c = index.scoreExternal(
+                new ConcernMasks(EffectMask.bit(0), 0L, 0L), 1, 1);
+
+        // 2(궁합 -1), 3(효과 불일치), 4(품절) 제외
+        Map<Long, Double> scores = c.scores();
+        assertThat(scores.keySet()).containsExactly(5L, 1L);
+
+        // 5: sim 1.0 * 궁합 1.20 * 고민 1.08 * 같은 그룹 1.05
+        assertThat(scores.get(5L)).isCloseTo(1.0 * 1.20 * 1.08 * 1.05,
+                offset(1e-9));
+        // 1: sim 1/sqrt(2) * 고민 1.08 * 같은 카테고리 1.10
+        assertThat(scores.get(1L)).isCloseTo(Math.sqrt(0.5) * 1.08 * 1.10,
+                offset(1e-9));
+
+        ProductRecommendationDto dto = c.toDto(1L);
+        assertThat(dto.getBrandName()).isEqualTo("A");
+        assertThat(dto.getEffectIds()).containsExactly(0L, 1L);
+        assertThat(dto.getBaseSimilarity()).isCloseTo(Math.sqrt(0.5),
+                offset(1e-9));
+    }
+
+    @Test
+    void scoreNeighbors_weightsSnapshotSimilarity_andSkipsSelfDeletedSoldOutAndBadCompat() {
+        // 기준 1 의 이웃: 자신, 궁합 -1, 헤어, 품절, 궁합 좋음, 카탈로그에 없음
+        NeighborSnapshotCache.Neighbors neighbors = new NeighborSnapshotCache.Neighbors(
+                new NeighborSnapshotCache.Snapshot("v1", new long[]{1L}, new int[]{0, 6},
+                        new long[]{1L, 2L, 3L, 4L, 5L, 99L},
+                        new double[]{1.0, 0.9, 0.8, 0.7, 0.6, 0.5},
+                        new int[]{1, 2, 3, 4, 5, 6}),
+                0, 6);
+
+        ProductRecommendIndex.Candidates c = index.scoreNeighbors(
+                neighbors, 1L, new ConcernMasks(EffectMask.bit(0), 0L, 0L), 1, 1);
+
+        Map<Long, Double> scores = c.scores();
+        assertThat(scores.keySet()).containsExactly(5L, 3L);
+        // 5: sim 0.6 * 궁합 1.20 * 고민 1.08 * 같은 그룹 1.05
+        assertThat(scores.get(5L)).isCloseTo(0.6 * 1.20 * 1.08 * 1.05, offset(1e-9));
+        // 3: 헤어 — 궁합/고민/카테고리 가중치 없음
+        assertThat(scores.get(3L)).isCloseTo(0.8, offset(1e-9));
+
+        ProductRecommendationDto dto = c.toDto(3L);
+        assertThat(dto.getRankOrder()).isEqualTo(3);
+        assertThat(dto.getBaseSimilarity()).isCloseTo(0.8, offset(1e-9));
+    }
+
+    @Test
+    void refreshStocks_onlyReplacesStockColumn() {
+        Map<String, Object> restocked = new HashMap<>();
+        restocked.put("PRODUCT_ID", 4L);
+        restocked.put("STOCK", 3L);
+        Map<String, Object> soldOut = new HashMap<>();
+        soldOut.put("PRODUCT_ID", 5L);
+        soldOut.put("STOCK", 0L);
+        when(mapper.selectProductStocks()).thenReturn(List.of(
+                restocked, soldOut, Map.of("PRODUCT_ID", 1L, "STOCK", 7L)));
+
+        index.refreshStocks();
+
+        Map<Long, Double> scores = index.scoreExternal(
+                new ConcernMasks(EffectMask.bit(0), 0L, 0L), null, null).scores();
+        // 5 품절, 4 재입고, 2 는 목록에 없으므로(삭제) 제외
+        assertThat(scores.keySet()).containsExactlyInAnyOrder(4L, 1L);
+    }
+
+    private static Map<String, Object> product(long id, int cat, String brand, long stock) {
+        Map<String, Object> r = new HashMap<>();
+        r.put("PRODUCT_ID", id);
+        r.put("CATEGORY_ID", cat);
+        r.put("PRODUCT_NAME", "p" + id);
+        r.put("BRAND_NAME", brand);
+        r.put("PRICE", 10000L);
+        r.put("DISCOUNT_RATE", 10);
+        r.put("DISCOUNTED_PRICE", 9000L);
+        r.put("STOCK", stock);
+        return r;
+    }
+
+    private static Map<String, Object> effect(long pid, long eid) {
+        return Map.of("PRODUCT_ID", pid, "EFFECT_ID", eid);
+    }
+
+    private static Map<String, Object> compat(long pid, int skinType, int cp) {
+        return Map.of("PRODUCT_ID", pid, "SKIN_TYPE", skinType, "COMPAT", cp);
+    }
+}
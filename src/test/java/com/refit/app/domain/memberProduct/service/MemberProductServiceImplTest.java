@@ -9,6 +9,8 @@ import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,14 +19,20 @@ import com.refit.app.domain.memberProduct.dto.MetaRow;
 import com.refit.app.domain.memberProduct.dto.ProductSimpleRow;
 import com.refit.app.domain.memberProduct.dto.request.MemberProductCreateRequest;
 import com.refit.app.domain.memberProduct.dto.request.MemberProductUpdateRequest;
+import com.refit.app.domain.memberProduct.dto.response.ProductRecommendationDto;
 import com.refit.app.domain.memberProduct.mapper.MemberProductMapper;
 import com.refit.app.domain.memberProduct.model.ProductType;
 import com.refit.app.domain.memberProduct.model.UsageStatus;
+import com.refit.app.domain.memberProduct.recommend.NeighborSnapshotCache;
+import com.refit.app.domain.memberProduct.recommend.ProductRecommendIndex;
 import com.refit.app.global.exception.ErrorCode;
 import com.refit.app.global.exception.RefitException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -38,6 +46,12 @@ class MemberProductServiceImplTest {
     @Mock
     MemberProductMapper mapper;
 
+    @Mock
+    ProductRecommendIndex recommendIndex;
+
+    @Mock
+    NeighborSnapshotCache neighborCache;
+
     @InjectMocks
     MemberProductServiceImpl service;
 
@@ -266,4 +280,46 @@ class MemberProductServiceImplTest {
         verify(mapper, times(2)).insertEffect(eq(1L), eq(400L), anyLong()); // 총 2회만
     }
 
+    @Test
+    void recommendForMember_shouldScoreFromResidentCaches_withoutNeighborQueries() {
+        stubInternalBase();
+        NeighborSnapshotCache.Neighbors neighbors = mock(NeighborSnapshotCache.Neighbors.class);
+        ProductRecommendIndex.Candidates cands = mock(ProductRecommendIndex.Candidates.class);
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        scores.put(7L, 1.0);
+        when(neighborCache.loaded()).thenReturn(true);
+        when(recommendIndex.loaded()).thenReturn(true);
+        when(neighborCache.neighborsOf(100L, 50)).thenReturn(neighbors);
+        when(recommendIndex.scoreNeighbors(eq(neighbors), eq(100L), any(), eq(1), eq(1)))
+                .thenReturn(cands);
+        when(cands.scores()).thenReturn(scores);
+        when(cands.toDto(7L)).thenReturn(
+                ProductRecommendationDto.builder().productId(7L).brandName("A").build());
+
+        List<ProductRecommendationDto> out = service.recommendForMember(1L, 10L, 50, 10);
+
+        assertThat(out).extracting(ProductRecommendationDto::getProductId).containsExactly(7L);
+        verify(mapper, never()).selectNeighbors(anyLong(), anyInt());
+        verify(mapper, never()).selectProductsByIds(anyList());
+    }
+
+    @Test
+    void recommendForMember_shouldFallBackToNeighborQuery_whenSnapshotNotLoaded() {
+        stubInternalBase();
+        when(neighborCache.loaded()).thenReturn(false);
+        when(mapper.selectNeighbors(100L, 50)).thenReturn(List.of());
+
+        assertThat(service.recommendForMember(1L, 10L, 50, 10)).isEmpty();
+
+        verify(mapper).selectNeighbors(100L, 50);
+        verify(recommendIndex, never()).scoreNeighbors(any(), anyLong(), any(), any(), any());
+    }
+
+    private void stubInternalBase() {
+        when(mapper.selectOwnerMemberId(10L)).thenReturn(1L);
+        when(mapper.selectMemberProductBase(10L)).thenReturn(
+                Map.of("PRODUCT_ID", 100L, "CATEGORY_ID", 1));
+        when(mapper.selectMemberSkinType(1L)).thenReturn(1);
+    }
+
 }
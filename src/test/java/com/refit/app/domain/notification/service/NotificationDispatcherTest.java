@@ -0,0 +1,126 @@
+package com.refit.app.domain.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.notification.dto.NotificationOutboxRowDto;
+import com.refit.app.domain.notification.mapper.NotificationOutboxMapper;
+import com.refit.app.domain.notification.model.PushOutcome;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    NotificationOutboxMapper outboxMapper;
+
+    @Mock
+    PushService pushService;
+
+    NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher(outboxMapper, pushService, new ObjectMapper(),
+                new ThreadPoolTaskExecutor());
+        ReflectionTestUtils.setField(dispatcher, "leaseSec", 60);
+        ReflectionTestUtils.setField(dispatcher, "pushBatchTimeoutMs", 30_000L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "baseDelaySec", 10L);
+        ReflectionTestUtils.setField(dispatcher, "maxDelaySec", 1800L);
+        ReflectionTestUtils.setField(dispatcher, "dispatchBatchSize", 200);
+    }
+
+    @Test
+    void transientFailure_isRetriedWithBackoff_thenGivenUp() {
+        when(outboxMapper.claim(eq(1L), eq(60), anyString())).thenReturn(1);
+        when(outboxMapper.selectByIds(List.of(1L))).thenReturn(List.of(row(1L, 2)), List.of(row(1L, 3)));
+        when(pushService.sendBatch(any())).thenReturn(Map.of(1L, PushOutcome.RETRY));
+
+        dispatcher.dispatch(List.of(1L));
+        verify(outboxMapper).markRetry(eq(List.of(1L)), eq(20L), isNull(), anyString());
+
+        dispatcher.dispatch(List.of(1L));
+        verify(outboxMapper).markDead(eq(List.of(1L)), eq("retry exhausted"), anyString());
+        verify(outboxMapper, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void batch_sendsOnlyClaimedRows_andMarksByOutcome() {
+        when(outboxMapper.claim(eq(1L), eq(60), anyString())).thenReturn(1);
+        when(outboxMapper.claim(eq(2L), eq(60), anyString())).thenReturn(0);
+        when(outboxMapper.claim(eq(3L), eq(60), anyString())).thenReturn(1);
+        when(outboxMapper.selectByIds(List.of(1L, 3L))).thenReturn(List.of(row(1L, 1), row(3L, 1)));
+        when(pushService.sendBatch(any())).thenReturn(Map.of(1L, PushOutcome.SENT, 3L, PushOutcome.NO_TARGET));
+
+        dispatcher.dispatch(List.of(1L, 2L, 3L));
+
+        verify(outboxMapper).markSent(eq(List.of(1L)), eq("SENT"), anyString());
+        verify(outboxMapper).markSent(eq(List.of(3L)), eq("NO_TARGET"), anyString());
+        verify(outboxMapper, never()).markRetry(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void alreadyClaimed_isSkipped() {
+        when(outboxMapper.claim(eq(1L), eq(60), anyString())).thenReturn(0);
+
+        dispatcher.dispatch(List.of(1L));
+
+        verify(pushService, never()).sendBatch(any());
+        verify(outboxMapper, never()).markRetry(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void results_areWrittenOnlyUnderTheClaimToken() {
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        when(outboxMapper.claim(eq(1L), eq(60), token.capture())).thenReturn(1);
+        when(outboxMapper.selectByIds(List.of(1L))).thenReturn(List.of(row(1L, 1)));
+        when(pushService.sendBatch(any())).thenReturn(Map.of(1L, PushOutcome.SENT));
+        // lease 가 지나 다른 워커가 다시 선점함 → 반영 0건
+        when(outboxMapper.markSent(any(), any(), any())).thenReturn(0);
+
+        dispatcher.dispatch(List.of(1L));
+
+        verify(outboxMapper).markSent(List.of(1L), "SENT", token.getValue());
+    }
+
+    @Test
+    void lease_outlastsPushBatchTimeout() {
+        assertThat(dispatcher.leaseSec()).isEqualTo(60);
+
+        ReflectionTestUtils.setField(dispatcher, "pushBatchTimeoutMs", 90_500L);
+
+        assertThat(dispatcher.leaseSec()).isEqualTo(121);
+    }
+
+    @Test
+    void backoffIsCapped() {
+        assertThat(dispatcher.backoffSec(1)).isEqualTo(10);
+        assertThat(dispatcher.backoffSec(4)).isEqualTo(80);
+        assertThat(dispatcher.backoffSec(30)).isEqualTo(1800);
+    }
+
+    private static NotificationOutboxRowDto row(Long outboxId, int attempts) {
+        return NotificationOutboxRowDto.builder()
+                .outboxId(outboxId).memberId(9L).attempts(attempts)
+                .payload("{\"title\":\"t\",\"body\":\"b\"}")
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.refit.app.domain.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.refit.app.domain.notification.dto.MemberTokenDto;
+import com.refit.app.domain.notification.dto.PushJob;
+import com.refit.app.domain.notification.mapper.DeviceMapper;
+import com.refit.app.domain.notification.model.PushOutcome;
+import com.refit.app.domain.notification.push.FcmSender;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PushServiceImplTest {
+
+    @Mock
+    DeviceMapper deviceMapper;
+
+    // Firebase 대신 쓰는 스텁: 보낸 순서(전체 기준)로 실패 코드를 정한다
+    static class StubSender implements FcmSender {
+        final List<Integer> batchSizes = new ArrayList<>();
+        final Map<Integer, MessagingErrorCode> failures;
+        int sent;
+
+        StubSender(Map<Integer, MessagingErrorCode> failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<List<Result>> sendEach(List<Message> messages) {
+            batchSizes.add(messages.size());
+            List<Result> out = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                MessagingErrorCode code = failures.get(sent++);
+                out.add(code == null ? Result.ok() : Result.fail(code, code.name()));
+            }
+            return CompletableFuture.completedFuture(out);
+        }
+    }
+
+    @Test
+    void tokensAcrossMembersAreChunkedAndTokenUpdatesBatched() {
+        List<MemberTokenDto> rows = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            rows.add(token(1L, "ok-" + i));
+        }
+        rows.add(token(2L, "dead-1"));
+        rows.add(token(3L, "busy-1"));
+        when(deviceMapper.selectActiveTokensByMemberIds(any())).thenReturn(rows);
+
+        StubSender sender = new StubSender(Map.of(
+                600, MessagingErrorCode.UNREGISTERED,
+                601, MessagingErrorCode.UNAVAILABLE));
+        PushServiceImpl service = new PushServiceImpl(deviceMapper, sender, 2, 5_000);
+
+        Map<Long, PushOutcome> outcomes = service.sendBatch(List.of(
+                job(10L, 1L), job(20L, 2L), job(30L, 3L), job(40L, 4L)));
+
+        assertThat(sender.batchSizes).containsExactly(500, 102);
+        assertThat(outcomes).containsEntry(10L, PushOutcome.SENT)
+                .containsEntry(20L, PushOutcome.NO_TARGET)
+                .containsEntry(30L, PushOutcome.RETRY)
+                .containsEntry(40L, PushOutcome.NO_TARGET);
+        verify(deviceMapper).deactivateByTokens(List.of("dead-1"));
+        verify(deviceMapper).markSuccessByTokens(argThat(t -> t.size() == 600));
+    }
+
+    @Test
+    void batchTimeout_coversSlotWait_andOnlyUnansweredMessagesAreRetried() {
+        List<MemberTokenDto> rows = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            rows.add(token(1L + i / 500, "t-" + i));
+        }
+        when(deviceMapper.selectActiveTokensByMemberIds(any())).thenReturn(rows);
+
+        // 첫 배치는 응답이 오지 않아 슬롯 1개를 계속 잡고 있다
+        List<Integer> batchSizes = new ArrayList<>();
+        FcmSender hanging = new FcmSender() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<List<Result>> sendEach(List<Message> messages) {
+                batchSizes.add(messages.size());
+                return new CompletableFuture<>();
+            }
+        };
+        PushServiceImpl service = new PushServiceImpl(deviceMapper, hanging, 1, 200);
+
+        long start = System.nanoTime();
+        Map<Long, PushOutcome> outcomes = service.sendBatch(List.of(job(10L, 1L), job(20L, 2L)));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 두 번째 배치는 마감까지 슬롯을 못 얻어 보내지 않았고, 전체가 마감 안에 끝난다
+        assertThat(batchSizes).containsExactly(500);
+        assertThat(elapsedMs).isLessThan(1_000L);
+        assertThat(outcomes).containsEntry(10L, PushOutcome.RETRY)
+                .containsEntry(20L, PushOutcome.RETRY);
+    }
+
+    private static PushJob job(Long key, Long memberId) {
+        return new PushJob(key, memberId, Map.of("title", "t", "body", "b"));
+    }
+
+    private static MemberTokenDto token(Long memberId, String token) {
+        MemberTokenDto dto = new MemberTokenDto();
+        dto.setMemberId(memberId);
+        dto.setFcmToken(token);
+        return dto;
+    }
+}
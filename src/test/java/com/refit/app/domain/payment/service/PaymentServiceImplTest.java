@@ -0,0 +1,221 @@
+package com.refit.app.domain.payment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.notification.service.NotificationTriggerService;
+import com.refit.app.domain.payment.dto.OrderItemRowDto;
+import com.refit.app.domain.payment.dto.OrderRowDto;
+import com.refit.app.domain.payment.dto.PaymentRowDto;
+import com.refit.app.domain.payment.dto.request.ConfirmPaymentRequest;
+import com.refit.app.domain.payment.dto.request.PartialCancelRequest;
+import com.refit.app.domain.payment.dto.response.ConfirmPaymentResponse;
+import com.refit.app.domain.payment.mapper.PaymentMapper;
+import com.refit.app.domain.payment.model.PaymentStatusCode;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.domain.product.stock.StockReservationService;
+import com.refit.app.global.exception.ErrorCode;
+import com.refit.app.global.exception.RefitException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceImplTest {
+
+    private static final String DONE_CARD = """
+            {"paymentKey":"pk","method":"카드","currency":"KRW","totalAmount":10000,
+             "balanceAmount":10000,"status":"DONE"}""";
+
+    @Mock
+    PaymentMapper paymentMapper;
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    PaymentCancelLogService cancelLogService;
+
+    @Mock
+    NotificationTriggerService notificationTriggerService;
+
+    @Mock
+    StockReservationService stockReservationService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void confirm_reservesBeforePgCall_thenSettlesApproval() {
+        PaymentServiceImpl service = service(req -> json(HttpStatus.OK, DONE_CARD));
+        when(paymentMapper.findOrderForUpdate("ORD-1")).thenReturn(order(0));
+        doAnswer(inv -> {
+            inv.<PaymentRowDto>getArgument(0).setPaymentId(3L);
+            return null;
+        }).when(paymentMapper).insertPayment(any());
+        when(paymentMapper.findPaymentByIdForUpdate(3L)).thenReturn(payment(PaymentStatusCode.CONFIRMING, 0));
+        when(paymentMapper.findOrderItems(5L)).thenReturn(List.of(item(10L, 1), item(10L, 1)));
+        when(stockReservationService.reserve(5L, Map.of(10L, 2))).thenReturn(Set.of());
+
+        ConfirmPaymentResponse res = service.confirm(request(), 7L);
+
+        assertThat(res.getStatus()).isEqualTo("APPROVED");
+        assertThat(res.getItemCount()).isEqualTo(2);
+        verify(paymentMapper).insertPayment(any());
+        verify(paymentMapper).updatePaymentOnConfirmed(eq(3L), eq("카드"), eq("KRW"), eq(10000L), eq(10000L),
+                eq(PaymentStatusCode.APPROVED));
+        verify(paymentMapper).markOrderPaid(5L);
+        verify(productMapper).increaseSalesCountByOrderId(5L, Set.of());
+        verify(notificationTriggerService).notifyPaymentCompleted(eq(7L), eq(5L), any());
+    }
+
+    @Test
+    void confirm_pgRejection_releasesReservationUnderLock() {
+        PaymentServiceImpl service = service(req -> json(HttpStatus.BAD_REQUEST,
+                "{\"code\":\"REJECT_CARD_PAYMENT\"}"));
+        when(paymentMapper.findOrderForUpdate("ORD-1")).thenReturn(order(0));
+        doAnswer(inv -> {
+            inv.<PaymentRowDto>getArgument(0).setPaymentId(3L);
+            return null;
+        }).when(paymentMapper).insertPayment(any());
+        when(paymentMapper.findPaymentByIdForUpdate(3L)).thenReturn(payment(PaymentStatusCode.CONFIRMING, 0));
+
+        catchThrowableOfType(() -> service.confirm(request(), 7L), WebClientResponseException.class);
+
+        verify(paymentMapper).updatePaymentConfirmFailed(3L, "{\"code\":\"REJECT_CARD_PAYMENT\"}");
+        verify(stockReservationService, never()).reserve(anyLong(), any());
+    }
+
+    @Test
+    void confirm_replayOfAnotherMembersPayment_isDenied() {
+        PaymentServiceImpl service = service(req -> {
+            throw new AssertionError("PG 호출 없음");
+        });
+        when(paymentMapper.findOrderForUpdate("ORD-1")).thenReturn(order(1));
+        PaymentRowDto done = payment(PaymentStatusCode.APPROVED, 0);
+        done.setRawJson(DONE_CARD);
+        when(paymentMapper.findPaymentByKey("pk")).thenReturn(done);
+        when(paymentMapper.findMemberIdByOrderId(5L)).thenReturn(8L);
+
+        RefitException ex = catchThrowableOfType(() -> service.confirm(request(), 7L), RefitException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ErrorCode.ACCESS_DENIED.getCode());
+    }
+
+    @Test
+    void recoverConfirm_notFoundWithinPgWindow_staysPending() {
+        PaymentServiceImpl service = service(req -> json(HttpStatus.NOT_FOUND, "{}"));
+        // 연결 3s + 응답 30s + 여유 60s 가 아직 안 지남
+        when(paymentMapper.findPaymentByIdForUpdate(3L)).thenReturn(payment(PaymentStatusCode.CONFIRMING, 60));
+
+        assertThat(service.recoverConfirm(3L)).isEqualTo("pending");
+
+        verify(paymentMapper, never()).updatePaymentConfirmFailed(anyLong(), any());
+    }
+
+    @Test
+    void recoverConfirm_notFoundAfterPgWindow_releasesOnlyIfStillConfirming() {
+        PaymentServiceImpl service = service(req -> json(HttpStatus.NOT_FOUND, "{}"));
+        // 해제 직전 다시 읽었을 때 이미 승인 반영됨
+        when(paymentMapper.findPaymentByIdForUpdate(3L)).thenReturn(
+                payment(PaymentStatusCode.CONFIRMING, 600), payment(PaymentStatusCode.APPROVED, 600));
+
+        assertThat(service.recoverConfirm(3L)).isEqualTo("settled");
+        verify(paymentMapper, never()).updatePaymentConfirmFailed(anyLong(), any());
+
+        when(paymentMapper.findPaymentByIdForUpdate(3L)).thenReturn(payment(PaymentStatusCode.CONFIRMING, 600));
+
+        assertThat(service.recoverConfirm(3L)).isEqualTo("released");
+        verify(paymentMapper).updatePaymentConfirmFailed(3L, "{}");
+    }
+
+    @Test
+    void partialCancel_ofApprovedCardOrder_returnsStockAndSales() {
+        PaymentServiceImpl service = service(req -> json(HttpStatus.OK, "{\"balanceAmount\":5000}"));
+        OrderItemRowDto line = OrderItemRowDto.builder()
+                .orderItemId(11L).orderId(5L).productId(10L).itemCount(2).canceledCount(0).itemPrice(5000L)
+                .build();
+        when(paymentMapper.findOrderItemForCancel(11L)).thenReturn(line);
+        PaymentRowDto pay = payment(PaymentStatusCode.APPROVED, 0);
+        pay.setMethod("카드");
+        pay.setBalanceAmount(10000L);
+        when(paymentMapper.findActivePaymentByOrderId(5L)).thenReturn(pay);
+        when(paymentMapper.findOrderMoneyForUpdate(5L)).thenReturn(OrderRowDto.builder()
+                .orderId(5L).orderStatus(1).goodsAmount(10000L).deliveryFee(3000L).orderSummary("크림")
+                .build());
+        when(paymentMapper.findOrderItems(5L)).thenReturn(List.of(line));
+        when(paymentMapper.conditionalIncreaseCanceledCount(11L, 1)).thenReturn(1);
+
+        service.partialCancel(11L, PartialCancelRequest.builder()
+                .cancelReason("단순 변심").cancelAmount(5000L)
+                .build(), 7L);
+
+        verify(productMapper).decreaseSalesCount(10L, 1);
+        verify(stockReservationService).restock(10L, 1);
+    }
+
+    private PaymentServiceImpl service(Function<ClientRequest, ClientResponse> toss) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://toss.test")
+                .exchangeFunction(req -> Mono.just(toss.apply(req)))
+                .build();
+        return new PaymentServiceImpl(webClient, paymentMapper, new ObjectMapper(), productMapper,
+                cancelLogService, notificationTriggerService, stockReservationService, transactionManager,
+                3000, 30000, 60);
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static ConfirmPaymentRequest request() {
+        return ConfirmPaymentRequest.builder()
+                .paymentKey("pk").orderId("ORD-1").amount(10000L).method("CARD")
+                .build();
+    }
+
+    private static OrderRowDto order(int status) {
+        return OrderRowDto.builder()
+                .orderId(5L).totalPrice(10000L).orderStatus(status).orderSummary("크림")
+                .build();
+    }
+
+    private static PaymentRowDto payment(int status, long ageSec) {
+        return PaymentRowDto.builder()
+                .paymentId(3L).orderId(5L).orderCode("ORD-1").paymentKey("pk").method("CARD")
+                .status(status).createdAt(LocalDateTime.now().minusSeconds(ageSec))
+                .build();
+    }
+
+    private static OrderItemRowDto item(long productId, int count) {
+        return OrderItemRowDto.builder()
+                .orderId(5L).productId(productId).itemCount(count).itemPrice(5000L)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.refit.app.domain.payment.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.notification.service.NotificationTriggerService;
+import com.refit.app.domain.payment.dto.OrderRowDto;
+import com.refit.app.domain.payment.dto.PaymentRowDto;
+import com.refit.app.domain.payment.mapper.PaymentMapper;
+import com.refit.app.domain.payment.model.PaymentStatusCode;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookServiceImplTest {
+
+    @Mock
+    PaymentMapper mapper;
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    NotificationTriggerService notificationTriggerService;
+
+    PaymentWebhookServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentWebhookServiceImpl(mapper, productMapper, WebClient.create(),
+                new ObjectMapper(), notificationTriggerService);
+    }
+
+    @Test
+    void doneWebhook_countsSalesAndPushesOnce_lockingOrderById() {
+        // 주문번호가 비어 있는 결제 행 (ORDER_CODE 미매핑/누락) 도 ORDER_ID 로 처리된다
+        when(mapper.findPaymentByKey("pk")).thenReturn(payment(0));
+        when(mapper.findOrderMoneyForUpdate(5L)).thenReturn(order(12));
+        when(mapper.findMemberIdByOrderId(5L)).thenReturn(7L);
+
+        service.handle(doneEvent());
+
+        verify(productMapper).increaseSalesCountByOrderId(5L, null);
+        verify(mapper).updateOrderStatus(5L, 1);
+        verify(notificationTriggerService).notifyPaymentCompleted(7L, 5L, "크림 외 1건의 입금이 완료되었습니다.");
+        verify(mapper, never()).findOrderForUpdate(any());
+    }
+
+    @Test
+    void doneWebhook_redelivered_doesNotCountSalesOrPushAgain() {
+        when(mapper.findPaymentByKey("pk")).thenReturn(payment(1));
+        when(mapper.findOrderMoneyForUpdate(5L)).thenReturn(order(1));
+
+        service.handle(doneEvent());
+
+        verify(productMapper, never()).increaseSalesCountByOrderId(anyLong(), any());
+        verify(notificationTriggerService, never()).notifyPaymentCompleted(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void doneWebhook_whileConfirmInProgress_leavesItToConfirmPath() {
+        when(mapper.findPaymentByKey("pk")).thenReturn(payment(PaymentStatusCode.CONFIRMING));
+
+        service.handle(doneEvent());
+
+        verify(mapper, never()).findOrderMoneyForUpdate(any());
+        verify(productMapper, never()).increaseSalesCountByOrderId(anyLong(), any());
+        verify(mapper, never()).updateOrderStatus(anyLong(), any());
+    }
+
+    @Test
+    void depositCallback_done_countsSalesOnlyWhenNotPaidYet() {
+        when(mapper.findOrderForUpdate("ORD-1")).thenReturn(order(12), order(1));
+        when(mapper.findActivePaymentByOrderId(5L)).thenReturn(payment(0));
+        when(mapper.findMemberIdByOrderId(5L)).thenReturn(7L);
+
+        Map<String, Object> callback = Map.of("orderId", "ORD-1", "status", "DONE", "secret", "s");
+        service.handle(callback);
+        service.handle(callback); // 이미 결제완료 → 무시
+
+        verify(mapper).markOrderPaid(5L);
+        verify(productMapper).increaseSalesCountByOrderId(5L, null);
+    }
+
+    private static Map<String, Object> doneEvent() {
+        return Map.of("eventType", "PAYMENT_STATUS_CHANGED",
+                "data", Map.of("paymentKey", "pk", "status", "DONE", "method", "가상계좌"));
+    }
+
+    private static PaymentRowDto payment(int status) {
+        return PaymentRowDto.builder()
+                .paymentId(3L).orderId(5L).paymentKey("pk")
+                .balanceAmount(10000L).status(status)
+                .build();
+    }
+
+    private static OrderRowDto order(int status) {
+        return OrderRowDto.builder()
+                .orderId(5L).orderStatus(status).orderSummary("크림 외 1건")
+                .build();
+    }
+}
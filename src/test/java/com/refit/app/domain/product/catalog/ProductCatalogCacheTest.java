@@ -0,0 +1,80 @@
+package com.refit.app.domain.product.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.product.dto.ProductDetailDto;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogCacheTest {
+
+    @Mock
+    ProductMapper mapper;
+
+    @Test
+    void getAll_loadsOnlyMisses_andClearsOnVersionChange() {
+        ProductCatalogCache cache = new ProductCatalogCache(mapper, 100, 60_000);
+        when(mapper.selectProductDetailsByIds(List.of(1L))).thenReturn(List.of(detail(1L, 10_000)));
+        when(mapper.selectProductDetailsByIds(List.of(2L, 3L))).thenReturn(List.of(detail(2L, 20_000)));
+        when(mapper.selectCatalogVersion()).thenReturn("v1", "v2");
+
+        assertThat(cache.get(1L).getPrice()).isEqualTo(10_000);
+
+        Map<Long, ProductDetailDto> m = cache.getAll(List.of(1L, 2L, 3L));
+        assertThat(m).containsOnlyKeys(1L, 2L); // 3 은 없는 상품
+        verify(mapper, times(2)).selectProductDetailsByIds(anyCollection());
+
+        cache.invalidateIfChanged(); // v1: 기준값만 기록
+        assertThat(cache.get(1L)).isNotNull();
+        verify(mapper, times(2)).selectProductDetailsByIds(anyCollection());
+
+        cache.invalidateIfChanged(); // v2: 변경 → 비움
+        assertThat(cache.get(1L)).isNotNull();
+        verify(mapper, times(2)).selectProductDetailsByIds(List.of(1L));
+    }
+
+    @Test
+    void loadFresh_readsDbEvenWhenCached_andRefreshesCache() {
+        ProductCatalogCache cache = new ProductCatalogCache(mapper, 100, 60_000);
+        when(mapper.selectProductDetailsByIds(List.of(1L)))
+                .thenReturn(List.of(detail(1L, 10_000)), List.of(detail(1L, 12_000)));
+
+        assertThat(cache.get(1L).getPrice()).isEqualTo(10_000);
+
+        // 버전 확인 전에 가격이 바뀌어도 주문서는 DB 값을 본다
+        assertThat(cache.loadFresh(List.of(1L, 1L)).get(1L).getPrice()).isEqualTo(12_000);
+        assertThat(cache.get(1L).getPrice()).isEqualTo(12_000);
+        verify(mapper, times(2)).selectProductDetailsByIds(List.of(1L));
+    }
+
+    @Test
+    void toSummary_matchesOrderLineFields() {
+        var row = ProductCatalogCache.toSummary(detail(7L, 15_000));
+
+        assertThat(row.getId()).isEqualTo(7L);
+        assertThat(row.getOriginalPrice()).isEqualTo(15_000L);
+        assertThat(row.getDiscountedPrice()).isEqualTo(13_500L);
+        assertThat(row.getDiscountRate()).isEqualTo(10L);
+    }
+
+    private static ProductDetailDto detail(Long id, int price) {
+        return ProductDetailDto.builder()
+                .id(id)
+                .productName("p" + id)
+                .brandName("b")
+                .discountRate(10)
+                .price(price)
+                .discountedPrice(price * 9 / 10)
+                .build();
+    }
+}
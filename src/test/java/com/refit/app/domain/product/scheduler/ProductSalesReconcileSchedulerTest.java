@@ -0,0 +1,30 @@
+package com.refit.app.domain.product.scheduler;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.product.mapper.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSalesReconcileSchedulerTest {
+
+    @Mock
+    ProductMapper productMapper;
+
+    @InjectMocks
+    ProductSalesReconcileScheduler scheduler;
+
+    @Test
+    void reconcile_rebuildsSalesCountInOneStatement() {
+        when(productMapper.reconcileSalesCount()).thenReturn(3);
+
+        scheduler.reconcile();
+
+        verify(productMapper).reconcileSalesCount();
+    }
+}
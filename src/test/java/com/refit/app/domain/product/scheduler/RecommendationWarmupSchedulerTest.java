@@ -0,0 +1,125 @@
+package com.refit.app.domain.product.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.domain.product.scheduler.RecommendationWarmupScheduler.Progress;
+import com.refit.app.domain.product.service.ProductService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationWarmupSchedulerTest {
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    ProductService productService;
+
+    @Mock
+    LockProvider lockProvider;
+
+    final List<Runnable> submitted = new ArrayList<>();
+
+    RecommendationWarmupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RecommendationWarmupScheduler(productMapper, productService, submitted::add,
+                lockProvider);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "activeDays", 7);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 200);
+        ReflectionTestUtils.setField(scheduler, "maxMembers", 100);
+        ReflectionTestUtils.setField(scheduler, "concurrency", 2);
+        ReflectionTestUtils.setField(scheduler, "maxConsecutiveFailures", 20);
+        ReflectionTestUtils.setField(scheduler, "productTypes", List.of(0));
+        ReflectionTestUtils.setField(scheduler, "location", "서울");
+        ReflectionTestUtils.setField(scheduler, "topk", 200);
+        ReflectionTestUtils.setField(scheduler, "limit", 10);
+    }
+
+    @Test
+    void trigger_onlyHandsRunOffToWarmupExecutor() {
+        when(lockProvider.lock(any())).thenReturn(Optional.of(mock(SimpleLock.class)));
+        when(productMapper.selectRecentlyActiveMemberIds(anyInt(), any(), anyInt()))
+                .thenReturn(List.of());
+        ReflectionTestUtils.setField(scheduler, "ratePerSec", 0.0);
+        ReflectionTestUtils.setField(scheduler, "maxDurationMs", 60_000L);
+
+        scheduler.trigger();
+
+        // 스케줄러 스레드에서는 아무 것도 실행하지 않는다
+        assertThat(submitted).hasSize(1);
+        verifyNoInteractions(productMapper, lockProvider);
+
+        submitted.get(0).run();
+
+        verify(lockProvider).lock(any());
+        assertThat(scheduler.lastRun().stopReason()).isEqualTo("done");
+    }
+
+    @Test
+    void warmUp_pacesCallsToRatePerSec() {
+        stubMembers(List.of(1L, 2L, 3L, 4L, 5L));
+        when(productService.warmRecommendations(eq(0), anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        ReflectionTestUtils.setField(scheduler, "ratePerSec", 20.0);   // 50ms 간격
+        ReflectionTestUtils.setField(scheduler, "maxDurationMs", 60_000L);
+
+        scheduler.warmUp();
+
+        Progress p = scheduler.lastRun();
+        assertThat(p.stopReason()).isEqualTo("done");
+        assertThat(p.warmed()).isEqualTo(5);
+        // 첫 호출은 바로, 나머지 4건은 50ms 씩 간격
+        assertThat(p.elapsedMs()).isGreaterThanOrEqualTo(190L);
+    }
+
+    @Test
+    void warmUp_stopsBeforePacingWaitWouldCrossDeadline() {
+        when(productMapper.selectRecentlyActiveMemberIds(eq(7), isNull(), anyInt()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(productService.warmRecommendations(eq(0), anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        ReflectionTestUtils.setField(scheduler, "ratePerSec", 2.0);    // 500ms 간격
+        ReflectionTestUtils.setField(scheduler, "maxDurationMs", 200L);
+
+        scheduler.warmUp();
+
+        Progress p = scheduler.lastRun();
+        assertThat(p.stopReason()).isEqualTo("deadline");
+        assertThat(p.warmed()).isEqualTo(1);
+        assertThat(p.elapsedMs()).isLessThan(500L);
+        verify(productService, times(1))
+                .warmRecommendations(anyInt(), anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    private void stubMembers(List<Long> ids) {
+        when(productMapper.selectRecentlyActiveMemberIds(eq(7), isNull(), anyInt())).thenReturn(ids);
+        when(productMapper.selectRecentlyActiveMemberIds(eq(7), eq(ids.get(ids.size() - 1)), anyInt()))
+                .thenReturn(List.of());
+    }
+}
@@ -0,0 +1,46 @@
+package com.refit.app.domain.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.product.mapper.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCountCacheTest {
+
+    @Mock
+    ProductMapper mapper;
+
+    @Test
+    void scrollPagesReuseFirstPageCount_untilCatalogChanges() {
+        ProductCountCache cache = new ProductCountCache(mapper, 100, 60_000);
+        when(mapper.countProducts(null, 0, 7)).thenReturn(120, 121);
+        when(mapper.selectListingFingerprint()).thenReturn("a", "b");
+
+        assertThat(cache.countProducts(null, 0, 7, true)).isEqualTo(120);
+        assertThat(cache.countProducts(null, 0, 7, false)).isEqualTo(120);
+        assertThat(cache.countProducts(null, 0, 7, false)).isEqualTo(120);
+        verify(mapper, times(1)).countProducts(null, 0, 7);
+
+        cache.invalidateIfChanged(); // a: 기준값만 기록
+        cache.invalidateIfChanged(); // b: 변경 → 비움
+        assertThat(cache.countProducts(null, 0, 7, false)).isEqualTo(121);
+        verify(mapper, times(2)).countProducts(null, 0, 7);
+    }
+
+    @Test
+    void nameCountKeyIgnoresCase() {
+        ProductCountCache cache = new ProductCountCache(mapper, 100, 60_000);
+        when(mapper.countProductsByName("Cream", 0)).thenReturn(5);
+
+        assertThat(cache.countProductsByName("Cream", 0, true)).isEqualTo(5);
+        assertThat(cache.countProductsByName("cream", 0, false)).isEqualTo(5);
+        verify(mapper, times(1)).countProductsByName("Cream", 0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.refit.app.domain.product.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.refit.app.domain.product.dto.StockLineDto;
+import com.refit.app.domain.product.mapper.ProductMapper;
+import com.refit.app.global.exception.RefitException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    ProductMapper mapper;
+
+    @Mock
+    StockLedger ledger;
+
+    StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StockReservationService(mapper, ledger, List.of(100L), 60_000);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void hotLinesGoToLedger_coldLinesToOneMerge_andCommitAfterTx() {
+        stubMembers(Set.of(100L));
+        when(mapper.selectStocksForUpdate(any())).thenReturn(List.of(stock(1L, 10)));
+        when(ledger.reserve(eq(7L), eq(Map.of(100L, 2)), anyLong())).thenReturn(Map.of());
+        when(mapper.decreaseStocks(any())).thenReturn(1);
+
+        assertThat(service.reserve(7L, Map.of(1L, 3, 100L, 2))).containsExactly(100L);
+
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(syncs).hasSize(1);
+        syncs.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        verify(ledger).commit(7L);
+        verify(ledger, never()).release(7L);
+    }
+
+    @Test
+    void reportsEveryShortProduct_andSkipsLedgerWhenColdIsShort() {
+        stubMembers(Set.of(100L));
+        when(mapper.selectStocksForUpdate(any())).thenReturn(List.of(stock(1L, 1)));
+        when(ledger.available(any())).thenReturn(Map.of(100L, 0L));
+
+        assertThatThrownBy(() -> service.reserve(7L, Map.of(1L, 3, 2L, 1, 100L, 2)))
+                .isInstanceOf(RefitException.class)
+                .hasMessageContaining("productId=1(stock=1, need=3)")
+                .hasMessageContaining("productId=2(상품 없음)")
+                .hasMessageContaining("productId=100(stock=0, need=2)");
+        verify(ledger, never()).reserve(any(), any(), anyLong());
+        verify(mapper, never()).decreaseStocks(any());
+    }
+
+    @Test
+    void coldProductPromotedBeforeLock_isNotDecrementedInProduct() {
+        // 경로를 고를 때는 일반 상품이었는데 행을 잠그고 보니 원장 상품이 됨
+        when(ledger.members(any())).thenReturn(Set.of(), Set.of(1L));
+        when(mapper.selectStocksForUpdate(any())).thenReturn(List.of(stock(1L, 10)));
+
+        assertThatThrownBy(() -> service.reserve(7L, Map.of(1L, 3)))
+                .isInstanceOf(RefitException.class)
+                .hasMessageContaining("재고 원장 전환 중");
+        verify(mapper, never()).decreaseStocks(any());
+    }
+
+    @Test
+    void sync_addsLedgerDeltas_promotesUnderLock_andSettlesOnlyAfterCommit() {
+        // 원장 상품 100, 300(설정에서 빠짐) / 설정 100, 200
+        when(ledger.productIds()).thenReturn(Set.of(100L, 300L));
+        when(mapper.selectStocksForUpdate(any()))
+                .thenReturn(List.of(stock(100L, 7), stock(200L, 5), stock(300L, 9)));
+        Map<Long, Long> deltas = Map.of(100L, -3L, 300L, 1L);
+        Map<Long, Long> sold = Map.of(100L, 3L);
+        when(ledger.pendingDeltas()).thenReturn(deltas);
+        when(ledger.pendingSold()).thenReturn(sold);
+        when(mapper.applyStockDeltas(any())).thenReturn(2);
+
+        assertThat(service.syncToDatabase()).isEqualTo(2);
+
+        verify(ledger).promote(200L, 5L);
+        verify(ledger).remove(300L);
+        verify(ledger, never()).remove(100L);
+        // 덮어쓰지 않고 증감분만 더한다 (원장에서 내린 300 의 남은 증감분 포함)
+        verify(mapper).applyStockDeltas(argThat(lines -> lines.stream()
+                .map(l -> l.getProductId() + ":" + l.getQty())
+                .collect(Collectors.toSet())
+                .equals(Set.of("100:-3", "300:1"))));
+        verify(mapper).increaseSalesCounts(any());
+        // 커밋 전에는 원장 값을 건드리지 않는다
+        verify(ledger, never()).settle(any(), any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(ledger).settle(deltas, sold, Map.of(100L, 4L, 200L, 5L));
+    }
+
+    private void stubMembers(Set<Long> members) {
+        when(ledger.members(any())).thenAnswer(inv -> {
+            Set<Long> out = new HashSet<>(inv.<Collection<Long>>getArgument(0));
+            out.retainAll(members);
+            return out;
+        });
+    }
+
+    private static StockLineDto stock(Long productId, int stock) {
+        return StockLineDto.builder().productId(productId).stock(stock).build();
+    }
+}
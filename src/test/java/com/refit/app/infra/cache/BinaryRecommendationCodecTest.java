@@ -0,0 +1,66 @@
+package com.refit.app.infra.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refit.app.domain.product.dto.ProductRecommendationItemDto;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BinaryRecommendationCodecTest {
+
+    @Test
+    void roundTrip_keepsNullsAndUnicode_andCompressesLargePayloads() throws Exception {
+        BinaryRecommendationCodec codec = new BinaryRecommendationCodec(512);
+        List<ProductRecommendationItemDto> items = new ArrayList<>();
+        items.add(ProductRecommendationItemDto.builder().productId(1L).productName("수분 크림")
+                .brandName("리핏").discountRate(15).price(23_000L).discountedPrice(19_500L).build());
+        items.add(ProductRecommendationItemDto.builder().productId(2L).build());
+        for (long i = 3; i <= 50; i++) {
+            items.add(item(i));
+        }
+        ProductRecommendationResponse in = new ProductRecommendationResponse(items);
+
+        byte[] bytes = codec.encode(in);
+        ProductRecommendationResponse out = codec.decode(bytes);
+
+        assertThat(bytes[1] & BinaryRecommendationCodec.FLAG_DEFLATE).isNotZero();
+        assertThat(out.getItems()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(items);
+        assertThat(out.getItems().get(1).getPrice()).isNull();
+        assertThat(bytes.length).isLessThan(new ObjectMapper().writeValueAsBytes(in).length / 3);
+    }
+
+    @Test
+    void decode_rejectsTruncatedPayload_andJsonStaysReadable() throws Exception {
+        BinaryRecommendationCodec codec = new BinaryRecommendationCodec(0);
+        byte[] bytes = codec.encode(new ProductRecommendationResponse(List.of(item(7L))));
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(IOException.class);
+
+        // 전환 전 JSON 값은 MAGIC 이 아니므로 JSON 코덱으로 읽힌다
+        byte[] legacy = new ObjectMapper().writeValueAsBytes(
+                new ProductRecommendationResponse(List.of(item(7L))));
+        assertThat(BinaryRecommendationCodec.accepts(legacy)).isFalse();
+        assertThat(new JsonRecommendationCodec(new ObjectMapper()).decode(legacy).getItems().get(0)
+                .getProductId()).isEqualTo(7L);
+    }
+
+    private static ProductRecommendationItemDto item(long id) {
+        return ProductRecommendationItemDto.builder()
+                .productId(id)
+                .thumbnailUrl("https://cdn.refit.com/products/" + id + "/thumb.jpg")
+                .brandName("브랜드" + (id % 7))
+                .productName("상품 " + id)
+                .discountRate((int) (id % 40))
+                .price(10_000L + id * 100)
+                .discountedPrice(9_000L + id * 90)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.refit.app.infra.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.refit.app.domain.product.dto.ProductRecommendationItemDto;
+import com.refit.app.domain.product.dto.response.ProductRecommendationResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TieredRecommendationCacheTest {
+
+    /** Redis 대신 메모리 (TTL 은 남은 시간을 그대로 돌려준다) */
+    static class MemoryRepo implements RecommendationCacheRepository {
+
+        final Map<String, Hit> store = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public ProductRecommendationResponse get(String key) {
+            Hit h = getWithTtl(key);
+            return h == null ? null : h.value();
+        }
+
+        @Override
+        public Hit getWithTtl(String key) {
+            reads.incrementAndGet();
+            return store.get(key);
+        }
+
+        @Override
+        public void put(String key, ProductRecommendationResponse value, long ttlSeconds) {
+            store.put(key, new Hit(value, ttlSeconds * 1000));
+        }
+    }
+
+    private final MemoryRepo repo = new MemoryRepo();
+
+    @Test
+    void concurrentMisses_shareSingleLoad() throws Exception {
+        TieredRecommendationCache cache = new TieredRecommendationCache(repo, Runnable::run,
+                100, 60_000, 0.2, 0, 5_000);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<ProductRecommendationResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> cache.getAsync("k", 600, () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> {
+                    await(release);
+                    return response(1L);
+                });
+            }).get()));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<ProductRecommendationResponse> f : futures) {
+            assertThat(f.get(5, TimeUnit.SECONDS).getItems()).hasSize(1);
+        }
+        pool.shutdown();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void l1Hit_skipsRedis_andNearExpiryServesStaleWhileRefreshing() {
+        TieredRecommendationCache cache = new TieredRecommendationCache(repo, Runnable::run,
+                100, 60_000, 0.2, 0, 5_000);
+        get(cache, "k", 1L);
+        int reads = repo.reads.get();
+
+        // L1 히트: Redis 안 감
+        assertThat(get(cache, "k", 2L)).isEqualTo(1L);
+        assertThat(repo.reads.get()).isEqualTo(reads);
+
+        // 다른 인스턴스가 넣은 값인데 남은 TTL 이 10%(< refresh-ahead 20%) → 바로 주고 뒤에서 갱신
+        repo.store.put("near", new RecommendationCacheRepository.Hit(response(3L), 60_000));
+        AtomicInteger refreshed = new AtomicInteger();
+        assertThat(get(cache, "near", 4L)).isEqualTo(3L);
+        ProductRecommendationResponse stale = cache.getAsync("near", 600, () -> {
+            refreshed.incrementAndGet();
+            return CompletableFuture.completedFuture(response(4L));
+        }).join();
+        assertThat(stale.getItems().get(0).getProductId()).isEqualTo(3L);
+        assertThat(refreshed.get()).isEqualTo(1);
+        assertThat(get(cache, "near", 5L)).isEqualTo(4L);
+    }
+
+    @Test
+    void loaderFailure_isNotCached() {
+        TieredRecommendationCache cache = new TieredRecommendationCache(repo, Runnable::run,
+                100, 60_000, 0.2, 0, 5_000);
+
+        assertThat(cache.getAsync("k", 600,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("down"))))
+                .isCompletedExceptionally();
+        assertThat(get(cache, "k", 1L)).isEqualTo(1L);
+    }
+
+    @Test
+    void prefill_fillsOnlyL2_andSkipsFreshKeys() {
+        TieredRecommendationCache cache = new TieredRecommendationCache(repo, Runnable::run,
+                100, 60_000, 0.2, 0, 5_000);
+
+        assertThat(cache.prefill("k", 600,
+                () -> CompletableFuture.completedFuture(response(1L))).join()).isTrue();
+        assertThat(cache.prefill("k", 600,
+                () -> CompletableFuture.completedFuture(response(2L))).join()).isFalse();
+
+        // L1 에는 안 들어갔으므로 첫 조회는 Redis 에서 읽는다
+        int reads = repo.reads.get();
+        assertThat(get(cache, "k", 3L)).isEqualTo(1L);
+        assertThat(repo.reads.get()).isGreaterThan(reads);
+    }
+
+    private static long get(TieredRecommendationCache cache, String key, long productId) {
+        return cache.getAsync(key, 600, () -> CompletableFuture.completedFuture(response(productId)))
+                .join().getItems().get(0).getProductId();
+    }
+
+    private static ProductRecommendationResponse response(long productId) {
+        return ProductRecommendationResponse.builder()
+                .items(List.of(ProductRecommendationItemDto.builder().productId(productId).build()))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.refit.app.infra.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+
+class GrayRasterTest {
+
+    // 3x2 원본: 위 줄 a b c, 아래 줄 d e f (밝기 40 간격 → 대비 늘이기 후 0..255)
+    private static BufferedImage sample() {
+        BufferedImage img = new BufferedImage(3, 2, BufferedImage.TYPE_3BYTE_BGR);
+        int v = 0;
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 3; x++) {
+                v += 40;
+                img.setRGB(x, y, (v << 16) | (v << 8) | v);
+            }
+        }
+        return img;
+    }
+
+    private static int[] pixels(GrayRaster gray) {
+        BufferedImage img = gray.image();
+        return img.getRaster().getPixels(0, 0, img.getWidth(), img.getHeight(), (int[]) null);
+    }
+
+    @Test
+    void render_shouldStretchContrastWithoutRotation() {
+        try (GrayRaster gray = GrayRaster.render(sample(), 1, 1024)) {
+            assertThat(gray.image().getType()).isEqualTo(BufferedImage.TYPE_BYTE_GRAY);
+            assertThat(pixels(gray)).containsExactly(0, 51, 102, 153, 204, 255);
+        }
+    }
+
+    @Test
+    void render_shouldApplyExifRotation() {
+        // 6: 시계 방향 90도 → 위 줄이 d a
+        try (GrayRaster gray = GrayRaster.render(sample(), 6, 1024)) {
+            assertThat(gray.image().getWidth()).isEqualTo(2);
+            assertThat(pixels(gray)).containsExactly(153, 0, 204, 51, 255, 102);
+        }
+        // 8: 반시계 방향 90도 → 위 줄이 c f
+        try (GrayRaster gray = GrayRaster.render(sample(), 8, 1024)) {
+            assertThat(pixels(gray)).containsExactly(102, 255, 51, 204, 0, 153);
+        }
+    }
+
+    @Test
+    void render_shouldBoundLongSide() {
+        BufferedImage big = new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB);
+        try (GrayRaster gray = GrayRaster.render(big, 6, 1024)) {
+            assertThat(gray.image().getWidth()).isEqualTo(683);
+            assertThat(gray.image().getHeight()).isEqualTo(1024);
+        }
+    }
+
+    @Test
+    void quality_shouldFlagObviouslyBadCaptures() {
+        BufferedImage flat = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        BufferedImage dark = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        BufferedImage lines = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 400; x++) {
+                flat.setRGB(x, y, 0x808080);
+                dark.setRGB(x, y, (x / 4) % 2 == 0 ? 0x0A0A0A : 0x141414);
+                // 글자 획 흉내: 밝은 바탕에 가는 세로/가로 선
+                boolean stroke = (x % 12 < 2 && y % 30 < 20) || y % 30 == 10;
+                lines.setRGB(x, y, stroke ? 0x202020 : 0xE0E0E0);
+            }
+        }
+
+        try (GrayRaster gray = GrayRaster.render(flat, 1, 1024)) {
+            assertThat(gray.quality().verdict()).isEqualTo(ImageQuality.Verdict.BLURRY);
+        }
+        try (GrayRaster gray = GrayRaster.render(dark, 1, 1024)) {
+            assertThat(gray.quality().verdict()).isEqualTo(ImageQuality.Verdict.TOO_DARK);
+        }
+        try (GrayRaster gray = GrayRaster.render(lines, 1, 1024)) {
+            assertThat(gray.quality().verdict()).isEqualTo(ImageQuality.Verdict.OK);
+        }
+    }
+}
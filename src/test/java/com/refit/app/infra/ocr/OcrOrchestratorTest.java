@@ -0,0 +1,134 @@
+package com.refit.app.infra.ocr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OcrOrchestratorTest {
+
+    private static final String PDF = "application/pdf"; // 전처리 없이 바로 엔진으로
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private OcrProps props() {
+        OcrProps props = new OcrProps();
+        props.setEngineOrder(List.of("primary", "secondary"));
+        props.setTotalTimeoutMs(3000);
+        props.getHedge().setDefaultDelayMs(100);
+        props.getHedge().setMinDelayMs(50);
+        props.getBreaker().setFailureThreshold(3);
+        props.getBreaker().setOpenMs(60_000);
+        return props;
+    }
+
+    @Test
+    void fullText_shouldTakeHedgedAnswerWhenPrimaryIsSlow() {
+        FakeEngine primary = new FakeEngine("primary", 2000);
+        FakeEngine secondary = new FakeEngine("secondary", 10);
+        OcrOrchestrator orchestrator = new OcrOrchestrator(List.of(secondary, primary), props(),
+                executor);
+
+        long t0 = System.nanoTime();
+        String text = orchestrator.fullText(new byte[]{1}, "label.pdf", PDF);
+
+        assertThat(text).isEqualTo("secondary-text");
+        assertThat((System.nanoTime() - t0) / 1_000_000).isLessThan(1500);
+    }
+
+    @Test
+    void fullText_shouldSkipPrimaryOnceCircuitOpens() {
+        FakeEngine primary = new FakeEngine("primary", 5);
+        primary.fail = true;
+        FakeEngine secondary = new FakeEngine("secondary", 5);
+        OcrOrchestrator orchestrator = new OcrOrchestrator(List.of(primary, secondary), props(),
+                executor);
+
+        for (int i = 0; i < 5; i++) {
+            // 1순위 실패 → 헤지 지연 없이 바로 2순위
+            assertThat(orchestrator.fullText(new byte[]{1}, null, PDF)).isEqualTo("secondary-text");
+        }
+        assertThat(primary.calls.get()).isEqualTo(3);
+
+        secondary.fail = true;
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> orchestrator.fullText(new byte[]{1}, null, PDF))
+                    .hasMessageContaining("secondary down");
+        }
+        assertThatThrownBy(() -> orchestrator.fullText(new byte[]{1}, null, PDF))
+                .hasMessageContaining("circuit open");
+    }
+
+    @Test
+    void fullText_shouldNotStartHedgeThatFiresAfterPrimaryAnswered() throws Exception {
+        FakeEngine primary = new FakeEngine("primary", 10);
+        FakeEngine secondary = new FakeEngine("secondary", 10);
+        // 헤지 타이머가 넘기는 작업을 붙잡아 두었다가 1순위 응답 뒤에 실행한다
+        List<Runnable> deferred = new CopyOnWriteArrayList<>();
+        OcrOrchestrator orchestrator = new OcrOrchestrator(List.of(primary, secondary), props(),
+                deferred::add);
+
+        assertThat(orchestrator.fullText(new byte[]{1}, null, PDF)).isEqualTo("primary-text");
+
+        long until = System.currentTimeMillis() + 2000;
+        while (deferred.isEmpty() && System.currentTimeMillis() < until) {
+            Thread.sleep(10);
+        }
+        assertThat(deferred).hasSize(1);
+        deferred.get(0).run();
+
+        assertThat(secondary.calls.get()).isZero();
+    }
+
+    private class FakeEngine implements OcrEngine {
+
+        private final String name;
+        private final long delayMs;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean fail;
+
+        FakeEngine(String name, long delayMs) {
+            this.name = name;
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean supportsPdf() {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<String> recognize(byte[] payload, String format,
+                String filename) {
+            calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (fail) {
+                    throw new IllegalStateException(name + " down");
+                }
+                return name + "-text";
+            }, executor);
+        }
+    }
+}